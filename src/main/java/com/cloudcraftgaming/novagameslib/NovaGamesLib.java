@@ -2,10 +2,16 @@ package com.cloudcraftgaming.novagameslib;
 
 import com.cloudcraftgaming.novagameslib.api.arena.ArenaManager;
 import com.cloudcraftgaming.novagameslib.api.data.ArenaDataManager;
+import com.cloudcraftgaming.novagameslib.api.data.ArenaStore;
 import com.cloudcraftgaming.novagameslib.api.data.DataCache;
 import com.cloudcraftgaming.novagameslib.api.database.DatabaseManager;
+import com.cloudcraftgaming.novagameslib.api.regeneration.Regenerator;
+import com.cloudcraftgaming.novagameslib.api.regeneration.SnapshotPipeline;
+import com.cloudcraftgaming.novagameslib.api.regeneration.WorldBackupStore;
+import com.cloudcraftgaming.novagameslib.api.utils.ConfigWatcher;
 import com.cloudcraftgaming.novagameslib.api.utils.FileManager;
 import com.cloudcraftgaming.novagameslib.api.utils.MessageManager;
+import com.cloudcraftgaming.novagameslib.api.utils.PersistenceQueue;
 import com.cloudcraftgaming.novagameslib.internal.listener.*;
 import com.cloudcraftgaming.novagameslib.internal.utils.PluginChecker;
 import net.milkbowl.vault.economy.Economy;
@@ -27,7 +33,13 @@ public class NovaGamesLib extends JavaPlugin {
     @Override
     public void onDisable() {
         //Save everything and stuff
+        ConfigWatcher.stop();
+        Regenerator.finishAllRegenerations();
+        SnapshotPipeline.shutdown();
+        WorldBackupStore.shutdown();
         unloadArenasShutdown();
+        PersistenceQueue.shutdown();
+        ArenaStore.close();
 
         DatabaseManager.getManager().terminate();
     }
@@ -45,6 +57,8 @@ public class NovaGamesLib extends JavaPlugin {
         if (!FileManager.checkFileVersions()) {
             return;
         }
+        ArenaStore.start();
+        ConfigWatcher.start();
 
         //Register events and commands
         getServer().getPluginManager().registerEvents(new SignChangeListener(), this);
@@ -55,6 +69,8 @@ public class NovaGamesLib extends JavaPlugin {
         getServer().getPluginManager().registerEvents(new PlayerDeathListener(), this);
         getServer().getPluginManager().registerEvents(new CommandListener(), this);
         getServer().getPluginManager().registerEvents(new ChatListener(), this);
+        getServer().getPluginManager().registerEvents(new BlockChangeListener(), this);
+        getServer().getPluginManager().registerEvents(new EntitySpawnListener(), this);
 
         //Do database things
         DatabaseManager.getManager().init();
@@ -79,6 +95,9 @@ public class NovaGamesLib extends JavaPlugin {
                         if (ArenaDataManager.arenaEnabled(id)) {
                             ArenaManager.getManager().loadArena(id, ArenaDataManager.getGameName(id),
                                     ArenaDataManager.usesTeams(id));
+                            if (getConfig().getBoolean("Regeneration.Save.PrepareOnStartup", false)) {
+                                Regenerator.prepareSnapshot(id);
+                            }
                         }
                     }
                 }
@@ -0,0 +1,144 @@
+package com.cloudcraftgaming.novagameslib.api.arena;
+
+import com.cloudcraftgaming.novagameslib.NovaGamesLib;
+import com.cloudcraftgaming.novagameslib.api.data.ArenaConfig;
+import com.cloudcraftgaming.novagameslib.api.data.ArenaDataManager;
+import com.cloudcraftgaming.novagameslib.api.regeneration.Regenerator;
+import org.bukkit.Bukkit;
+import org.bukkit.Location;
+import org.bukkit.World;
+import org.bukkit.WorldCreator;
+
+import java.util.HashSet;
+
+/**
+ * Website: www.cloudcraftgaming.com
+ * For Project: NovaGamesLib-Bukkit
+ * <br> <br>
+ * A world divided into square slots, each holding a single arena instance stamped from an {@link ArenaTemplate}.
+ * Slots are numbered row by row starting at 0, 0. A slot is taken while any arena has its regen area in it.
+ * <br> <br>
+ * Set in the config with <code>Arenas.Grid.World</code>, <code>Arenas.Grid.Spacing</code> (the width of a slot in blocks,
+ * rounded up to a whole chunk) and <code>Arenas.Grid.Columns</code> (the amount of slots in a row).
+ */
+@SuppressWarnings({"unused", "WeakerAccess"})
+public class ArenaGrid {
+	private static ArenaGrid instance;
+
+	private ArenaGrid() {} //Prevent initialization.
+
+	/**
+	 * Gets the instance of the {@link ArenaGrid}
+	 * @return The instance of the {@link ArenaGrid}
+	 */
+	public static ArenaGrid getManager() {
+		if (instance == null) {
+			instance = new ArenaGrid();
+		}
+		return instance;
+	}
+
+	//Booleans/Checkers
+	/**
+	 * Checks whether or not a template fits within a single slot.
+	 * @param template The template to check.
+	 * @return <code>true</code> if it fits, else <code>false</code>.
+	 */
+	public boolean fits(ArenaTemplate template) {
+		return template.getSizeX() <= getSpacing() && template.getSizeZ() <= getSpacing();
+	}
+
+	//Getters
+	/**
+	 * Gets the name of the grid world.
+	 * @return The name of the grid world.
+	 */
+	public String getWorldName() {
+		return NovaGamesLib.plugin.getConfig().getString("Arenas.Grid.World", "arena_grid");
+	}
+
+	/**
+	 * Gets the grid world, loading or creating it if needed.
+	 * @return The grid world.
+	 */
+	public World getWorld() {
+		World world = Bukkit.getWorld(getWorldName());
+		if (world == null) {
+			world = Bukkit.getServer().createWorld(new WorldCreator(getWorldName()));
+		}
+		return world;
+	}
+
+	/**
+	 * Gets the width of a slot, always a multiple of 16.
+	 * @return The width of a slot, in blocks.
+	 */
+	public int getSpacing() {
+		int spacing = NovaGamesLib.plugin.getConfig().getInt("Arenas.Grid.Spacing", 512);
+		return Math.max(16, (spacing + 15) & ~15);
+	}
+
+	/**
+	 * Gets the amount of slots in a row.
+	 * @return The amount of columns.
+	 */
+	public int getColumns() {
+		return Math.max(1, NovaGamesLib.plugin.getConfig().getInt("Arenas.Grid.Columns", 16));
+	}
+
+	/**
+	 * Gets the x coordinate of a slot's origin.
+	 * @param slot The slot.
+	 * @return The x coordinate of the slot's origin.
+	 */
+	public int getSlotX(int slot) {
+		return (slot % getColumns()) * getSpacing();
+	}
+
+	/**
+	 * Gets the z coordinate of a slot's origin.
+	 * @param slot The slot.
+	 * @return The z coordinate of the slot's origin.
+	 */
+	public int getSlotZ(int slot) {
+		return (slot / getColumns()) * getSpacing();
+	}
+
+	/**
+	 * Gets the slot containing the specified position.
+	 * @param x The x coordinate.
+	 * @param z The z coordinate.
+	 * @return The slot, or <code>-1</code> if the position is outside of the grid.
+	 */
+	public int getSlot(double x, double z) {
+		if (x < 0 || z < 0) {
+			return -1;
+		}
+		int column = (int) x / getSpacing();
+		if (column >= getColumns()) {
+			return -1;
+		}
+		return ((int) z / getSpacing()) * getColumns() + column;
+	}
+
+	/**
+	 * Gets the lowest slot not taken by any arena.
+	 * @return The free slot.
+	 */
+	public int findFreeSlot() {
+		HashSet<Integer> taken = new HashSet<>();
+		for (int id : Regenerator.getArenasInWorld(getWorldName())) {
+			ArenaConfig config = ArenaDataManager.getArenaConfig(id);
+			Location loc1 = config.getLocation("Regen.loc1");
+			Location loc2 = config.getLocation("Regen.loc2");
+			if (loc1 != null && loc2 != null) {
+				taken.add(getSlot(Math.min(loc1.getX(), loc2.getX()), Math.min(loc1.getZ(), loc2.getZ())));
+			}
+		}
+		int slot = 0;
+		while (taken.contains(slot)) {
+			slot++;
+		}
+		return slot;
+	}
+}
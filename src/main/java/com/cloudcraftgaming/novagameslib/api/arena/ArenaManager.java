@@ -1,17 +1,20 @@
 package com.cloudcraftgaming.novagameslib.api.arena;
 
 import com.cloudcraftgaming.novagameslib.NovaGamesLib;
+import com.cloudcraftgaming.novagameslib.api.data.ArenaConfig;
 import com.cloudcraftgaming.novagameslib.api.data.ArenaDataManager;
 import com.cloudcraftgaming.novagameslib.api.event.arena.ArenaLoadEvent;
 import com.cloudcraftgaming.novagameslib.api.event.arena.ArenaReloadEvent;
 import com.cloudcraftgaming.novagameslib.api.event.arena.ArenaUnloadEvent;
 import com.cloudcraftgaming.novagameslib.api.game.GameState;
+import com.cloudcraftgaming.novagameslib.api.regeneration.Regenerator;
 import com.cloudcraftgaming.novagameslib.api.utils.FileManager;
 import org.bukkit.Bukkit;
 import org.bukkit.entity.Player;
 import org.bukkit.plugin.Plugin;
 
 import java.util.ArrayList;
+import java.util.HashMap;
 
 /**
  * Created by Nova Fox on 11/17/16.
@@ -23,6 +26,7 @@ public class ArenaManager {
 	private static ArenaManager instance;
 
 	private final ArrayList<ArenaBase> arenaBases = new ArrayList<>();
+	private final HashMap<String, ArenaPool> pools = new HashMap<>();
 
 	/**
 	 * Constructor for ArenaManger. Private to prevent multiple instances.
@@ -129,6 +133,30 @@ public class ArenaManager {
 		return arenaBases;
 	}
 
+	/**
+	 * Gets the pool of interchangeable arena instances for a game.
+	 * @param gameName The name of the game.
+	 * @return The pool of the game.
+	 */
+	public ArenaPool getPool(String gameName) {
+		ArenaPool pool = pools.get(gameName);
+		if (pool == null) {
+			pool = new ArenaPool(gameName);
+			pools.put(gameName, pool);
+		}
+		return pool;
+	}
+
+	/**
+	 * Gets a clean arena of the game that players can join straight away.
+	 * Arenas that are regenerating are skipped, see {@link ArenaPool#getReadyInstance()}.
+	 * @param gameName The name of the game.
+	 * @return The arena to join, or <code>null</code> if none are ready.
+	 */
+	public ArenaBase getReadyArena(String gameName) {
+		return getPool(gameName).getReadyInstance();
+	}
+
 	//Functionals
 	/**
 	 * Called when loading an arenaBase, often from another plugin.
@@ -219,7 +247,7 @@ public class ArenaManager {
 	/**
 	 * Called when unloading an arenaBase, often from another plugin.
 	 * This will call the {@link ArenaUnloadEvent} event.
-	 * If not cancelled, will mark the specified arenaBase as unloaded.
+	 * If not cancelled, will mark the specified arenaBase as unloaded and release its saved regen data.
 	 * This will NOT mark any actual arenaBase data!!!! YOU MUST SET THAT YOURSELF!!!
 	 * @param arenaBase The arenaBase to mark as unloaded.
 	 * @return <code>true</code> if not cancelled and successful, else <code>false</code>.
@@ -231,6 +259,7 @@ public class ArenaManager {
 
 			if (!event.isCancelled()) {
 				arenaBases.remove(arenaBase);
+				Regenerator.releaseSnapshot(arenaBase.getId());
 				//ArenaDataManager.updateArenaInfo(arenaBase.getId());
 				if (FileManager.verbose()) {
 					NovaGamesLib.plugin.getLogger().info("Unloaded arenaBase " + arenaBase.getId());
@@ -244,10 +273,15 @@ public class ArenaManager {
 	/**
 	 * Called when unloading an arena. This will call the {@link ArenaUnloadEvent} event.
 	 * If not cancelled, this will either unload the arena, or copy the arena from the event.
+	 * Once unloaded, the arena's saved regen data is released, see {@link Regenerator#releaseSnapshot(int)}.
 	 * @param id The id of the arena to unload.
 	 * @return <code>true</code> if not cancelled and successful, else <code>false</code>.
 	 */
 	public Boolean unloadArena(int id) {
+		return unloadArena(id, true);
+	}
+
+	private Boolean unloadArena(int id, boolean release) {
 		if (arenaLoaded(id)) {
 			ArenaUnloadEvent event = new ArenaUnloadEvent(id, ArenaDataManager.getGameName(id));
 			Bukkit.getServer().getPluginManager().callEvent(event);
@@ -256,6 +290,9 @@ public class ArenaManager {
 				if (event.shouldLetNovaGamesHandle()) {
 					ArenaBase arenaBase = getArena(id);
 					arenaBases.remove(arenaBase);
+					if (release) {
+						Regenerator.releaseSnapshot(id);
+					}
 					//ArenaDataManager.updateArenaInfo(id);
 					if (FileManager.verbose()) {
 						NovaGamesLib.plugin.getLogger().info("Unloaded arenaBase " + id);
@@ -265,6 +302,9 @@ public class ArenaManager {
 					if (event.getArenaBase() != null) {
 						arenaBases.remove(event.getArenaBase());
 					}
+					if (release) {
+						Regenerator.releaseSnapshot(id);
+					}
 					//ArenaDataManager.updateArenaInfo(id);
 					if (FileManager.verbose()) {
 						NovaGamesLib.plugin.getLogger().info("Unloaded arena " + id);
@@ -284,8 +324,39 @@ public class ArenaManager {
 	 */
 	public Boolean reloadArena(int id) {
 		if (arenaLoaded(id)) {
-			String gameName = getArena(id).getGameName();
-			Boolean useTeams = getArena(id).useTeams();
+			return reloadArena(id, getArena(id).getGameName(), getArena(id).useTeams());
+		}
+		return false;
+	}
+
+	/**
+	 * Brings a loaded arena in line with settings changed outside of the API, such as by editing its config by hand.
+	 * Everything read through {@link ArenaDataManager} applies straight away, but the game and whether or not teams are used
+	 * are kept on the {@link ArenaBase} itself, so the arena is reloaded when those change.
+	 * An arena that is in use is left alone until it is reloaded.
+	 * Must be called on the main thread.
+	 * @param config The new settings of the arena.
+	 * @return <code>true</code> if the arena was reloaded, else <code>false</code>.
+	 */
+	public Boolean applyConfig(ArenaConfig config) {
+		ArenaBase arena = getArena(config.getId());
+		if (arena == null || config.getGameName() == null) {
+			return false;
+		}
+		if (config.getGameName().equals(arena.getGameName()) && config.usesTeams() == arena.useTeams()) {
+			return false;
+		}
+		if (arena.getArenaStatus() != ArenaStatus.EMPTY) {
+			if (FileManager.verbose()) {
+				NovaGamesLib.plugin.getLogger().info("Arena " + config.getId() + " changed while in use, reload it once empty to apply");
+			}
+			return false;
+		}
+		return reloadArena(config.getId(), config.getGameName(), config.usesTeams());
+	}
+
+	private Boolean reloadArena(int id, String gameName, Boolean useTeams) {
+		if (arenaLoaded(id)) {
 			ArenaReloadEvent event = new ArenaReloadEvent(getArena(id));
 			Bukkit.getServer().getPluginManager().callEvent(event);
 
@@ -293,7 +364,8 @@ public class ArenaManager {
 				if (FileManager.verbose()) {
 					NovaGamesLib.plugin.getLogger().info("Reloading arena " + id);
 				}
-				unloadArena(id);
+				//The arena comes straight back, so its saved regen data is kept.
+				unloadArena(id, false);
 				return loadArena(id, gameName, useTeams);
 			}
 		}
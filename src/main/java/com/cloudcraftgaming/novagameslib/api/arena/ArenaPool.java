@@ -0,0 +1,227 @@
+package com.cloudcraftgaming.novagameslib.api.arena;
+
+import com.cloudcraftgaming.novagameslib.NovaGamesLib;
+import com.cloudcraftgaming.novagameslib.api.data.ArenaDataManager;
+import com.cloudcraftgaming.novagameslib.api.data.DataCache;
+import com.cloudcraftgaming.novagameslib.api.regeneration.RegenerationManager;
+import com.cloudcraftgaming.novagameslib.api.regeneration.Regenerator;
+import com.cloudcraftgaming.novagameslib.api.utils.FileManager;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+
+/**
+ * Website: www.cloudcraftgaming.com
+ * For Project: NovaGamesLib-Bukkit
+ * <br> <br>
+ * A pool of interchangeable instances of the maps of a single game.
+ * Each instance is a copy of a source arena with its own regen area, see {@link ArenaDataManager#copyArena(int, int, int, int, int)},
+ * or is stamped from an {@link ArenaTemplate}.
+ * While a finished instance regenerates in the background, players are handed a clean instance straight away.
+ * <br> <br>
+ * The amount of instances kept of each map is set per game in the config with <code>Arenas.Pool.&lt;GameName&gt;.Size</code>,
+ * falling back to <code>Arenas.Pool.Default.Size</code>.
+ */
+@SuppressWarnings({"unused", "WeakerAccess"})
+public class ArenaPool {
+	private final String gameName;
+
+	/**
+	 * Creates a pool for a game. Use {@link ArenaManager#getPool(String)} to get the pool of a game.
+	 * @param _gameName The name of the game.
+	 */
+	ArenaPool(String _gameName) {
+		gameName = _gameName;
+	}
+
+	//Getters
+	/**
+	 * Gets the name of the game this pool is for.
+	 * @return The name of the game.
+	 */
+	public String getGameName() {
+		return gameName;
+	}
+
+	/**
+	 * Gets the amount of instances to keep of each map of this game, including the source arena itself.
+	 * @return The size of the pool per map.
+	 */
+	public int getSize() {
+		int defaultSize = NovaGamesLib.plugin.getConfig().getInt("Arenas.Pool.Default.Size", 1);
+		return Math.max(1, NovaGamesLib.plugin.getConfig().getInt("Arenas.Pool." + gameName + ".Size", defaultSize));
+	}
+
+	/**
+	 * Gets every loaded instance of this game, of all maps.
+	 * @return The loaded instances.
+	 */
+	public List<ArenaBase> getInstances() {
+		List<ArenaBase> instances = new ArrayList<>();
+		for (ArenaBase arena : ArenaManager.getManager().getAllLoadedArenas()) {
+			if (arena.getGameName().equals(gameName)) {
+				instances.add(arena);
+			}
+		}
+		return instances;
+	}
+
+	/**
+	 * Gets every loaded instance of a single map, being the source arena and its copies.
+	 * @param sourceId The id of the source arena.
+	 * @return The loaded instances of the map.
+	 */
+	public List<ArenaBase> getInstances(int sourceId) {
+		List<ArenaBase> instances = new ArrayList<>();
+		for (ArenaBase arena : getInstances()) {
+			if (ArenaDataManager.getPoolSource(arena.getId()) == sourceId) {
+				instances.add(arena);
+			}
+		}
+		return instances;
+	}
+
+	/**
+	 * Gets the instance players should be sent to, of any map.
+	 * Instances already waiting for players are preferred so that games fill up and start,
+	 * then empty instances. Instances that are regenerating or in game are never handed out.
+	 * If none are ready, the regenerating instance closest to finishing is counted as having a player waiting for it,
+	 * so it is regenerated ahead of the others, see {@link RegenerationManager#addWaitingPlayer(int)}.
+	 * @return The instance to join, or <code>null</code> if none are ready.
+	 */
+	public ArenaBase getReadyInstance() {
+		return pickReady(getInstances());
+	}
+
+	/**
+	 * Gets the instance of a single map players should be sent to. See {@link #getReadyInstance()}.
+	 * @param sourceId The id of the source arena.
+	 * @return The instance to join, or <code>null</code> if none are ready.
+	 */
+	public ArenaBase getReadyInstance(int sourceId) {
+		return pickReady(getInstances(sourceId));
+	}
+
+	/**
+	 * Gets the amount of instances that can currently be joined.
+	 * @return The amount of ready instances.
+	 */
+	public int getReadyCount() {
+		int count = 0;
+		for (ArenaBase arena : getInstances()) {
+			if (isReady(arena)) {
+				count++;
+			}
+		}
+		return count;
+	}
+
+	//Functionals
+	/**
+	 * Creates copies of a source arena until its map has as many instances as the pool size.
+	 * The n-th copy is placed n times the spacing away from the source, so the spacing must be larger than the regen area.
+	 * The map must already be built at each of those places.
+	 * <br> <br>
+	 * Copies are enabled and loaded straight away. If <code>Arenas.Pool.Prepare</code> is enabled,
+	 * their snapshot is prepared too so the first game on them starts without waiting.
+	 * @param sourceId The id of the source arena.
+	 * @param spacingX The distance between instances on the x axis.
+	 * @param spacingZ The distance between instances on the z axis.
+	 * @return The ids of the arenas created.
+	 */
+	public List<Integer> fill(int sourceId, int spacingX, int spacingZ) {
+		List<Integer> created = new ArrayList<>();
+		HashSet<Integer> usedIndexes = new HashSet<>();
+		int existing = 0;
+		for (Integer id : DataCache.getAllUsedIDs()) {
+			if (id != sourceId && ArenaDataManager.getPoolSource(id) == sourceId) {
+				usedIndexes.add(ArenaDataManager.getPoolIndex(id));
+				existing++;
+			}
+		}
+		int index = 1;
+		for (int missing = getSize() - 1 - existing; missing > 0; missing--) {
+			while (usedIndexes.contains(index)) {
+				index++;
+			}
+			usedIndexes.add(index);
+			Integer id = ArenaDataManager.copyArena(sourceId, index, spacingX * index, 0, spacingZ * index);
+			ArenaDataManager.enableArena(id);
+			if (NovaGamesLib.plugin.getConfig().getBoolean("Arenas.Pool.Prepare", true)) {
+				Regenerator.prepareSnapshot(id);
+			}
+			created.add(id);
+		}
+		if (FileManager.verbose() && !created.isEmpty()) {
+			NovaGamesLib.plugin.getLogger().info("Created " + created.size() + " instances of arena " + sourceId + " for " + gameName);
+		}
+		return created;
+	}
+
+	/**
+	 * Stamps instances of a template into the {@link ArenaGrid} until it has as many instances as the pool size.
+	 * Instances are enabled once their blocks are pasted, see {@link ArenaTemplate#createInstance()}.
+	 * @param template The template of the map.
+	 * @return The ids of the arenas created.
+	 */
+	public List<Integer> fill(ArenaTemplate template) {
+		List<Integer> created = new ArrayList<>();
+		int existing = 0;
+		for (Integer id : DataCache.getAllUsedIDs()) {
+			if (template.getName().equals(ArenaDataManager.getTemplateName(id))) {
+				existing++;
+			}
+		}
+		for (int missing = getSize() - existing; missing > 0; missing--) {
+			Integer id = template.createInstance();
+			if (id == null) {
+				break;
+			}
+			created.add(id);
+		}
+		if (FileManager.verbose() && !created.isEmpty()) {
+			NovaGamesLib.plugin.getLogger().info("Creating " + created.size() + " instances of template " + template.getName() + " for " + gameName);
+		}
+		return created;
+	}
+
+	//Internals
+	private static ArenaBase pickReady(List<ArenaBase> instances) {
+		ArenaBase best = null;
+		for (ArenaBase arena : instances) {
+			if (!isReady(arena)) {
+				continue;
+			}
+			if (best == null || arena.getPlayerCount() > best.getPlayerCount()) {
+				best = arena;
+			}
+		}
+		if (best == null) {
+			ArenaBase closest = null;
+			double closestProgress = -1;
+			for (ArenaBase arena : instances) {
+				double progress = Regenerator.getRegenerationProgress(arena.getId());
+				if (progress > closestProgress) {
+					closest = arena;
+					closestProgress = progress;
+				}
+			}
+			if (closest != null) {
+				RegenerationManager.getManager().addWaitingPlayer(closest.getId());
+			}
+		}
+		return best;
+	}
+
+	private static boolean isReady(ArenaBase arena) {
+		if (!arena.isJoinable()) {
+			return false;
+		}
+		ArenaStatus status = arena.getArenaStatus();
+		if (status != ArenaStatus.EMPTY && status != ArenaStatus.WAITING_FOR_PLAYERS) {
+			return false;
+		}
+		return arena.getPlayerCount() < ArenaDataManager.getMaxPlayers(arena.getId());
+	}
+}
@@ -0,0 +1,264 @@
+package com.cloudcraftgaming.novagameslib.api.arena;
+
+import com.cloudcraftgaming.novagameslib.NovaGamesLib;
+import com.cloudcraftgaming.novagameslib.api.data.ArenaDataManager;
+import com.cloudcraftgaming.novagameslib.api.data.DataCache;
+import com.cloudcraftgaming.novagameslib.api.regeneration.ArenaSnapshot;
+import com.cloudcraftgaming.novagameslib.api.regeneration.BlockSnapshot;
+import com.cloudcraftgaming.novagameslib.api.regeneration.MappedSnapshot;
+import com.cloudcraftgaming.novagameslib.api.regeneration.OffsetSnapshot;
+import com.cloudcraftgaming.novagameslib.api.regeneration.Regenerator;
+import com.cloudcraftgaming.novagameslib.api.region.Cuboid;
+import com.cloudcraftgaming.novagameslib.api.utils.FileManager;
+import org.bukkit.World;
+import org.bukkit.configuration.ConfigurationSection;
+import org.bukkit.configuration.file.YamlConfiguration;
+
+import java.io.File;
+import java.io.IOException;
+
+/**
+ * Website: www.cloudcraftgaming.com
+ * For Project: NovaGamesLib-Bukkit
+ * <br> <br>
+ * A reusable copy of an arena: its blocks, spawns, regen area and settings, saved relative to an origin.
+ * New instances of the arena can be stamped out of a template anywhere, see {@link #createInstance()}.
+ * <br> <br>
+ * The origin is the lowest corner of the regen area rounded down to a chunk on the x and z axes, heights are kept as they are.
+ * Templates are saved in <code>Templates/&lt;name&gt;/</code>: the settings and locations in <code>template.yml</code>
+ * and the blocks in <code>blocks.dat</code>, a {@link MappedSnapshot} file.
+ */
+@SuppressWarnings({"unused", "WeakerAccess"})
+public class ArenaTemplate {
+	private final String name;
+	private final YamlConfiguration data;
+	private final ArenaSnapshot blocks;
+
+	private ArenaTemplate(String _name, YamlConfiguration _data, ArenaSnapshot _blocks) {
+		name = _name;
+		data = _data;
+		blocks = _blocks;
+	}
+
+	/**
+	 * Saves an existing arena as a template. Any existing template with the same name is replaced.
+	 * This must be called on the main thread.
+	 * @param sourceId The id of the arena to save.
+	 * @param name The name of the template.
+	 * @return The saved template.
+	 * @throws IOException If the template could not be written.
+	 */
+	public static ArenaTemplate create(int sourceId, String name) throws IOException {
+		Cuboid area = ArenaDataManager.getRegenArea(sourceId);
+		int originX = area.getLowerX() & ~15;
+		int originZ = area.getLowerZ() & ~15;
+		File folder = getTemplateFolder(name);
+		folder.mkdirs();
+
+		YamlConfiguration source = ArenaDataManager.getArenaConfigYml(sourceId);
+		YamlConfiguration data = new YamlConfiguration();
+		data.set("Template.Name", name);
+		data.set("Template.Source", sourceId);
+		data.set("Template.Size.X", area.getUpperX() - originX + 1);
+		data.set("Template.Size.Y", area.getUpperY() + 1);
+		data.set("Template.Size.Z", area.getUpperZ() - originZ + 1);
+		for (String path : source.getKeys(true)) {
+			if (source.isConfigurationSection(path) || path.equals("Id") || path.equals("Name") || path.equals("DisplayName")
+					|| path.startsWith("Locations.") || path.startsWith("Pool.")) {
+				continue;
+			}
+			data.set("Settings." + path, source.get(path));
+		}
+		ConfigurationSection locations = source.getConfigurationSection("Locations");
+		for (String path : locations.getKeys(true)) {
+			ConfigurationSection loc = locations.getConfigurationSection(path);
+			if (loc == null || !loc.contains("world") || !loc.contains("x")) {
+				continue;
+			}
+			for (String key : loc.getKeys(false)) {
+				data.set("Locations." + path + "." + key, loc.get(key));
+			}
+			double x = loc.getDouble("x");
+			double y = loc.getDouble("y");
+			double z = loc.getDouble("z");
+			if (path.startsWith("Regen") || (area.getWorldName().equals(loc.getString("world"))
+					&& area.contains((int) Math.floor(x), (int) Math.floor(y), (int) Math.floor(z)))) {
+				data.set("Locations." + path + ".world", null);
+				data.set("Locations." + path + ".x", x - originX);
+				data.set("Locations." + path + ".z", z - originZ);
+				data.set("Locations." + path + ".Relative", true);
+			}
+		}
+
+		File blocksFile = new File(folder, "blocks.dat");
+		MappedSnapshot.write(new OffsetSnapshot(BlockSnapshot.capture(area), name, -(originX >> 4), 0, -(originZ >> 4)), blocksFile);
+		data.save(new File(folder, "template.yml"));
+
+		if (FileManager.verbose()) {
+			NovaGamesLib.plugin.getLogger().info("Saved arena " + sourceId + " as template " + name);
+		}
+		return new ArenaTemplate(name, data, MappedSnapshot.open(blocksFile));
+	}
+
+	/**
+	 * Loads a template saved with {@link #create(int, String)}.
+	 * @param name The name of the template.
+	 * @return The loaded template.
+	 * @throws IOException If the template does not exist or could not be read.
+	 */
+	public static ArenaTemplate load(String name) throws IOException {
+		File folder = getTemplateFolder(name);
+		File dataFile = new File(folder, "template.yml");
+		if (!dataFile.exists()) {
+			throw new IOException("Template " + name + " does not exist");
+		}
+		return new ArenaTemplate(name, YamlConfiguration.loadConfiguration(dataFile), MappedSnapshot.open(new File(folder, "blocks.dat")));
+	}
+
+	//Booleans/Checkers
+	/**
+	 * Checks whether or not a template with the specified name has been saved.
+	 * @param name The name of the template.
+	 * @return <code>true</code> if it exists, else <code>false</code>.
+	 */
+	public static boolean exists(String name) {
+		return new File(getTemplateFolder(name), "template.yml").exists();
+	}
+
+	//Getters
+	/**
+	 * Gets the folder a template is saved in.
+	 * @param name The name of the template.
+	 * @return The template's folder.
+	 */
+	public static File getTemplateFolder(String name) {
+		return new File(NovaGamesLib.plugin.getDataFolder() + "/Templates/" + name);
+	}
+
+	/**
+	 * Gets the name of this template.
+	 * @return The name of the template.
+	 */
+	public String getName() {
+		return name;
+	}
+
+	/**
+	 * Gets the name of the game this template is for.
+	 * @return The name of the game.
+	 */
+	public String getGameName() {
+		return data.getString("Settings.GameName");
+	}
+
+	/**
+	 * Gets how far this template reaches from its origin on the x axis.
+	 * @return The size on the x axis, in blocks.
+	 */
+	public int getSizeX() {
+		return data.getInt("Template.Size.X");
+	}
+
+	/**
+	 * Gets the height this template reaches up to.
+	 * @return The size on the y axis, in blocks.
+	 */
+	public int getSizeY() {
+		return data.getInt("Template.Size.Y");
+	}
+
+	/**
+	 * Gets how far this template reaches from its origin on the z axis.
+	 * @return The size on the z axis, in blocks.
+	 */
+	public int getSizeZ() {
+		return data.getInt("Template.Size.Z");
+	}
+
+	/**
+	 * Gets the blocks of this template, relative to its origin.
+	 * @return The blocks of the template.
+	 */
+	public ArenaSnapshot getBlocks() {
+		return blocks;
+	}
+
+	//Functionals
+	/**
+	 * Stamps a new instance of this template into the next free slot of the {@link ArenaGrid}.
+	 * See {@link #createInstance(World, int, int)}.
+	 * @return The ID of the new arena, or <code>null</code> if the template does not fit in a grid slot.
+	 */
+	public Integer createInstance() {
+		ArenaGrid grid = ArenaGrid.getManager();
+		if (!grid.fits(this)) {
+			if (FileManager.verbose()) {
+				NovaGamesLib.plugin.getLogger().info("Template " + name + " is larger than a grid slot of " + grid.getSpacing() + " blocks!");
+			}
+			return null;
+		}
+		int slot = grid.findFreeSlot();
+		return createInstance(grid.getWorld(), grid.getSlotX(slot), grid.getSlotZ(slot));
+	}
+
+	/**
+	 * Stamps a new instance of this template with its origin at the specified position.
+	 * The arena is created straight away with every location moved along, while its blocks are pasted over the next ticks.
+	 * The arena is enabled, and so loaded, once the last block is pasted.
+	 * Blocks are pasted one at a time through {@link Regenerator#pasteSnapshot(int, ArenaSnapshot, Cuboid, Runnable)}.
+	 * Batched section writes are not supported, as Bukkit has no API for writing, relighting or resending a whole section,
+	 * so large templates take as many ticks to paste as a full regeneration of the same size.
+	 * @param world The world to paste into.
+	 * @param originX The x coordinate of the origin, which must be a multiple of 16.
+	 * @param originZ The z coordinate of the origin, which must be a multiple of 16.
+	 * @return The ID of the new arena.
+	 */
+	public Integer createInstance(World world, int originX, int originZ) {
+		if ((originX & 15) != 0 || (originZ & 15) != 0) {
+			throw new IllegalArgumentException("Template origin must be aligned to a chunk: " + originX + ", " + originZ);
+		}
+		final Integer id = DataCache.useNextId();
+		ArenaDataManager.createArenaFiles(id, getGameName());
+
+		YamlConfiguration config = ArenaDataManager.getArenaConfigYml(id);
+		ConfigurationSection settings = data.getConfigurationSection("Settings");
+		for (String path : settings.getKeys(true)) {
+			if (!settings.isConfigurationSection(path)) {
+				config.set(path, settings.get(path));
+			}
+		}
+		ConfigurationSection locations = data.getConfigurationSection("Locations");
+		for (String path : locations.getKeys(true)) {
+			ConfigurationSection loc = locations.getConfigurationSection(path);
+			if (loc == null || !loc.contains("x")) {
+				continue;
+			}
+			for (String key : loc.getKeys(false)) {
+				config.set("Locations." + path + "." + key, loc.get(key));
+			}
+			if (loc.getBoolean("Relative")) {
+				config.set("Locations." + path + ".Relative", null);
+				config.set("Locations." + path + ".world", world.getName());
+				config.set("Locations." + path + ".x", loc.getDouble("x") + originX);
+				config.set("Locations." + path + ".z", loc.getDouble("z") + originZ);
+			}
+		}
+		config.set("Name", name + " " + id);
+		config.set("Template", name);
+		ArenaDataManager.saveArenaConfig(config, ArenaDataManager.getArenaConfigFile(id));
+
+		Cuboid area = ArenaDataManager.getRegenArea(id);
+		ArenaSnapshot placed = new OffsetSnapshot(blocks, world.getName(), originX >> 4, 0, originZ >> 4);
+		Regenerator.pasteSnapshot(id, placed, area, new Runnable() {
+			@Override
+			public void run() {
+				ArenaDataManager.enableArena(id);
+			}
+		});
+
+		if (FileManager.verbose()) {
+			NovaGamesLib.plugin.getLogger().info("Created arena " + id + " from template " + name + " at " + originX + ", " + originZ);
+		}
+		return id;
+	}
+}
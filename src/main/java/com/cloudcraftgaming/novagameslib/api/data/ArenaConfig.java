@@ -0,0 +1,340 @@
+package com.cloudcraftgaming.novagameslib.api.data;
+
+import org.bukkit.Bukkit;
+import org.bukkit.Location;
+import org.bukkit.configuration.ConfigurationSection;
+import org.bukkit.configuration.file.YamlConfiguration;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Website: www.cloudcraftgaming.com
+ * For Project: NovaGamesLib-Bukkit
+ * <br> <br>
+ * An arena's settings, read once from its <code>config.yml</code> and kept in memory.
+ * Instances never change. When the arena's config is saved, {@link ArenaDataManager} builds a new one and swaps it in,
+ * so a reader always sees every setting from the same version of the file.
+ */
+@SuppressWarnings({"unused", "WeakerAccess"})
+public final class ArenaConfig {
+	private final int id;
+	private final String name;
+	private final String displayName;
+	private final String gameName;
+	private final String gameModeName;
+
+	private final int minPlayers;
+	private final int maxPlayers;
+	private final int minTeamCount;
+	private final int maxTeamCount;
+
+	private final int waitDelay;
+	private final int startDelay;
+	private final int gameLength;
+	private final int dayLength;
+	private final int nightLength;
+
+	private final boolean useTeams;
+	private final boolean hideNames;
+	private final boolean friendlyFire;
+	private final boolean blockBreak;
+	private final boolean blockPlace;
+	private final boolean lateJoin;
+
+	private final int poolSource;
+	private final int poolIndex;
+	private final String templateName;
+
+	private final Map<String, SavedLocation> locations;
+
+	private ArenaConfig(int _id, YamlConfiguration config) {
+		id = _id;
+		name = config.getString("Name");
+		displayName = config.getString("DisplayName");
+		gameName = config.getString("GameName");
+		gameModeName = config.getString("Rules.GameMode");
+
+		minPlayers = config.getInt("Players.Min");
+		maxPlayers = config.getInt("Players.Max");
+		minTeamCount = config.getInt("Teams.Amount.Min");
+		maxTeamCount = config.getInt("Teams.Amount.Max");
+
+		waitDelay = config.getInt("Time.Delay.Wait");
+		startDelay = config.getInt("Time.Delay.Start");
+		gameLength = config.getInt("Time.Game.Length");
+		dayLength = config.getInt("Time.Game.Day");
+		nightLength = config.getInt("Time.Game.Night");
+
+		useTeams = config.getBoolean("Rules.Teams.Use");
+		hideNames = config.getBoolean("Rules.Teams.HideNames");
+		friendlyFire = config.getBoolean("Rules.Teams.AllowFriendlyFire");
+		blockBreak = config.getBoolean("Rules.Block.Break");
+		blockPlace = config.getBoolean("Rules.Block.Place");
+		lateJoin = config.getBoolean("Rules.LateJoin.Allow");
+
+		poolSource = config.getInt("Pool.Source", id);
+		poolIndex = config.getInt("Pool.Index", 0);
+		templateName = config.getString("Template");
+
+		HashMap<String, SavedLocation> saved = new HashMap<>();
+		ConfigurationSection section = config.getConfigurationSection("Locations");
+		if (section != null) {
+			for (String path : section.getKeys(true)) {
+				ConfigurationSection loc = section.getConfigurationSection(path);
+				if (loc != null && loc.contains("world")) {
+					saved.put(path, new SavedLocation(loc));
+				}
+			}
+		}
+		locations = Collections.unmodifiableMap(saved);
+	}
+
+	/**
+	 * Reads an arena's settings from its loaded config.
+	 * @param id The id of the arena.
+	 * @param config The arena's config.
+	 * @return The arena's settings.
+	 */
+	public static ArenaConfig of(int id, YamlConfiguration config) {
+		return new ArenaConfig(id, config);
+	}
+
+	//Booleans/Checkers
+	/**
+	 * Checks whether or not a location has been set.
+	 * @param path The path of the location below <code>Locations</code>, such as <code>Lobby</code> or <code>Spawn.Main</code>.
+	 * @return <code>true</code> if set, else <code>false</code>.
+	 */
+	public boolean hasLocation(String path) {
+		return locations.containsKey(path);
+	}
+
+	//Getters
+	/**
+	 * Gets a location. A new {@link Location} is created every call, so it may be changed freely.
+	 * @param path The path of the location below <code>Locations</code>, such as <code>Lobby</code> or <code>Spawn.Main</code>.
+	 * @return The location, or <code>null</code> if it has not been set. Its world is <code>null</code> if not loaded.
+	 */
+	public Location getLocation(String path) {
+		SavedLocation loc = locations.get(path);
+		return loc == null ? null : loc.toLocation();
+	}
+
+	/**
+	 * Gets the name of the world a location is in, without needing the world to be loaded.
+	 * @param path The path of the location below <code>Locations</code>.
+	 * @return The name of the world, or <code>null</code> if the location has not been set.
+	 */
+	public String getLocationWorldName(String path) {
+		SavedLocation loc = locations.get(path);
+		return loc == null ? null : loc.worldName;
+	}
+
+	/**
+	 * Gets the arena's numerical ID.
+	 * @return The arena's ID.
+	 */
+	public int getId() {
+		return id;
+	}
+
+	/**
+	 * Gets the arena's raw name.
+	 * @return The arena's raw name.
+	 */
+	public String getName() {
+		return name;
+	}
+
+	/**
+	 * Gets the arena's display name, with color codes untranslated.
+	 * @return The arena's display name.
+	 */
+	public String getDisplayName() {
+		return displayName;
+	}
+
+	/**
+	 * Gets the name of the game this arena is for.
+	 * @return The name of the game.
+	 */
+	public String getGameName() {
+		return gameName;
+	}
+
+	/**
+	 * Gets the name of the {@link org.bukkit.GameMode} players are put in.
+	 * @return The name of the game mode.
+	 */
+	public String getGameModeName() {
+		return gameModeName;
+	}
+
+	/**
+	 * Gets the minimum amount of players needed to start.
+	 * @return The minimum amount of players.
+	 */
+	public int getMinPlayers() {
+		return minPlayers;
+	}
+
+	/**
+	 * Gets the maximum amount of players allowed.
+	 * @return The maximum amount of players.
+	 */
+	public int getMaxPlayers() {
+		return maxPlayers;
+	}
+
+	/**
+	 * Gets the minimum amount of teams.
+	 * @return The minimum amount of teams.
+	 */
+	public int getMinTeamCount() {
+		return minTeamCount;
+	}
+
+	/**
+	 * Gets the maximum amount of teams.
+	 * @return The maximum amount of teams.
+	 */
+	public int getMaxTeamCount() {
+		return maxTeamCount;
+	}
+
+	/**
+	 * Gets the time to wait for players, in seconds.
+	 * @return The wait delay.
+	 */
+	public int getWaitDelay() {
+		return waitDelay;
+	}
+
+	/**
+	 * Gets the countdown before the game starts, in seconds.
+	 * @return The start delay.
+	 */
+	public int getStartDelay() {
+		return startDelay;
+	}
+
+	/**
+	 * Gets the length of the game, in minutes.
+	 * @return The game length.
+	 */
+	public int getGameLength() {
+		return gameLength;
+	}
+
+	/**
+	 * Gets the length of the day, in minutes.
+	 * @return The day length.
+	 */
+	public int getDayLength() {
+		return dayLength;
+	}
+
+	/**
+	 * Gets the length of the night, in minutes.
+	 * @return The night length.
+	 */
+	public int getNightLength() {
+		return nightLength;
+	}
+
+	/**
+	 * Gets whether or not this arena uses teams.
+	 * @return <code>true</code> if it uses teams, else <code>false</code>.
+	 */
+	public boolean usesTeams() {
+		return useTeams;
+	}
+
+	/**
+	 * Gets whether or not name tags are hidden from other teams.
+	 * @return <code>true</code> if hidden, else <code>false</code>.
+	 */
+	public boolean hideNames() {
+		return hideNames;
+	}
+
+	/**
+	 * Gets whether or not team members can hurt each other.
+	 * @return <code>true</code> if allowed, else <code>false</code>.
+	 */
+	public boolean allowsFriendlyFire() {
+		return friendlyFire;
+	}
+
+	/**
+	 * Gets whether or not players can break blocks.
+	 * @return <code>true</code> if allowed, else <code>false</code>.
+	 */
+	public boolean allowsBlockBreak() {
+		return blockBreak;
+	}
+
+	/**
+	 * Gets whether or not players can place blocks.
+	 * @return <code>true</code> if allowed, else <code>false</code>.
+	 */
+	public boolean allowsBlockPlace() {
+		return blockPlace;
+	}
+
+	/**
+	 * Gets whether or not players can join after the game has started.
+	 * @return <code>true</code> if allowed, else <code>false</code>.
+	 */
+	public boolean allowsLateJoin() {
+		return lateJoin;
+	}
+
+	/**
+	 * Gets the arena this arena was copied from, see {@link ArenaDataManager#copyArena(int, int, int, int, int)}.
+	 * @return The id of the source arena, or this arena's own id if it is not a copy.
+	 */
+	public int getPoolSource() {
+		return poolSource;
+	}
+
+	/**
+	 * Gets the index of this arena within the pool of its source arena.
+	 * @return The index of the copy, or <code>0</code> if it is not a copy.
+	 */
+	public int getPoolIndex() {
+		return poolIndex;
+	}
+
+	/**
+	 * Gets the template this arena was created from.
+	 * @return The name of the template, or <code>null</code> if it was not created from one.
+	 */
+	public String getTemplateName() {
+		return templateName;
+	}
+
+	/**
+	 * A location as saved in the config, kept by world name so the world does not need to be loaded.
+	 */
+	private static final class SavedLocation {
+		private final String worldName;
+		private final double x, y, z;
+		private final int yaw, pitch;
+
+		private SavedLocation(ConfigurationSection loc) {
+			worldName = loc.getString("world");
+			x = loc.getDouble("x");
+			y = loc.getDouble("y");
+			z = loc.getDouble("z");
+			yaw = loc.getInt("yaw");
+			pitch = loc.getInt("pitch");
+		}
+
+		private Location toLocation() {
+			return new Location(Bukkit.getWorld(worldName), x, y, z, yaw, pitch);
+		}
+	}
+}
@@ -7,12 +7,14 @@ import com.cloudcraftgaming.novagameslib.api.event.arena.ArenaEnableEvent;
 import com.cloudcraftgaming.novagameslib.api.region.Cuboid;
 import com.cloudcraftgaming.novagameslib.api.team.Team;
 import com.cloudcraftgaming.novagameslib.api.utils.FileManager;
+import com.cloudcraftgaming.novagameslib.api.utils.PersistenceQueue;
 import org.bukkit.*;
+import org.bukkit.configuration.ConfigurationSection;
 import org.bukkit.configuration.file.YamlConfiguration;
 
 import java.io.File;
-import java.io.IOException;
 import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
 
 /**
  * Created by Nova Fox on 11/17/16.
@@ -21,6 +23,8 @@ import java.util.List;
  */
 @SuppressWarnings("WeakerAccess, unused")
 public class ArenaDataManager {
+	private static final ConcurrentHashMap<Integer, ArenaConfig> configs = new ConcurrentHashMap<>();
+
 	//Functionals
 	/**
 	 * Creates a new arena.
@@ -49,8 +53,8 @@ public class ArenaDataManager {
 	 * @param gameName The name of the game this is for (Ex. "Capture The Flag").
 	 */
 	public static void createArenaFiles(int id, String gameName) {
-		File configFile = new File(NovaGamesLib.plugin.getDataFolder() + "/Arenas/" + String.valueOf(id) + "/config.yml");
-		YamlConfiguration config = YamlConfiguration.loadConfiguration(configFile);
+		File configFile = getArenaConfigFile(id);
+		YamlConfiguration config = getArenaConfigYml(id);
 		config.addDefault("Id", id);
 		config.addDefault("Name", "ArenaBase " + String.valueOf(id));
 		config.addDefault("DisplayName", "&5Arena " + String.valueOf(id));
@@ -90,19 +94,85 @@ public class ArenaDataManager {
 	}
 
 	/**
-	 * Saves the arena's config.
+	 * Creates a new arena as a copy of an existing arena, offset by the specified amount.
+	 * The regen area and every location inside the source's regen area are moved along with the copy,
+	 * while locations outside of it, such as the quit and end locations, are kept as they are.
+	 * <br> <br>
+	 * This only copies the arena's settings. The map itself must already be built at the offset area.
+	 * @param sourceId The id of the arena to copy.
+	 * @param index The index of the copy within the source's pool, which is saved with the copy.
+	 * @param offsetX The amount of blocks to move the copy on the x axis.
+	 * @param offsetY The amount of blocks to move the copy on the y axis.
+	 * @param offsetZ The amount of blocks to move the copy on the z axis.
+	 * @return The ID of the new arena.
+	 */
+	public static Integer copyArena(int sourceId, int index, int offsetX, int offsetY, int offsetZ) {
+		Cuboid sourceArea = getRegenArea(sourceId);
+		Integer nextId = DataCache.useNextId();
+
+		YamlConfiguration config = getArenaConfigYml(sourceId);
+		config.set("Id", nextId);
+		config.set("Name", config.getString("Name") + " #" + index);
+		config.set("Pool.Source", sourceId);
+		config.set("Pool.Index", index);
+
+		ConfigurationSection locations = config.getConfigurationSection("Locations");
+		for (String path : locations.getKeys(true)) {
+			ConfigurationSection loc = locations.getConfigurationSection(path);
+			if (loc == null || !loc.contains("world") || !loc.contains("x")) {
+				continue;
+			}
+			if (path.startsWith("Regen") || isWithin(sourceArea, loc)) {
+				loc.set("x", loc.getDouble("x") + offsetX);
+				loc.set("y", loc.getDouble("y") + offsetY);
+				loc.set("z", loc.getDouble("z") + offsetZ);
+			}
+		}
+		saveArenaConfig(config, getArenaConfigFile(nextId));
+
+		YamlConfiguration pluginCache = FileManager.getPluginCacheYml();
+		List<String> arenas = pluginCache.getStringList("Arenas.All");
+		arenas.add(String.valueOf(nextId));
+		pluginCache.set("Arenas.All", arenas);
+		FileManager.savePluginCache(pluginCache);
+
+		if (FileManager.verbose()) {
+			NovaGamesLib.plugin.getLogger().info("Copied arena " + sourceId + " to new arena with ID: " + nextId);
+		}
+
+		return nextId;
+	}
+
+	/**
+	 * Starts a batch of changes to an arena's settings, saved all at once by {@link ArenaEdit#commit()}.
+	 * Prefer this over the single setters below when changing more than one value.
+	 * @param id The ID of the arena.
+	 * @return A new edit of the arena.
+	 */
+	public static ArenaEdit edit(int id) {
+		return new ArenaEdit(id);
+	}
+
+	/**
+	 * Saves the arena's config. The file is written in the background by the {@link PersistenceQueue},
+	 * or appended to the {@link ArenaStore} when it is open.
 	 * @param yml The instance of the config to save.
 	 * @param file The FILE the config came from: {@link #getArenaConfigFile(int)}.
 	 * @return <code>true</code> is successful, else <code>false</code>.
 	 */
 	public static Boolean saveArenaConfig(YamlConfiguration yml, File file) {
-		try {
-			yml.save(file);
-			return true;
-		} catch (IOException e) {
-			e.printStackTrace();
-			return false;
+		Integer id = getArenaId(file);
+		if (id != null && ArenaStore.isOpen()) {
+			if (!ArenaStore.save(id, yml)) {
+				return false;
+			}
+		} else {
+			PersistenceQueue.save(yml, file);
 		}
+		if (id != null) {
+			configs.put(id, ArenaConfig.of(id, yml));
+		}
+		return true;
 	}
 
 	/**
@@ -176,7 +246,10 @@ public class ArenaDataManager {
 	 * @return <code>true</code> if it exists, else <code>false</code>.
 	 */
 	public static Boolean arenaExists(int id) {
-		return getArenaConfigFile(id).exists();
+		if (ArenaStore.isOpen()) {
+			return ArenaStore.contains(id);
+		}
+		return PersistenceQueue.exists(getArenaConfigFile(id));
 	}
 
 	/**
@@ -199,9 +272,10 @@ public class ArenaDataManager {
 	 * @return <code>true</code> if it can be loaded, else <code>false</code>.
 	 */
 	public static Boolean canBeLoaded(int id) {
-		if (arenaExists(id) && getArenaConfigYml(id).contains("Locations.End") && getArenaConfigYml(id).contains("Locations.Quit")
-				&& getArenaConfigYml(id).contains("Locations.Lobby") && getArenaConfigYml(id).contains("Locations.Spectate")
-				&& getArenaConfigYml(id).contains("Locations.Regen")) {
+		ArenaConfig config = getArenaConfig(id);
+		if (arenaExists(id) && config.hasLocation("End") && config.hasLocation("Quit")
+				&& config.hasLocation("Lobby") && config.hasLocation("Spectate")
+				&& config.hasLocation("Regen.loc1") && config.hasLocation("Regen.loc2")) {
 
 			if (usesTeams(id)) {
 				for (Team team : Team.allTeams()) {
@@ -222,8 +296,7 @@ public class ArenaDataManager {
 	 * @return <code>true</code> if needed info is saved, else <code>false</code>.
 	 */
 	public static Boolean hasTeamSaved(int id, Team team) {
-		YamlConfiguration config = getArenaConfigYml(id);
-		return config.contains("Locations.Spawn." + team.name());
+		return getArenaConfig(id).hasLocation("Spawn." + team.name());
 	}
 
 	//Getters
@@ -244,7 +317,73 @@ public class ArenaDataManager {
 	 * @return The config YML of the arena.
 	 */
 	public static YamlConfiguration getArenaConfigYml(int id) {
-		return YamlConfiguration.loadConfiguration(getArenaConfigFile(id));
+		if (ArenaStore.isOpen()) {
+			return ArenaStore.load(id);
+		}
+		return PersistenceQueue.load(getArenaConfigFile(id));
+	}
+
+	/**
+	 * Gets the settings of the specified arena, read from its config the first time and then kept in memory.
+	 * Every save through {@link #saveArenaConfig(YamlConfiguration, File)} swaps in the new settings.
+	 * Use {@link #reloadArenaConfig(int)} after the file is changed by other means.
+	 * @param id The id of the arena.
+	 * @return The settings of the arena.
+	 */
+	public static ArenaConfig getArenaConfig(int id) {
+		ArenaConfig config = configs.get(id);
+		if (config == null) {
+			config = ArenaConfig.of(id, getArenaConfigYml(id));
+			if (arenaExists(id)) {
+				ArenaConfig existing = configs.putIfAbsent(id, config);
+				if (existing != null) {
+					config = existing;
+				}
+			}
+		}
+		return config;
+	}
+
+	/**
+	 * Reads the arena's config from disk again and swaps in the new settings.
+	 * @param id The id of the arena.
+	 * @return The new settings of the arena.
+	 */
+	public static ArenaConfig reloadArenaConfig(int id) {
+		ArenaConfig config = ArenaConfig.of(id, getArenaConfigYml(id));
+		if (arenaExists(id)) {
+			configs.put(id, config);
+		} else {
+			configs.remove(id);
+		}
+		return config;
+	}
+
+	/**
+	 * Gets the arena this arena was copied from with {@link #copyArena(int, int, int, int, int)}.
+	 * @param id The id of the arena.
+	 * @return The id of the arena it was copied from, or its own id if it is not a copy.
+	 */
+	public static Integer getPoolSource(int id) {
+		return getArenaConfig(id).getPoolSource();
+	}
+
+	/**
+	 * Gets the index of this arena within the pool of its source arena.
+	 * @param id The id of the arena.
+	 * @return The index of the copy, or <code>0</code> if it is not a copy.
+	 */
+	public static Integer getPoolIndex(int id) {
+		return getArenaConfig(id).getPoolIndex();
+	}
+
+	/**
+	 * Gets the template this arena was created from with {@link com.cloudcraftgaming.novagameslib.api.arena.ArenaTemplate#createInstance()}.
+	 * @param id The id of the arena.
+	 * @return The name of the template, or <code>null</code> if it was not created from one.
+	 */
+	public static String getTemplateName(int id) {
+		return getArenaConfig(id).getTemplateName();
 	}
 
 	//General getters
@@ -254,7 +393,7 @@ public class ArenaDataManager {
 	 * @return The arena's raw name.
 	 */
 	public static String getName(int id) {
-		return getArenaConfigYml(id).getString("Name");
+		return getArenaConfig(id).getName();
 	}
 
 	/**
@@ -263,7 +402,7 @@ public class ArenaDataManager {
 	 * @return The arena's display name with chat colors.
 	 */
 	public static String getDisplayName(int id) {
-		String nameOr = getArenaConfigYml(id).getString("DisplayName");
+		String nameOr = getArenaConfig(id).getDisplayName();
 		return ChatColor.translateAlternateColorCodes('&', nameOr) + ChatColor.RESET;
 	}
 
@@ -273,7 +412,7 @@ public class ArenaDataManager {
 	 * @return The name of the game the arena belongs to.
 	 */
 	public static String getGameName(int id) {
-		return getArenaConfigYml(id).getString("GameName");
+		return getArenaConfig(id).getGameName();
 	}
 
 	/**
@@ -293,7 +432,7 @@ public class ArenaDataManager {
 	 * @return The GameMode the minigame is in.
 	 */
 	public static GameMode getGameMode(int id) {
-		return GameMode.valueOf(getArenaConfigYml(id).getString("Rules.GameMode"));
+		return GameMode.valueOf(getArenaConfig(id).getGameModeName());
 	}
 
 	//Player related getters
@@ -303,7 +442,7 @@ public class ArenaDataManager {
 	 * @return The minimum players needed to start the game.
 	 */
 	public static Integer getMinPlayers(int id) {
-		return getArenaConfigYml(id).getInt("Players.Min");
+		return getArenaConfig(id).getMinPlayers();
 	}
 
 	/**
@@ -312,7 +451,7 @@ public class ArenaDataManager {
 	 * @return The maximum players allowed in the arena.
 	 */
 	public static Integer getMaxPlayers(int id) {
-		return getArenaConfigYml(id).getInt("Players.Max");
+		return getArenaConfig(id).getMaxPlayers();
 	}
 
 	//Team related getters
@@ -322,7 +461,7 @@ public class ArenaDataManager {
 	 * @return The minimum number of teams for the arena.
 	 */
 	public static Integer getMinTeamCount(int id) {
-		return getArenaConfigYml(id).getInt("Teams.Amount.Min");
+		return getArenaConfig(id).getMinTeamCount();
 	}
 
 	/**
@@ -331,7 +470,7 @@ public class ArenaDataManager {
 	 * @return The maximum number of teams for the arena.
 	 */
 	public static Integer getMaxTeamCount(int id) {
-		return getArenaConfigYml(id).getInt("Teams.Amount.Max");
+		return getArenaConfig(id).getMaxTeamCount();
 	}
 
 	//Time related getters
@@ -341,7 +480,7 @@ public class ArenaDataManager {
 	 * @return The wait time, in seconds, to wait for more players.
 	 */
 	public static Integer getWaitDelay(int id) {
-		return getArenaConfigYml(id).getInt("Time.Delay.Wait");
+		return getArenaConfig(id).getWaitDelay();
 	}
 
 	/**
@@ -350,7 +489,7 @@ public class ArenaDataManager {
 	 * @return The start time, in seconds, before starting the game.
 	 */
 	public static Integer getStartDelay(int id) {
-		return getArenaConfigYml(id).getInt("Time.Delay.Start");
+		return getArenaConfig(id).getStartDelay();
 	}
 
 	/**
@@ -359,7 +498,7 @@ public class ArenaDataManager {
 	 * @return The length of the game, in minutes.
 	 */
 	public static Integer getGameLength(int id) {
-		return getArenaConfigYml(id).getInt("Time.Game.Length");
+		return getArenaConfig(id).getGameLength();
 	}
 
 	/**
@@ -368,7 +507,7 @@ public class ArenaDataManager {
 	 * @return The length of 1(one) day, in minutes.
 	 */
 	public static Integer getDayLength(int id) {
-		return getArenaConfigYml(id).getInt("Time.Game.Day");
+		return getArenaConfig(id).getDayLength();
 	}
 
 	/**
@@ -377,7 +516,7 @@ public class ArenaDataManager {
 	 * @return The length of 1(one) night, in minutes.
 	 */
 	public static Integer getNightLength(int id) {
-		return getArenaConfigYml(id).getInt("Time.Game.Night");
+		return getArenaConfig(id).getNightLength();
 	}
 
 	//Location getters
@@ -387,15 +526,7 @@ public class ArenaDataManager {
 	 * @return The location players will be teleported to before the game starts.
 	 */
 	public static Location getLobbyLocation(int id) {
-		YamlConfiguration config = getArenaConfigYml(id);
-		String worldName = config.getString("Locations.Lobby.world");
-		Double x = config.getDouble("Locations.Lobby.x");
-		Double y = config.getDouble("Locations.Lobby.y");
-		Double z = config.getDouble("Locations.Lobby.z");
-		Integer ya = config.getInt("Locations.Lobby.yaw");
-		Integer pi = config.getInt("Locations.Lobby.pitch");
-		World world = Bukkit.getWorld(worldName);
-		return new Location(world, x, y, z, ya, pi);
+		return getArenaConfig(id).getLocation("Lobby");
 	}
 
 	/**
@@ -404,15 +535,7 @@ public class ArenaDataManager {
 	 * @return The location a player will be teleported to after quiting the game.
 	 */
 	public static Location getQuitLocation(int id) {
-		YamlConfiguration config = getArenaConfigYml(id);
-		String worldName = config.getString("Locations.Quit.world");
-		Double x = config.getDouble("Locations.Quit.x");
-		Double y = config.getDouble("Locations.Quit.y");
-		Double z = config.getDouble("Locations.Quit.z");
-		Integer ya = config.getInt("Locations.Quit.yaw");
-		Integer pi = config.getInt("Locations.Quit.pitch");
-		World world = Bukkit.getWorld(worldName);
-		return new Location(world, x, y, z, ya, pi);
+		return getArenaConfig(id).getLocation("Quit");
 	}
 
 	/**
@@ -421,15 +544,7 @@ public class ArenaDataManager {
 	 * @return The location players will be teleported to when the game ends.
 	 */
 	public static Location getEndLocation(int id) {
-		YamlConfiguration config = getArenaConfigYml(id);
-		String worldName = config.getString("Locations.End.world");
-		Double x = config.getDouble("Locations.End.x");
-		Double y = config.getDouble("Locations.End.y");
-		Double z = config.getDouble("Locations.End.z");
-		Integer ya = config.getInt("Locations.End.yaw");
-		Integer pi = config.getInt("Locations.End.pitch");
-		World world = Bukkit.getWorld(worldName);
-		return new Location(world, x, y, z, ya, pi);
+		return getArenaConfig(id).getLocation("End");
 	}
 
 	/**
@@ -438,15 +553,7 @@ public class ArenaDataManager {
 	 * @return The location spectators are teleported to.
 	 */
 	public static Location getSpectateLocation(int id) {
-		YamlConfiguration config = getArenaConfigYml(id);
-		String worldName = config.getString("Locations.Spectate.world");
-		Double x = config.getDouble("Locations.Spectate.x");
-		Double y = config.getDouble("Locations.Spectate.y");
-		Double z = config.getDouble("Locations.Spectate.z");
-		Integer ya = config.getInt("Locations.Spectate.yaw");
-		Integer pi = config.getInt("Locations.Spectate.pitch");
-		World world = Bukkit.getWorld(worldName);
-		return new Location(world, x, y, z, ya, pi);
+		return getArenaConfig(id).getLocation("Spectate");
 	}
 
 	/**
@@ -457,15 +564,7 @@ public class ArenaDataManager {
 	 * @return The Main spawn location.
 	 */
 	public static Location getMainSpawnLocation(int id) {
-		YamlConfiguration config = getArenaConfigYml(id);
-		String worldName = config.getString("Locations.Spawn.Main.world");
-		Double x = config.getDouble("Locations.Spawn.Main.x");
-		Double y = config.getDouble("Locations.Spawn.Main.y");
-		Double z = config.getDouble("Locations.Spawn.Main.z");
-		Integer ya = config.getInt("Locations.Spawn.Main.yaw");
-		Integer pi = config.getInt("Locations.Spawn.Main.pitch");
-		World world = Bukkit.getWorld(worldName);
-		return new Location(world, x, y, z, ya, pi);
+		return getArenaConfig(id).getLocation("Spawn.Main");
 	}
 
 	/**
@@ -476,15 +575,7 @@ public class ArenaDataManager {
 	 * @return The Secondary spawn location.
 	 */
 	public static Location getSecondarySpawnLocation(int id) {
-		YamlConfiguration config = getArenaConfigYml(id);
-		String worldName = config.getString("Locations.Spawn.Secondary.world");
-		Double x = config.getDouble("Locations.Spawn.Secondary.x");
-		Double y = config.getDouble("Locations.Spawn.Secondary.y");
-		Double z = config.getDouble("Locations.Spawn.Secondary.z");
-		Integer ya = config.getInt("Locations.Spawn.Secondary.yaw");
-		Integer pi = config.getInt("Locations.Spawn.Secondary.pitch");
-		World world = Bukkit.getWorld(worldName);
-		return new Location(world, x, y, z, ya, pi);
+		return getArenaConfig(id).getLocation("Spawn.Secondary");
 	}
 
 	/**
@@ -494,15 +585,7 @@ public class ArenaDataManager {
 	 * @return The team's spawn location.
 	 */
 	public static Location getTeamSpawnLocation(int id, Team team) {
-		YamlConfiguration config = getArenaConfigYml(id);
-		String worldName = config.getString("Locations.Spawn." + team.name() + ".world");
-		Double x = config.getDouble("Locations.Spawn." + team.name() + ".x");
-		Double y = config.getDouble("Locations.Spawn." + team.name() + ".y");
-		Double z = config.getDouble("Locations.Spawn." + team.name() + ".z");
-		Integer ya = config.getInt("Locations.Spawn." + team.name() + ".yaw");
-		Integer pi = config.getInt("Locations.Spawn." + team.name() + ".pitch");
-		World world = Bukkit.getWorld(worldName);
-		return new Location(world, x, y, z, ya, pi);
+		return getArenaConfig(id).getLocation("Spawn." + team.name());
 	}
 
 	/**
@@ -511,20 +594,8 @@ public class ArenaDataManager {
 	 * @return The entire cuboid region that is to be regenerated.
 	 */
 	public static Cuboid getRegenArea(int id) {
-		YamlConfiguration config = getArenaConfigYml(id);
-		World w1 = Bukkit.getWorld(config.getString("Locations.Regen.loc1.world"));
-		Double x1 = config.getDouble("Locations.Regen.loc1.x");
-		Double y1 = config.getDouble("Locations.Regen.loc1.y");
-		Double z1 = config.getDouble("Locations.Regen.loc1.z");
-
-		World w2 = Bukkit.getWorld(config.getString("Locations.Regen.loc2.world"));
-		Double x2 = config.getDouble("Locations.Regen.loc2.x");
-		Double y2 = config.getDouble("Locations.Regen.loc2.y");
-		Double z2 = config.getDouble("Locations.Regen.loc2.z");
-
-		Location loc1 = new Location(w1, x1, y1, z1);
-		Location loc2 = new Location(w2, x2, y2, z2);
-		return new Cuboid(loc1, loc2);
+		ArenaConfig config = getArenaConfig(id);
+		return new Cuboid(config.getLocation("Regen.loc1"), config.getLocation("Regen.loc2"));
 	}
 
 	//Rule getters
@@ -534,7 +605,7 @@ public class ArenaDataManager {
 	 * @return <code>true</code> if use teams, else <code>false</code>.
 	 */
 	public static Boolean usesTeams(int id) {
-		return getArenaConfigYml(id).getBoolean("Rules.Teams.Use");
+		return getArenaConfig(id).usesTeams();
 	}
 
 	/**
@@ -543,7 +614,7 @@ public class ArenaDataManager {
 	 * @return <code>true</code> is player names should NOT be visible, else <code>false</code>.
 	 */
 	public static Boolean getHideName(int id) {
-		return getArenaConfigYml(id).getBoolean("Rules.Teams.HideNames");
+		return getArenaConfig(id).hideNames();
 	}
 
 	/**
@@ -552,7 +623,7 @@ public class ArenaDataManager {
 	 * @return <code>true</code> if friendly fire is allowed, else <code>false</code>.
 	 */
 	public static Boolean allowsFriendlyFire(int id) {
-		return getArenaConfigYml(id).getBoolean("Rules.Teams.AllowFriendlyFire");
+		return getArenaConfig(id).allowsFriendlyFire();
 	}
 
 	/**
@@ -562,7 +633,7 @@ public class ArenaDataManager {
 	 * @return <code>true</code> if block breaking is allowed, else <code>false</code>.
 	 */
 	public static Boolean allowsBlockBreak(int id) {
-		return getArenaConfigYml(id).getBoolean("Rules.Block.Break");
+		return getArenaConfig(id).allowsBlockBreak();
 	}
 
 	/**
@@ -572,7 +643,7 @@ public class ArenaDataManager {
 	 * @return <code>true</code> if block placing is allowed, else <code>false</code>.
 	 */
 	public static Boolean allowsBlockPlace(int id) {
-		return getArenaConfigYml(id).getBoolean("Rules.Block.Place");
+		return getArenaConfig(id).allowsBlockPlace();
 	}
 
 	/**
@@ -581,7 +652,7 @@ public class ArenaDataManager {
 	 * @return <code>true</code> if the arena allows late joining, else <code>false</code>.
 	 */
 	public static Boolean allowsLateJoin(int id) {
-		return getArenaConfigYml(id).getString("Rules.LateJoin.Allow").equalsIgnoreCase("True");
+		return getArenaConfig(id).allowsLateJoin();
 	}
 
 	//General setters
@@ -591,9 +662,7 @@ public class ArenaDataManager {
 	 * @param name The name you want it to have.
 	 */
 	public static void setDisplayName(int id, String name) {
-		YamlConfiguration config = getArenaConfigYml(id);
-		config.set("DisplayName", name);
-		saveArenaConfig(config, getArenaConfigFile(id));
+		edit(id).setDisplayName(name).commit();
 	}
 
 	/**
@@ -603,12 +672,10 @@ public class ArenaDataManager {
 	 * @return <code>true</code> if successful, else <code>false</code>.
 	 */
 	public static boolean setGameMode(int id, String gameModeString) {
-		YamlConfiguration config = getArenaConfigYml(id);
 		String gameModeStringCorrect = gameModeString.toUpperCase();
 		try {
 			GameMode gameMode = GameMode.valueOf(gameModeStringCorrect);
-			config.set("Rules.GameMode", gameMode.toString());
-			saveArenaConfig(config, getArenaConfigFile(id));
+			edit(id).setGameMode(gameMode).commit();
 			return true;
 		} catch (IllegalArgumentException e) {
 			//Gamemode not correct.
@@ -623,9 +690,7 @@ public class ArenaDataManager {
 	 * @param minPlayers The minimum number of players.
 	 */
 	public static void setMinPlayers(int id, Integer minPlayers) {
-		YamlConfiguration config = getArenaConfigYml(id);
-		config.set("Players.Min", minPlayers);
-		saveArenaConfig(config, getArenaConfigFile(id));
+		edit(id).setMinPlayers(minPlayers).commit();
 	}
 
 	/**
@@ -634,9 +699,7 @@ public class ArenaDataManager {
 	 * @param maxPlayers The maximum number of players.
 	 */
 	public static void setMaxPlayers(int id, Integer maxPlayers) {
-		YamlConfiguration config = getArenaConfigYml(id);
-		config.set("Players.Max", maxPlayers);
-		saveArenaConfig(config, getArenaConfigFile(id));
+		edit(id).setMaxPlayers(maxPlayers).commit();
 	}
 
 	//Team related setters
@@ -646,9 +709,7 @@ public class ArenaDataManager {
 	 * @param minCount The minimum number of teams.
 	 */
 	public static void setMinTeamCount(int id, Integer minCount) {
-		YamlConfiguration config = getArenaConfigYml(id);
-		config.set("Teams.Amount.Min", minCount);
-		saveArenaConfig(config, getArenaConfigFile(id));
+		edit(id).setMinTeamCount(minCount).commit();
 	}
 
 	/**
@@ -657,9 +718,7 @@ public class ArenaDataManager {
 	 * @param maxCount The maximum number of of teams.
 	 */
 	public static void setMaxTeamCount(int id, Integer maxCount) {
-		YamlConfiguration config = getArenaConfigYml(id);
-		config.set("Teams.Amount.Max", maxCount);
-		saveArenaConfig(config, getArenaConfigFile(id));
+		edit(id).setMaxTeamCount(maxCount).commit();
 	}
 
 	//Time related setters
@@ -669,9 +728,7 @@ public class ArenaDataManager {
 	 * @param time The time (in seconds).
 	 */
 	public static void setWaitDelay(int id, Integer time) {
-		YamlConfiguration config = getArenaConfigYml(id);
-		config.set("Time.Delay.Wait", time);
-		saveArenaConfig(config, getArenaConfigFile(id));
+		edit(id).setWaitDelay(time).commit();
 	}
 
 	/**
@@ -680,9 +737,7 @@ public class ArenaDataManager {
 	 * @param time The time (in seconds).
 	 */
 	public static void setStartDelay(int id, Integer time) {
-		YamlConfiguration config = getArenaConfigYml(id);
-		config.set("Time.Delay.Start", time);
-		saveArenaConfig(config, getArenaConfigFile(id));
+		edit(id).setStartDelay(time).commit();
 	}
 
 	/**
@@ -691,9 +746,7 @@ public class ArenaDataManager {
 	 * @param time The length of the game (in minutes).
 	 */
 	public static void setGameLength(int id, Integer time) {
-		YamlConfiguration config = getArenaConfigYml(id);
-		config.set("Time.Game.Length", time);
-		saveArenaConfig(config, getArenaConfigFile(id));
+		edit(id).setGameLength(time).commit();
 	}
 
 	/**
@@ -702,9 +755,7 @@ public class ArenaDataManager {
 	 * @param time The length of the day (in minutes).
 	 */
 	public static void setDayLength(int id, Integer time) {
-		YamlConfiguration config = getArenaConfigYml(id);
-		config.set("Time.Game.Time", time);
-		saveArenaConfig(config, getArenaConfigFile(id));
+		edit(id).setDayLength(time).commit();
 	}
 
 	/**
@@ -713,9 +764,7 @@ public class ArenaDataManager {
 	 * @param time The length of the night (in minutes).
 	 */
 	public static void setNightLength(int id, Integer time) {
-		YamlConfiguration config = getArenaConfigYml(id);
-		config.set("Time.Game.Night", time);
-		saveArenaConfig(config, getArenaConfigFile(id));
+		edit(id).setNightLength(time).commit();
 	}
 
 	//Location related setters
@@ -725,14 +774,7 @@ public class ArenaDataManager {
 	 * @param loc The location of the lobby/where players will be teleported.
 	 */
 	public static void setLobbyLocation(int id, Location loc) {
-		YamlConfiguration config = getArenaConfigYml(id);
-		config.set("Locations.Lobby.world", loc.getWorld().getName());
-		config.set("Locations.Lobby.x", loc.getX());
-		config.set("Locations.Lobby.y", loc.getY());
-		config.set("Locations.Lobby.z", loc.getZ());
-		config.set("Locations.Lobby.yaw", loc.getYaw());
-		config.set("Locations.Lobby.pitch", loc.getPitch());
-		saveArenaConfig(config, getArenaConfigFile(id));
+		edit(id).setLobbyLocation(loc).commit();
 	}
 
 	/**
@@ -741,14 +783,7 @@ public class ArenaDataManager {
 	 * @param loc The location of where the player will be teleported.
 	 */
 	public static void setQuitLocation(int id, Location loc) {
-		YamlConfiguration config = getArenaConfigYml(id);
-		config.set("Locations.Quit.world", loc.getWorld().getName());
-		config.set("Locations.Quit.x", loc.getX());
-		config.set("Locations.Quit.y", loc.getY());
-		config.set("Locations.Quit.z", loc.getZ());
-		config.set("Locations.Quit.yaw", loc.getYaw());
-		config.set("Locations.Quit.pitch", loc.getPitch());
-		saveArenaConfig(config, getArenaConfigFile(id));
+		edit(id).setQuitLocation(loc).commit();
 	}
 
 	/**
@@ -757,14 +792,7 @@ public class ArenaDataManager {
 	 * @param loc The location where players will be teleported.
 	 */
 	public static void setEndLocation(int id, Location loc) {
-		YamlConfiguration config = getArenaConfigYml(id);
-		config.set("Locations.End.world", loc.getWorld().getName());
-		config.set("Locations.End.x", loc.getX());
-		config.set("Locations.End.y", loc.getY());
-		config.set("Locations.End.z", loc.getZ());
-		config.set("Locations.End.yaw", loc.getYaw());
-		config.set("Locations.End.pitch", loc.getPitch());
-		saveArenaConfig(config, getArenaConfigFile(id));
+		edit(id).setEndLocation(loc).commit();
 	}
 
 	/**
@@ -773,14 +801,7 @@ public class ArenaDataManager {
 	 * @param loc THe spectating location.
 	 */
 	public static void setSpectateLocation(int id, Location loc) {
-		YamlConfiguration config = getArenaConfigYml(id);
-		config.set("Locations.Spectate.world", loc.getWorld().getName());
-		config.set("Locations.Spectate.x", loc.getX());
-		config.set("Locations.Spectate.y", loc.getY());
-		config.set("Locations.Spectate.z", loc.getZ());
-		config.set("Locations.Spectate.yaw", loc.getYaw());
-		config.set("Locations.Spectate.pitch", loc.getPitch());
-		saveArenaConfig(config, getArenaConfigFile(id));
+		edit(id).setSpectateLocation(loc).commit();
 	}
 
 	/**
@@ -791,14 +812,7 @@ public class ArenaDataManager {
 	 * @param loc The Main spawn location.
 	 */
 	public static void setMainSpawn(int id, Location loc) {
-		YamlConfiguration config = getArenaConfigYml(id);
-		config.set("Locations.Spawn.Main.world", loc.getWorld().getName());
-		config.set("Locations.Spawn.Main.x", loc.getX());
-		config.set("Locations.Spawn.Main.y", loc.getY());
-		config.set("Locations.Spawn.Main.z", loc.getZ());
-		config.set("Locations.Spawn.Main.yaw", loc.getYaw());
-		config.set("Locations.Spawn.Main.pitch", loc.getPitch());
-		saveArenaConfig(config, getArenaConfigFile(id));
+		edit(id).setMainSpawn(loc).commit();
 	}
 
 	/**
@@ -809,14 +823,7 @@ public class ArenaDataManager {
 	 * @param loc The Secondary spawn location.
 	 */
 	public static void setSecondarySpawn(int id, Location loc) {
-		YamlConfiguration config = getArenaConfigYml(id);
-		config.set("Locations.Spawn.Secondary.world", loc.getWorld().getName());
-		config.set("Locations.Spawn.Secondary.x", loc.getX());
-		config.set("Locations.Spawn.Secondary.y", loc.getY());
-		config.set("Locations.Spawn.Secondary.z", loc.getZ());
-		config.set("Locations.Spawn.Secondary.yaw", loc.getYaw());
-		config.set("Locations.Spawn.Secondary.pitch", loc.getPitch());
-		saveArenaConfig(config, getArenaConfigFile(id));
+		edit(id).setSecondarySpawn(loc).commit();
 	}
 
 	/**
@@ -829,14 +836,7 @@ public class ArenaDataManager {
 	public static Boolean setTeamSpawn(int id, Location loc, String teamName) {
 		teamName = teamName.toUpperCase();
 		if (Team.exists(teamName)) {
-			YamlConfiguration config = getArenaConfigYml(id);
-			config.set("Locations.Spawn." + teamName + ".world", loc.getWorld().getName());
-			config.set("Locations.Spawn." + teamName + ".x", loc.getX());
-			config.set("Locations.Spawn." + teamName + ".y", loc.getY());
-			config.set("Locations.Spawn." + teamName + ".z", loc.getZ());
-			config.set("Locations.Spawn." + teamName + ".yaw", loc.getY());
-			config.set("Locations.Spawn." + teamName + ".pitch", loc.getPitch());
-			saveArenaConfig(config, getArenaConfigFile(id));
+			edit(id).setTeamSpawn(Team.valueOf(teamName), loc).commit();
 			return true;
 		}
 		return false;
@@ -849,16 +849,7 @@ public class ArenaDataManager {
 	 * @param loc2 The second corner of the region
 	 */
 	public static void setRegenArea(int id, Location loc1, Location loc2) {
-		YamlConfiguration config = getArenaConfigYml(id);
-		config.set("Locations.Regen.loc1.world", loc1.getWorld().getName());
-		config.set("Locations.Regen.loc1.x", loc1.getX());
-		config.set("Locations.Regen.loc1.y", loc1.getY());
-		config.set("Locations.Regen.loc1.z", loc1.getZ());
-		config.set("Locations.Regen.loc2.world", loc2.getWorld().getName());
-		config.set("Locations.Regen.loc2.x", loc2.getX());
-		config.set("Locations.Regen.loc2.y", loc2.getY());
-		config.set("Locations.Regen.loc2.z", loc2.getZ());
-		saveArenaConfig(config, getArenaConfigFile(id));
+		edit(id).setRegenArea(loc1, loc2).commit();
 	}
 
 	//Rule related setters
@@ -868,9 +859,7 @@ public class ArenaDataManager {
 	 * @param value Whether or not to use teams.
 	 */
 	public static void setUseTeams(int id, Boolean value) {
-		YamlConfiguration config = getArenaConfigYml(id);
-		config.set("Rules.Teams.Use", value);
-		saveArenaConfig(config, getArenaConfigFile(id));
+		edit(id).setUseTeams(value).commit();
 	}
 
 	/**
@@ -879,9 +868,7 @@ public class ArenaDataManager {
 	 * @param value True or false, if name tags are visible.
 	 */
 	public static void setHideNames(int id, Boolean value) {
-		YamlConfiguration config = getArenaConfigYml(id);
-		config.set("Rules.Teams.HideNames", value);
-		saveArenaConfig(config, getArenaConfigFile(id));
+		edit(id).setHideNames(value).commit();
 	}
 
 	/**
@@ -890,9 +877,7 @@ public class ArenaDataManager {
 	 * @param value True of false, if friendly fire is allowed.
 	 */
 	public static void setAllowFriendlyFire(int id, Boolean value) {
-		YamlConfiguration config = getArenaConfigYml(id);
-		config.set("Rules.Teams.AllowFriendlyFire", value);
-		saveArenaConfig(config, getArenaConfigFile(id));
+		edit(id).setAllowFriendlyFire(value).commit();
 	}
 
 	/**
@@ -901,9 +886,7 @@ public class ArenaDataManager {
 	 * @param value Whether or not block breaking is allowed.
 	 */
 	public static void setAllowBlockBreak(int id, Boolean value) {
-		YamlConfiguration config = getArenaConfigYml(id);
-		config.set("Rules.Block.Break", value);
-		saveArenaConfig(config, getArenaConfigFile(id));
+		edit(id).setAllowBlockBreak(value).commit();
 	}
 
 	/**
@@ -912,9 +895,7 @@ public class ArenaDataManager {
 	 * @param value Whether or not block breaking is allowed.
 	 */
 	public static void setAllowBlockPlace(int id, Boolean value) {
-		YamlConfiguration config = getArenaConfigYml(id);
-		config.set("Rules.Block.Place", value);
-		saveArenaConfig(config, getArenaConfigFile(id));
+		edit(id).setAllowBlockPlace(value).commit();
 	}
 
 	/**
@@ -923,8 +904,30 @@ public class ArenaDataManager {
 	 * @param value Whether or not late joining is allowed.
 	 */
 	public static void setAllowLateJoin(int id, Boolean value) {
-		YamlConfiguration config = getArenaConfigYml(id);
-		config.set("Rules.LateJoin.Allow", value);
-		saveArenaConfig(config, getArenaConfigFile(id));
+		edit(id).setAllowLateJoin(value).commit();
+	}
+
+	//Internals
+	private static boolean isWithin(Cuboid area, ConfigurationSection loc) {
+		double x = loc.getDouble("x");
+		double y = loc.getDouble("y");
+		double z = loc.getDouble("z");
+		return area.getWorldName().equals(loc.getString("world"))
+				&& x >= area.getLowerX() && x < area.getUpperX() + 1
+				&& y >= area.getLowerY() && y < area.getUpperY() + 1
+				&& z >= area.getLowerZ() && z < area.getUpperZ() + 1;
+	}
+
+	private static Integer getArenaId(File configFile) {
+		File folder = configFile.getAbsoluteFile().getParentFile();
+		if (!configFile.getName().equals("config.yml") || folder == null || folder.getParentFile() == null
+				|| !folder.getParentFile().getName().equals("Arenas")) {
+			return null;
+		}
+		try {
+			return Integer.valueOf(folder.getName());
+		} catch (NumberFormatException e) {
+			return null;
+		}
 	}
 }
\ No newline at end of file
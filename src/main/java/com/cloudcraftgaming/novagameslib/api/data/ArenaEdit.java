@@ -0,0 +1,369 @@
+package com.cloudcraftgaming.novagameslib.api.data;
+
+import com.cloudcraftgaming.novagameslib.NovaGamesLib;
+import com.cloudcraftgaming.novagameslib.api.regeneration.Regenerator;
+import com.cloudcraftgaming.novagameslib.api.team.Team;
+import com.cloudcraftgaming.novagameslib.api.utils.FileManager;
+import org.bukkit.GameMode;
+import org.bukkit.Location;
+import org.bukkit.configuration.file.YamlConfiguration;
+
+/**
+ * Website: www.cloudcraftgaming.com
+ * For Project: NovaGamesLib-Bukkit
+ * <br> <br>
+ * A batch of changes to an arena's settings, saved all at once.
+ * The arena's config is read when the edit is started and only saved by {@link #commit()},
+ * so setting many values costs a single save rather than one per value. An edit that is never committed changes nothing.
+ * <br> <br>
+ * Start an edit with {@link ArenaDataManager#edit(int)}, for example:
+ * <code>ArenaDataManager.edit(id).setMinPlayers(2).setMaxPlayers(8).setLobbyLocation(loc).commit();</code>
+ */
+@SuppressWarnings({"unused", "WeakerAccess"})
+public class ArenaEdit {
+	private final int id;
+	private final YamlConfiguration config;
+
+	private int changes = 0;
+	private boolean regenChanged = false;
+	private boolean committed = false;
+
+	ArenaEdit(int _id) {
+		id = _id;
+		config = ArenaDataManager.getArenaConfigYml(id);
+	}
+
+	//Booleans/Checkers
+	/**
+	 * Checks whether or not any value has been changed.
+	 * @return <code>true</code> if changed, else <code>false</code>.
+	 */
+	public boolean hasChanges() {
+		return changes > 0;
+	}
+
+	/**
+	 * Checks whether or not this edit has been committed.
+	 * @return <code>true</code> if committed, else <code>false</code>.
+	 */
+	public boolean isCommitted() {
+		return committed;
+	}
+
+	//Getters
+	/**
+	 * Gets the ID of the arena being edited.
+	 * @return The ID of the arena.
+	 */
+	public int getId() {
+		return id;
+	}
+
+	/**
+	 * Gets the amount of values changed so far.
+	 * @return The amount of changes.
+	 */
+	public int getChangeCount() {
+		return changes;
+	}
+
+	//General setters
+	/**
+	 * Sets any value in the arena's config.
+	 * @param path The path of the value.
+	 * @param value The new value, or <code>null</code> to remove it.
+	 * @return This edit.
+	 */
+	public ArenaEdit set(String path, Object value) {
+		checkOpen();
+		config.set(path, value);
+		changes++;
+		return this;
+	}
+
+	/**
+	 * Sets the arena's display name.
+	 * @param name The name you want it to have.
+	 * @return This edit.
+	 */
+	public ArenaEdit setDisplayName(String name) {
+		return set("DisplayName", name);
+	}
+
+	/**
+	 * Sets the GameMode the minigame is in.
+	 * @param gameMode The GameMode the minigame is in.
+	 * @return This edit.
+	 */
+	public ArenaEdit setGameMode(GameMode gameMode) {
+		return set("Rules.GameMode", gameMode.toString());
+	}
+
+	//Player related setters
+	/**
+	 * Sets the minimum amount of players required to start the game.
+	 * @param minPlayers The minimum number of players.
+	 * @return This edit.
+	 */
+	public ArenaEdit setMinPlayers(Integer minPlayers) {
+		return set("Players.Min", minPlayers);
+	}
+
+	/**
+	 * Sets the maximum amount of players for the arena.
+	 * @param maxPlayers The maximum number of players.
+	 * @return This edit.
+	 */
+	public ArenaEdit setMaxPlayers(Integer maxPlayers) {
+		return set("Players.Max", maxPlayers);
+	}
+
+	//Team related setters
+	/**
+	 * Sets the minimum amount of teams for the arena.
+	 * @param minCount The minimum number of teams.
+	 * @return This edit.
+	 */
+	public ArenaEdit setMinTeamCount(Integer minCount) {
+		return set("Teams.Amount.Min", minCount);
+	}
+
+	/**
+	 * Sets the maximum amount of teams for the arena.
+	 * @param maxCount The maximum number of teams.
+	 * @return This edit.
+	 */
+	public ArenaEdit setMaxTeamCount(Integer maxCount) {
+		return set("Teams.Amount.Max", maxCount);
+	}
+
+	//Time related setters
+	/**
+	 * Sets the time to wait for players, in seconds.
+	 * @param time The wait delay.
+	 * @return This edit.
+	 */
+	public ArenaEdit setWaitDelay(Integer time) {
+		return set("Time.Delay.Wait", time);
+	}
+
+	/**
+	 * Sets the countdown before the game starts, in seconds.
+	 * @param time The start delay.
+	 * @return This edit.
+	 */
+	public ArenaEdit setStartDelay(Integer time) {
+		return set("Time.Delay.Start", time);
+	}
+
+	/**
+	 * Sets the length of the game, in minutes.
+	 * @param time The game length.
+	 * @return This edit.
+	 */
+	public ArenaEdit setGameLength(Integer time) {
+		return set("Time.Game.Length", time);
+	}
+
+	/**
+	 * Sets the length of the day, in minutes.
+	 * Saved under <code>Time.Game.Day</code>, the key the day length is read from.
+	 * Earlier versions saved it under <code>Time.Game.Time</code>, which was never read, so values set that way had no effect.
+	 * @param time The day length.
+	 * @return This edit.
+	 */
+	public ArenaEdit setDayLength(Integer time) {
+		return set("Time.Game.Day", time);
+	}
+
+	/**
+	 * Sets the length of the night, in minutes.
+	 * @param time The night length.
+	 * @return This edit.
+	 */
+	public ArenaEdit setNightLength(Integer time) {
+		return set("Time.Game.Night", time);
+	}
+
+	//Location related setters
+	/**
+	 * Sets the lobby position, or where players will wait before the game starts.
+	 * @param loc The location of the lobby.
+	 * @return This edit.
+	 */
+	public ArenaEdit setLobbyLocation(Location loc) {
+		return setLocation("Lobby", loc);
+	}
+
+	/**
+	 * Sets the location of where a player will be teleported after quiting the game.
+	 * @param loc The location of where the player will be teleported.
+	 * @return This edit.
+	 */
+	public ArenaEdit setQuitLocation(Location loc) {
+		return setLocation("Quit", loc);
+	}
+
+	/**
+	 * Sets the location where players will be teleported at the end of the game.
+	 * @param loc The location where players will be teleported.
+	 * @return This edit.
+	 */
+	public ArenaEdit setEndLocation(Location loc) {
+		return setLocation("End", loc);
+	}
+
+	/**
+	 * Sets the location spectators are teleported to.
+	 * @param loc The spectating location.
+	 * @return This edit.
+	 */
+	public ArenaEdit setSpectateLocation(Location loc) {
+		return setLocation("Spectate", loc);
+	}
+
+	/**
+	 * Sets the Main Spawn location to which players will be teleported to when the game starts and not using Teams.
+	 * @param loc The Main spawn location.
+	 * @return This edit.
+	 */
+	public ArenaEdit setMainSpawn(Location loc) {
+		return setLocation("Spawn.Main", loc);
+	}
+
+	/**
+	 * Sets the Secondary Spawn location to which players will be teleported to when the game starts and not using Teams.
+	 * @param loc The Secondary spawn location.
+	 * @return This edit.
+	 */
+	public ArenaEdit setSecondarySpawn(Location loc) {
+		return setLocation("Spawn.Secondary", loc);
+	}
+
+	/**
+	 * Sets the specified team's spawn point.
+	 * @param team The team.
+	 * @param loc The spawn location.
+	 * @return This edit.
+	 */
+	public ArenaEdit setTeamSpawn(Team team, Location loc) {
+		return setLocation("Spawn." + team.name(), loc);
+	}
+
+	/**
+	 * Sets the total cuboid region to be regenerated after a game.
+	 * Tile entities in the new area are indexed once the edit is committed.
+	 * @param loc1 The first corner of the region.
+	 * @param loc2 The second corner of the region.
+	 * @return This edit.
+	 */
+	public ArenaEdit setRegenArea(Location loc1, Location loc2) {
+		checkOpen();
+		config.set("Locations.Regen.loc1.world", loc1.getWorld().getName());
+		config.set("Locations.Regen.loc1.x", loc1.getX());
+		config.set("Locations.Regen.loc1.y", loc1.getY());
+		config.set("Locations.Regen.loc1.z", loc1.getZ());
+		config.set("Locations.Regen.loc2.world", loc2.getWorld().getName());
+		config.set("Locations.Regen.loc2.x", loc2.getX());
+		config.set("Locations.Regen.loc2.y", loc2.getY());
+		config.set("Locations.Regen.loc2.z", loc2.getZ());
+		changes++;
+		regenChanged = true;
+		return this;
+	}
+
+	//Rule related setters
+	/**
+	 * Sets whether or not to use teams.
+	 * @param value Whether or not to use teams.
+	 * @return This edit.
+	 */
+	public ArenaEdit setUseTeams(Boolean value) {
+		return set("Rules.Teams.Use", value);
+	}
+
+	/**
+	 * Sets whether or not players' name tags are hidden.
+	 * @param value Whether or not name tags are hidden.
+	 * @return This edit.
+	 */
+	public ArenaEdit setHideNames(Boolean value) {
+		return set("Rules.Teams.HideNames", value);
+	}
+
+	/**
+	 * Sets whether or not friendly fire is allowed.
+	 * @param value Whether or not friendly fire is allowed.
+	 * @return This edit.
+	 */
+	public ArenaEdit setAllowFriendlyFire(Boolean value) {
+		return set("Rules.Teams.AllowFriendlyFire", value);
+	}
+
+	/**
+	 * Sets whether or not block breaking is allowed.
+	 * @param value Whether or not block breaking is allowed.
+	 * @return This edit.
+	 */
+	public ArenaEdit setAllowBlockBreak(Boolean value) {
+		return set("Rules.Block.Break", value);
+	}
+
+	/**
+	 * Sets whether or not block placing is allowed.
+	 * @param value Whether or not block placing is allowed.
+	 * @return This edit.
+	 */
+	public ArenaEdit setAllowBlockPlace(Boolean value) {
+		return set("Rules.Block.Place", value);
+	}
+
+	/**
+	 * Sets whether or not late joining is allowed (joining after game start).
+	 * @param value Whether or not late joining is allowed.
+	 * @return This edit.
+	 */
+	public ArenaEdit setAllowLateJoin(Boolean value) {
+		return set("Rules.LateJoin.Allow", value);
+	}
+
+	//Functionals
+	/**
+	 * Saves every change made in this edit at once. An edit can only be committed once.
+	 * @return <code>true</code> if anything was saved, else <code>false</code>.
+	 */
+	public boolean commit() {
+		checkOpen();
+		committed = true;
+		if (changes == 0) {
+			return false;
+		}
+		ArenaDataManager.saveArenaConfig(config, ArenaDataManager.getArenaConfigFile(id));
+		if (regenChanged) {
+			Regenerator.indexTileEntities(id);
+		}
+		if (FileManager.debug()) {
+			NovaGamesLib.plugin.getLogger().info("Saved " + changes + " changes to arena " + id);
+		}
+		return true;
+	}
+
+	//Internals
+	private ArenaEdit setLocation(String path, Location loc) {
+		checkOpen();
+		config.set("Locations." + path + ".world", loc.getWorld().getName());
+		config.set("Locations." + path + ".x", loc.getX());
+		config.set("Locations." + path + ".y", loc.getY());
+		config.set("Locations." + path + ".z", loc.getZ());
+		config.set("Locations." + path + ".yaw", loc.getYaw());
+		config.set("Locations." + path + ".pitch", loc.getPitch());
+		changes++;
+		return this;
+	}
+
+	private void checkOpen() {
+		if (committed) {
+			throw new IllegalStateException("Edit of arena " + id + " has already been committed");
+		}
+	}
+}
@@ -0,0 +1,515 @@
+package com.cloudcraftgaming.novagameslib.api.data;
+
+import com.cloudcraftgaming.novagameslib.NovaGamesLib;
+import com.cloudcraftgaming.novagameslib.api.utils.FileManager;
+import com.cloudcraftgaming.novagameslib.api.utils.PersistenceQueue;
+import org.bukkit.configuration.InvalidConfigurationException;
+import org.bukkit.configuration.file.YamlConfiguration;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.ByteBuffer;
+import java.nio.charset.Charset;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Website: www.cloudcraftgaming.com
+ * For Project: NovaGamesLib-Bukkit
+ * <br> <br>
+ * Keeps the configs of every arena in a single file, <code>Arenas/arenas.dat</code>, instead of one folder per arena.
+ * Servers with thousands of arenas then open one file on startup rather than thousands of small ones.
+ * <br> <br>
+ * The file is a list of records, each holding an arena's ID and its config as YAML text.
+ * Saving an arena appends a new record and an index of where each arena's newest record starts is kept in memory,
+ * so any arena is read with a single seek. The index is rebuilt on startup from the record headers alone.
+ * Records are appended on the {@link PersistenceQueue}'s writer thread, and until then reads see the saved text.
+ * The file is synced to disk once the queued saves have been written, or at least once a second while saving continues.
+ * Background syncs are done outside the store's lock, so reads and checks on the main thread never wait for the disk.
+ * Replaced records are left in place until the file is compacted, which happens on startup once they take up half of the file.
+ * <br> <br>
+ * Turned on in the config with <code>Storage.ArenaStore</code>. Arenas are moved from their folders into the store
+ * the first time it is turned on, and written back to their folders when it is turned off again.
+ */
+@SuppressWarnings({"unused", "WeakerAccess", "ResultOfMethodCallIgnored"})
+public class ArenaStore {
+	private static final int MAGIC = 0x4E474C41; //NGLA
+	private static final int VERSION = 1;
+	private static final int HEADER_SIZE = 8;
+	private static final int RECORD_HEADER_SIZE = 8;
+	private static final int REMOVED = -1;
+	private static final Charset UTF_8 = Charset.forName("UTF-8");
+	private static final long SYNC_MILLIS = 1000;
+
+	private static final HashMap<Integer, Long> index = new HashMap<>();
+	private static final ConcurrentHashMap<Integer, String> pending = new ConcurrentHashMap<>();
+	private static final Object syncLock = new Object();
+	private static volatile RandomAccessFile file;
+	private static long wasted = 0;
+	private static boolean dirty = false;
+	private static long lastSync = 0;
+
+	private ArenaStore() {} //Prevent initialization.
+
+	//Booleans/Checkers
+	/**
+	 * Checks whether or not the store is turned on in the config.
+	 * @return <code>true</code> if turned on, else <code>false</code>.
+	 */
+	public static boolean isEnabled() {
+		return NovaGamesLib.plugin.getConfig().getBoolean("Storage.ArenaStore", false);
+	}
+
+	/**
+	 * Checks whether or not the store is open, in which case arena configs are read from and saved to it.
+	 * @return <code>true</code> if open, else <code>false</code>.
+	 */
+	public static boolean isOpen() {
+		return file != null;
+	}
+
+	/**
+	 * Checks whether or not the store holds the config of the specified arena.
+	 * @param id The ID of the arena.
+	 * @return <code>true</code> if stored, else <code>false</code>.
+	 */
+	public static synchronized boolean contains(int id) {
+		return pending.containsKey(id) || index.containsKey(id);
+	}
+
+	//Getters
+	/**
+	 * Gets the file the store is kept in.
+	 * @return The store file.
+	 */
+	public static File getStoreFile() {
+		return new File(NovaGamesLib.plugin.getDataFolder() + "/Arenas/arenas.dat");
+	}
+
+	/**
+	 * Gets the IDs of every stored arena, in ascending order.
+	 * @return The IDs of all stored arenas.
+	 */
+	public static synchronized List<Integer> getIds() {
+		Set<Integer> ids = new TreeSet<>(index.keySet());
+		ids.addAll(pending.keySet());
+		return new ArrayList<>(ids);
+	}
+
+	/**
+	 * Gets the amount of bytes taken up by replaced or removed records, which are freed by {@link #compact()}.
+	 * @return The wasted size in bytes.
+	 */
+	public static synchronized long getWastedBytes() {
+		return wasted;
+	}
+
+	/**
+	 * Reads the config of the specified arena.
+	 * @param id The ID of the arena.
+	 * @return The arena's config as YAML text, or <code>null</code> if not stored.
+	 * @throws IOException If the store could not be read.
+	 */
+	public static synchronized String read(int id) throws IOException {
+		String queued = pending.get(id);
+		if (queued != null) {
+			return queued;
+		}
+		Long offset = index.get(id);
+		if (file == null || offset == null) {
+			return null;
+		}
+		file.seek(offset + 4);
+		byte[] data = new byte[file.readInt()];
+		file.readFully(data);
+		return new String(data, UTF_8);
+	}
+
+	/**
+	 * Loads the config of the specified arena.
+	 * @param id The ID of the arena.
+	 * @return The arena's config, empty if not stored.
+	 */
+	public static YamlConfiguration load(int id) {
+		YamlConfiguration yml = new YamlConfiguration();
+		try {
+			String data = read(id);
+			if (data != null) {
+				yml.loadFromString(data);
+			}
+		} catch (IOException | InvalidConfigurationException e) {
+			NovaGamesLib.plugin.getLogger().warning("Failed to read arena " + id + " from the arena store: " + e.getMessage());
+		}
+		return yml;
+	}
+
+	//Functionals
+	/**
+	 * Opens the store, creating it if needed. Called by NovaGamesLib on enable.
+	 * If the store is turned on and does not exist yet, all arenas are moved into it from their folders.
+	 * If it is turned off but still exists, all arenas are written back to their folders and the store is set aside.
+	 */
+	public static synchronized void start() {
+		File storeFile = getStoreFile();
+		try {
+			if (isEnabled()) {
+				boolean migrate = !storeFile.exists();
+				open(storeFile);
+				if (migrate) {
+					try {
+						importFromFiles();
+					} catch (IOException e) {
+						//Start over next time rather than keep a store missing some arenas.
+						close();
+						storeFile.delete();
+						throw e;
+					}
+				} else if (wasted > file.length() / 2) {
+					compact();
+				}
+			} else if (storeFile.exists()) {
+				open(storeFile);
+				exportToFiles();
+				close();
+				Files.move(storeFile.toPath(), new File(storeFile.getPath() + ".old").toPath(), StandardCopyOption.REPLACE_EXISTING);
+			}
+		} catch (IOException e) {
+			NovaGamesLib.plugin.getLogger().severe("Failed to open the arena store, arenas will be read from their folders: " + e.getMessage());
+			close();
+		}
+	}
+
+	/**
+	 * Writes any saves still queued and closes the store. Called by NovaGamesLib on disable.
+	 */
+	public static synchronized void close() {
+		if (file != null) {
+			try {
+				writeAllPending();
+				sync();
+				synchronized (syncLock) {
+					file.close();
+				}
+			} catch (IOException e) {
+				e.printStackTrace();
+			}
+			file = null;
+		}
+		pending.clear();
+		index.clear();
+		wasted = 0;
+		dirty = false;
+	}
+
+	/**
+	 * Saves the config of an arena. The config is copied to text straight away and appended to the store
+	 * on the {@link PersistenceQueue}'s writer thread, or straight away while saves are not written in the background.
+	 * @param id The ID of the arena.
+	 * @param yml The config to save.
+	 * @return <code>true</code> if successful, else <code>false</code>.
+	 */
+	public static boolean save(int id, YamlConfiguration yml) {
+		if (!isOpen()) {
+			NovaGamesLib.plugin.getLogger().warning("Failed to save arena " + id + " to the arena store: Arena store is not open");
+			return false;
+		}
+		String data = yml.saveToString();
+		if (!PersistenceQueue.isEnabled()) {
+			try {
+				synchronized (ArenaStore.class) {
+					pending.remove(id);
+					write(id, data);
+					sync();
+				}
+				return true;
+			} catch (IOException e) {
+				NovaGamesLib.plugin.getLogger().warning("Failed to save arena " + id + " to the arena store: " + e.getMessage());
+				return false;
+			}
+		}
+		final int arenaId = id;
+		pending.put(id, data);
+		PersistenceQueue.execute(new Runnable() {
+			@Override
+			public void run() {
+				writePending(arenaId);
+			}
+		});
+		return true;
+	}
+
+	/**
+	 * Appends the config of an arena to the store straight away, replacing any earlier config of the arena.
+	 * The file is not synced, see {@link #save(int, YamlConfiguration)}.
+	 * @param id The ID of the arena.
+	 * @param data The arena's config as YAML text.
+	 * @throws IOException If the store could not be written.
+	 */
+	public static synchronized void write(int id, String data) throws IOException {
+		if (file == null) {
+			throw new IOException("Arena store is not open");
+		}
+		byte[] bytes = data.getBytes(UTF_8);
+		ByteBuffer record = ByteBuffer.allocate(RECORD_HEADER_SIZE + bytes.length);
+		record.putInt(id).putInt(bytes.length).put(bytes);
+		long offset = file.length();
+		file.seek(offset);
+		file.write(record.array());
+		dirty = true;
+		Long replaced = index.put(id, offset);
+		if (replaced != null) {
+			wasted += recordSize(replaced);
+		}
+	}
+
+	/**
+	 * Removes the config of an arena from the store.
+	 * @param id The ID of the arena.
+	 * @return <code>true</code> if removed, else <code>false</code> if it was not stored.
+	 * @throws IOException If the store could not be written.
+	 */
+	public static synchronized boolean remove(int id) throws IOException {
+		boolean queued = pending.remove(id) != null;
+		Long replaced = index.get(id);
+		if (file == null || replaced == null) {
+			return queued;
+		}
+		file.seek(file.length());
+		file.writeInt(id);
+		file.writeInt(REMOVED);
+		dirty = true;
+		index.remove(id);
+		wasted += recordSize(replaced) + RECORD_HEADER_SIZE;
+		sync();
+		return true;
+	}
+
+	/**
+	 * Rewrites the store with only the newest config of each arena, freeing the space of replaced records.
+	 * The new store is written next to the old one and then renamed over it.
+	 * @throws IOException If the store could not be rewritten.
+	 */
+	public static synchronized void compact() throws IOException {
+		if (file == null) {
+			return;
+		}
+		writeAllPending();
+		File storeFile = getStoreFile();
+		File temp = new File(storeFile.getPath() + ".tmp");
+		HashMap<Integer, Long> compacted = new HashMap<>();
+		RandomAccessFile out = new RandomAccessFile(temp, "rw");
+		try {
+			out.setLength(0);
+			out.writeInt(MAGIC);
+			out.writeInt(VERSION);
+			for (int id : getIds()) {
+				long offset = index.get(id);
+				byte[] record = new byte[(int) recordSize(offset)];
+				file.seek(offset);
+				file.readFully(record);
+				compacted.put(id, out.getFilePointer());
+				out.write(record);
+			}
+			out.getFD().sync();
+		} finally {
+			out.close();
+		}
+		long before = file.length();
+		synchronized (syncLock) {
+			file.close();
+		}
+		file = null;
+		try {
+			Files.move(temp.toPath(), storeFile.toPath(), StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+		} catch (AtomicMoveNotSupportedException e) {
+			Files.move(temp.toPath(), storeFile.toPath(), StandardCopyOption.REPLACE_EXISTING);
+		}
+		file = new RandomAccessFile(storeFile, "rw");
+		index.clear();
+		index.putAll(compacted);
+		wasted = 0;
+		dirty = false;
+		if (FileManager.verbose()) {
+			NovaGamesLib.plugin.getLogger().info("Compacted arena store from " + before + " to " + file.length() + " bytes");
+		}
+	}
+
+	/**
+	 * Copies every arena config from its folder, <code>Arenas/&lt;id&gt;/config.yml</code>, into the store.
+	 * The folders are left as they are.
+	 * @return The amount of arenas copied.
+	 * @throws IOException If the store could not be written.
+	 */
+	public static synchronized int importFromFiles() throws IOException {
+		int count = 0;
+		File[] folders = new File(NovaGamesLib.plugin.getDataFolder(), "Arenas").listFiles();
+		if (folders != null) {
+			for (File folder : folders) {
+				File configFile = new File(folder, "config.yml");
+				Integer id = parseId(folder.getName());
+				if (id == null || !PersistenceQueue.exists(configFile)) {
+					continue;
+				}
+				write(id, PersistenceQueue.load(configFile).saveToString());
+				count++;
+			}
+		}
+		sync();
+		if (FileManager.verbose()) {
+			NovaGamesLib.plugin.getLogger().info("Moved " + count + " arenas into the arena store");
+		}
+		return count;
+	}
+
+	/**
+	 * Writes every stored arena config back to its folder, <code>Arenas/&lt;id&gt;/config.yml</code>,
+	 * replacing whatever is there.
+	 * @return The amount of arenas written.
+	 * @throws IOException If the store could not be read.
+	 */
+	public static synchronized int exportToFiles() throws IOException {
+		int count = 0;
+		for (int id : getIds()) {
+			YamlConfiguration yml = new YamlConfiguration();
+			try {
+				yml.loadFromString(read(id));
+			} catch (InvalidConfigurationException e) {
+				NovaGamesLib.plugin.getLogger().warning("Skipped arena " + id + " with a broken config: " + e.getMessage());
+				continue;
+			}
+			PersistenceQueue.save(yml, new File(NovaGamesLib.plugin.getDataFolder() + "/Arenas/" + id + "/config.yml"));
+			count++;
+		}
+		if (FileManager.verbose()) {
+			NovaGamesLib.plugin.getLogger().info("Moved " + count + " arenas out of the arena store");
+		}
+		return count;
+	}
+
+	//Internals
+	/**
+	 * Opens the store file and builds the index from its record headers.
+	 * A record cut off at the end of the file, such as by a crash while saving, is dropped.
+	 * @param storeFile The store file.
+	 * @throws IOException If the file could not be read or is not an arena store.
+	 */
+	private static void open(File storeFile) throws IOException {
+		close();
+		storeFile.getParentFile().mkdirs();
+		file = new RandomAccessFile(storeFile, "rw");
+		long length = file.length();
+		if (length < HEADER_SIZE) {
+			file.setLength(0);
+			file.writeInt(MAGIC);
+			file.writeInt(VERSION);
+			return;
+		}
+		if (file.readInt() != MAGIC || file.readInt() != VERSION) {
+			throw new IOException(storeFile.getName() + " is not a supported arena store");
+		}
+		long position = HEADER_SIZE;
+		while (position + RECORD_HEADER_SIZE <= length) {
+			file.seek(position);
+			int id = file.readInt();
+			int size = file.readInt();
+			if (size < REMOVED) {
+				throw new IOException("Broken record in " + storeFile.getName() + " at byte " + position);
+			}
+			long next = position + RECORD_HEADER_SIZE + Math.max(size, 0);
+			if (next > length) {
+				break;
+			}
+			Long replaced = size == REMOVED ? index.remove(id) : index.put(id, position);
+			if (replaced != null) {
+				wasted += recordSize(replaced);
+			}
+			if (size == REMOVED) {
+				wasted += RECORD_HEADER_SIZE;
+			}
+			position = next;
+		}
+		if (position < length) {
+			NovaGamesLib.plugin.getLogger().warning("Dropped an incomplete record at the end of the arena store");
+			file.setLength(position);
+		}
+		if (FileManager.verbose()) {
+			NovaGamesLib.plugin.getLogger().info("Opened arena store with " + index.size() + " arenas");
+		}
+	}
+
+	/**
+	 * Appends the queued config of an arena, if it has not been written or removed in the meantime.
+	 * @param id The ID of the arena.
+	 */
+	private static void writePending(int id) {
+		RandomAccessFile target = null;
+		synchronized (ArenaStore.class) {
+			String data = pending.remove(id);
+			if (data == null || file == null) {
+				return;
+			}
+			try {
+				write(id, data);
+			} catch (IOException e) {
+				NovaGamesLib.plugin.getLogger().warning("Failed to save arena " + id + " to the arena store: " + e.getMessage());
+				return;
+			}
+			if (dirty && (pending.isEmpty() || System.currentTimeMillis() - lastSync >= SYNC_MILLIS)) {
+				target = file;
+				dirty = false;
+				lastSync = System.currentTimeMillis();
+			}
+		}
+		if (target != null) {
+			//Synced without holding the store's lock, so the main thread is not held up by the disk.
+			synchronized (syncLock) {
+				try {
+					target.getFD().sync();
+				} catch (IOException e) {
+					//Closing the store syncs it as well, so a sync cut short by it is not a problem.
+					if (target == file) {
+						NovaGamesLib.plugin.getLogger().warning("Failed to sync the arena store: " + e.getMessage());
+					}
+				}
+			}
+		}
+	}
+
+	private static void writeAllPending() throws IOException {
+		for (int id : new ArrayList<>(pending.keySet())) {
+			String data = pending.remove(id);
+			if (data != null) {
+				write(id, data);
+			}
+		}
+	}
+
+	private static void sync() throws IOException {
+		if (dirty && file != null) {
+			file.getFD().sync();
+			dirty = false;
+		}
+		lastSync = System.currentTimeMillis();
+	}
+
+	private static long recordSize(long offset) throws IOException {
+		file.seek(offset + 4);
+		return RECORD_HEADER_SIZE + file.readInt();
+	}
+
+	private static Integer parseId(String name) {
+		try {
+			return Integer.valueOf(name);
+		} catch (NumberFormatException e) {
+			return null;
+		}
+	}
+}
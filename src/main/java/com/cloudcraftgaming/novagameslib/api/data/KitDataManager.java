@@ -6,6 +6,7 @@ import com.cloudcraftgaming.novagameslib.api.kit.KitFailureReason;
 import com.cloudcraftgaming.novagameslib.api.kit.KitResponse;
 import com.cloudcraftgaming.novagameslib.api.utils.FileManager;
 import com.cloudcraftgaming.novagameslib.api.utils.FileUtils;
+import com.cloudcraftgaming.novagameslib.api.utils.PersistenceQueue;
 import net.milkbowl.vault.economy.EconomyResponse;
 import org.bukkit.Bukkit;
 import org.bukkit.ChatColor;
@@ -18,7 +19,6 @@ import org.bukkit.inventory.ItemStack;
 import org.bukkit.inventory.meta.ItemMeta;
 
 import java.io.File;
-import java.io.IOException;
 import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
@@ -111,6 +111,7 @@ public class KitDataManager {
 				cache.set("Kits.List", allKits);
 				FileManager.savePluginCache(cache);
 			}
+			PersistenceQueue.discard(getKitFile(kitName));
 			return FileUtils.deleteFile(getKitFile(kitName));
 		}
 		return false;
@@ -146,11 +147,7 @@ public class KitDataManager {
 	 * @param kit The instance of the Yml to save.
 	 */
 	public static void saveKitFile(String kitName, YamlConfiguration kit) {
-		try {
-			kit.save(getKitFile(kitName));
-		} catch (IOException e) {
-			e.printStackTrace();
-		}
+		PersistenceQueue.save(kit, getKitFile(kitName));
 	}
 
 	/**
@@ -210,7 +207,7 @@ public class KitDataManager {
 	 * @return <code>true</code> if the kit file exists, else <code>false</code>.
 	 */
 	public static Boolean kitFileExists(String kitName) {
-		return  getKitFile(kitName).exists();
+		return PersistenceQueue.exists(getKitFile(kitName));
 	}
 
 	/**
@@ -238,7 +235,7 @@ public class KitDataManager {
 	 * @return The Yml of the specified kit.
 	 */
 	public static YamlConfiguration getKitYml(String kitName) {
-		return YamlConfiguration.loadConfiguration(getKitFile(kitName));
+		return PersistenceQueue.load(getKitFile(kitName));
 	}
 
 	/**
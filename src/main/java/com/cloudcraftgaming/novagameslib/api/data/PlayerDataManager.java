@@ -3,6 +3,7 @@ package com.cloudcraftgaming.novagameslib.api.data;
 import com.cloudcraftgaming.novagameslib.NovaGamesLib;
 import com.cloudcraftgaming.novagameslib.api.utils.FileManager;
 import com.cloudcraftgaming.novagameslib.api.utils.InventoryToBase64;
+import com.cloudcraftgaming.novagameslib.api.utils.PersistenceQueue;
 import org.bukkit.Bukkit;
 import org.bukkit.Location;
 import org.bukkit.World;
@@ -27,7 +28,7 @@ public class PlayerDataManager {
 	 * @return <code>true</code> if they have a data file, else <code>false</code>.
 	 */
 	public static Boolean hasPlayerData(Player player) {
-		return getPlayerDataFile(player).exists();
+		return PersistenceQueue.exists(getPlayerDataFile(player));
 	}
 
 	/**
@@ -70,7 +71,7 @@ public class PlayerDataManager {
 	 * @return The player's NovaGames data yml.
 	 */
 	public static YamlConfiguration getPlayerDataYml(Player player) {
-		return YamlConfiguration.loadConfiguration(getPlayerDataFile(player));
+		return PersistenceQueue.load(getPlayerDataFile(player));
 	}
 
 	/**
@@ -187,11 +188,7 @@ public class PlayerDataManager {
 	 * @param dataFile The player's data file: {@link #getPlayerDataFile(Player)}
 	 */
 	public static void savePlayerData(YamlConfiguration dataYml, File dataFile) {
-		try {
-			dataYml.save(dataFile);
-		} catch (IOException e) {
-			e.printStackTrace();
-		}
+		PersistenceQueue.save(dataYml, dataFile);
 	}
 
 	/**
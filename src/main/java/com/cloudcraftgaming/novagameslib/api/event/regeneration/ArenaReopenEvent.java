@@ -0,0 +1,121 @@
+package com.cloudcraftgaming.novagameslib.api.event.regeneration;
+
+import org.bukkit.event.Cancellable;
+import org.bukkit.event.Event;
+import org.bukkit.event.HandlerList;
+
+/**
+ * Website: www.cloudcraftgaming.com
+ * For Project: NovaGamesLib-Bukkit
+ * <br> <br>
+ * Called once the areas around an arena's lobby and spawns have been regenerated,
+ * while the rest of the regen area is still regenerating in the background.
+ * If not cancelled, the arena is reopened so players can join again.
+ */
+@SuppressWarnings("unused")
+public class ArenaReopenEvent extends Event implements Cancellable {
+    private final Integer arenaId;
+    private final int zoneCount;
+    private final long remainingBlocks;
+
+    private Boolean autoReload;
+
+    private boolean cancelled;
+    private static final HandlerList handlers = new HandlerList();
+
+    /**
+     * Constructor for ArenaReopenEvent
+     *
+     * @param _arenaId The id of the arena that is safe to reopen.
+     * @param _zoneCount The amount of priority areas that were regenerated.
+     * @param _remainingBlocks The amount of blocks left to check in the background.
+     */
+    public ArenaReopenEvent(Integer _arenaId, int _zoneCount, long _remainingBlocks) {
+        arenaId = _arenaId;
+        zoneCount = _zoneCount;
+        remainingBlocks = _remainingBlocks;
+        autoReload = true;
+    }
+
+    /**
+     * Gets the ID of the arena that is safe to reopen.
+     *
+     * @return The ID of the arena that is safe to reopen.
+     */
+    public Integer getArenaId() {
+        return arenaId;
+    }
+
+    /**
+     * Gets the amount of priority areas (around the lobby and spawns) that were regenerated.
+     *
+     * @return The amount of priority areas regenerated.
+     */
+    public int getZoneCount() {
+        return zoneCount;
+    }
+
+    /**
+     * Gets the amount of blocks the background regeneration still has to check.
+     *
+     * @return The amount of blocks left to check.
+     */
+    public long getRemainingBlocks() {
+        return remainingBlocks;
+    }
+
+    /**
+     * Gets whether or not NovaGames should automatically reload the arena now or let another minigame plugin handle it.
+     * By default, this is <code>true</code>.
+     * @return Whether or not NovaGames should automatically reload the arena.
+     */
+    public Boolean autoReloadArena() {
+        return autoReload;
+    }
+
+    /**
+     * Whether or not the event is cancelled.
+     *
+     * @return Whether or not the event is cancelled.
+     */
+    public boolean isCancelled() {
+        return cancelled;
+    }
+
+    /**
+     * Sets whether or not NovaGames will automatically reload the arena now or let another minigame plugin handle this.
+     * By default, this is <code>true</code>.
+     * @param value Whether or not NovaGames will automatically reload the arena.
+     */
+    public void setAutoReloadArena(Boolean value) {
+        autoReload = value;
+    }
+
+    /**
+     * Sets whether or not the event is cancelled.
+     * If cancelled, the arena stays closed until the whole regen area has been regenerated.
+     *
+     * @param _cancelled Whether or not the event is cancelled.
+     */
+    public void setCancelled(boolean _cancelled) {
+        cancelled = _cancelled;
+    }
+
+    /**
+     * Bukkit method for getting handlers.
+     *
+     * @return This event's HandlerList.
+     */
+    public HandlerList getHandlers() {
+        return handlers;
+    }
+
+    /**
+     * Bukkit method for getting handlers.
+     *
+     * @return This event's HandlerList.
+     */
+    public static HandlerList getHandlerList() {
+        return handlers;
+    }
+}
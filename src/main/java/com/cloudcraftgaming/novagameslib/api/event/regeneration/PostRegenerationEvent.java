@@ -12,6 +12,8 @@ import org.bukkit.event.HandlerList;
 public class PostRegenerationEvent extends Event {
     private final Integer arenaId;
 
+    private final Boolean reopened;
+
     private Boolean autoReload;
 
     private static final HandlerList handlers = new HandlerList();
@@ -22,8 +24,19 @@ public class PostRegenerationEvent extends Event {
      * @param _arenaId  The id of the arena that has been regenerated.
      */
     public PostRegenerationEvent(Integer _arenaId) {
+        this(_arenaId, false);
+    }
+
+    /**
+     * Constructor for PostRegenerationEvent
+     *
+     * @param _arenaId  The id of the arena that has been regenerated.
+     * @param _reopened Whether or not the arena was already reopened by an {@link ArenaReopenEvent}.
+     */
+    public PostRegenerationEvent(Integer _arenaId, Boolean _reopened) {
         arenaId = _arenaId;
-        autoReload = true;
+        reopened = _reopened;
+        autoReload = !_reopened;
     }
 
     /**
@@ -35,9 +48,19 @@ public class PostRegenerationEvent extends Event {
         return arenaId;
     }
 
+    /**
+     * Gets whether or not the arena was already reopened while the rest of it was regenerating.
+     * Players may have joined the arena since then.
+     *
+     * @return Whether or not the arena was already reopened.
+     */
+    public Boolean wasReopened() {
+        return reopened;
+    }
+
     /**
      * Gets whether or not NovaGames should automatically reload the arena or let another minigame plugin handle it.
-     * By default, this is <code>true</code>.
+     * By default, this is <code>true</code>, unless the arena was already reopened.
      * @return Whether or not NovaGames should automatically reload the arena.
      */
     public Boolean autoReloadArena() {
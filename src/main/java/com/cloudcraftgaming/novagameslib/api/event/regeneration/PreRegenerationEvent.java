@@ -1,5 +1,6 @@
 package com.cloudcraftgaming.novagameslib.api.event.regeneration;
 
+import com.cloudcraftgaming.novagameslib.NovaGamesLib;
 import org.bukkit.event.Cancellable;
 import org.bukkit.event.Event;
 import org.bukkit.event.HandlerList;
@@ -19,6 +20,13 @@ public class PreRegenerationEvent extends Event implements Cancellable {
     private Boolean removeAllEntitiesBool;
     private Boolean resetDoorsBool;
     private Boolean clearContainerBlocksBool;
+    private Boolean restoreContainersBool;
+    private Boolean restoreDecorationsBool;
+
+    private Boolean incrementalBool;
+    private Integer blocksPerTick;
+    private Integer millisPerTick;
+    private Boolean reopenEarlyBool;
 
     private boolean cancelled;
     private static final HandlerList handlers = new HandlerList();
@@ -37,6 +45,13 @@ public class PreRegenerationEvent extends Event implements Cancellable {
         removeAllEntitiesBool = true;
         resetDoorsBool = true;
         clearContainerBlocksBool = true;
+        restoreContainersBool = NovaGamesLib.plugin.getConfig().getBoolean("Regeneration.Containers.Restore", false);
+        restoreDecorationsBool = NovaGamesLib.plugin.getConfig().getBoolean("Regeneration.Decorations.Restore", true);
+
+        incrementalBool = NovaGamesLib.plugin.getConfig().getBoolean("Regeneration.Incremental.Enabled", false);
+        blocksPerTick = NovaGamesLib.plugin.getConfig().getInt("Regeneration.Incremental.BlocksPerTick", 5000);
+        millisPerTick = NovaGamesLib.plugin.getConfig().getInt("Regeneration.Incremental.MillisPerTick", 10);
+        reopenEarlyBool = NovaGamesLib.plugin.getConfig().getBoolean("Regeneration.Priority.Enabled", false);
     }
 
     //Getters
@@ -52,6 +67,7 @@ public class PreRegenerationEvent extends Event implements Cancellable {
     /**
      * Gets whether or not to reload the world from file.
      * Turn this off if you have multiple arenas in a single world.
+     * Worlds shared with other arenas are never reloaded, even if this is on.
      * By default, this is <code>true</code>.
      * @return Whether or not to reload the world from file.
      */
@@ -104,6 +120,64 @@ public class PreRegenerationEvent extends Event implements Cancellable {
         return clearContainerBlocksBool;
     }
 
+    /**
+     * Gets whether or not to refill container blocks (such as chests) with the contents they had before the game.
+     * When the contents were saved, this is done instead of clearing them.
+     * By default, this is the value of <code>Regeneration.Containers.Restore</code> in the config.
+     * @return Whether or not to refill all container blocks (such as chests).
+     */
+    public Boolean restoreContainers() {
+        return restoreContainersBool;
+    }
+
+    /**
+     * Gets whether or not to put back the item frames, paintings and armor stands saved before the game.
+     * Only the ones that are missing or were changed are spawned or updated, and ones placed during the game are removed.
+     * By default, this is the value of <code>Regeneration.Decorations.Restore</code> in the config.
+     * @return Whether or not to restore item frames, paintings and armor stands.
+     */
+    public Boolean restoreDecorations() {
+        return restoreDecorationsBool;
+    }
+
+    /**
+     * Gets whether or not to spread the regeneration across multiple ticks instead of doing it all at once.
+     * By default, this is the value of <code>Regeneration.Incremental.Enabled</code> in the config.
+     * @return Whether or not to regenerate incrementally.
+     */
+    public Boolean isIncremental() {
+        return incrementalBool;
+    }
+
+    /**
+     * Gets the maximum amount of blocks to regenerate each tick when regenerating incrementally.
+     * <code>0</code> means there is no block limit.
+     * @return The maximum amount of blocks to regenerate each tick.
+     */
+    public Integer getBlocksPerTick() {
+        return blocksPerTick;
+    }
+
+    /**
+     * Gets the maximum time, in milliseconds, to spend regenerating each tick when regenerating incrementally.
+     * <code>0</code> means there is no time limit.
+     * @return The maximum time, in milliseconds, to spend each tick.
+     */
+    public Integer getMillisPerTick() {
+        return millisPerTick;
+    }
+
+    /**
+     * Gets whether or not to regenerate the areas around the lobby and spawns first and reopen the arena once they are done,
+     * while the rest of the regen area keeps regenerating in the background.
+     * Only used when regenerating incrementally.
+     * By default, this is the value of <code>Regeneration.Priority.Enabled</code> in the config.
+     * @return Whether or not to reopen the arena early.
+     */
+    public Boolean reopenEarly() {
+        return reopenEarlyBool;
+    }
+
     /**
      * Whether or not the event is cancelled.
      *
@@ -118,7 +192,7 @@ public class PreRegenerationEvent extends Event implements Cancellable {
      * Sets whether or not to reload the world from file.
      * Turn this off if you have multiple arenas in a single world.
      * By default, this is <code>true</code>.
-     * !!!! IF MORE THAN ONE ARENA IS IN A SINGLE WORLD, IT IS IMPORTANT TO TURN THIS OFF !!!!
+     * Worlds shared with other arenas are never reloaded, even if this is on.
      * @param value Whether or not to reload the world from file.
      */
     public void setReloadWorld(Boolean value) {
@@ -170,6 +244,59 @@ public class PreRegenerationEvent extends Event implements Cancellable {
         clearContainerBlocksBool = value;
     }
 
+    /**
+     * Sets whether or not to refill container blocks (such as chests) with the contents they had before the game.
+     * When the contents were saved, this is done instead of clearing them.
+     * @param value Whether or not to refill all container blocks (such as chests).
+     */
+    public void setRestoreContainers(Boolean value) {
+        restoreContainersBool = value;
+    }
+
+    /**
+     * Sets whether or not to put back the item frames, paintings and armor stands saved before the game.
+     * Only the ones that are missing or were changed are spawned or updated, and ones placed during the game are removed.
+     * @param value Whether or not to restore item frames, paintings and armor stands.
+     */
+    public void setRestoreDecorations(Boolean value) {
+        restoreDecorationsBool = value;
+    }
+
+    /**
+     * Sets whether or not to spread the regeneration across multiple ticks instead of doing it all at once.
+     * The {@link PostRegenerationEvent} will only be called once the regeneration has finished.
+     * @param value Whether or not to regenerate incrementally.
+     */
+    public void setIncremental(Boolean value) {
+        incrementalBool = value;
+    }
+
+    /**
+     * Sets the maximum amount of blocks to regenerate each tick when regenerating incrementally.
+     * @param value The maximum amount of blocks to regenerate each tick, <code>0</code> for no limit.
+     */
+    public void setBlocksPerTick(Integer value) {
+        blocksPerTick = value;
+    }
+
+    /**
+     * Sets the maximum time, in milliseconds, to spend regenerating each tick when regenerating incrementally.
+     * @param value The maximum time, in milliseconds, to spend each tick, <code>0</code> for no limit.
+     */
+    public void setMillisPerTick(Integer value) {
+        millisPerTick = value;
+    }
+
+    /**
+     * Sets whether or not to regenerate the areas around the lobby and spawns first and reopen the arena once they are done,
+     * while the rest of the regen area keeps regenerating in the background.
+     * Only used when regenerating incrementally.
+     * @param value Whether or not to reopen the arena early.
+     */
+    public void setReopenEarly(Boolean value) {
+        reopenEarlyBool = value;
+    }
+
     /**
      * Sets whether or not the event is cancelled.
      *
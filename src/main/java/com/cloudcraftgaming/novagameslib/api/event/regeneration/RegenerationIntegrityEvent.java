@@ -0,0 +1,81 @@
+package com.cloudcraftgaming.novagameslib.api.event.regeneration;
+
+import com.cloudcraftgaming.novagameslib.api.region.Cuboid;
+import org.bukkit.event.Event;
+import org.bukkit.event.HandlerList;
+
+import java.util.List;
+
+/**
+ * Website: www.cloudcraftgaming.com
+ * For Project: NovaGamesLib-Bukkit
+ * <br> <br>
+ * Called when parts of an arena still differ from its saved data after being regenerated.
+ * Only called when the integrity check finds a difference.
+ */
+@SuppressWarnings("unused")
+public class RegenerationIntegrityEvent extends Event {
+    private final Integer arenaId;
+    private final int checkedSections;
+    private final List<Cuboid> failedAreas;
+
+    private static final HandlerList handlers = new HandlerList();
+
+    /**
+     * Constructor for RegenerationIntegrityEvent
+     *
+     * @param _arenaId The id of the arena that was regenerated.
+     * @param _checkedSections The amount of chunk sections that were checked.
+     * @param _failedAreas The chunk sections, limited to the regen area, that still differ.
+     */
+    public RegenerationIntegrityEvent(Integer _arenaId, int _checkedSections, List<Cuboid> _failedAreas) {
+        arenaId = _arenaId;
+        checkedSections = _checkedSections;
+        failedAreas = _failedAreas;
+    }
+
+    /**
+     * Gets the ID of the arena that was regenerated.
+     *
+     * @return The ID of the arena that was regenerated.
+     */
+    public Integer getArenaId() {
+        return arenaId;
+    }
+
+    /**
+     * Gets the amount of chunk sections that were checked.
+     *
+     * @return The amount of chunk sections checked.
+     */
+    public int getCheckedSections() {
+        return checkedSections;
+    }
+
+    /**
+     * Gets the chunk sections that still differ from the arena's saved data, each limited to the regen area.
+     *
+     * @return The areas that failed the integrity check.
+     */
+    public List<Cuboid> getFailedAreas() {
+        return failedAreas;
+    }
+
+    /**
+     * Bukkit method for getting handlers.
+     *
+     * @return This event's HandlerList.
+     */
+    public HandlerList getHandlers() {
+        return handlers;
+    }
+
+    /**
+     * Bukkit method for getting handlers.
+     *
+     * @return This event's HandlerList.
+     */
+    public static HandlerList getHandlerList() {
+        return handlers;
+    }
+}
@@ -0,0 +1,100 @@
+package com.cloudcraftgaming.novagameslib.api.event.regeneration;
+
+import org.bukkit.event.Event;
+import org.bukkit.event.HandlerList;
+
+/**
+ * Website: www.cloudcraftgaming.com
+ * For Project: NovaGamesLib-Bukkit
+ */
+@SuppressWarnings("unused")
+public class WorldBackupCompleteEvent extends Event {
+    private final Integer arenaId;
+    private final String worldName;
+    private final boolean successful;
+    private final int filesStored;
+    private final long bytesStored;
+
+    private static final HandlerList handlers = new HandlerList();
+
+    /**
+     * Constructor for WorldBackupCompleteEvent
+     *
+     * @param _arenaId The id of the arena whose world was backed up.
+     * @param _worldName The name of the world that was backed up.
+     * @param _successful Whether or not the backup was written successfully.
+     * @param _filesStored The amount of changed files that were stored.
+     * @param _bytesStored The amount of bytes that were stored.
+     */
+    public WorldBackupCompleteEvent(Integer _arenaId, String _worldName, boolean _successful, int _filesStored, long _bytesStored) {
+        arenaId = _arenaId;
+        worldName = _worldName;
+        successful = _successful;
+        filesStored = _filesStored;
+        bytesStored = _bytesStored;
+    }
+
+    /**
+     * Gets the ID of the arena whose world was backed up.
+     *
+     * @return The ID of the arena whose world was backed up.
+     */
+    public Integer getArenaId() {
+        return arenaId;
+    }
+
+    /**
+     * Gets the name of the world that was backed up.
+     *
+     * @return The name of the world that was backed up.
+     */
+    public String getWorldName() {
+        return worldName;
+    }
+
+    /**
+     * Whether or not the backup was written successfully.
+     * When successful, the backup has been synced to disk and will survive a crash.
+     *
+     * @return Whether or not the backup was written successfully.
+     */
+    public boolean isSuccessful() {
+        return successful;
+    }
+
+    /**
+     * Gets the amount of changed files that were stored.
+     *
+     * @return The amount of changed files that were stored.
+     */
+    public int getFilesStored() {
+        return filesStored;
+    }
+
+    /**
+     * Gets the amount of bytes that were stored.
+     *
+     * @return The amount of bytes that were stored.
+     */
+    public long getBytesStored() {
+        return bytesStored;
+    }
+
+    /**
+     * Bukkit method for getting handlers.
+     *
+     * @return This event's HandlerList.
+     */
+    public HandlerList getHandlers() {
+        return handlers;
+    }
+
+    /**
+     * Bukkit method for getting handlers.
+     *
+     * @return This event's HandlerList.
+     */
+    public static HandlerList getHandlerList() {
+        return handlers;
+    }
+}
@@ -8,6 +8,7 @@ import com.cloudcraftgaming.novagameslib.api.database.DatabaseManager;
 import com.cloudcraftgaming.novagameslib.api.event.minigame.*;
 import com.cloudcraftgaming.novagameslib.api.mechanics.Rewards;
 import com.cloudcraftgaming.novagameslib.api.player.PlayerStats;
+import com.cloudcraftgaming.novagameslib.api.regeneration.RegenerationManager;
 import com.cloudcraftgaming.novagameslib.api.utils.FileManager;
 import org.bukkit.Bukkit;
 import org.bukkit.entity.Player;
@@ -26,6 +27,7 @@ public class MinigameEventHandler {
     /**
      * Called when a player joins a minigame.
      * This will call the {@link MinigameJoinEvent} event and execute unless cancelled.
+     * If the arena is regenerating, the player is counted as waiting for it, see {@link RegenerationManager#addWaitingPlayer(int)}.
      * @param player The player joining.
      * @param id The id of the arena the player is joining.
      * @return <code>true</code> if not cancelled and successful, else <code>false</code>.
@@ -33,6 +35,10 @@ public class MinigameEventHandler {
     public static Boolean joinMinigame(Player player, int id) {
         if (ArenaManager.getManager().arenaLoaded(id)) {
             ArenaBase arenaBase = ArenaManager.getManager().getArena(id);
+            if (arenaBase.getArenaStatus().equals(ArenaStatus.REGENERATING)) {
+                //Regenerate this arena ahead of those nobody is waiting for.
+                RegenerationManager.getManager().addWaitingPlayer(id);
+            }
             arenaBase.getPlayers().add(player.getUniqueId());
             arenaBase.setPlayerCount(arenaBase.getPlayerCount() + 1);
             MinigameJoinEvent event = new MinigameJoinEvent(player, id);
@@ -0,0 +1,110 @@
+package com.cloudcraftgaming.novagameslib.api.regeneration;
+
+/**
+ * Website: www.cloudcraftgaming.com
+ * For Project: NovaGamesLib-Bukkit
+ * <br> <br>
+ * The saved blocks of an arena's regen area, grouped into {@link SnapshotSection}s.
+ * Implemented by {@link BlockSnapshot} (kept on the heap), {@link DirectSnapshot} (kept off the heap)
+ * and {@link MappedSnapshot} (kept on disk).
+ */
+@SuppressWarnings("unused")
+public interface ArenaSnapshot {
+    /**
+     * Gets the name of the world this snapshot was taken in.
+     * @return The name of the world.
+     */
+    String getWorldName();
+
+    /**
+     * Gets the minimum x coordinate of this snapshot.
+     * @return The minimum x coordinate.
+     */
+    int getMinX();
+
+    /**
+     * Gets the minimum y coordinate of this snapshot.
+     * @return The minimum y coordinate.
+     */
+    int getMinY();
+
+    /**
+     * Gets the minimum z coordinate of this snapshot.
+     * @return The minimum z coordinate.
+     */
+    int getMinZ();
+
+    /**
+     * Gets the maximum x coordinate of this snapshot.
+     * @return The maximum x coordinate.
+     */
+    int getMaxX();
+
+    /**
+     * Gets the maximum y coordinate of this snapshot.
+     * @return The maximum y coordinate.
+     */
+    int getMaxY();
+
+    /**
+     * Gets the maximum z coordinate of this snapshot.
+     * @return The maximum z coordinate.
+     */
+    int getMaxZ();
+
+    /**
+     * Checks whether or not the specified block is within the bounds of this snapshot.
+     * @param x The x coordinate.
+     * @param y The y coordinate.
+     * @param z The z coordinate.
+     * @return <code>true</code> if within the snapshot, else <code>false</code>.
+     */
+    boolean contains(int x, int y, int z);
+
+    /**
+     * Gets the saved state of the block at the specified coordinates.
+     * @param x The x coordinate.
+     * @param y The y coordinate.
+     * @param z The z coordinate.
+     * @return The encoded state of the block, or <code>-1</code> if the block was not saved.
+     */
+    int getState(int x, int y, int z);
+
+    /**
+     * Gets the section with the specified key.
+     * @param key The packed section key, see {@link BlockSnapshot#sectionKey(int, int, int)}.
+     * @return The section, or <code>null</code> if it was not saved.
+     */
+    SnapshotSection getSection(long key);
+
+    /**
+     * Gets the keys of all saved sections in ascending order.
+     * @return The keys of all saved sections.
+     */
+    long[] getSectionKeys();
+
+    /**
+     * Gets the amount of sections saved in this snapshot.
+     * @return The amount of sections.
+     */
+    int getSectionCount();
+
+    /**
+     * Gets the amount of blocks within the bounds of this snapshot.
+     * @return The volume of the snapshot, in blocks.
+     */
+    long getVolume();
+
+    /**
+     * Gets the approximate amount of heap memory, in bytes, used by this snapshot.
+     * @return The approximate memory footprint in bytes.
+     */
+    long getMemoryFootprint();
+
+    /**
+     * Gets the amount of memory outside of the heap, in bytes, used by this snapshot.
+     * This is the size of any direct or memory mapped buffers, which do not add to garbage collection pauses.
+     * @return The off-heap size in bytes.
+     */
+    long getOffHeapSize();
+}
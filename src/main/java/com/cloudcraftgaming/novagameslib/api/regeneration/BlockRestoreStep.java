@@ -0,0 +1,116 @@
+package com.cloudcraftgaming.novagameslib.api.regeneration;
+
+import com.cloudcraftgaming.novagameslib.api.region.Cuboid;
+import org.bukkit.World;
+import org.bukkit.block.Block;
+
+/**
+ * Website: www.cloudcraftgaming.com
+ * For Project: NovaGamesLib-Bukkit
+ * <br> <br>
+ * Restores the blocks of an {@link ArenaSnapshot} section by section.
+ * Only blocks that differ from the snapshot are changed.
+ */
+@SuppressWarnings("deprecation")
+class BlockRestoreStep extends RegenerationStep {
+    private final ArenaSnapshot snapshot;
+    private final World world;
+    private final long[] keys;
+    private final int minX, minY, minZ, maxX, maxY, maxZ;
+    private final long total;
+
+    private int keyIndex = -1;
+    private SnapshotSection section;
+    private int x1, y1, z1, x2, y2, z2;
+    private int x, y, z;
+
+    BlockRestoreStep(ArenaSnapshot _snapshot, Cuboid regenArea) {
+        snapshot = _snapshot;
+        world = regenArea.getWorld();
+        keys = snapshot.getSectionKeys();
+        minX = Math.max(snapshot.getMinX(), regenArea.getLowerX());
+        minY = Math.max(snapshot.getMinY(), regenArea.getLowerY());
+        minZ = Math.max(snapshot.getMinZ(), regenArea.getLowerZ());
+        maxX = Math.min(snapshot.getMaxX(), regenArea.getUpperX());
+        maxY = Math.min(snapshot.getMaxY(), regenArea.getUpperY());
+        maxZ = Math.min(snapshot.getMaxZ(), regenArea.getUpperZ());
+
+        long count = 0;
+        for (long key : keys) {
+            count += sectionVolume(key);
+        }
+        total = count;
+        nextSection();
+    }
+
+    @Override
+    public boolean hasNext() {
+        return section != null;
+    }
+
+    @Override
+    protected void process() {
+        int state = section.get(SnapshotSection.index(x & 15, y & 15, z & 15));
+        Block block = world.getBlockAt(x, y, z);
+        int bId = BlockSnapshot.getTypeId(state);
+        byte blockDat = BlockSnapshot.getData(state);
+        if (block.getTypeId() != bId || block.getData() != blockDat) {
+            block.setTypeIdAndData(bId, blockDat, false);
+        }
+        advance();
+    }
+
+    @Override
+    public long getTotalWork() {
+        return total;
+    }
+
+    private void advance() {
+        if (++x > x2) {
+            x = x1;
+            if (++z > z2) {
+                z = z1;
+                if (++y > y2) {
+                    nextSection();
+                }
+            }
+        }
+    }
+
+    private void nextSection() {
+        section = null;
+        while (++keyIndex < keys.length) {
+            long key = keys[keyIndex];
+            if (sectionVolume(key) == 0) {
+                continue;
+            }
+            int baseX = BlockSnapshot.sectionX(key) << 4;
+            int baseY = BlockSnapshot.sectionY(key) << 4;
+            int baseZ = BlockSnapshot.sectionZ(key) << 4;
+            x1 = Math.max(baseX, minX);
+            y1 = Math.max(baseY, minY);
+            z1 = Math.max(baseZ, minZ);
+            x2 = Math.min(baseX + 15, maxX);
+            y2 = Math.min(baseY + 15, maxY);
+            z2 = Math.min(baseZ + 15, maxZ);
+            x = x1;
+            y = y1;
+            z = z1;
+            section = snapshot.getSection(key);
+            return;
+        }
+    }
+
+    private long sectionVolume(long key) {
+        int baseX = BlockSnapshot.sectionX(key) << 4;
+        int baseY = BlockSnapshot.sectionY(key) << 4;
+        int baseZ = BlockSnapshot.sectionZ(key) << 4;
+        long sizeX = Math.min(baseX + 15, maxX) - Math.max(baseX, minX) + 1;
+        long sizeY = Math.min(baseY + 15, maxY) - Math.max(baseY, minY) + 1;
+        long sizeZ = Math.min(baseZ + 15, maxZ) - Math.max(baseZ, minZ) + 1;
+        if (sizeX <= 0 || sizeY <= 0 || sizeZ <= 0) {
+            return 0;
+        }
+        return sizeX * sizeY * sizeZ;
+    }
+}
@@ -0,0 +1,344 @@
+package com.cloudcraftgaming.novagameslib.api.regeneration;
+
+import com.cloudcraftgaming.novagameslib.api.region.Cuboid;
+import org.bukkit.World;
+import org.bukkit.block.Block;
+
+import java.util.Arrays;
+import java.util.HashMap;
+
+/**
+ * Website: www.cloudcraftgaming.com
+ * For Project: NovaGamesLib-Bukkit
+ * <br> <br>
+ * A compact copy of every block in an arena's regen area.
+ * Blocks are grouped into {@link SnapshotSection}s keyed by their packed chunk section coordinates,
+ * so no per block objects are kept in memory.
+ */
+@SuppressWarnings({"unused, deprecation", "WeakerAccess"})
+public class BlockSnapshot implements ArenaSnapshot {
+    private final String worldName;
+    private final int minX, minY, minZ;
+    private final int maxX, maxY, maxZ;
+
+    private final HashMap<Long, SnapshotSection> sections = new HashMap<>();
+
+    /**
+     * Creates an empty snapshot covering the specified area.
+     * @param area The area the snapshot covers.
+     */
+    public BlockSnapshot(Cuboid area) {
+        this(area.getWorld().getName(), area.getLowerX(), area.getLowerY(), area.getLowerZ(),
+                area.getUpperX(), area.getUpperY(), area.getUpperZ());
+    }
+
+    /**
+     * Creates an empty snapshot covering the specified bounds.
+     * @param _worldName The name of the world the snapshot is in.
+     * @param _minX The minimum x coordinate.
+     * @param _minY The minimum y coordinate.
+     * @param _minZ The minimum z coordinate.
+     * @param _maxX The maximum x coordinate.
+     * @param _maxY The maximum y coordinate.
+     * @param _maxZ The maximum z coordinate.
+     */
+    public BlockSnapshot(String _worldName, int _minX, int _minY, int _minZ, int _maxX, int _maxY, int _maxZ) {
+        worldName = _worldName;
+        minX = _minX;
+        minY = _minY;
+        minZ = _minZ;
+        maxX = _maxX;
+        maxY = _maxY;
+        maxZ = _maxZ;
+    }
+
+    /**
+     * Captures every block within the specified area.
+     * This must be called on the main thread.
+     * @param area The area to capture.
+     * @return The snapshot of the area.
+     */
+    public static BlockSnapshot capture(Cuboid area) {
+        BlockSnapshot snapshot = new BlockSnapshot(area);
+        World world = area.getWorld();
+        for (int sx = snapshot.minX >> 4; sx <= snapshot.maxX >> 4; sx++) {
+            for (int sz = snapshot.minZ >> 4; sz <= snapshot.maxZ >> 4; sz++) {
+                for (int sy = snapshot.minY >> 4; sy <= snapshot.maxY >> 4; sy++) {
+                    SnapshotSection section = captureSection(world, sx, sy, sz, snapshot);
+                    if (section != null) {
+                        snapshot.sections.put(sectionKey(sx, sy, sz), section);
+                    }
+                }
+            }
+        }
+        return snapshot;
+    }
+
+    /**
+     * Captures the blocks of a single chunk section that are within the bounds of a snapshot.
+     * This must be called on the main thread.
+     * @param world The world to capture from.
+     * @param sx The section's x coordinate.
+     * @param sy The section's y coordinate.
+     * @param sz The section's z coordinate.
+     * @param bounds The snapshot whose bounds limit the captured blocks.
+     * @return The captured section, or <code>null</code> if no blocks of the section are within the bounds.
+     */
+    static SnapshotSection captureSection(World world, int sx, int sy, int sz, ArenaSnapshot bounds) {
+        SnapshotSection section = null;
+        int x1 = Math.max(bounds.getMinX(), sx << 4), x2 = Math.min(bounds.getMaxX(), (sx << 4) + 15);
+        int y1 = Math.max(bounds.getMinY(), sy << 4), y2 = Math.min(bounds.getMaxY(), (sy << 4) + 15);
+        int z1 = Math.max(bounds.getMinZ(), sz << 4), z2 = Math.min(bounds.getMaxZ(), (sz << 4) + 15);
+        for (int y = y1; y <= y2; y++) {
+            for (int z = z1; z <= z2; z++) {
+                for (int x = x1; x <= x2; x++) {
+                    Block block = world.getBlockAt(x, y, z);
+                    int state = encodeState(block.getTypeId(), block.getData());
+                    if (section == null) {
+                        section = new SnapshotSection(state);
+                    } else {
+                        section.set(SnapshotSection.index(x & 15, y & 15, z & 15), state);
+                    }
+                }
+            }
+        }
+        return section;
+    }
+
+    //Encoding
+    /**
+     * Encodes a block's type id and data into a single state value.
+     * @param typeId The type id of the block.
+     * @param data The data of the block.
+     * @return The encoded state.
+     */
+    public static int encodeState(int typeId, byte data) {
+        return (typeId << 4) | (data & 0xF);
+    }
+
+    /**
+     * Gets the type id from an encoded state.
+     * @param state The encoded state.
+     * @return The type id of the block.
+     */
+    public static int getTypeId(int state) {
+        return state >>> 4;
+    }
+
+    /**
+     * Gets the block data from an encoded state.
+     * @param state The encoded state.
+     * @return The data of the block.
+     */
+    public static byte getData(int state) {
+        return (byte) (state & 0xF);
+    }
+
+    /**
+     * Packs chunk section coordinates into a single key.
+     * @param sectionX The section's x coordinate (block x >> 4).
+     * @param sectionY The section's y coordinate (block y >> 4).
+     * @param sectionZ The section's z coordinate (block z >> 4).
+     * @return The packed section key.
+     */
+    public static long sectionKey(int sectionX, int sectionY, int sectionZ) {
+        return (((long) sectionX & 0x3FFFFFF) << 38) | (((long) sectionZ & 0x3FFFFFF) << 12) | ((long) sectionY & 0xFFF);
+    }
+
+    /**
+     * Gets the section x coordinate from a packed section key.
+     * @param key The packed section key.
+     * @return The section x coordinate.
+     */
+    public static int sectionX(long key) {
+        return (int) (key >> 38);
+    }
+
+    /**
+     * Gets the section y coordinate from a packed section key.
+     * @param key The packed section key.
+     * @return The section y coordinate.
+     */
+    public static int sectionY(long key) {
+        return (int) (key << 52 >> 52);
+    }
+
+    /**
+     * Gets the section z coordinate from a packed section key.
+     * @param key The packed section key.
+     * @return The section z coordinate.
+     */
+    public static int sectionZ(long key) {
+        return (int) (key << 26 >> 38);
+    }
+
+    //Getters
+    /**
+     * Gets the name of the world this snapshot was taken in.
+     * @return The name of the world.
+     */
+    @Override
+    public String getWorldName() {
+        return worldName;
+    }
+
+    /**
+     * Gets the minimum x coordinate of this snapshot.
+     * @return The minimum x coordinate.
+     */
+    @Override
+    public int getMinX() {
+        return minX;
+    }
+
+    /**
+     * Gets the minimum y coordinate of this snapshot.
+     * @return The minimum y coordinate.
+     */
+    @Override
+    public int getMinY() {
+        return minY;
+    }
+
+    /**
+     * Gets the minimum z coordinate of this snapshot.
+     * @return The minimum z coordinate.
+     */
+    @Override
+    public int getMinZ() {
+        return minZ;
+    }
+
+    /**
+     * Gets the maximum x coordinate of this snapshot.
+     * @return The maximum x coordinate.
+     */
+    @Override
+    public int getMaxX() {
+        return maxX;
+    }
+
+    /**
+     * Gets the maximum y coordinate of this snapshot.
+     * @return The maximum y coordinate.
+     */
+    @Override
+    public int getMaxY() {
+        return maxY;
+    }
+
+    /**
+     * Gets the maximum z coordinate of this snapshot.
+     * @return The maximum z coordinate.
+     */
+    @Override
+    public int getMaxZ() {
+        return maxZ;
+    }
+
+    /**
+     * Checks whether or not the specified block is within the bounds of this snapshot.
+     * @param x The x coordinate.
+     * @param y The y coordinate.
+     * @param z The z coordinate.
+     * @return <code>true</code> if within the snapshot, else <code>false</code>.
+     */
+    @Override
+    public boolean contains(int x, int y, int z) {
+        return x >= minX && x <= maxX && y >= minY && y <= maxY && z >= minZ && z <= maxZ;
+    }
+
+    /**
+     * Gets the saved state of the block at the specified coordinates.
+     * @param x The x coordinate.
+     * @param y The y coordinate.
+     * @param z The z coordinate.
+     * @return The encoded state of the block, or <code>-1</code> if the block was not saved.
+     */
+    @Override
+    public int getState(int x, int y, int z) {
+        if (!contains(x, y, z)) {
+            return -1;
+        }
+        SnapshotSection section = sections.get(sectionKey(x >> 4, y >> 4, z >> 4));
+        if (section == null) {
+            return -1;
+        }
+        return section.get(SnapshotSection.index(x & 15, y & 15, z & 15));
+    }
+
+    /**
+     * Gets the section with the specified key.
+     * @param key The packed section key, see {@link #sectionKey(int, int, int)}.
+     * @return The section, or <code>null</code> if it was not saved.
+     */
+    @Override
+    public SnapshotSection getSection(long key) {
+        return sections.get(key);
+    }
+
+    /**
+     * Gets the keys of all saved sections in ascending order.
+     * @return The keys of all saved sections.
+     */
+    @Override
+    public long[] getSectionKeys() {
+        long[] keys = new long[sections.size()];
+        int i = 0;
+        for (Long key : sections.keySet()) {
+            keys[i++] = key;
+        }
+        Arrays.sort(keys);
+        return keys;
+    }
+
+    /**
+     * Gets the amount of sections saved in this snapshot.
+     * @return The amount of sections.
+     */
+    @Override
+    public int getSectionCount() {
+        return sections.size();
+    }
+
+    /**
+     * Gets the amount of blocks within the bounds of this snapshot.
+     * @return The volume of the snapshot, in blocks.
+     */
+    @Override
+    public long getVolume() {
+        return (long) (maxX - minX + 1) * (maxY - minY + 1) * (maxZ - minZ + 1);
+    }
+
+    /**
+     * Gets the approximate amount of heap memory, in bytes, used by this snapshot.
+     * @return The approximate memory footprint in bytes.
+     */
+    @Override
+    public long getMemoryFootprint() {
+        long size = 64 + (sections.size() * 48L);
+        for (SnapshotSection section : sections.values()) {
+            size += section.getMemoryFootprint();
+        }
+        return size;
+    }
+
+    /**
+     * Gets the amount of memory outside of the heap used by this snapshot, which is none as every section is kept on the heap.
+     * @return Always <code>0</code>.
+     */
+    @Override
+    public long getOffHeapSize() {
+        return 0;
+    }
+
+    //Setters
+    /**
+     * Sets the section with the specified key.
+     * @param key The packed section key, see {@link #sectionKey(int, int, int)}.
+     * @param section The section to save.
+     */
+    public void putSection(long key, SnapshotSection section) {
+        sections.put(key, section);
+    }
+}
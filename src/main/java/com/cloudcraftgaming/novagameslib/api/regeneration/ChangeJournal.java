@@ -0,0 +1,229 @@
+package com.cloudcraftgaming.novagameslib.api.regeneration;
+
+import com.cloudcraftgaming.novagameslib.api.region.Cuboid;
+
+/**
+ * Website: www.cloudcraftgaming.com
+ * For Project: NovaGamesLib-Bukkit
+ * <br> <br>
+ * A journal of every block changed within an arena's regen area during a game.
+ * Only the first (original) state of each changed block is kept, so replaying the journal restores the arena
+ * without having to visit every block of the regen area.
+ * Positions and states are kept in primitive arrays with an open addressed index, as changes are recorded from block events.
+ */
+@SuppressWarnings({"unused", "WeakerAccess"})
+public class ChangeJournal {
+    private final String worldName;
+    private final int minX, minY, minZ;
+    private final int maxX, maxY, maxZ;
+
+    private long[] positions = new long[64];
+    private int[] states = new int[64];
+    private int size = 0;
+
+    private int[] table = new int[128];
+
+    /**
+     * Creates an empty journal for the specified area.
+     * @param area The area to record changes within.
+     */
+    public ChangeJournal(Cuboid area) {
+        worldName = area.getWorld().getName();
+        minX = area.getLowerX();
+        minY = area.getLowerY();
+        minZ = area.getLowerZ();
+        maxX = area.getUpperX();
+        maxY = area.getUpperY();
+        maxZ = area.getUpperZ();
+    }
+
+    //Encoding
+    /**
+     * Packs block coordinates into a single key.
+     * @param x The x coordinate.
+     * @param y The y coordinate.
+     * @param z The z coordinate.
+     * @return The packed position.
+     */
+    public static long position(int x, int y, int z) {
+        return (((long) x & 0x3FFFFFF) << 38) | (((long) z & 0x3FFFFFF) << 12) | ((long) y & 0xFFF);
+    }
+
+    /**
+     * Gets the x coordinate from a packed position.
+     * @param position The packed position.
+     * @return The x coordinate.
+     */
+    public static int positionX(long position) {
+        return (int) (position >> 38);
+    }
+
+    /**
+     * Gets the y coordinate from a packed position.
+     * @param position The packed position.
+     * @return The y coordinate.
+     */
+    public static int positionY(long position) {
+        return (int) (position << 52 >> 52);
+    }
+
+    /**
+     * Gets the z coordinate from a packed position.
+     * @param position The packed position.
+     * @return The z coordinate.
+     */
+    public static int positionZ(long position) {
+        return (int) (position << 26 >> 38);
+    }
+
+    //Getters
+    /**
+     * Gets the name of the world this journal records changes in.
+     * @return The name of the world.
+     */
+    public String getWorldName() {
+        return worldName;
+    }
+
+    /**
+     * Checks whether or not the specified block is within the area of this journal.
+     * @param world The name of the world the block is in.
+     * @param x The x coordinate.
+     * @param y The y coordinate.
+     * @param z The z coordinate.
+     * @return <code>true</code> if within the area, else <code>false</code>.
+     */
+    public boolean contains(String world, int x, int y, int z) {
+        return x >= minX && x <= maxX && y >= minY && y <= maxY && z >= minZ && z <= maxZ && worldName.equals(world);
+    }
+
+    /**
+     * Checks whether or not a change to the block at the specified position has been recorded.
+     * @param position The packed position, see {@link #position(int, int, int)}.
+     * @return <code>true</code> if recorded, else <code>false</code>.
+     */
+    public boolean isRecorded(long position) {
+        return find(position) >= 0;
+    }
+
+    /**
+     * Gets the amount of changed blocks recorded.
+     * @return The amount of recorded blocks.
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Gets the packed position of the recorded change at the specified index.
+     * Changes are kept in the order they were first recorded.
+     * @param index The index of the change, from <code>0</code> to {@link #size()} - 1.
+     * @return The packed position of the changed block.
+     */
+    public long getPosition(int index) {
+        return positions[index];
+    }
+
+    /**
+     * Gets the original state of the recorded change at the specified index.
+     * @param index The index of the change, from <code>0</code> to {@link #size()} - 1.
+     * @return The original encoded state, see {@link BlockSnapshot#encodeState(int, byte)}.
+     */
+    public int getOriginalState(int index) {
+        return states[index];
+    }
+
+    /**
+     * Gets the approximate amount of heap memory, in bytes, used by this journal.
+     * @return The approximate memory footprint in bytes.
+     */
+    public long getMemoryFootprint() {
+        return 64 + 48 + (positions.length * 8L) + (states.length * 4L) + (table.length * 4L);
+    }
+
+    //Functionals
+    /**
+     * Records the original state of a block that is about to change.
+     * Does nothing if the block is outside the journal's area or a change to it was already recorded.
+     * @param world The name of the world the block is in.
+     * @param x The x coordinate.
+     * @param y The y coordinate.
+     * @param z The z coordinate.
+     * @param originalState The encoded state of the block before the change.
+     * @return <code>true</code> if the change was recorded, else <code>false</code>.
+     */
+    public boolean record(String world, int x, int y, int z, int originalState) {
+        if (!contains(world, x, y, z)) {
+            return false;
+        }
+        long position = position(x, y, z);
+        if (find(position) >= 0) {
+            return false;
+        }
+        if (size == positions.length) {
+            long[] grownPositions = new long[size * 2];
+            int[] grownStates = new int[size * 2];
+            System.arraycopy(positions, 0, grownPositions, 0, size);
+            System.arraycopy(states, 0, grownStates, 0, size);
+            positions = grownPositions;
+            states = grownStates;
+        }
+        positions[size] = position;
+        states[size] = originalState;
+        size++;
+        if (size * 2 > table.length) {
+            rehash(table.length * 2);
+        } else {
+            insert(position, size);
+        }
+        return true;
+    }
+
+    /**
+     * Clears all recorded changes.
+     */
+    public void clear() {
+        positions = new long[64];
+        states = new int[64];
+        table = new int[128];
+        size = 0;
+    }
+
+    //Internals
+    private int find(long position) {
+        int mask = table.length - 1;
+        int slot = hash(position) & mask;
+        while (table[slot] != 0) {
+            int index = table[slot] - 1;
+            if (positions[index] == position) {
+                return index;
+            }
+            slot = (slot + 1) & mask;
+        }
+        return -1;
+    }
+
+    /**
+     * Inserts an entry into the index table. Entries are stored as <code>index + 1</code> so that <code>0</code> marks an empty slot.
+     */
+    private void insert(long position, int entry) {
+        int mask = table.length - 1;
+        int slot = hash(position) & mask;
+        while (table[slot] != 0) {
+            slot = (slot + 1) & mask;
+        }
+        table[slot] = entry;
+    }
+
+    private void rehash(int newLength) {
+        table = new int[newLength];
+        for (int i = 0; i < size; i++) {
+            insert(positions[i], i + 1);
+        }
+    }
+
+    private static int hash(long position) {
+        long h = position * 0x9E3779B97F4A7C15L;
+        return (int) (h ^ (h >>> 32));
+    }
+}
@@ -0,0 +1,62 @@
+package com.cloudcraftgaming.novagameslib.api.regeneration;
+
+import java.util.Arrays;
+
+/**
+ * Website: www.cloudcraftgaming.com
+ * For Project: NovaGamesLib-Bukkit
+ * <br> <br>
+ * The blocks of a single chunk that need to be changed to restore it, and the states to change them to.
+ */
+class ChunkChanges {
+    private final int chunkX;
+    private final int chunkZ;
+
+    private long[] positions = new long[16];
+    private int[] states = new int[16];
+    private int size = 0;
+    private int skippedSections = 0;
+
+    ChunkChanges(int _chunkX, int _chunkZ) {
+        chunkX = _chunkX;
+        chunkZ = _chunkZ;
+    }
+
+    void add(int x, int y, int z, int state) {
+        if (size == positions.length) {
+            positions = Arrays.copyOf(positions, size * 2);
+            states = Arrays.copyOf(states, size * 2);
+        }
+        positions[size] = ChangeJournal.position(x, y, z);
+        states[size] = state;
+        size++;
+    }
+
+    void skipSection() {
+        skippedSections++;
+    }
+
+    int getSkippedSections() {
+        return skippedSections;
+    }
+
+    int getChunkX() {
+        return chunkX;
+    }
+
+    int getChunkZ() {
+        return chunkZ;
+    }
+
+    int size() {
+        return size;
+    }
+
+    long getPosition(int index) {
+        return positions[index];
+    }
+
+    int getState(int index) {
+        return states[index];
+    }
+}
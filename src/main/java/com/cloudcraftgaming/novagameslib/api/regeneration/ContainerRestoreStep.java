@@ -0,0 +1,60 @@
+package com.cloudcraftgaming.novagameslib.api.regeneration;
+
+import com.cloudcraftgaming.novagameslib.NovaGamesLib;
+import org.bukkit.World;
+import org.bukkit.block.BlockState;
+import org.bukkit.inventory.InventoryHolder;
+
+import java.io.IOException;
+
+/**
+ * Website: www.cloudcraftgaming.com
+ * For Project: NovaGamesLib-Bukkit
+ * <br> <br>
+ * Refills every container saved in a {@link ContainerSnapshot}, one container per unit of work.
+ */
+class ContainerRestoreStep extends RegenerationStep {
+    private final ContainerSnapshot snapshot;
+    private final World world;
+    private int index = 0;
+    private int restored = 0;
+
+    ContainerRestoreStep(ContainerSnapshot _snapshot, World _world) {
+        snapshot = _snapshot;
+        world = _world;
+    }
+
+    /**
+     * Gets the amount of containers that had to be refilled so far.
+     * @return The amount of containers refilled.
+     */
+    int getRestoredCount() {
+        return restored;
+    }
+
+    @Override
+    public boolean hasNext() {
+        return index < snapshot.getContainerCount();
+    }
+
+    @Override
+    protected void process() {
+        long position = snapshot.getPosition(index);
+        BlockState state = world.getBlockAt(ChangeJournal.positionX(position), ChangeJournal.positionY(position), ChangeJournal.positionZ(position)).getState();
+        if (state instanceof InventoryHolder) {
+            try {
+                if (snapshot.restore(index, ((InventoryHolder) state).getInventory())) {
+                    restored++;
+                }
+            } catch (IOException e) {
+                NovaGamesLib.plugin.getLogger().warning("Failed to restore container at " + state.getX() + ", " + state.getY() + ", " + state.getZ() + ": " + e.getMessage());
+            }
+        }
+        index++;
+    }
+
+    @Override
+    public long getTotalWork() {
+        return snapshot.getContainerCount();
+    }
+}
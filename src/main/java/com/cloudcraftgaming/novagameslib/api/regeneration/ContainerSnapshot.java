@@ -0,0 +1,189 @@
+package com.cloudcraftgaming.novagameslib.api.regeneration;
+
+import com.cloudcraftgaming.novagameslib.NovaGamesLib;
+import com.cloudcraftgaming.novagameslib.api.region.Cuboid;
+import org.bukkit.Chunk;
+import org.bukkit.block.BlockState;
+import org.bukkit.inventory.Inventory;
+import org.bukkit.inventory.InventoryHolder;
+import org.bukkit.inventory.ItemStack;
+import org.bukkit.util.io.BukkitObjectInputStream;
+import org.bukkit.util.io.BukkitObjectOutputStream;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Website: www.cloudcraftgaming.com
+ * For Project: NovaGamesLib-Bukkit
+ * <br> <br>
+ * The contents of every container within a regen area, saved before a game so they can be refilled afterwards.
+ * Each container's items are kept as serialized bytes, along with the hash of every slot.
+ * Restoring compares the slot hashes against the container's current contents first, and the saved items are only
+ * read back once a slot is found to differ, so untouched containers are checked without decoding anything.
+ * Different items can share a hash, so once the saved items are read, slots whose hash matches are confirmed against them as well.
+ */
+@SuppressWarnings({"unused", "WeakerAccess"})
+public class ContainerSnapshot {
+    private final String worldName;
+    private final List<Long> positions = new ArrayList<>();
+    private final List<int[]> slotHashes = new ArrayList<>();
+    private final List<byte[]> contents = new ArrayList<>();
+    private long bytes = 0;
+
+    private ContainerSnapshot(String _worldName) {
+        worldName = _worldName;
+    }
+
+    /**
+     * Saves the contents of every container within the specified area.
+     * Containers are found through each chunk's tile entities, so only containers are visited.
+     * @param area The area to save.
+     * @return The saved container contents.
+     */
+    public static ContainerSnapshot capture(Cuboid area) {
+        ContainerSnapshot snapshot = new ContainerSnapshot(area.getWorld().getName());
+        for (Chunk chunk : area.getChunks()) {
+            for (BlockState state : chunk.getTileEntities()) {
+                if (state instanceof InventoryHolder && area.contains(state.getX(), state.getY(), state.getZ())) {
+                    snapshot.add(state.getX(), state.getY(), state.getZ(), ((InventoryHolder) state).getInventory());
+                }
+            }
+        }
+        return snapshot;
+    }
+
+    //Getters
+    /**
+     * Gets the name of the world the containers are in.
+     * @return The name of the world.
+     */
+    public String getWorldName() {
+        return worldName;
+    }
+
+    /**
+     * Gets the amount of containers saved.
+     * @return The amount of containers saved.
+     */
+    public int getContainerCount() {
+        return positions.size();
+    }
+
+    /**
+     * Gets the packed position of a saved container, see {@link ChangeJournal#position(int, int, int)}.
+     * @param index The index of the container, from <code>0</code> to {@link #getContainerCount()}.
+     * @return The packed position of the container.
+     */
+    public long getPosition(int index) {
+        return positions.get(index);
+    }
+
+    /**
+     * Gets the approximate amount of memory, in bytes, used by the saved contents.
+     * @return The memory footprint in bytes.
+     */
+    public long getMemoryFootprint() {
+        return bytes;
+    }
+
+    //Functionals
+    /**
+     * Restores the contents of a saved container. Slots that already hold their saved items are left alone.
+     * @param index The index of the container.
+     * @param inventory The container's current inventory.
+     * @return <code>true</code> if any slot was changed, else <code>false</code>.
+     * @throws IOException If the saved contents could not be read.
+     */
+    public boolean restore(int index, Inventory inventory) throws IOException {
+        int[] hashes = slotHashes.get(index);
+        if (inventory.getSize() != hashes.length) {
+            inventory.setContents(decode(contents.get(index), hashes.length));
+            return true;
+        }
+        int first = 0;
+        while (first < hashes.length && hash(inventory.getItem(first)) == hashes[first]) {
+            first++;
+        }
+        if (first == hashes.length) {
+            return false;
+        }
+        //A slot differs, so read the saved items back and confirm every slot against them.
+        ItemStack[] saved = decode(contents.get(index), hashes.length);
+        boolean changed = false;
+        for (int slot = 0; slot < hashes.length; slot++) {
+            ItemStack item = inventory.getItem(slot);
+            if (slot != first && hash(item) == hashes[slot] && same(item, saved[slot])) {
+                continue;
+            }
+            inventory.setItem(slot, saved[slot]);
+            changed = true;
+        }
+        return changed;
+    }
+
+    //Internals
+    private void add(int x, int y, int z, Inventory inventory) {
+        ItemStack[] items = inventory.getContents();
+        int[] hashes = new int[items.length];
+        for (int slot = 0; slot < items.length; slot++) {
+            hashes[slot] = hash(items[slot]);
+        }
+        byte[] data;
+        try {
+            data = encode(items);
+        } catch (IOException e) {
+            NovaGamesLib.plugin.getLogger().warning("Failed to save container at " + x + ", " + y + ", " + z + ": " + e.getMessage());
+            return;
+        }
+        positions.add(ChangeJournal.position(x, y, z));
+        slotHashes.add(hashes);
+        contents.add(data);
+        bytes += data.length + hashes.length * 4 + 64;
+    }
+
+    private static boolean same(ItemStack item, ItemStack saved) {
+        if (item == null || saved == null) {
+            return item == saved;
+        }
+        return item.isSimilar(saved) && item.getAmount() == saved.getAmount();
+    }
+
+    private static int hash(ItemStack item) {
+        return item == null ? 0 : item.hashCode();
+    }
+
+    private static byte[] encode(ItemStack[] items) throws IOException {
+        ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+        BukkitObjectOutputStream dataOutput = new BukkitObjectOutputStream(outputStream);
+        //Only filled slots are written, each after its slot number.
+        for (int slot = 0; slot < items.length; slot++) {
+            if (items[slot] != null) {
+                dataOutput.writeInt(slot);
+                dataOutput.writeObject(items[slot]);
+            }
+        }
+        dataOutput.writeInt(-1);
+        dataOutput.close();
+        return outputStream.toByteArray();
+    }
+
+    private static ItemStack[] decode(byte[] data, int size) throws IOException {
+        ItemStack[] items = new ItemStack[size];
+        BukkitObjectInputStream dataInput = new BukkitObjectInputStream(new ByteArrayInputStream(data));
+        try {
+            int slot;
+            while ((slot = dataInput.readInt()) != -1) {
+                items[slot] = (ItemStack) dataInput.readObject();
+            }
+        } catch (ClassNotFoundException e) {
+            throw new IOException("Unable to decode class type.", e);
+        } finally {
+            dataInput.close();
+        }
+        return items;
+    }
+}
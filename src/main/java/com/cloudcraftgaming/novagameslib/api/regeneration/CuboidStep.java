@@ -0,0 +1,60 @@
+package com.cloudcraftgaming.novagameslib.api.regeneration;
+
+import com.cloudcraftgaming.novagameslib.api.region.Cuboid;
+import org.bukkit.World;
+import org.bukkit.block.Block;
+
+/**
+ * Website: www.cloudcraftgaming.com
+ * For Project: NovaGamesLib-Bukkit
+ * <br> <br>
+ * A {@link RegenerationStep} that visits every block of a {@link Cuboid} once.
+ */
+abstract class CuboidStep extends RegenerationStep {
+    private final World world;
+    private final int x1, y1, z1, x2, y2, z2;
+    private final long total;
+    private int x, y, z;
+
+    CuboidStep(Cuboid area) {
+        world = area.getWorld();
+        x1 = area.getLowerX();
+        y1 = area.getLowerY();
+        z1 = area.getLowerZ();
+        x2 = area.getUpperX();
+        y2 = area.getUpperY();
+        z2 = area.getUpperZ();
+        total = (long) area.getSizeX() * area.getSizeY() * area.getSizeZ();
+        x = x1;
+        y = y1;
+        z = z1;
+    }
+
+    /**
+     * Processes a single block of the cuboid.
+     * @param block The block to process.
+     */
+    protected abstract void process(Block block);
+
+    @Override
+    public boolean hasNext() {
+        return y <= y2;
+    }
+
+    @Override
+    protected void process() {
+        process(world.getBlockAt(x, y, z));
+        if (++x > x2) {
+            x = x1;
+            if (++z > z2) {
+                z = z1;
+                y++;
+            }
+        }
+    }
+
+    @Override
+    public long getTotalWork() {
+        return total;
+    }
+}
@@ -0,0 +1,327 @@
+package com.cloudcraftgaming.novagameslib.api.regeneration;
+
+import com.cloudcraftgaming.novagameslib.NovaGamesLib;
+import com.cloudcraftgaming.novagameslib.api.region.Cuboid;
+import com.cloudcraftgaming.novagameslib.api.utils.FileManager;
+import org.bukkit.Art;
+import org.bukkit.Chunk;
+import org.bukkit.Location;
+import org.bukkit.Rotation;
+import org.bukkit.World;
+import org.bukkit.block.BlockFace;
+import org.bukkit.entity.ArmorStand;
+import org.bukkit.entity.Entity;
+import org.bukkit.entity.Hanging;
+import org.bukkit.entity.ItemFrame;
+import org.bukkit.entity.Painting;
+import org.bukkit.inventory.ItemStack;
+import org.bukkit.util.EulerAngle;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+
+/**
+ * Website: www.cloudcraftgaming.com
+ * For Project: NovaGamesLib-Bukkit
+ * <br> <br>
+ * The item frames, paintings and armor stands within a regen area, saved before a game so they can be put back afterwards.
+ * These are entities rather than blocks, so restoring blocks never brings them back once broken.
+ * <br> <br>
+ * Restoring matches the saved decorations to the ones still in the world by their unique id.
+ * Only decorations that are missing are spawned again, and only those that were changed are updated.
+ * Decorations placed during the game are removed, but only those seen being placed through {@link #track(Entity)},
+ * so decorations added to the arena some other way are left alone.
+ */
+@SuppressWarnings({"unused", "WeakerAccess"})
+public class DecorationSnapshot {
+    private static final int VISIBLE = 1, SMALL = 2, ARMS = 4, BASE_PLATE = 8, GRAVITY = 16, MARKER = 32;
+
+    private final Cuboid area;
+    private final String worldName;
+    private final List<Decoration> decorations = new ArrayList<>();
+    private final Set<UUID> placed = new HashSet<>();
+
+    private DecorationSnapshot(Cuboid _area) {
+        area = _area;
+        worldName = area.getWorld().getName();
+    }
+
+    /**
+     * Saves every item frame, painting and armor stand within the specified area.
+     * @param area The area to save.
+     * @return The saved decorations.
+     */
+    public static DecorationSnapshot capture(Cuboid area) {
+        DecorationSnapshot snapshot = new DecorationSnapshot(area);
+        for (Entity entity : findDecorations(area).values()) {
+            snapshot.decorations.add(new Decoration(entity));
+        }
+        return snapshot;
+    }
+
+    //Getters
+    /**
+     * Gets the name of the world the decorations are in.
+     * @return The name of the world.
+     */
+    public String getWorldName() {
+        return worldName;
+    }
+
+    /**
+     * Gets the amount of decorations saved.
+     * @return The amount of decorations saved.
+     */
+    public int getDecorationCount() {
+        return decorations.size();
+    }
+
+    /**
+     * Gets the amount of decorations placed during the game that are being tracked.
+     * @return The amount of placed decorations.
+     */
+    public int getPlacedCount() {
+        return placed.size();
+    }
+
+    //Functionals
+    /**
+     * Starts tracking a decoration placed during the game, so it is removed when restoring.
+     * @param entity The item frame, painting or armor stand that was placed.
+     * @return <code>true</code> if the decoration is now tracked, else <code>false</code>.
+     */
+    public boolean track(Entity entity) {
+        if (!(entity instanceof ItemFrame || entity instanceof Painting || entity instanceof ArmorStand)) {
+            return false;
+        }
+        if (!entity.getWorld().getName().equals(worldName) || !area.contains(entity.getLocation())) {
+            return false;
+        }
+        return placed.add(entity.getUniqueId());
+    }
+
+    /**
+     * Puts every saved decoration back within the specified area.
+     * Decorations that still match their saved state are left alone, and tracked decorations placed during the game are removed.
+     * @param area The area to restore, which should be the area that was saved.
+     * @return The amount of decorations spawned, updated or removed.
+     */
+    public int restore(Cuboid area) {
+        World world = area.getWorld();
+        HashMap<UUID, Entity> current = findDecorations(area);
+        int changed = 0;
+        for (Decoration decoration : decorations) {
+            Entity entity = current.remove(decoration.uuid);
+            if (entity != null && entity.isValid()) {
+                if (decoration.matches(entity)) {
+                    continue;
+                }
+                if (decoration.update(entity)) {
+                    changed++;
+                    continue;
+                }
+                entity.remove();
+            }
+            if (decoration.spawn(world)) {
+                changed++;
+            }
+        }
+        for (UUID uuid : placed) {
+            Entity entity = current.get(uuid);
+            if (entity != null) {
+                entity.remove();
+                changed++;
+            }
+        }
+        //Also clears anything tracked while spawning decorations back above.
+        placed.clear();
+        return changed;
+    }
+
+    //Internals
+    private static HashMap<UUID, Entity> findDecorations(Cuboid area) {
+        HashMap<UUID, Entity> found = new HashMap<>();
+        for (Chunk chunk : area.getChunks()) {
+            for (Entity entity : chunk.getEntities()) {
+                if ((entity instanceof ItemFrame || entity instanceof Painting || entity instanceof ArmorStand)
+                        && area.contains(entity.getLocation())) {
+                    found.put(entity.getUniqueId(), entity);
+                }
+            }
+        }
+        return found;
+    }
+
+    private static boolean same(Object a, Object b) {
+        return a == null ? b == null : a.equals(b);
+    }
+
+    private static boolean same(EulerAngle a, EulerAngle b) {
+        return a.getX() == b.getX() && a.getY() == b.getY() && a.getZ() == b.getZ();
+    }
+
+    private static int flagsOf(ArmorStand stand) {
+        return (stand.isVisible() ? VISIBLE : 0) | (stand.isSmall() ? SMALL : 0) | (stand.hasArms() ? ARMS : 0)
+                | (stand.hasBasePlate() ? BASE_PLATE : 0) | (stand.hasGravity() ? GRAVITY : 0) | (stand.isMarker() ? MARKER : 0);
+    }
+
+    private static ItemStack copy(ItemStack item) {
+        return item == null ? null : item.clone();
+    }
+
+    /**
+     * The saved state of a single decoration. Only the fields used by its type are set.
+     */
+    private static class Decoration {
+        private UUID uuid;
+        private final Class<? extends Entity> type;
+        private final double x, y, z;
+        private final float yaw, pitch;
+        private final int blockX, blockY, blockZ;
+
+        //Hanging
+        private BlockFace facing;
+        private ItemStack item;
+        private Rotation rotation;
+        private Art art;
+
+        //Armor stands
+        private ItemStack[] equipment;
+        private EulerAngle[] poses;
+        private int flags;
+
+        private Decoration(Entity entity) {
+            uuid = entity.getUniqueId();
+            Location loc = entity.getLocation();
+            x = loc.getX();
+            y = loc.getY();
+            z = loc.getZ();
+            yaw = loc.getYaw();
+            pitch = loc.getPitch();
+            blockX = loc.getBlockX();
+            blockY = loc.getBlockY();
+            blockZ = loc.getBlockZ();
+            if (entity instanceof Hanging) {
+                facing = ((Hanging) entity).getFacing();
+            }
+            if (entity instanceof ItemFrame) {
+                type = ItemFrame.class;
+                ItemFrame frame = (ItemFrame) entity;
+                item = copy(frame.getItem());
+                rotation = frame.getRotation();
+            } else if (entity instanceof Painting) {
+                type = Painting.class;
+                art = ((Painting) entity).getArt();
+            } else {
+                type = ArmorStand.class;
+                ArmorStand stand = (ArmorStand) entity;
+                equipment = new ItemStack[] {copy(stand.getItemInHand()), copy(stand.getHelmet()), copy(stand.getChestplate()),
+                        copy(stand.getLeggings()), copy(stand.getBoots())};
+                poses = new EulerAngle[] {stand.getHeadPose(), stand.getBodyPose(), stand.getLeftArmPose(),
+                        stand.getRightArmPose(), stand.getLeftLegPose(), stand.getRightLegPose()};
+                flags = flagsOf(stand);
+            }
+        }
+
+        private boolean matches(Entity entity) {
+            if (!type.isInstance(entity)) {
+                return false;
+            }
+            if (entity instanceof ItemFrame) {
+                ItemFrame frame = (ItemFrame) entity;
+                return same(item, frame.getItem()) && rotation == frame.getRotation();
+            } else if (entity instanceof Painting) {
+                return art == ((Painting) entity).getArt() && facing == ((Painting) entity).getFacing();
+            }
+            ArmorStand stand = (ArmorStand) entity;
+            Location loc = stand.getLocation();
+            if (loc.getX() != x || loc.getY() != y || loc.getZ() != z || loc.getYaw() != yaw || loc.getPitch() != pitch) {
+                return false;
+            }
+            return same(equipment[0], stand.getItemInHand()) && same(equipment[1], stand.getHelmet())
+                    && same(equipment[2], stand.getChestplate()) && same(equipment[3], stand.getLeggings())
+                    && same(equipment[4], stand.getBoots())
+                    && same(poses[0], stand.getHeadPose()) && same(poses[1], stand.getBodyPose())
+                    && same(poses[2], stand.getLeftArmPose()) && same(poses[3], stand.getRightArmPose())
+                    && same(poses[4], stand.getLeftLegPose()) && same(poses[5], stand.getRightLegPose())
+                    && flags == flagsOf(stand);
+        }
+
+        /**
+         * Changes an existing decoration back to its saved state, where possible without spawning it again.
+         * @return <code>true</code> if updated, <code>false</code> if it has to be spawned again.
+         */
+        private boolean update(Entity entity) {
+            if (!type.isInstance(entity)) {
+                return false;
+            }
+            if (entity instanceof ItemFrame) {
+                ItemFrame frame = (ItemFrame) entity;
+                frame.setItem(copy(item));
+                frame.setRotation(rotation);
+                return true;
+            } else if (entity instanceof Painting) {
+                Painting painting = (Painting) entity;
+                return painting.setArt(art, true) && painting.setFacingDirection(facing, true);
+            }
+            apply((ArmorStand) entity);
+            return true;
+        }
+
+        private boolean spawn(World world) {
+            try {
+                if (type == ArmorStand.class) {
+                    ArmorStand stand = world.spawn(new Location(world, x, y, z, yaw, pitch), ArmorStand.class);
+                    apply(stand);
+                    uuid = stand.getUniqueId();
+                    return true;
+                }
+                Location loc = new Location(world, blockX, blockY, blockZ);
+                if (type == ItemFrame.class) {
+                    ItemFrame frame = world.spawn(loc, ItemFrame.class);
+                    frame.setFacingDirection(facing, true);
+                    frame.setItem(copy(item));
+                    frame.setRotation(rotation);
+                    uuid = frame.getUniqueId();
+                } else {
+                    Painting painting = world.spawn(loc, Painting.class);
+                    painting.setArt(art, true);
+                    painting.setFacingDirection(facing, true);
+                    uuid = painting.getUniqueId();
+                }
+                return true;
+            } catch (IllegalArgumentException e) {
+                //Nothing left to hang on, such as when the wall behind it was not restored.
+                if (FileManager.verbose()) {
+                    NovaGamesLib.plugin.getLogger().info("Unable to restore " + type.getSimpleName() + " at " + blockX + ", " + blockY + ", " + blockZ);
+                }
+                return false;
+            }
+        }
+
+        private void apply(ArmorStand stand) {
+            stand.teleport(new Location(stand.getWorld(), x, y, z, yaw, pitch));
+            stand.setItemInHand(copy(equipment[0]));
+            stand.setHelmet(copy(equipment[1]));
+            stand.setChestplate(copy(equipment[2]));
+            stand.setLeggings(copy(equipment[3]));
+            stand.setBoots(copy(equipment[4]));
+            stand.setHeadPose(poses[0]);
+            stand.setBodyPose(poses[1]);
+            stand.setLeftArmPose(poses[2]);
+            stand.setRightArmPose(poses[3]);
+            stand.setLeftLegPose(poses[4]);
+            stand.setRightLegPose(poses[5]);
+            stand.setVisible((flags & VISIBLE) != 0);
+            stand.setSmall((flags & SMALL) != 0);
+            stand.setArms((flags & ARMS) != 0);
+            stand.setBasePlate((flags & BASE_PLATE) != 0);
+            stand.setGravity((flags & GRAVITY) != 0);
+            stand.setMarker((flags & MARKER) != 0);
+        }
+    }
+}
@@ -0,0 +1,139 @@
+package com.cloudcraftgaming.novagameslib.api.regeneration;
+
+import com.cloudcraftgaming.novagameslib.NovaGamesLib;
+import com.cloudcraftgaming.novagameslib.api.region.Cuboid;
+import org.bukkit.World;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+
+/**
+ * Website: www.cloudcraftgaming.com
+ * For Project: NovaGamesLib-Bukkit
+ * <br> <br>
+ * Restores an {@link ArenaSnapshot} by applying a list of changes worked out by the {@link SnapshotPipeline}.
+ * The comparison is only started once this step is reached, so it sees the area as the steps before it left it,
+ * and the step is not ready until every chunk has been compared. Should any comparison fail,
+ * the step falls back to a {@link BlockRestoreStep} over the whole area.
+ * When given the {@link SectionFingerprints} taken with the snapshot, sections that were not changed are not compared at all.
+ */
+@SuppressWarnings("deprecation")
+class DiffRestoreStep extends RegenerationStep {
+    private final ArenaSnapshot snapshot;
+    private final Cuboid regenArea;
+    private final World world;
+    private final SectionFingerprints fingerprints;
+
+    private List<Future<ChunkChanges>> pending;
+    private List<ChunkChanges> changes;
+    private RegenerationStep fallback;
+    private long total = 0;
+    private int skippedSections = 0;
+    private int chunkIndex = 0;
+    private int index = 0;
+
+    DiffRestoreStep(ArenaSnapshot _snapshot, Cuboid _regenArea) {
+        this(_snapshot, _regenArea, null);
+    }
+
+    DiffRestoreStep(ArenaSnapshot _snapshot, Cuboid _regenArea, SectionFingerprints _fingerprints) {
+        snapshot = _snapshot;
+        regenArea = _regenArea;
+        world = regenArea.getWorld();
+        fingerprints = _fingerprints;
+    }
+
+    @Override
+    public boolean isReady() {
+        if (changes != null || fallback != null) {
+            return true;
+        }
+        if (pending == null) {
+            pending = SnapshotPipeline.diff(snapshot, regenArea, fingerprints);
+            return false;
+        }
+        for (Future<ChunkChanges> task : pending) {
+            if (!task.isDone()) {
+                return false;
+            }
+        }
+        collect();
+        return true;
+    }
+
+    @Override
+    public void awaitReady() {
+        if (changes == null && fallback == null) {
+            if (pending == null) {
+                pending = SnapshotPipeline.diff(snapshot, regenArea, fingerprints);
+            }
+            collect();
+        }
+    }
+
+    @Override
+    public boolean hasNext() {
+        if (fallback != null) {
+            return fallback.hasNext();
+        }
+        while (changes != null && chunkIndex < changes.size()) {
+            if (index < changes.get(chunkIndex).size()) {
+                return true;
+            }
+            chunkIndex++;
+            index = 0;
+        }
+        return false;
+    }
+
+    @Override
+    protected void process() {
+        if (fallback != null) {
+            fallback.processNext();
+            return;
+        }
+        ChunkChanges chunk = changes.get(chunkIndex);
+        long position = chunk.getPosition(index);
+        int state = chunk.getState(index);
+        index++;
+        int x = ChangeJournal.positionX(position);
+        int y = ChangeJournal.positionY(position);
+        int z = ChangeJournal.positionZ(position);
+        world.getBlockAt(x, y, z).setTypeIdAndData(BlockSnapshot.getTypeId(state), BlockSnapshot.getData(state), false);
+    }
+
+    @Override
+    public long getTotalWork() {
+        return fallback != null ? fallback.getTotalWork() : total;
+    }
+
+    /**
+     * Gets the amount of sections skipped because their fingerprint had not changed.
+     */
+    int getSkippedSections() {
+        return skippedSections;
+    }
+
+    private void collect() {
+        List<ChunkChanges> collected = new ArrayList<>();
+        long count = 0;
+        try {
+            for (Future<ChunkChanges> task : pending) {
+                ChunkChanges chunk = task.get();
+                skippedSections += chunk.getSkippedSections();
+                if (chunk.size() > 0) {
+                    collected.add(chunk);
+                    count += chunk.size();
+                }
+            }
+        } catch (InterruptedException | ExecutionException e) {
+            NovaGamesLib.plugin.getLogger().warning("Failed to compare regen area off the main thread, restoring every block instead: " + e.getMessage());
+            fallback = new BlockRestoreStep(snapshot, regenArea);
+            return;
+        }
+        changes = collected;
+        total = count;
+    }
+}
@@ -0,0 +1,198 @@
+package com.cloudcraftgaming.novagameslib.api.regeneration;
+
+import java.lang.reflect.Method;
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+
+/**
+ * Website: www.cloudcraftgaming.com
+ * For Project: NovaGamesLib-Bukkit
+ * <br> <br>
+ * A snapshot of an arena's regen area kept in memory, but outside of the heap in a single direct {@link ByteBuffer}.
+ * Large snapshots kept on the heap end up in the old generation and lengthen full garbage collections,
+ * while this one only keeps its small section table on the heap.
+ * <br> <br>
+ * Sections are stored the same as in a {@link MappedSnapshot} file and read back on demand.
+ * The buffer is freed by {@link #close()}, after which the snapshot cannot be used.
+ */
+@SuppressWarnings({"unused", "WeakerAccess"})
+public class DirectSnapshot implements ArenaSnapshot {
+    private final String worldName;
+    private final int minX, minY, minZ;
+    private final int maxX, maxY, maxZ;
+
+    private final long[] keys;
+    private final int[] offsets;
+    private volatile ByteBuffer buffer;
+
+    private DirectSnapshot(ArenaSnapshot bounds, long[] _keys, int[] _offsets, ByteBuffer _buffer) {
+        worldName = bounds.getWorldName();
+        minX = bounds.getMinX();
+        minY = bounds.getMinY();
+        minZ = bounds.getMinZ();
+        maxX = bounds.getMaxX();
+        maxY = bounds.getMaxY();
+        maxZ = bounds.getMaxZ();
+        keys = _keys;
+        offsets = _offsets;
+        buffer = _buffer;
+    }
+
+    /**
+     * Copies an existing snapshot off the heap.
+     * This does not need the world, so it may be called off the main thread.
+     * @param snapshot The snapshot to copy.
+     * @return The off-heap copy.
+     */
+    public static DirectSnapshot copyOf(ArenaSnapshot snapshot) {
+        long[] keys = snapshot.getSectionKeys();
+        int[] offsets = new int[keys.length];
+        long size = 0;
+        for (int i = 0; i < keys.length; i++) {
+            offsets[i] = (int) size;
+            size += snapshot.getSection(keys[i]).getSerializedSize();
+        }
+        if (size > Integer.MAX_VALUE) {
+            throw new IllegalArgumentException("Snapshot is too large for a single buffer: " + size + " bytes");
+        }
+        ByteBuffer buffer = ByteBuffer.allocateDirect((int) size);
+        for (long key : keys) {
+            snapshot.getSection(key).write(buffer);
+        }
+        return new DirectSnapshot(snapshot, keys, offsets, buffer);
+    }
+
+    //Booleans/Checkers
+    /**
+     * Checks whether or not this snapshot has been closed and its memory freed.
+     * @return <code>true</code> if closed, else <code>false</code>.
+     */
+    public boolean isClosed() {
+        return buffer == null;
+    }
+
+    //Getters
+    @Override
+    public String getWorldName() {
+        return worldName;
+    }
+
+    @Override
+    public int getMinX() {
+        return minX;
+    }
+
+    @Override
+    public int getMinY() {
+        return minY;
+    }
+
+    @Override
+    public int getMinZ() {
+        return minZ;
+    }
+
+    @Override
+    public int getMaxX() {
+        return maxX;
+    }
+
+    @Override
+    public int getMaxY() {
+        return maxY;
+    }
+
+    @Override
+    public int getMaxZ() {
+        return maxZ;
+    }
+
+    @Override
+    public boolean contains(int x, int y, int z) {
+        return x >= minX && x <= maxX && y >= minY && y <= maxY && z >= minZ && z <= maxZ;
+    }
+
+    @Override
+    public int getState(int x, int y, int z) {
+        if (!contains(x, y, z)) {
+            return -1;
+        }
+        int index = Arrays.binarySearch(keys, BlockSnapshot.sectionKey(x >> 4, y >> 4, z >> 4));
+        ByteBuffer source = buffer;
+        if (index < 0 || source == null) {
+            return -1;
+        }
+        //Only the block asked for is read, rather than decoding its whole section.
+        return SnapshotSection.readState(source, offsets[index], SnapshotSection.index(x & 15, y & 15, z & 15));
+    }
+
+    @Override
+    public SnapshotSection getSection(long key) {
+        int index = Arrays.binarySearch(keys, key);
+        ByteBuffer source = buffer;
+        if (index < 0 || source == null) {
+            return null;
+        }
+        ByteBuffer in = source.duplicate();
+        in.position(offsets[index]);
+        return SnapshotSection.read(in);
+    }
+
+    @Override
+    public long[] getSectionKeys() {
+        return keys.clone();
+    }
+
+    @Override
+    public int getSectionCount() {
+        return keys.length;
+    }
+
+    @Override
+    public long getVolume() {
+        return (long) (maxX - minX + 1) * (maxY - minY + 1) * (maxZ - minZ + 1);
+    }
+
+    /**
+     * Gets the approximate amount of heap memory, in bytes, used by this snapshot.
+     * Only the section table is kept on the heap, see {@link #getOffHeapSize()} for the buffer size.
+     * @return The approximate memory footprint in bytes.
+     */
+    @Override
+    public long getMemoryFootprint() {
+        return 96 + (keys.length * 12L);
+    }
+
+    /**
+     * Gets the size of the direct buffer holding the sections.
+     * @return The off-heap size in bytes, or <code>0</code> once closed.
+     */
+    @Override
+    public long getOffHeapSize() {
+        ByteBuffer source = buffer;
+        return source == null ? 0 : source.capacity();
+    }
+
+    //Functionals
+    /**
+     * Frees the memory of this snapshot straight away, rather than whenever the garbage collector gets to it.
+     * Sections can no longer be read afterwards.
+     */
+    public void close() {
+        ByteBuffer source = buffer;
+        buffer = null;
+        if (source == null) {
+            return;
+        }
+        try {
+            Method cleanerMethod = source.getClass().getMethod("cleaner");
+            cleanerMethod.setAccessible(true);
+            Object cleaner = cleanerMethod.invoke(source);
+            if (cleaner != null) {
+                cleaner.getClass().getMethod("clean").invoke(cleaner);
+            }
+        } catch (Exception ignore) {
+            //Not available on this JVM, the buffer is freed once it is garbage collected instead.
+        }
+    }
+}
@@ -0,0 +1,140 @@
+package com.cloudcraftgaming.novagameslib.api.regeneration;
+
+import com.cloudcraftgaming.novagameslib.api.region.Cuboid;
+import org.bukkit.entity.Creature;
+import org.bukkit.entity.Entity;
+import org.bukkit.entity.Item;
+
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.Set;
+
+/**
+ * Website: www.cloudcraftgaming.com
+ * For Project: NovaGamesLib-Bukkit
+ * <br> <br>
+ * Keeps track of the items and creatures spawned within an arena's regen area during a match.
+ * Cleaning up after the match then only removes these entities, instead of checking every entity in the world.
+ * Entities are kept even if they leave the regen area, as they still belong to the match.
+ * Entities that are no longer in the world are dropped every {@link #PRUNE_INTERVAL} tracked entities,
+ * in case they were removed without an event NovaGamesLib listens to.
+ */
+@SuppressWarnings({"unused", "WeakerAccess"})
+public class EntityTracker {
+    /**
+     * The amount of entities tracked between each pass dropping entities no longer in the world.
+     */
+    public static final int PRUNE_INTERVAL = 256;
+
+    private final Cuboid area;
+    private final String worldName;
+    private final Set<Item> items = new HashSet<>();
+    private final Set<Creature> creatures = new HashSet<>();
+    private int trackedSincePrune = 0;
+
+    EntityTracker(Cuboid _area) {
+        area = _area;
+        worldName = area.getWorld().getName();
+    }
+
+    //Getters
+    /**
+     * Gets the amount of items being tracked.
+     * @return The amount of tracked items.
+     */
+    public int getItemCount() {
+        return items.size();
+    }
+
+    /**
+     * Gets the amount of creatures being tracked.
+     * @return The amount of tracked creatures.
+     */
+    public int getCreatureCount() {
+        return creatures.size();
+    }
+
+    //Functionals
+    /**
+     * Starts tracking an entity if it is an item or creature within the regen area.
+     * @param entity The entity that was spawned.
+     * @return <code>true</code> if the entity is now tracked, else <code>false</code>.
+     */
+    public boolean track(Entity entity) {
+        if (!entity.getWorld().getName().equals(worldName) || !area.contains(entity.getLocation())) {
+            return false;
+        }
+        if (++trackedSincePrune >= PRUNE_INTERVAL) {
+            prune();
+        }
+        if (entity instanceof Item) {
+            return items.add((Item) entity);
+        } else if (entity instanceof Creature) {
+            return creatures.add((Creature) entity);
+        }
+        return false;
+    }
+
+    /**
+     * Stops tracking an entity, such as when it dies or is picked up.
+     * @param entity The entity to stop tracking.
+     */
+    public void untrack(Entity entity) {
+        if (entity instanceof Item) {
+            items.remove(entity);
+        } else if (entity instanceof Creature) {
+            creatures.remove(entity);
+        }
+    }
+
+    /**
+     * Removes every tracked item that is still in the world and stops tracking them.
+     * @return The amount of items removed.
+     */
+    public int removeItems() {
+        int removed = removeAll(items);
+        items.clear();
+        return removed;
+    }
+
+    /**
+     * Removes every tracked creature that is still in the world and stops tracking them.
+     * @return The amount of creatures removed.
+     */
+    public int removeCreatures() {
+        int removed = removeAll(creatures);
+        creatures.clear();
+        return removed;
+    }
+
+    /**
+     * Stops tracking every entity that is no longer in the world.
+     * @return The amount of entities no longer tracked.
+     */
+    public int prune() {
+        trackedSincePrune = 0;
+        return pruneAll(items) + pruneAll(creatures);
+    }
+
+    private static int pruneAll(Set<? extends Entity> entities) {
+        int pruned = 0;
+        for (Iterator<? extends Entity> it = entities.iterator(); it.hasNext();) {
+            if (!it.next().isValid()) {
+                it.remove();
+                pruned++;
+            }
+        }
+        return pruned;
+    }
+
+    private static int removeAll(Set<? extends Entity> entities) {
+        int removed = 0;
+        for (Entity entity : entities) {
+            if (entity.isValid()) {
+                entity.remove();
+                removed++;
+            }
+        }
+        return removed;
+    }
+}
@@ -0,0 +1,93 @@
+package com.cloudcraftgaming.novagameslib.api.regeneration;
+
+import com.cloudcraftgaming.novagameslib.NovaGamesLib;
+import com.cloudcraftgaming.novagameslib.api.region.Cuboid;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+
+/**
+ * Website: www.cloudcraftgaming.com
+ * For Project: NovaGamesLib-Bukkit
+ * <br> <br>
+ * Fingerprints a regenerated area again and compares it against the {@link SectionFingerprints} recorded before the match.
+ * The area is only fingerprinted once this step is reached, after every block before it has been restored,
+ * and the step is not ready until the worker threads have finished. It has no blocks of its own to process.
+ */
+class IntegrityCheckStep extends RegenerationStep {
+    private final Cuboid area;
+    private final SectionFingerprints recorded;
+
+    private Future<SectionFingerprints> pending;
+    private List<Cuboid> failedAreas;
+
+    IntegrityCheckStep(Cuboid _area, SectionFingerprints _recorded) {
+        area = _area;
+        recorded = _recorded;
+    }
+
+    @Override
+    public boolean isReady() {
+        if (failedAreas != null) {
+            return true;
+        }
+        if (pending == null) {
+            pending = SnapshotPipeline.fingerprint(area);
+            return false;
+        }
+        if (!pending.isDone()) {
+            return false;
+        }
+        collect();
+        return true;
+    }
+
+    @Override
+    public void awaitReady() {
+        if (failedAreas == null) {
+            if (pending == null) {
+                pending = SnapshotPipeline.fingerprint(area);
+            }
+            collect();
+        }
+    }
+
+    @Override
+    public boolean hasNext() {
+        return false;
+    }
+
+    @Override
+    protected void process() {
+    }
+
+    @Override
+    public long getTotalWork() {
+        return 0;
+    }
+
+    /**
+     * Gets the sections that still differ from their recorded fingerprints.
+     */
+    List<Cuboid> getFailedAreas() {
+        return failedAreas;
+    }
+
+    /**
+     * Gets the amount of sections that were checked.
+     */
+    int getCheckedSections() {
+        return recorded.getSectionCount();
+    }
+
+    private void collect() {
+        try {
+            failedAreas = recorded.compare(pending.get());
+        } catch (InterruptedException | ExecutionException e) {
+            NovaGamesLib.plugin.getLogger().warning("Failed to check the regenerated area off the main thread: " + e.getMessage());
+            failedAreas = new ArrayList<>();
+        }
+    }
+}
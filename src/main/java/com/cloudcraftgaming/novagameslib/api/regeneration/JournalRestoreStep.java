@@ -0,0 +1,73 @@
+package com.cloudcraftgaming.novagameslib.api.regeneration;
+
+import com.cloudcraftgaming.novagameslib.api.region.Cuboid;
+import org.bukkit.World;
+import org.bukkit.block.Block;
+
+import java.util.List;
+
+/**
+ * Website: www.cloudcraftgaming.com
+ * For Project: NovaGamesLib-Bukkit
+ * <br> <br>
+ * Restores only the blocks recorded in a {@link ChangeJournal} to their original states.
+ * Blocks that already match their original state are left untouched.
+ * The step can be limited to a few areas, in which case the entries outside of them are skipped.
+ */
+@SuppressWarnings("deprecation")
+class JournalRestoreStep extends RegenerationStep {
+    private final ChangeJournal journal;
+    private final World world;
+    private final int total;
+    private final List<Cuboid> areas;
+    private int index = 0;
+
+    JournalRestoreStep(ChangeJournal _journal, World _world) {
+        this(_journal, _world, null);
+    }
+
+    JournalRestoreStep(ChangeJournal _journal, World _world, List<Cuboid> _areas) {
+        journal = _journal;
+        world = _world;
+        areas = _areas;
+        total = journal.size();
+    }
+
+    @Override
+    public boolean hasNext() {
+        return index < total;
+    }
+
+    @Override
+    protected void process() {
+        long position = journal.getPosition(index);
+        int state = journal.getOriginalState(index);
+        index++;
+        int x = ChangeJournal.positionX(position);
+        int y = ChangeJournal.positionY(position);
+        int z = ChangeJournal.positionZ(position);
+        if (areas != null && !within(x, y, z)) {
+            return;
+        }
+        Block block = world.getBlockAt(x, y, z);
+        int bId = BlockSnapshot.getTypeId(state);
+        byte blockDat = BlockSnapshot.getData(state);
+        if (block.getTypeId() != bId || block.getData() != blockDat) {
+            block.setTypeIdAndData(bId, blockDat, false);
+        }
+    }
+
+    @Override
+    public long getTotalWork() {
+        return total;
+    }
+
+    private boolean within(int x, int y, int z) {
+        for (Cuboid area : areas) {
+            if (area.contains(x, y, z)) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
@@ -0,0 +1,346 @@
+package com.cloudcraftgaming.novagameslib.api.regeneration;
+
+import com.cloudcraftgaming.novagameslib.api.region.Cuboid;
+import org.bukkit.World;
+
+import java.io.*;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.util.Arrays;
+
+/**
+ * Website: www.cloudcraftgaming.com
+ * For Project: NovaGamesLib-Bukkit
+ * <br> <br>
+ * A snapshot of an arena's regen area that is kept in a binary file and read through a memory mapped buffer,
+ * so that the saved blocks are not kept on the heap.
+ * <br> <br>
+ * File layout: a header (magic, version, world name and bounds), every section as written by
+ * {@link SnapshotSection#write(DataOutput)}, a table of section keys and offsets, and finally the offset of that table.
+ */
+@SuppressWarnings({"unused", "WeakerAccess", "ResultOfMethodCallIgnored"})
+public class MappedSnapshot implements ArenaSnapshot {
+    private static final int MAGIC = 0x4E474C53; //NGLS
+    private static final int VERSION = 1;
+
+    private final File file;
+    private final MappedByteBuffer buffer;
+    private final String worldName;
+    private final int minX, minY, minZ;
+    private final int maxX, maxY, maxZ;
+
+    private final long[] keys;
+    private final int[] offsets;
+
+    private MappedSnapshot(File _file, MappedByteBuffer _buffer) throws IOException {
+        file = _file;
+        buffer = _buffer;
+
+        ByteBuffer in = buffer.duplicate();
+        if (in.getInt() != MAGIC || in.getInt() != VERSION) {
+            throw new IOException("Not a valid snapshot file: " + file.getName());
+        }
+        byte[] name = new byte[in.getShort() & 0xFFFF];
+        in.get(name);
+        worldName = new String(name, "UTF-8");
+        minX = in.getInt();
+        minY = in.getInt();
+        minZ = in.getInt();
+        maxX = in.getInt();
+        maxY = in.getInt();
+        maxZ = in.getInt();
+
+        in.position((int) in.getLong(in.limit() - 8));
+        int count = in.getInt();
+        long[] writtenKeys = new long[count];
+        int[] writtenOffsets = new int[count];
+        for (int i = 0; i < count; i++) {
+            writtenKeys[i] = in.getLong();
+            writtenOffsets[i] = in.getInt();
+        }
+        //Sort the table by key so sections can be found with a binary search.
+        keys = writtenKeys.clone();
+        Arrays.sort(keys);
+        offsets = new int[count];
+        for (int i = 0; i < count; i++) {
+            offsets[Arrays.binarySearch(keys, writtenKeys[i])] = writtenOffsets[i];
+        }
+    }
+
+    /**
+     * Captures every block within the specified area straight to a snapshot file.
+     * Sections are written as they are captured, so the whole snapshot is never held in memory.
+     * This must be called on the main thread.
+     * @param area The area to capture.
+     * @param file The file to write the snapshot to. Any existing file is replaced.
+     * @throws IOException If the file could not be written.
+     */
+    public static void write(Cuboid area, File file) throws IOException {
+        BlockSnapshot bounds = new BlockSnapshot(area);
+        World world = area.getWorld();
+        SectionTable table = new SectionTable();
+        File temp = createTemp(file);
+        CountingOutputStream counter = new CountingOutputStream(new BufferedOutputStream(new FileOutputStream(temp), 65536));
+        DataOutputStream out = new DataOutputStream(counter);
+        try {
+            writeHeader(out, bounds);
+            for (int sx = bounds.getMinX() >> 4; sx <= bounds.getMaxX() >> 4; sx++) {
+                for (int sz = bounds.getMinZ() >> 4; sz <= bounds.getMaxZ() >> 4; sz++) {
+                    for (int sy = bounds.getMinY() >> 4; sy <= bounds.getMaxY() >> 4; sy++) {
+                        SnapshotSection section = BlockSnapshot.captureSection(world, sx, sy, sz, bounds);
+                        if (section != null) {
+                            table.add(BlockSnapshot.sectionKey(sx, sy, sz), counter.getCount());
+                            section.write(out);
+                        }
+                    }
+                }
+            }
+            table.write(out, counter.getCount());
+        } finally {
+            out.close();
+        }
+        Files.move(temp.toPath(), file.toPath(), StandardCopyOption.REPLACE_EXISTING);
+    }
+
+    /**
+     * Writes an existing snapshot to a snapshot file.
+     * This does not need the world, so it may be called off the main thread.
+     * @param snapshot The snapshot to write.
+     * @param file The file to write the snapshot to. Any existing file is replaced.
+     * @throws IOException If the file could not be written.
+     */
+    public static void write(ArenaSnapshot snapshot, File file) throws IOException {
+        SectionTable table = new SectionTable();
+        File temp = createTemp(file);
+        CountingOutputStream counter = new CountingOutputStream(new BufferedOutputStream(new FileOutputStream(temp), 65536));
+        DataOutputStream out = new DataOutputStream(counter);
+        try {
+            writeHeader(out, snapshot);
+            for (long key : snapshot.getSectionKeys()) {
+                table.add(key, counter.getCount());
+                snapshot.getSection(key).write(out);
+            }
+            table.write(out, counter.getCount());
+        } finally {
+            out.close();
+        }
+        Files.move(temp.toPath(), file.toPath(), StandardCopyOption.REPLACE_EXISTING);
+    }
+
+    /**
+     * Opens a snapshot file written by {@link #write(Cuboid, File)}.
+     * @param file The snapshot file.
+     * @return The mapped snapshot.
+     * @throws IOException If the file could not be read or is not a valid snapshot.
+     */
+    public static MappedSnapshot open(File file) throws IOException {
+        RandomAccessFile raf = new RandomAccessFile(file, "r");
+        try {
+            FileChannel channel = raf.getChannel();
+            MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+            return new MappedSnapshot(file, buffer);
+        } finally {
+            raf.close();
+        }
+    }
+
+    //Getters
+    /**
+     * Gets the file this snapshot is mapped from.
+     * @return The snapshot file.
+     */
+    public File getFile() {
+        return file;
+    }
+
+    /**
+     * Gets the size, in bytes, of the mapped snapshot file. This memory is outside of the heap.
+     * @return The size of the mapped file in bytes.
+     */
+    public long getMappedSize() {
+        return buffer.capacity();
+    }
+
+    @Override
+    public String getWorldName() {
+        return worldName;
+    }
+
+    @Override
+    public int getMinX() {
+        return minX;
+    }
+
+    @Override
+    public int getMinY() {
+        return minY;
+    }
+
+    @Override
+    public int getMinZ() {
+        return minZ;
+    }
+
+    @Override
+    public int getMaxX() {
+        return maxX;
+    }
+
+    @Override
+    public int getMaxY() {
+        return maxY;
+    }
+
+    @Override
+    public int getMaxZ() {
+        return maxZ;
+    }
+
+    @Override
+    public boolean contains(int x, int y, int z) {
+        return x >= minX && x <= maxX && y >= minY && y <= maxY && z >= minZ && z <= maxZ;
+    }
+
+    @Override
+    public int getState(int x, int y, int z) {
+        if (!contains(x, y, z)) {
+            return -1;
+        }
+        int index = Arrays.binarySearch(keys, BlockSnapshot.sectionKey(x >> 4, y >> 4, z >> 4));
+        if (index < 0) {
+            return -1;
+        }
+        //Only the block asked for is read, rather than decoding its whole section.
+        return SnapshotSection.readState(buffer, offsets[index], SnapshotSection.index(x & 15, y & 15, z & 15));
+    }
+
+    /**
+     * Reads the section with the specified key from the mapped file.
+     * The returned section is a copy and is not cached, so it should be dropped once used.
+     * To read single blocks, use {@link #getState(int, int, int)}, which does not decode the whole section.
+     * @param key The packed section key, see {@link BlockSnapshot#sectionKey(int, int, int)}.
+     * @return The section, or <code>null</code> if it was not saved.
+     */
+    @Override
+    public SnapshotSection getSection(long key) {
+        int index = Arrays.binarySearch(keys, key);
+        if (index < 0) {
+            return null;
+        }
+        ByteBuffer in = buffer.duplicate();
+        in.position(offsets[index]);
+        return SnapshotSection.read(in);
+    }
+
+    @Override
+    public long[] getSectionKeys() {
+        return keys.clone();
+    }
+
+    @Override
+    public int getSectionCount() {
+        return keys.length;
+    }
+
+    @Override
+    public long getVolume() {
+        return (long) (maxX - minX + 1) * (maxY - minY + 1) * (maxZ - minZ + 1);
+    }
+
+    /**
+     * Gets the approximate amount of heap memory, in bytes, used by this snapshot.
+     * Only the section table is kept on the heap, see {@link #getMappedSize()} for the mapped file size.
+     * @return The approximate memory footprint in bytes.
+     */
+    @Override
+    public long getMemoryFootprint() {
+        return 96 + (keys.length * 12L);
+    }
+
+    /**
+     * Gets the amount of memory outside of the heap used by this snapshot, being the size of the mapped file.
+     * @return The off-heap size in bytes.
+     */
+    @Override
+    public long getOffHeapSize() {
+        return getMappedSize();
+    }
+
+    //Internals
+    private static File createTemp(File file) {
+        file.getParentFile().mkdirs();
+        return new File(file.getPath() + ".tmp");
+    }
+
+    private static void writeHeader(DataOutputStream out, ArenaSnapshot bounds) throws IOException {
+        out.writeInt(MAGIC);
+        out.writeInt(VERSION);
+        byte[] name = bounds.getWorldName().getBytes("UTF-8");
+        out.writeShort(name.length);
+        out.write(name);
+        out.writeInt(bounds.getMinX());
+        out.writeInt(bounds.getMinY());
+        out.writeInt(bounds.getMinZ());
+        out.writeInt(bounds.getMaxX());
+        out.writeInt(bounds.getMaxY());
+        out.writeInt(bounds.getMaxZ());
+    }
+
+    /**
+     * The keys and file offsets of the sections written so far.
+     */
+    private static class SectionTable {
+        private long[] keys = new long[16];
+        private int[] offsets = new int[16];
+        private int count = 0;
+
+        void add(long key, long offset) {
+            if (count == keys.length) {
+                keys = Arrays.copyOf(keys, count * 2);
+                offsets = Arrays.copyOf(offsets, count * 2);
+            }
+            keys[count] = key;
+            offsets[count] = (int) offset;
+            count++;
+        }
+
+        void write(DataOutputStream out, long tableOffset) throws IOException {
+            out.writeInt(count);
+            for (int i = 0; i < count; i++) {
+                out.writeLong(keys[i]);
+                out.writeInt(offsets[i]);
+            }
+            out.writeLong(tableOffset);
+        }
+    }
+
+    /**
+     * Counts the bytes written so that section offsets can be recorded while streaming.
+     */
+    private static class CountingOutputStream extends FilterOutputStream {
+        private long count = 0;
+
+        CountingOutputStream(OutputStream out) {
+            super(out);
+        }
+
+        @Override
+        public void write(int b) throws IOException {
+            out.write(b);
+            count++;
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) throws IOException {
+            out.write(b, off, len);
+            count += len;
+        }
+
+        long getCount() {
+            return count;
+        }
+    }
+}
@@ -0,0 +1,108 @@
+package com.cloudcraftgaming.novagameslib.api.regeneration;
+
+import java.io.DataInput;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+
+/**
+ * Website: www.cloudcraftgaming.com
+ * For Project: NovaGamesLib-Bukkit
+ * <br> <br>
+ * A minimal reader for Minecraft's NBT format, just enough to read chunks from region files.
+ * Tags are read into plain Java objects: compounds become a {@link HashMap}, lists a {@link List},
+ * arrays a primitive array and numbers their boxed type.
+ */
+class NBTReader {
+    private static final int END = 0, BYTE = 1, SHORT = 2, INT = 3, LONG = 4, FLOAT = 5, DOUBLE = 6,
+            BYTE_ARRAY = 7, STRING = 8, LIST = 9, COMPOUND = 10, INT_ARRAY = 11, LONG_ARRAY = 12;
+
+    private NBTReader() {} //Prevent initialization.
+
+    /**
+     * Reads the root compound tag.
+     */
+    static HashMap<String, Object> readRoot(DataInput in) throws IOException {
+        int type = in.readByte();
+        if (type != COMPOUND) {
+            throw new IOException("Root tag is not a compound, found type " + type);
+        }
+        in.readUTF();
+        return readCompound(in);
+    }
+
+    @SuppressWarnings("unchecked")
+    static HashMap<String, Object> getCompound(HashMap<String, Object> compound, String name) {
+        Object tag = compound.get(name);
+        return tag instanceof HashMap ? (HashMap<String, Object>) tag : null;
+    }
+
+    @SuppressWarnings("unchecked")
+    static List<Object> getList(HashMap<String, Object> compound, String name) {
+        Object tag = compound.get(name);
+        return tag instanceof List ? (List<Object>) tag : null;
+    }
+
+    static byte[] getByteArray(HashMap<String, Object> compound, String name) {
+        Object tag = compound.get(name);
+        return tag instanceof byte[] ? (byte[]) tag : null;
+    }
+
+    private static HashMap<String, Object> readCompound(DataInput in) throws IOException {
+        HashMap<String, Object> compound = new HashMap<>();
+        int type;
+        while ((type = in.readByte()) != END) {
+            String name = in.readUTF();
+            compound.put(name, readPayload(in, type));
+        }
+        return compound;
+    }
+
+    private static Object readPayload(DataInput in, int type) throws IOException {
+        switch (type) {
+            case BYTE:
+                return in.readByte();
+            case SHORT:
+                return in.readShort();
+            case INT:
+                return in.readInt();
+            case LONG:
+                return in.readLong();
+            case FLOAT:
+                return in.readFloat();
+            case DOUBLE:
+                return in.readDouble();
+            case BYTE_ARRAY:
+                byte[] bytes = new byte[in.readInt()];
+                in.readFully(bytes);
+                return bytes;
+            case STRING:
+                return in.readUTF();
+            case LIST:
+                int elementType = in.readByte();
+                int size = in.readInt();
+                List<Object> list = new ArrayList<>(Math.max(0, size));
+                for (int i = 0; i < size; i++) {
+                    list.add(readPayload(in, elementType));
+                }
+                return list;
+            case COMPOUND:
+                return readCompound(in);
+            case INT_ARRAY:
+                int[] ints = new int[in.readInt()];
+                for (int i = 0; i < ints.length; i++) {
+                    ints[i] = in.readInt();
+                }
+                return ints;
+            case LONG_ARRAY:
+                long[] longs = new long[in.readInt()];
+                for (int i = 0; i < longs.length; i++) {
+                    longs[i] = in.readLong();
+                }
+                return longs;
+            default:
+                throw new IOException("Unknown NBT tag type " + type);
+        }
+    }
+}
@@ -0,0 +1,121 @@
+package com.cloudcraftgaming.novagameslib.api.regeneration;
+
+import java.util.Arrays;
+
+/**
+ * Website: www.cloudcraftgaming.com
+ * For Project: NovaGamesLib-Bukkit
+ * <br> <br>
+ * A view of another {@link ArenaSnapshot} moved by a whole amount of chunk sections.
+ * Because sections line up with the sections of the original, nothing is copied or re-encoded,
+ * so one saved snapshot can be placed anywhere on the section grid, such as when pasting a template.
+ */
+@SuppressWarnings({"unused", "WeakerAccess"})
+public class OffsetSnapshot implements ArenaSnapshot {
+    private final ArenaSnapshot snapshot;
+    private final String worldName;
+    private final int sectionsX, sectionsY, sectionsZ;
+    private final int offsetX, offsetY, offsetZ;
+
+    /**
+     * Creates a view of a snapshot moved by the specified amount of sections.
+     * @param _snapshot The snapshot to move.
+     * @param _worldName The name of the world the moved snapshot is in.
+     * @param _sectionsX The amount of sections to move on the x axis.
+     * @param _sectionsY The amount of sections to move on the y axis.
+     * @param _sectionsZ The amount of sections to move on the z axis.
+     */
+    public OffsetSnapshot(ArenaSnapshot _snapshot, String _worldName, int _sectionsX, int _sectionsY, int _sectionsZ) {
+        snapshot = _snapshot;
+        worldName = _worldName;
+        sectionsX = _sectionsX;
+        sectionsY = _sectionsY;
+        sectionsZ = _sectionsZ;
+        offsetX = sectionsX << 4;
+        offsetY = sectionsY << 4;
+        offsetZ = sectionsZ << 4;
+    }
+
+    //Getters
+    @Override
+    public String getWorldName() {
+        return worldName;
+    }
+
+    @Override
+    public int getMinX() {
+        return snapshot.getMinX() + offsetX;
+    }
+
+    @Override
+    public int getMinY() {
+        return snapshot.getMinY() + offsetY;
+    }
+
+    @Override
+    public int getMinZ() {
+        return snapshot.getMinZ() + offsetZ;
+    }
+
+    @Override
+    public int getMaxX() {
+        return snapshot.getMaxX() + offsetX;
+    }
+
+    @Override
+    public int getMaxY() {
+        return snapshot.getMaxY() + offsetY;
+    }
+
+    @Override
+    public int getMaxZ() {
+        return snapshot.getMaxZ() + offsetZ;
+    }
+
+    @Override
+    public boolean contains(int x, int y, int z) {
+        return snapshot.contains(x - offsetX, y - offsetY, z - offsetZ);
+    }
+
+    @Override
+    public int getState(int x, int y, int z) {
+        return snapshot.getState(x - offsetX, y - offsetY, z - offsetZ);
+    }
+
+    @Override
+    public SnapshotSection getSection(long key) {
+        return snapshot.getSection(BlockSnapshot.sectionKey(BlockSnapshot.sectionX(key) - sectionsX,
+                BlockSnapshot.sectionY(key) - sectionsY, BlockSnapshot.sectionZ(key) - sectionsZ));
+    }
+
+    @Override
+    public long[] getSectionKeys() {
+        long[] keys = snapshot.getSectionKeys();
+        for (int i = 0; i < keys.length; i++) {
+            keys[i] = BlockSnapshot.sectionKey(BlockSnapshot.sectionX(keys[i]) + sectionsX,
+                    BlockSnapshot.sectionY(keys[i]) + sectionsY, BlockSnapshot.sectionZ(keys[i]) + sectionsZ);
+        }
+        Arrays.sort(keys);
+        return keys;
+    }
+
+    @Override
+    public int getSectionCount() {
+        return snapshot.getSectionCount();
+    }
+
+    @Override
+    public long getVolume() {
+        return snapshot.getVolume();
+    }
+
+    @Override
+    public long getMemoryFootprint() {
+        return snapshot.getMemoryFootprint();
+    }
+
+    @Override
+    public long getOffHeapSize() {
+        return snapshot.getOffHeapSize();
+    }
+}
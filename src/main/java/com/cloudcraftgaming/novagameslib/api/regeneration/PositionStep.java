@@ -0,0 +1,43 @@
+package com.cloudcraftgaming.novagameslib.api.regeneration;
+
+import org.bukkit.World;
+import org.bukkit.block.Block;
+
+/**
+ * Website: www.cloudcraftgaming.com
+ * For Project: NovaGamesLib-Bukkit
+ * <br> <br>
+ * A {@link RegenerationStep} that visits a list of packed block positions once, such as those in a {@link TileEntityIndex}.
+ */
+abstract class PositionStep extends RegenerationStep {
+    private final World world;
+    private final long[] positions;
+    private int index = 0;
+
+    PositionStep(World _world, long[] _positions) {
+        world = _world;
+        positions = _positions;
+    }
+
+    /**
+     * Processes a single block.
+     * @param block The block to process.
+     */
+    protected abstract void process(Block block);
+
+    @Override
+    public boolean hasNext() {
+        return index < positions.length;
+    }
+
+    @Override
+    protected void process() {
+        long position = positions[index++];
+        process(world.getBlockAt(ChangeJournal.positionX(position), ChangeJournal.positionY(position), ChangeJournal.positionZ(position)));
+    }
+
+    @Override
+    public long getTotalWork() {
+        return positions.length;
+    }
+}
@@ -0,0 +1,210 @@
+package com.cloudcraftgaming.novagameslib.api.regeneration;
+
+import com.cloudcraftgaming.novagameslib.api.region.Cuboid;
+
+import java.util.ArrayList;
+import java.util.LinkedList;
+
+/**
+ * Website: www.cloudcraftgaming.com
+ * For Project: NovaGamesLib-Bukkit
+ * <br> <br>
+ * An incremental regeneration of a single arena.
+ * The job's {@link RegenerationStep}s are processed a little every tick, limited by a block and time budget,
+ * so that large arenas do not freeze the server while regenerating.
+ * Started jobs share a global budget with every other job through the {@link RegenerationManager}.
+ * A job given a region locks it through the {@link RegionLockManager} before doing any work.
+ */
+@SuppressWarnings({"unused", "WeakerAccess"})
+public class RegenerationJob {
+    private final int arenaId;
+    private final LinkedList<RegenerationStep> steps = new LinkedList<>();
+    private final ArrayList<RegenerationStep> allSteps = new ArrayList<>();
+    private final int blocksPerTick;
+    private final long nanosPerTick;
+
+    private Cuboid region;
+    private long completedWork = 0;
+    private boolean finished = false;
+
+    /**
+     * Creates a new regeneration job.
+     * @param _arenaId The id of the arena being regenerated.
+     * @param _blocksPerTick The maximum amount of blocks to process each tick, <code>0</code> for no limit.
+     * @param _millisPerTick The maximum time, in milliseconds, to spend each tick, <code>0</code> for no limit.
+     */
+    public RegenerationJob(int _arenaId, int _blocksPerTick, int _millisPerTick) {
+        arenaId = _arenaId;
+        blocksPerTick = _blocksPerTick;
+        nanosPerTick = _millisPerTick * 1000000L;
+    }
+
+    /**
+     * Adds a step to the end of this job. Steps are processed in the order they are added.
+     * @param step The step to add.
+     */
+    public void addStep(RegenerationStep step) {
+        steps.add(step);
+        allSteps.add(step);
+    }
+
+    /**
+     * Sets the area this job regenerates. Before doing any work the job locks it,
+     * waiting while another arena holds a lock on an overlapping area.
+     * @param _region The area regenerated by this job, or <code>null</code> to not lock any area.
+     */
+    public void setRegion(Cuboid _region) {
+        region = _region;
+    }
+
+    /**
+     * Starts processing this job every tick, by adding it to the {@link RegenerationManager}'s queue.
+     */
+    public void start() {
+        if (!finished) {
+            RegenerationManager.getManager().queue(this);
+        }
+    }
+
+    /**
+     * Processes as much work as the budget given allows, also limited by this job's own budget.
+     * @param maxBlocks The maximum amount of blocks to process, <code>0</code> for no limit.
+     * @param deadline The {@link System#nanoTime()} to stop at, or {@link Long#MAX_VALUE} for no limit.
+     * @return The amount of blocks processed.
+     */
+    int process(int maxBlocks, long deadline) {
+        if (blocksPerTick > 0 && (maxBlocks <= 0 || maxBlocks > blocksPerTick)) {
+            maxBlocks = blocksPerTick;
+        }
+        if (nanosPerTick > 0) {
+            deadline = Math.min(deadline, System.nanoTime() + nanosPerTick);
+        }
+        if (!lockRegion()) {
+            return 0;
+        }
+        int processed = 0;
+        while (!steps.isEmpty()) {
+            if (maxBlocks > 0 && processed >= maxBlocks) {
+                return processed;
+            }
+            if ((processed & 63) == 63 && System.nanoTime() > deadline) {
+                return processed;
+            }
+            RegenerationStep step = steps.peek();
+            if (!step.isReady()) {
+                return processed;
+            }
+            if (step.hasNext()) {
+                step.processNext();
+                completedWork++;
+                processed++;
+            } else {
+                step.finish();
+                steps.poll();
+            }
+        }
+        complete();
+        return processed;
+    }
+
+    /**
+     * Processes all remaining work at once. Used when the job cannot wait for more ticks, such as on shutdown.
+     */
+    public void runToCompletion() {
+        while (!lockRegion()) {
+            //Cannot wait for more ticks, so finish whichever job holds the overlapping area first.
+            int conflict = RegionLockManager.getManager().getConflict(arenaId, region);
+            RegenerationJob other = Regenerator.getRegenerationJob(conflict);
+            if (other != null && !other.isFinished()) {
+                other.runToCompletion();
+            } else {
+                RegionLockManager.getManager().unlock(conflict);
+            }
+        }
+        while (!steps.isEmpty()) {
+            RegenerationStep step = steps.poll();
+            long before = step.getCompletedWork();
+            step.runToCompletion();
+            completedWork += step.getCompletedWork() - before;
+        }
+        complete();
+    }
+
+    private void complete() {
+        if (finished) {
+            return;
+        }
+        finished = true;
+        if (region != null) {
+            RegionLockManager.getManager().unlock(arenaId);
+        }
+        RegenerationManager.getManager().finished(this);
+        Regenerator.finishRegeneration(this);
+    }
+
+    private boolean lockRegion() {
+        if (region == null) {
+            return true;
+        }
+        RegionLockManager locks = RegionLockManager.getManager();
+        return locks.isLocked(arenaId) || locks.tryLock(arenaId, region);
+    }
+
+    //Getters
+    /**
+     * Gets the id of the arena being regenerated.
+     * @return The id of the arena.
+     */
+    public int getArenaId() {
+        return arenaId;
+    }
+
+    /**
+     * Gets the area this job regenerates.
+     * @return The area, or <code>null</code> if the job does not lock an area.
+     */
+    public Cuboid getRegion() {
+        return region;
+    }
+
+    /**
+     * Gets the progress of this job.
+     * @return The progress from <code>0.0</code> to <code>1.0</code>.
+     */
+    public double getProgress() {
+        long totalWork = getTotalWork();
+        if (finished || totalWork == 0) {
+            return finished ? 1.0 : 0.0;
+        }
+        return Math.min(1.0, (double) completedWork / totalWork);
+    }
+
+    /**
+     * Gets the total amount of work units (usually blocks) in this job.
+     * Steps still waiting on work done off the main thread may not know their total yet, so this can grow.
+     * @return The total amount of work units.
+     */
+    public long getTotalWork() {
+        long totalWork = 0;
+        for (RegenerationStep step : allSteps) {
+            totalWork += step.getTotalWork();
+        }
+        return totalWork;
+    }
+
+    /**
+     * Gets the amount of work units (usually blocks) processed so far.
+     * @return The amount of completed work units.
+     */
+    public long getCompletedWork() {
+        return completedWork;
+    }
+
+    /**
+     * Gets whether or not this job has finished.
+     * @return <code>true</code> if finished, else <code>false</code>.
+     */
+    public boolean isFinished() {
+        return finished;
+    }
+}
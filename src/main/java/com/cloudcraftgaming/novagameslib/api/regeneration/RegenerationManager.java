@@ -0,0 +1,255 @@
+package com.cloudcraftgaming.novagameslib.api.regeneration;
+
+import com.cloudcraftgaming.novagameslib.NovaGamesLib;
+import com.cloudcraftgaming.novagameslib.api.arena.ArenaManager;
+import com.cloudcraftgaming.novagameslib.api.utils.SignUtils;
+import org.bukkit.Bukkit;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+
+/**
+ * Website: www.cloudcraftgaming.com
+ * For Project: NovaGamesLib-Bukkit
+ * <br> <br>
+ * The server wide queue of incremental {@link RegenerationJob}s.
+ * A single task runs every tick and splits one global block and time budget across all queued jobs,
+ * so several matches ending at once do not each take a full budget from the same tick.
+ * <br> <br>
+ * Arenas with players waiting to join are given a larger share of the budget, and are served first.
+ * Players count as waiting when they try to join a regenerating arena, or when no pooled instance of their game is ready.
+ * Whatever a job does not use is passed on to the jobs after it.
+ * <br> <br>
+ * Join signs of a regenerating arena show its progress, and are updated whenever it goes up by a percent.
+ */
+@SuppressWarnings({"unused", "WeakerAccess"})
+public class RegenerationManager implements Runnable {
+    private static final int PRIORITY_WEIGHT = 4;
+
+    private static RegenerationManager instance;
+
+    private final LinkedHashMap<RegenerationJob, Long> queued = new LinkedHashMap<>();
+    private final HashMap<Integer, Integer> waitingPlayers = new HashMap<>();
+    private final HashMap<RegenerationJob, Integer> shownProgress = new HashMap<>();
+
+    private int taskId = -1;
+    private int blocksLastTick = 0;
+    private long completedJobs = 0;
+    private long totalWaitMillis = 0;
+
+    //Instance handling
+    private RegenerationManager() {} //Prevent initialization.
+
+    /**
+     * Gets the instance of the {@link RegenerationManager}
+     * @return The instance of the {@link RegenerationManager}
+     */
+    public static RegenerationManager getManager() {
+        if (instance == null) {
+            instance = new RegenerationManager();
+        }
+        return instance;
+    }
+
+    //Getters
+    /**
+     * Gets the amount of regenerations currently queued or in progress.
+     * @return The depth of the regeneration queue.
+     */
+    public int getQueueDepth() {
+        return queued.size();
+    }
+
+    /**
+     * Gets how long the arena's regeneration has been queued, including time spent in progress.
+     * @param id The id of the arena.
+     * @return The time in milliseconds, or <code>-1</code> if the arena is not queued.
+     */
+    public long getWaitTime(int id) {
+        for (RegenerationJob job : queued.keySet()) {
+            if (job.getArenaId() == id) {
+                return System.currentTimeMillis() - queued.get(job);
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Gets how long the oldest queued regeneration has been waiting.
+     * @return The time in milliseconds, or <code>0</code> if the queue is empty.
+     */
+    public long getLongestWaitTime() {
+        long now = System.currentTimeMillis();
+        long longest = 0;
+        for (long queuedAt : queued.values()) {
+            longest = Math.max(longest, now - queuedAt);
+        }
+        return longest;
+    }
+
+    /**
+     * Gets the average time regenerations took from being queued to finishing.
+     * @return The average time in milliseconds, or <code>0</code> if none have finished yet.
+     */
+    public long getAverageWaitTime() {
+        return completedJobs == 0 ? 0 : totalWaitMillis / completedJobs;
+    }
+
+    /**
+     * Gets the amount of blocks processed across all queued regenerations during the last tick.
+     * @return The amount of blocks processed last tick.
+     */
+    public int getBlocksLastTick() {
+        return blocksLastTick;
+    }
+
+    /**
+     * Gets the amount of players waiting for the arena to finish regenerating.
+     * This is the larger of the amount set with {@link #setWaitingPlayers(int, int)} and the arena's player count.
+     * @param id The id of the arena.
+     * @return The amount of players waiting.
+     */
+    public int getWaitingPlayers(int id) {
+        Integer waiting = waitingPlayers.get(id);
+        int count = waiting == null ? 0 : waiting;
+        if (ArenaManager.getManager().arenaLoaded(id)) {
+            count = Math.max(count, ArenaManager.getManager().getArena(id).getPlayerCount());
+        }
+        return count;
+    }
+
+    //Setters
+    /**
+     * Sets the amount of players waiting for the arena to finish regenerating.
+     * Use this if players queue for an arena outside of NovaGamesLib. Reset once the arena has regenerated.
+     * @param id The id of the arena.
+     * @param count The amount of players waiting.
+     */
+    public void setWaitingPlayers(int id, int count) {
+        if (count > 0) {
+            waitingPlayers.put(id, count);
+        } else {
+            waitingPlayers.remove(id);
+        }
+    }
+
+    //Functionals
+    /**
+     * Counts one more player waiting for the arena to finish regenerating, such as a player trying to join it.
+     * Nothing is counted if the arena is not regenerating. Reset once the arena has regenerated.
+     * @param id The id of the arena.
+     */
+    public void addWaitingPlayer(int id) {
+        for (RegenerationJob job : queued.keySet()) {
+            if (job.getArenaId() == id) {
+                setWaitingPlayers(id, getWaitingPlayers(id) + 1);
+                return;
+            }
+        }
+    }
+
+    /**
+     * Adds a job to the queue. It will be processed a little every tick until finished.
+     * @param job The job to queue.
+     */
+    void queue(RegenerationJob job) {
+        if (job.isFinished() || queued.containsKey(job)) {
+            return;
+        }
+        queued.put(job, System.currentTimeMillis());
+        if (taskId == -1) {
+            taskId = Bukkit.getScheduler().scheduleSyncRepeatingTask(NovaGamesLib.plugin, this, 1L, 1L);
+        }
+    }
+
+    /**
+     * Removes a finished job from the queue. Called by the job itself once it completes.
+     * @param job The job that finished.
+     */
+    void finished(RegenerationJob job) {
+        Long queuedAt = queued.remove(job);
+        if (queuedAt != null) {
+            completedJobs++;
+            totalWaitMillis += System.currentTimeMillis() - queuedAt;
+        }
+        waitingPlayers.remove(job.getArenaId());
+        shownProgress.remove(job);
+    }
+
+    @Override
+    public void run() {
+        if (queued.isEmpty()) {
+            Bukkit.getScheduler().cancelTask(taskId);
+            taskId = -1;
+            blocksLastTick = 0;
+            return;
+        }
+        int globalBlocks = NovaGamesLib.plugin.getConfig().getInt("Regeneration.Scheduler.BlocksPerTick", 20000);
+        long globalNanos = NovaGamesLib.plugin.getConfig().getInt("Regeneration.Scheduler.MillisPerTick", 20) * 1000000L;
+        long start = System.nanoTime();
+
+        //Arenas with waiting players first, then in the order they were queued.
+        List<RegenerationJob> order = new ArrayList<>(queued.keySet());
+        final HashMap<RegenerationJob, Integer> weights = new HashMap<>();
+        int remainingWeight = 0;
+        for (RegenerationJob job : order) {
+            int weight = getWaitingPlayers(job.getArenaId()) > 0 ? PRIORITY_WEIGHT : 1;
+            weights.put(job, weight);
+            remainingWeight += weight;
+        }
+        Collections.sort(order, new Comparator<RegenerationJob>() {
+            @Override
+            public int compare(RegenerationJob a, RegenerationJob b) {
+                return weights.get(b) - weights.get(a);
+            }
+        });
+
+        int remainingBlocks = globalBlocks;
+        int processed = 0;
+        for (RegenerationJob job : order) {
+            int weight = weights.get(job);
+            int blocks = 0;
+            if (globalBlocks > 0) {
+                if (remainingBlocks <= 0) {
+                    break;
+                }
+                blocks = Math.max(1, (int) ((long) remainingBlocks * weight / remainingWeight));
+            }
+            long deadline = Long.MAX_VALUE;
+            if (globalNanos > 0) {
+                long now = System.nanoTime();
+                long remainingNanos = start + globalNanos - now;
+                if (remainingNanos <= 0) {
+                    break;
+                }
+                deadline = now + remainingNanos * weight / remainingWeight;
+            }
+            int done = job.process(blocks, deadline);
+            processed += done;
+            remainingBlocks -= done;
+            remainingWeight -= weight;
+            updateSigns(job);
+        }
+        blocksLastTick = processed;
+    }
+
+    //Internals
+    /**
+     * Updates the join signs of the job's arena if its progress has gone up by at least a percent since they were last updated.
+     * @param job The job to show the progress of.
+     */
+    private void updateSigns(RegenerationJob job) {
+        if (job.isFinished()) {
+            return;
+        }
+        int percent = (int) (job.getProgress() * 100);
+        Integer shown = shownProgress.put(job, percent);
+        if (shown == null || shown != percent) {
+            SignUtils.updateJoinSigns(job.getArenaId());
+        }
+    }
+}
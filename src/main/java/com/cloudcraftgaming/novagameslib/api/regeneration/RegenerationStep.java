@@ -0,0 +1,97 @@
+package com.cloudcraftgaming.novagameslib.api.regeneration;
+
+/**
+ * Website: www.cloudcraftgaming.com
+ * For Project: NovaGamesLib-Bukkit
+ * <br> <br>
+ * A single resumable piece of work within a {@link RegenerationJob}, such as restoring blocks or resetting doors.
+ * Work is processed one unit (usually one block) at a time so that it can be spread across multiple ticks.
+ */
+@SuppressWarnings({"unused", "WeakerAccess"})
+public abstract class RegenerationStep {
+    private long completed = 0;
+    private boolean finished = false;
+
+    /**
+     * Checks whether or not this step has any work left.
+     * @return <code>true</code> if there is more work to process, else <code>false</code>.
+     */
+    public abstract boolean hasNext();
+
+    /**
+     * Processes the next unit of work.
+     */
+    protected abstract void process();
+
+    /**
+     * Gets the total amount of work units in this step.
+     * @return The total amount of work units.
+     */
+    public abstract long getTotalWork();
+
+    /**
+     * Checks whether or not this step is ready to process work.
+     * Steps waiting on work being done off the main thread are not ready until that work is done.
+     * @return <code>true</code> if ready, else <code>false</code>.
+     */
+    public boolean isReady() {
+        return true;
+    }
+
+    /**
+     * Waits until this step is ready to process work. See {@link #isReady()}.
+     */
+    public void awaitReady() {
+    }
+
+    /**
+     * Called once after all work in this step has been processed.
+     */
+    protected void onFinish() {
+    }
+
+    /**
+     * Processes the next unit of work and counts it as completed.
+     */
+    public final void processNext() {
+        process();
+        completed++;
+    }
+
+    /**
+     * Marks this step as finished. Does nothing if already finished.
+     */
+    public final void finish() {
+        if (!finished) {
+            finished = true;
+            onFinish();
+        }
+    }
+
+    /**
+     * Processes all remaining work in this step at once and finishes it.
+     */
+    public final void runToCompletion() {
+        awaitReady();
+        while (hasNext()) {
+            processNext();
+        }
+        finish();
+    }
+
+    /**
+     * Gets the amount of work units processed so far.
+     * @return The amount of completed work units.
+     */
+    public long getCompletedWork() {
+        return completed;
+    }
+
+    /**
+     * Gets whether or not this step has been finished.
+     * @return <code>true</code> if finished, else <code>false</code>.
+     */
+    public boolean isFinished() {
+        return finished;
+    }
+}
@@ -4,13 +4,20 @@ import com.cloudcraftgaming.novagameslib.NovaGamesLib;
 import com.cloudcraftgaming.novagameslib.api.arena.ArenaBase;
 import com.cloudcraftgaming.novagameslib.api.arena.ArenaManager;
 import com.cloudcraftgaming.novagameslib.api.arena.ArenaStatus;
+import com.cloudcraftgaming.novagameslib.api.data.ArenaConfig;
 import com.cloudcraftgaming.novagameslib.api.data.ArenaDataManager;
+import com.cloudcraftgaming.novagameslib.api.data.DataCache;
+import com.cloudcraftgaming.novagameslib.api.event.regeneration.ArenaReopenEvent;
 import com.cloudcraftgaming.novagameslib.api.event.regeneration.PostRegenerationEvent;
 import com.cloudcraftgaming.novagameslib.api.event.regeneration.PreRegenerationEvent;
+import com.cloudcraftgaming.novagameslib.api.event.regeneration.RegenerationIntegrityEvent;
 import com.cloudcraftgaming.novagameslib.api.event.regeneration.SaveArenaDataEvent;
+import com.cloudcraftgaming.novagameslib.api.event.regeneration.WorldBackupCompleteEvent;
 import com.cloudcraftgaming.novagameslib.api.region.Cuboid;
+import com.cloudcraftgaming.novagameslib.api.team.Team;
 import com.cloudcraftgaming.novagameslib.api.utils.FileManager;
 import com.cloudcraftgaming.novagameslib.api.utils.FileUtils;
+import com.cloudcraftgaming.novagameslib.api.utils.SignUtils;
 import org.bukkit.*;
 import org.bukkit.block.Block;
 import org.bukkit.block.BlockState;
@@ -24,8 +31,14 @@ import org.bukkit.material.Openable;
 
 import java.io.File;
 import java.io.IOException;
+import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
 
 /**
  * Created by Nova Fox on 11/19/2016.
@@ -34,26 +47,165 @@ import java.util.List;
  */
 @SuppressWarnings({"unused, deprecation", "WeakerAccess", "ResultOfMethodCallIgnored"})
 public class Regenerator {
-    private final  static HashMap<Location, BlockState> originalBlocks = new HashMap<>();
+    private final static HashMap<Integer, ArenaSnapshot> snapshots = new HashMap<>();
+    private final static HashMap<Integer, RegenerationJob> jobs = new HashMap<>();
+    private final static HashMap<Integer, ChangeJournal> journals = new HashMap<>();
+    private final static HashMap<Integer, SnapshotCapture> captures = new HashMap<>();
+    private final static HashMap<Integer, Future<WorldBackup>> worldBackups = new HashMap<>();
+    private final static HashMap<Integer, Future<TileEntityIndex>> tileEntityIndexes = new HashMap<>();
+    private final static HashMap<Integer, EntityTracker> entityTrackers = new HashMap<>();
+    private final static HashMap<Integer, ContainerSnapshot> containerSnapshots = new HashMap<>();
+    private final static HashMap<Integer, DecorationSnapshot> decorationSnapshots = new HashMap<>();
+    private final static HashMap<Integer, Future<SectionFingerprints>> fingerprints = new HashMap<>();
+    private final static Set<Integer> reopened = new HashSet<>();
+    private final static Set<Integer> pastes = new HashSet<>();
 
     /**
      * Called when saving the arena data (regeneration data) before a game.
      * This method will call the {@link SaveArenaDataEvent} event before saving data.
+     * If the arena was reopened before its last regeneration finished, that regeneration is finished first.
      * @param id The id of the arena.
      */
     public static void saveDataBeforeGame(int id) {
+        RegenerationJob unfinished = jobs.get(id);
+        if (unfinished != null) {
+            if (FileManager.verbose()) {
+                NovaGamesLib.plugin.getLogger().info("Finishing the regeneration of arena id: " + id + " before saving its data.");
+            }
+            unfinished.runToCompletion();
+        }
         SaveArenaDataEvent event = new SaveArenaDataEvent(id);
         Bukkit.getServer().getPluginManager().callEvent(event);
 
         if (!event.isCancelled()) {
-            saveAllBlocks(id);
+            //Each chunk is snapshotted once, and the snapshot is shared by the capture, the index and the fingerprints.
+            Cuboid regenArea = ArenaDataManager.getRegenArea(id);
+            List<ChunkSnapshot> chunkSnapshots = regenArea == null || regenArea.getWorld() == null ? null : SnapshotPipeline.snapshotChunks(regenArea);
+            saveAllBlocks(id, chunkSnapshots);
+            saveContainers(id);
+            saveDecorations(id);
+            indexTileEntities(id, chunkSnapshots);
+            if (NovaGamesLib.plugin.getConfig().getBoolean("Regeneration.Fingerprints.Enabled", true)) {
+                recordFingerprints(id, chunkSnapshots);
+            }
             saveWorld(id);
+            //A journal only replaces restoring the whole snapshot, so it is not started without one.
+            if (NovaGamesLib.plugin.getConfig().getBoolean("Regeneration.Journal.Enabled", false)
+                    && (captures.containsKey(id) || getSnapshot(id) != null)) {
+                startChangeJournal(id);
+            }
+            if (NovaGamesLib.plugin.getConfig().getBoolean("Regeneration.Entities.Track", false)) {
+                startEntityTracker(id);
+            }
+        }
+    }
+
+    /**
+     * Starts recording every block changed within the arena's regen area.
+     * While a journal is recording, regeneration only restores the recorded blocks instead of the entire regen area.
+     * Any existing journal for the arena is replaced.
+     * @param id The id of the arena.
+     */
+    public static void startChangeJournal(int id) {
+        journals.put(id, new ChangeJournal(ArenaDataManager.getRegenArea(id)));
+        if (FileManager.verbose()) {
+            NovaGamesLib.plugin.getLogger().info("Recording block changes for arena id: " + id);
+        }
+    }
+
+    /**
+     * Starts tracking the items and creatures spawned within the arena's regen area.
+     * While tracking, clearing ground items and removing entities only removes the tracked entities
+     * instead of checking every entity in the world. Any existing tracker for the arena is replaced.
+     * @param id The id of the arena.
+     */
+    public static void startEntityTracker(int id) {
+        entityTrackers.put(id, new EntityTracker(ArenaDataManager.getRegenArea(id)));
+        if (FileManager.verbose()) {
+            NovaGamesLib.plugin.getLogger().info("Tracking spawned entities for arena id: " + id);
+        }
+    }
+
+    /**
+     * Tracks a spawned entity for every arena whose regen area it spawned in.
+     * Called by NovaGamesLib on spawn and drop events.
+     * @param entity The entity that was spawned.
+     */
+    public static void trackEntity(Entity entity) {
+        for (EntityTracker tracker : entityTrackers.values()) {
+            tracker.track(entity);
+        }
+    }
+
+    /**
+     * Stops tracking an entity that no longer needs to be removed, such as one that died.
+     * @param entity The entity to stop tracking.
+     */
+    public static void untrackEntity(Entity entity) {
+        for (EntityTracker tracker : entityTrackers.values()) {
+            tracker.untrack(entity);
+        }
+    }
+
+    /**
+     * Tracks a placed item frame, painting or armor stand for every arena whose regen area it was placed in,
+     * so it is removed when the arena's decorations are restored.
+     * Called by NovaGamesLib on hanging place and spawn events.
+     * @param entity The decoration that was placed.
+     */
+    public static void trackDecoration(Entity entity) {
+        for (DecorationSnapshot snapshot : decorationSnapshots.values()) {
+            snapshot.track(entity);
+        }
+    }
+
+    /**
+     * Gets the tracker of entities spawned in the arena since its data was saved.
+     * @param id The id of the arena.
+     * @return The entity tracker, or <code>null</code> if the arena is not tracking entities.
+     */
+    public static EntityTracker getEntityTracker(int id) {
+        return entityTrackers.get(id);
+    }
+
+    /**
+     * Records the original state of a block that is about to change, if it is within an arena that is recording changes.
+     * Called by NovaGamesLib on block events. Plugins changing blocks without calling events should call this first.
+     * @param block The block that is about to change.
+     */
+    public static void recordBlockChange(Block block) {
+        if (journals.isEmpty()) {
+            return;
+        }
+        int state = BlockSnapshot.encodeState(block.getTypeId(), block.getData());
+        String world = block.getWorld().getName();
+        for (ChangeJournal journal : journals.values()) {
+            journal.record(world, block.getX(), block.getY(), block.getZ(), state);
+        }
+    }
+
+    /**
+     * Records the original state of a block that has changed, if it is within an arena that is recording changes.
+     * Use this when the block has already changed, such as when a block is placed.
+     * @param originalState The state of the block before it changed.
+     */
+    public static void recordBlockChange(BlockState originalState) {
+        if (journals.isEmpty()) {
+            return;
+        }
+        int state = BlockSnapshot.encodeState(originalState.getTypeId(), originalState.getRawData());
+        String world = originalState.getWorld().getName();
+        for (ChangeJournal journal : journals.values()) {
+            journal.record(world, originalState.getX(), originalState.getY(), originalState.getZ(), state);
         }
     }
 
     /**
      * Saves the world to a backup folder to be loaded from after the game is over.
      * This is useful for large arenas or to maximize performance.
+     * The world is copied into the {@link WorldBackupStore} on a background thread,
+     * see {@link #isWorldBackupDurable(int)} and {@link WorldBackupCompleteEvent}.
+     * With <code>Regeneration.Backup.AutoRemove</code>, stored files the new backup no longer refers to are then deleted.
      * @param id The id of the arena.
      */
     public static void saveWorld(int id) {
@@ -67,25 +219,46 @@ public class Regenerator {
         }
         World world = Bukkit.getServer().getWorld(name);
         world.save();
-        if (NovaGamesLib.plugin.getConfig().getString("Regeneration.Backup.World").equalsIgnoreCase("True")) {
+        if (isWorldShared(id)) {
+            //The world cannot be reloaded, so a backup would never be used.
+            if (FileManager.verbose()) {
+                NovaGamesLib.plugin.getLogger().info("Not backing up world: " + name + ", it is shared with other arenas.");
+            }
+        } else if (NovaGamesLib.plugin.getConfig().getString("Regeneration.Backup.World").equalsIgnoreCase("True")) {
             if (FileManager.verbose()) {
                 NovaGamesLib.plugin.getLogger().info("Saving world in OYAGames-MANAGER folder as backup!");
             }
-            File srcFolder = Bukkit.getWorld(name).getWorldFolder();
-            File destFolder = new File(NovaGamesLib.plugin.getDataFolder() + "/Arenas/Worlds" + File.separator + name);
-            destFolder.mkdirs();
+            final File srcFolder = world.getWorldFolder();
             //make sure source exists
             if(!srcFolder.exists()) {
                 if (FileManager.verbose()) {
                     NovaGamesLib.plugin.getLogger().info("Failed to find folder for world: " + name);
                 }
             } else {
-                try {
-                    FileUtils.copyFolder(srcFolder, destFolder);
-                } catch (IOException e) {
-                    if (FileManager.verbose()) {
-                        NovaGamesLib.plugin.getLogger().info("Error copying world: " + name);
+                //The world is saved on the main thread, copying it into the backup store is done in the background.
+                final int arenaId = id;
+                final String worldName = name;
+                final boolean autoRemove = NovaGamesLib.plugin.getConfig().getString("Regeneration.Backup.AutoRemove").equalsIgnoreCase("True");
+                worldBackups.put(id, WorldBackupStore.submit(new Callable<WorldBackup>() {
+                    @Override
+                    public WorldBackup call() throws IOException {
+                        WorldBackup backup = new WorldBackup(srcFolder, WorldBackupStore.getManifestFile(worldName));
+                        try {
+                            backup.backup();
+                        } catch (IOException e) {
+                            callWorldBackupComplete(arenaId, worldName, null);
+                            throw e;
+                        }
+                        if (autoRemove) {
+                            //Only the files the new manifest let go of, the rest are still needed for the next restore.
+                            WorldBackupStore.collectGarbage(backup.getReplacedChecksums());
+                        }
+                        callWorldBackupComplete(arenaId, worldName, backup);
+                        return backup;
                     }
+                }));
+                if (!isAsync()) {
+                    awaitWorldBackup(id);
                 }
             }
         }
@@ -97,33 +270,120 @@ public class Regenerator {
 
     /**
      * This method is used before the game starts to save all block data for the arena so that broken/placed blocks are reset.
-     * This will save blocks in memory, not on file (by default, is editable).
+     * If <code>Regeneration.Save.ToMemory</code> is enabled, blocks are saved in a compact {@link BlockSnapshot} in memory,
+     * use {@link #getSnapshotMemory(int)} to see its size. If <code>Regeneration.Save.OffHeap</code> is also enabled,
+     * it is then moved outside of the heap into a {@link DirectSnapshot}, see {@link #getSnapshotOffHeapMemory(int)}.
+     * Otherwise, if <code>Regeneration.Save.ToDisk</code> is enabled, blocks are saved to a {@link MappedSnapshot} file
+     * that is read through memory mapped I/O, see {@link #getSnapshotFile(int)}.
+     * If <code>Regeneration.Async.Enabled</code> is enabled, only chunk snapshots are taken on the main thread
+     * and the blocks are encoded by the {@link SnapshotPipeline}.
      * @param id The id of the arena.
      */
     public static void saveAllBlocks(int id) {
-        if (NovaGamesLib.plugin.getConfig().getString("Regeneration.Save.ToMemory").equalsIgnoreCase("True")) {
+        saveAllBlocks(id, null);
+    }
+
+    private static void saveAllBlocks(int id, List<ChunkSnapshot> chunkSnapshots) {
+        boolean toMemory = NovaGamesLib.plugin.getConfig().getString("Regeneration.Save.ToMemory").equalsIgnoreCase("True");
+        if (!toMemory && !NovaGamesLib.plugin.getConfig().getBoolean("Regeneration.Save.ToDisk", false)) {
+            return;
+        }
+        //Let any capture still in progress finish before its snapshot (and file) is replaced.
+        finishCapture(id);
+        discardSnapshot(id);
+        if (isAsync()) {
+            if (FileManager.verbose()) {
+                NovaGamesLib.plugin.getLogger().info("Saving regen area data off the main thread for arena id: " + id);
+            }
+            Cuboid originalRegenArea = ArenaDataManager.getRegenArea(id);
+            if (chunkSnapshots == null) {
+                chunkSnapshots = SnapshotPipeline.snapshotChunks(originalRegenArea);
+            }
+            captures.put(id, SnapshotPipeline.capture(originalRegenArea, chunkSnapshots, toMemory ? null : getSnapshotFile(id)));
+            return;
+        }
+        if (toMemory) {
             if (FileManager.verbose()) {
                 NovaGamesLib.plugin.getLogger().info("Saving regen area data for arena id: " + id);
             }
             Cuboid originalRegenArea = ArenaDataManager.getRegenArea(id);
-            for (Block block : originalRegenArea.getBlocks()) {
-                Location loc = block.getLocation();
-                BlockState state = block.getState();
-                originalBlocks.put(loc, state);
+            ArenaSnapshot snapshot = storeSnapshot(id, BlockSnapshot.capture(originalRegenArea));
+            if (FileManager.verbose()) {
+                NovaGamesLib.plugin.getLogger().info("Successfully saved regen area data to memory! (" + snapshot.getSectionCount()
+                        + " sections, " + (snapshot.getMemoryFootprint() / 1024) + " KB heap, " + (snapshot.getOffHeapSize() / 1024) + " KB off-heap)");
             }
+        } else {
             if (FileManager.verbose()) {
-                NovaGamesLib.plugin.getLogger().info("Successfully saved regen area data to memory!");
+                NovaGamesLib.plugin.getLogger().info("Saving regen area data to disk for arena id: " + id);
+            }
+            Cuboid originalRegenArea = ArenaDataManager.getRegenArea(id);
+            File file = getSnapshotFile(id);
+            try {
+                MappedSnapshot.write(originalRegenArea, file);
+                MappedSnapshot snapshot = MappedSnapshot.open(file);
+                snapshots.put(id, snapshot);
+                if (FileManager.verbose()) {
+                    NovaGamesLib.plugin.getLogger().info("Successfully saved regen area data to disk! (" + snapshot.getSectionCount()
+                            + " sections, " + (snapshot.getMappedSize() / 1024) + " KB)");
+                }
+            } catch (IOException e) {
+                if (FileManager.verbose()) {
+                    NovaGamesLib.plugin.getLogger().info("Failed to save regen area data to disk for arena id: " + id);
+                }
             }
         }
     }
 
+    /**
+     * Saves the arena's regen area data by reading the world's region files on worker threads, without loading any chunks.
+     * Chunks that are already loaded are read from memory instead, so their unsaved changes are not missed.
+     * The data is saved to memory or disk the same as {@link #saveAllBlocks(int)}.
+     * @param id The id of the arena.
+     */
+    public static void saveAllBlocksFromRegionFiles(int id) {
+        boolean toMemory = NovaGamesLib.plugin.getConfig().getString("Regeneration.Save.ToMemory").equalsIgnoreCase("True");
+        if (!toMemory && !NovaGamesLib.plugin.getConfig().getBoolean("Regeneration.Save.ToDisk", false)) {
+            return;
+        }
+        finishCapture(id);
+        discardSnapshot(id);
+        Cuboid regenArea = ArenaDataManager.getRegenArea(id);
+        World world = Bukkit.getWorld(regenArea.getWorldName());
+        File worldFolder = world != null ? world.getWorldFolder() : new File(Bukkit.getWorldContainer(), regenArea.getWorldName());
+        if (FileManager.verbose()) {
+            NovaGamesLib.plugin.getLogger().info("Saving regen area data from region files for arena id: " + id);
+        }
+        captures.put(id, SnapshotPipeline.captureFromRegionFiles(regenArea, worldFolder, toMemory ? null : getSnapshotFile(id)));
+    }
+
+    /**
+     * Prepares the arena's regen area data ahead of its first game, if none has been saved yet.
+     * The data is read from the world's region files off the main thread, see {@link #saveAllBlocksFromRegionFiles(int)}.
+     * Called for every arena loaded at startup if <code>Regeneration.Save.PrepareOnStartup</code> is enabled.
+     * @param id The id of the arena.
+     */
+    public static void prepareSnapshot(int id) {
+        if (captures.containsKey(id) || getSnapshot(id) != null) {
+            return;
+        }
+        saveAllBlocksFromRegionFiles(id);
+    }
+
     /**
      * This method is used after a game to completely regenerate the arena.
      * Will skip block regen in the event that it is not needed/does not exist.
      * This can be used to regenerate everything all at once rather than calling everything separately.
+     * If incremental regeneration is enabled in the {@link PreRegenerationEvent}, the work is spread across multiple ticks
+     * and the {@link PostRegenerationEvent} is called once the last block has been regenerated.
      * @param id The id of the arena to regenerate
      */
     public static void regenerateArena(int id) {
+        if (jobs.containsKey(id)) {
+            if (FileManager.verbose()) {
+                NovaGamesLib.plugin.getLogger().info("Arena id: " + id + " is already regenerating!");
+            }
+            return;
+        }
         PreRegenerationEvent preRegenEvent = new PreRegenerationEvent(id);
         Bukkit.getServer().getPluginManager().callEvent(preRegenEvent);
 
@@ -137,47 +397,326 @@ public class Regenerator {
             arenaBase.setJoinable(false);
             //ArenaDataManager.updateArenaInfo(id);
 
-            Cuboid regenArea = ArenaDataManager.getRegenArea(id);
+            final int arenaId = id;
+            final Cuboid regenArea = ArenaDataManager.getRegenArea(id);
 
             if (preRegenEvent.reloadWorld()) {
                 reloadWorld(id);
             }
+
+            RegenerationJob job = new RegenerationJob(id, preRegenEvent.getBlocksPerTick(), preRegenEvent.getMillisPerTick());
+            job.setRegion(regenArea);
+            boolean restoresBlocks = false;
             if (preRegenEvent.regenAllBlocks()) {
-                regenAllBlocks(id, regenArea);
+                List<Cuboid> zones = new ArrayList<>();
+                if (preRegenEvent.isIncremental() && preRegenEvent.reopenEarly()) {
+                    zones = getPriorityZones(id, regenArea);
+                }
+                ChangeJournal journal = journals.get(id);
+                RegenerationStep step = createBlockRestoreStep(id, regenArea);
+                if (step != null) {
+                    if (!zones.isEmpty()) {
+                        addPriorityZoneSteps(job, zones, journal, regenArea);
+                    }
+                    job.addStep(step);
+                    restoresBlocks = true;
+                }
             }
             if (preRegenEvent.clearGroundItems()) {
-                clearGroundItems(id, regenArea);
+                job.addStep(new TaskStep(new Runnable() {
+                    @Override
+                    public void run() {
+                        clearGroundItems(arenaId, regenArea);
+                    }
+                }));
             }
             if (preRegenEvent.removeAllEntities()) {
-                removeAllEntities(id, regenArea);
+                job.addStep(new TaskStep(new Runnable() {
+                    @Override
+                    public void run() {
+                        removeAllEntities(arenaId, regenArea);
+                    }
+                }));
+            }
+            final DecorationSnapshot decorations = decorationSnapshots.get(id);
+            if (preRegenEvent.restoreDecorations() && decorations != null && decorations.getWorldName().equals(regenArea.getWorld().getName())) {
+                job.addStep(new TaskStep(new Runnable() {
+                    @Override
+                    public void run() {
+                        int changed = decorations.restore(regenArea);
+                        if (FileManager.verbose()) {
+                            NovaGamesLib.plugin.getLogger().info("Restored " + changed + " changed item frames, paintings and armor stands in arena Id: " + arenaId);
+                        }
+                    }
+                }));
             }
             if (preRegenEvent.resetDoors()) {
-                resetDoors(id, regenArea);
+                job.addStep(createDoorResetStep(id, regenArea));
             }
-            if (preRegenEvent.clearContainerBlocks()) {
-                clearContainerBlocks(id, regenArea);
+            //Checked once every block has been put back, doors included, so opened doors are not reported as failures.
+            if (restoresBlocks && NovaGamesLib.plugin.getConfig().getBoolean("Regeneration.Fingerprints.Verify", true)) {
+                RegenerationStep check = createIntegrityCheckStep(id, regenArea);
+                if (check != null) {
+                    job.addStep(check);
+                }
+            }
+            ContainerSnapshot containers = containerSnapshots.get(id);
+            if (preRegenEvent.restoreContainers() && containers != null && containers.getWorldName().equals(regenArea.getWorld().getName())) {
+                job.addStep(createContainerRestoreStep(id, containers, regenArea));
+            } else if (preRegenEvent.clearContainerBlocks()) {
+                job.addStep(createContainerClearStep(id, regenArea));
             }
 
-            if (FileManager.verbose()) {
-                NovaGamesLib.plugin.getLogger().info("Successfully regenerated arenaBase id: " + id);
+            if (preRegenEvent.isIncremental()) {
+                jobs.put(id, job);
+                job.start();
+            } else {
+                job.runToCompletion();
+            }
+        }
+    }
+
+    /**
+     * Pastes saved blocks into a new arena's area, such as the blocks of an arena template.
+     * Blocks are read section by section, but each block is still set on its own with <code>setTypeIdAndData</code> and sent to players as it changes.
+     * Batched section writes are not supported, as Bukkit has no API for writing, relighting or resending a whole section,
+     * so pasting costs about the same per block as regenerating.
+     * The paste is spread across ticks using the incremental regeneration budget and shares the global budget with regenerations.
+     * No regeneration events are called for it.
+     * @param id The id of the arena being pasted.
+     * @param blocks The blocks to paste, already placed where they belong, see {@link OffsetSnapshot}.
+     * @param area The area to paste into.
+     * @param onFinish Run once every block is pasted, or <code>null</code>.
+     * @return The job pasting the blocks, or <code>null</code> if the arena is already regenerating or being pasted.
+     */
+    public static RegenerationJob pasteSnapshot(int id, ArenaSnapshot blocks, Cuboid area, final Runnable onFinish) {
+        if (jobs.containsKey(id)) {
+            return null;
+        }
+        RegenerationJob job = new RegenerationJob(id, NovaGamesLib.plugin.getConfig().getInt("Regeneration.Incremental.BlocksPerTick", 5000),
+                NovaGamesLib.plugin.getConfig().getInt("Regeneration.Incremental.MillisPerTick", 10));
+        job.setRegion(area);
+        job.addStep(new BlockRestoreStep(blocks, area));
+        job.addStep(new TaskStep(new Runnable() {
+            @Override
+            public void run() {
+                if (onFinish != null) {
+                    onFinish.run();
+                }
             }
+        }));
+        jobs.put(id, job);
+        pastes.add(id);
+        job.start();
+        if (FileManager.verbose()) {
+            NovaGamesLib.plugin.getLogger().info("Pasting " + blocks.getVolume() + " blocks for arena Id: " + id);
+        }
+        return job;
+    }
+
+    /**
+     * Called by a {@link RegenerationJob} once all of its work is done.
+     * This will call the {@link PostRegenerationEvent} event.
+     * @param job The job that has finished.
+     */
+    static void finishRegeneration(RegenerationJob job) {
+        int id = job.getArenaId();
+        jobs.remove(id);
+        journals.remove(id);
+        entityTrackers.remove(id);
+        boolean wasReopened = reopened.remove(id);
+        if (pastes.remove(id)) {
+            //Not a regeneration, the paste's own last step takes care of the arena.
+            return;
+        }
+
+        if (FileManager.verbose()) {
+            NovaGamesLib.plugin.getLogger().info("Successfully regenerated arenaBase id: " + id);
+        }
 
-            PostRegenerationEvent postRegenEvent = new PostRegenerationEvent(id);
-            Bukkit.getServer().getPluginManager().callEvent(postRegenEvent);
+        PostRegenerationEvent postRegenEvent = new PostRegenerationEvent(id, wasReopened);
+        Bukkit.getServer().getPluginManager().callEvent(postRegenEvent);
 
-            if (postRegenEvent.autoReloadArena()) {
+        if (postRegenEvent.autoReloadArena()) {
+            ArenaManager.getManager().reloadArena(id);
+        }
+        SignUtils.updateJoinSigns(id);
+    }
+
+    /**
+     * Gets the areas to regenerate first so the arena can be reopened early.
+     * These are the areas around the lobby, main and secondary spawns and every team spawn,
+     * within <code>Regeneration.Priority.Radius</code> blocks of each and limited to the regen area.
+     * Locations that are not set or are in another world are skipped.
+     * @param id The id of the arena.
+     * @param regenArea The regen area of the arena.
+     * @return The areas to regenerate first, which may be empty.
+     */
+    public static List<Cuboid> getPriorityZones(int id, Cuboid regenArea) {
+        ArenaConfig config = ArenaDataManager.getArenaConfig(id);
+        List<Location> locations = new ArrayList<>();
+        if (config.hasLocation("Lobby")) {
+            locations.add(config.getLocation("Lobby"));
+        }
+        if (config.hasLocation("Spawn.Main")) {
+            locations.add(config.getLocation("Spawn.Main"));
+        }
+        if (config.hasLocation("Spawn.Secondary")) {
+            locations.add(config.getLocation("Spawn.Secondary"));
+        }
+        for (Team team : Team.allTeams()) {
+            if (config.hasLocation("Spawn." + team.name())) {
+                locations.add(config.getLocation("Spawn." + team.name()));
+            }
+        }
+
+        int radius = NovaGamesLib.plugin.getConfig().getInt("Regeneration.Priority.Radius", 8);
+        String worldName = regenArea.getWorld().getName();
+        List<Cuboid> zones = new ArrayList<>();
+        for (Location loc : locations) {
+            if (loc.getWorld() == null || !loc.getWorld().getName().equals(worldName)) {
+                continue;
+            }
+            int x1 = Math.max(loc.getBlockX() - radius, regenArea.getLowerX());
+            int y1 = Math.max(loc.getBlockY() - radius, regenArea.getLowerY());
+            int z1 = Math.max(loc.getBlockZ() - radius, regenArea.getLowerZ());
+            int x2 = Math.min(loc.getBlockX() + radius, regenArea.getUpperX());
+            int y2 = Math.min(loc.getBlockY() + radius, regenArea.getUpperY());
+            int z2 = Math.min(loc.getBlockZ() + radius, regenArea.getUpperZ());
+            if (x1 <= x2 && y1 <= y2 && z1 <= z2) {
+                zones.add(new Cuboid(regenArea.getWorld(), x1, y1, z1, x2, y2, z2));
+            }
+        }
+        return zones;
+    }
+
+    private static void addPriorityZoneSteps(final RegenerationJob job, final List<Cuboid> zones, ChangeJournal journal, Cuboid regenArea) {
+        final int id = job.getArenaId();
+        if (journal != null) {
+            job.addStep(new JournalRestoreStep(journal, regenArea.getWorld(), zones));
+        } else {
+            ArenaSnapshot snapshot = getSnapshot(id);
+            if (snapshot == null) {
+                return;
+            }
+            for (Cuboid zone : zones) {
+                job.addStep(new BlockRestoreStep(snapshot, zone));
+            }
+        }
+        if (FileManager.verbose()) {
+            NovaGamesLib.plugin.getLogger().info("Regenerating " + zones.size() + " priority areas first for arena id: " + id);
+        }
+        job.addStep(new TaskStep(new Runnable() {
+            @Override
+            public void run() {
+                reopenArena(id, zones.size(), job.getTotalWork() - job.getCompletedWork());
+            }
+        }));
+    }
+
+    /**
+     * Calls the {@link ArenaReopenEvent} once the priority areas have been regenerated.
+     * If not cancelled, the arena is reloaded now instead of once the whole regen area is done.
+     */
+    private static void reopenArena(int id, int zoneCount, long remainingBlocks) {
+        ArenaReopenEvent event = new ArenaReopenEvent(id, zoneCount, remainingBlocks);
+        Bukkit.getServer().getPluginManager().callEvent(event);
+
+        if (!event.isCancelled()) {
+            reopened.add(id);
+            if (FileManager.verbose()) {
+                NovaGamesLib.plugin.getLogger().info("Reopening arena id: " + id + " while " + remainingBlocks + " blocks regenerate in the background.");
+            }
+            if (event.autoReloadArena()) {
                 ArenaManager.getManager().reloadArena(id);
             }
         }
     }
 
+    /**
+     * Immediately finishes all incremental regenerations still in progress.
+     * This should only be used by NovaGamesLib on disable.
+     */
+    public static void finishAllRegenerations() {
+        for (RegenerationJob job : new ArrayList<>(jobs.values())) {
+            job.runToCompletion();
+        }
+    }
+
+    /**
+     * Checks whether or not the arena's world backup has been written and synced to disk.
+     * {@link SaveArenaDataEvent} listeners can check this, or listen for {@link WorldBackupCompleteEvent},
+     * instead of blocking the server while the world is copied.
+     * @param id The id of the arena.
+     * @return <code>true</code> if the latest world backup is durable, else <code>false</code>.
+     */
+    public static boolean isWorldBackupDurable(int id) {
+        Future<WorldBackup> backup = worldBackups.get(id);
+        if (backup == null || !backup.isDone()) {
+            return false;
+        }
+        try {
+            backup.get();
+            return true;
+        } catch (InterruptedException | ExecutionException e) {
+            return false;
+        }
+    }
+
+    /**
+     * Waits for the arena's world backup to be written and synced to disk.
+     * @param id The id of the arena.
+     * @return <code>true</code> if the world backup is durable, <code>false</code> if it failed or none was started.
+     */
+    public static boolean awaitWorldBackup(int id) {
+        Future<WorldBackup> backup = worldBackups.get(id);
+        if (backup == null) {
+            return false;
+        }
+        try {
+            backup.get();
+            return true;
+        } catch (InterruptedException | ExecutionException e) {
+            NovaGamesLib.plugin.getLogger().warning("Failed to back up world for arena id: " + id + " " + e.getMessage());
+            return false;
+        }
+    }
+
+    private static void callWorldBackupComplete(final int id, final String worldName, final WorldBackup backup) {
+        if (FileManager.verbose()) {
+            if (backup != null) {
+                NovaGamesLib.plugin.getLogger().info("Backed up " + backup.getFilesCopied() + " changed files (" + backup.getBytesCopied() + " bytes) for world: " + worldName);
+            } else {
+                NovaGamesLib.plugin.getLogger().info("Error copying world: " + worldName);
+            }
+        }
+        if (!NovaGamesLib.plugin.isEnabled()) {
+            return;
+        }
+        Bukkit.getScheduler().runTask(NovaGamesLib.plugin, new Runnable() {
+            @Override
+            public void run() {
+                WorldBackupCompleteEvent event = new WorldBackupCompleteEvent(id, worldName, backup != null,
+                        backup == null ? 0 : backup.getFilesCopied(), backup == null ? 0 : backup.getBytesCopied());
+                Bukkit.getServer().getPluginManager().callEvent(event);
+            }
+        });
+    }
+
     /**
      * Reloads the world that the arena is in.
      * If the world has been backed up, it will also revert to the pregame backup.
-     * !!!! DO NOT USE IF MORE THAN ONE ARENA IS IN A SINGLE WORLD !!!!
+     * Worlds shared with other arenas are never reloaded, see {@link #isWorldShared(int)}.
+     * Those arenas are only restored within their regen area instead.
      * @param id The id of the arena.
      */
     public static void reloadWorld(int id) {
+        if (isWorldShared(id)) {
+            if (FileManager.verbose()) {
+                NovaGamesLib.plugin.getLogger().info("Not reloading world for arena id: " + id + ", it is shared with other arenas.");
+            }
+            return;
+        }
         if (FileManager.verbose()) {
             NovaGamesLib.plugin.getLogger().info("Reloading world for arena id: " + id);
         }
@@ -190,29 +729,48 @@ public class Regenerator {
         }
         if (world.getPlayers().isEmpty()) {
             File destFolder = Bukkit.getWorld(name).getWorldFolder();
-            File srcFolder = new File(NovaGamesLib.plugin.getDataFolder() + "/Arenas/Worlds" + File.separator + name);
+            File srcFolder = new File(WorldBackupStore.getFolder(), name);
 
+            //The backup must be on disk before the world is restored from it.
+            awaitWorldBackup(id);
             Bukkit.getServer().unloadWorld(world, false);
 
             if (NovaGamesLib.plugin.getConfig().getString("Regeneration.Backup.World").equalsIgnoreCase("True")) {
                 if (FileManager.verbose()) {
                     NovaGamesLib.plugin.getLogger().info("Loading world from OYAGames folder!");
                 }
-                if (!srcFolder.exists()) {
-                    if (FileManager.verbose()) {
-                        NovaGamesLib.plugin.getLogger().info("Failed to find folder for world: " + name);
-                    }
-                } else {
-                    try {
+                final WorldBackup backup = new WorldBackup(destFolder, WorldBackupStore.getManifestFile(name));
+                try {
+                    if (backup.exists()) {
+                        //Only copy back the region files that were changed during the game.
+                        //Run on the backup thread so no backup of the world is written at the same time.
+                        //The manifest is kept, so the next backup only stores the files changed since this one.
+                        WorldBackupStore.submit(new Callable<Void>() {
+                            @Override
+                            public Void call() throws IOException {
+                                backup.restore();
+                                return null;
+                            }
+                        }).get();
+                        worldBackups.remove(id);
+                        if (FileManager.verbose()) {
+                            NovaGamesLib.plugin.getLogger().info("Restored " + backup.getFilesCopied() + " changed files (" + backup.getBytesCopied() + " bytes) for world: " + name);
+                        }
+                    } else if (srcFolder.exists()) {
+                        //Backups made before the backup store existed.
                         FileUtils.copyFolder(srcFolder, destFolder);
                         if (NovaGamesLib.plugin.getConfig().getString("Regeneration.Backup.AutoRemove").equalsIgnoreCase("True")) {
                             FileUtils.deleteFile(srcFolder);
                         }
-                    } catch (IOException e) {
+                    } else {
                         if (FileManager.verbose()) {
-                            NovaGamesLib.plugin.getLogger().info("Error copying world: " + name);
+                            NovaGamesLib.plugin.getLogger().info("Failed to find folder for world: " + name);
                         }
                     }
+                } catch (IOException | InterruptedException | ExecutionException e) {
+                    if (FileManager.verbose()) {
+                        NovaGamesLib.plugin.getLogger().info("Error copying world: " + name);
+                    }
                 }
                 if (FileManager.verbose()) {
                     NovaGamesLib.plugin.getLogger().info("Copied from OYAGames folder!");
@@ -229,33 +787,104 @@ public class Regenerator {
         }
     }
 
+    /**
+     * Gets every arena whose regen area is in the specified world.
+     * @param worldName The name of the world.
+     * @return The ids of the arenas in the world.
+     */
+    public static List<Integer> getArenasInWorld(String worldName) {
+        List<Integer> arenas = new ArrayList<>();
+        for (int id : DataCache.getAllUsedIDs()) {
+            if (ArenaDataManager.arenaExists(id)
+                    && worldName.equals(ArenaDataManager.getArenaConfig(id).getLocationWorldName("Regen.loc1"))) {
+                arenas.add(id);
+            }
+        }
+        return arenas;
+    }
+
+    /**
+     * Checks whether or not the arena's world also holds the regen area of another arena.
+     * Shared worlds are never reloaded or backed up, every arena in them is restored within its own regen area.
+     * @param id The id of the arena.
+     * @return <code>true</code> if another arena is in the same world, else <code>false</code>.
+     */
+    public static boolean isWorldShared(int id) {
+        String worldName = ArenaDataManager.getArenaConfig(id).getLocationWorldName("Regen.loc1");
+        if (worldName == null) {
+            return false;
+        }
+        for (int other : getArenasInWorld(worldName)) {
+            if (other != id) {
+                return true;
+            }
+        }
+        return false;
+    }
+
     /**
      * Regenerates all blocks within the regen area.
+     * If the arena has a {@link ChangeJournal}, only the recorded blocks are restored.
+     * Otherwise only blocks that differ from the saved {@link BlockSnapshot} are changed.
      * @param id The id of the arena.
      * @param regenArea The cuboid region to regenerate.
      */
     public static void regenAllBlocks(int id, Cuboid regenArea) {
-        if (NovaGamesLib.plugin.getConfig().getString("Regeneration.Save.ToMemory").equalsIgnoreCase("True")) {
+        RegenerationStep step = createBlockRestoreStep(id, regenArea);
+        if (step != null) {
+            step.runToCompletion();
+        }
+    }
+
+    private static RegenerationStep createBlockRestoreStep(final int id, Cuboid regenArea) {
+        ChangeJournal journal = journals.remove(id);
+        if (journal != null) {
             if (FileManager.verbose()) {
-                NovaGamesLib.plugin.getLogger().info("Regenerating all blocks for arena id: " + id);
-            }
-            for (Block block : regenArea.getBlocks()) {
-                Location loc = block.getLocation();
-                if (originalBlocks.containsKey(loc)) {
-                    BlockState originalBlock = originalBlocks.get(loc);
-                    Integer bId = originalBlock.getTypeId();
-                    byte blockDat = originalBlock.getRawData();
-                    block.setTypeIdAndData(bId, blockDat, false);
-                }
+                NovaGamesLib.plugin.getLogger().info("Regenerating " + journal.size() + " changed blocks for arena id: " + id);
             }
+            return new JournalRestoreStep(journal, regenArea.getWorld()) {
+                @Override
+                protected void onFinish() {
+                    if (FileManager.verbose()) {
+                        NovaGamesLib.plugin.getLogger().info("Regenerated all changed blocks for arena id: " + id);
+                    }
+                }
+            };
+        }
+        ArenaSnapshot snapshot = getSnapshot(id);
+        if (snapshot == null) {
             if (FileManager.verbose()) {
-                NovaGamesLib.plugin.getLogger().info("Regenerated all blocks for arena id: " + id);
+                NovaGamesLib.plugin.getLogger().info("No saved regen area data for arena id: " + id);
             }
+            return null;
         }
+        if (FileManager.verbose()) {
+            NovaGamesLib.plugin.getLogger().info("Regenerating all blocks for arena id: " + id);
+        }
+        if (isAsync()) {
+            return new DiffRestoreStep(snapshot, regenArea, getFingerprints(id)) {
+                @Override
+                protected void onFinish() {
+                    if (FileManager.verbose()) {
+                        NovaGamesLib.plugin.getLogger().info("Regenerated " + getTotalWork() + " changed blocks for arena id: " + id
+                                + " (" + getSkippedSections() + " unchanged sections skipped)");
+                    }
+                }
+            };
+        }
+        return new BlockRestoreStep(snapshot, regenArea) {
+            @Override
+            protected void onFinish() {
+                if (FileManager.verbose()) {
+                    NovaGamesLib.plugin.getLogger().info("Regenerated all blocks for arena id: " + id);
+                }
+            }
+        };
     }
 
     /**
      * Clears all items that were dropped/left on the ground
+     * If the arena has an {@link EntityTracker}, only the items spawned during the match are removed.
      * @param id The id of the arena
      * @param regenArea The cuboid region to check and clear.
      */
@@ -263,11 +892,20 @@ public class Regenerator {
         if (FileManager.verbose()) {
             NovaGamesLib.plugin.getLogger().info("Clearing ground items (regenerating) for arena id: " + id + "...");
         }
-        List<Entity> entList = regenArea.getWorld().getEntities();
-        for (Entity entity : entList) {
-            if (entity instanceof Item) {
-                if (regenArea.contains(entity.getLocation())) {
-                    entity.remove();
+        EntityTracker tracker = entityTrackers.get(id);
+        if (tracker != null) {
+            int removed = tracker.removeItems();
+            if (FileManager.verbose()) {
+                NovaGamesLib.plugin.getLogger().info("Removed " + removed + " tracked items for arena id: " + id);
+            }
+        } else {
+            for (Chunk chunk : regenArea.getChunks()) {
+                for (Entity entity : chunk.getEntities()) {
+                    if (entity instanceof Item) {
+                        if (regenArea.contains(entity.getLocation())) {
+                            entity.remove();
+                        }
+                    }
                 }
             }
         }
@@ -278,6 +916,8 @@ public class Regenerator {
 
     /**
      * Removes all monsters/animals/etc from the regen area.
+     * If the arena has an {@link EntityTracker}, only the creatures spawned during the match are removed
+     * and creatures that were already in the arena are left alone, which is why <code>Regeneration.Entities.Track</code> is off by default.
      * @param id The id of the arena
      * @param regenArea The cuboid region to clear.
      */
@@ -285,11 +925,20 @@ public class Regenerator {
         if (FileManager.verbose()) {
             NovaGamesLib.plugin.getLogger().info("Removing all mobs/animals/etc for arena id: " + id);
         }
-        List<Entity> entList = regenArea.getWorld().getEntities();
-        for (Entity entity : entList) {
-            if (entity instanceof Creature && !(entity instanceof Player)) {
-                if (regenArea.contains(entity.getLocation())) {
-                    entity.remove();
+        EntityTracker tracker = entityTrackers.get(id);
+        if (tracker != null) {
+            int removed = tracker.removeCreatures();
+            if (FileManager.verbose()) {
+                NovaGamesLib.plugin.getLogger().info("Removed " + removed + " tracked mobs/animals/etc for arena id: " + id);
+            }
+        } else {
+            for (Chunk chunk : regenArea.getChunks()) {
+                for (Entity entity : chunk.getEntities()) {
+                    if (entity instanceof Creature && !(entity instanceof Player)) {
+                        if (regenArea.contains(entity.getLocation())) {
+                            entity.remove();
+                        }
+                    }
                 }
             }
         }
@@ -305,25 +954,59 @@ public class Regenerator {
      * @param regenArea The cuboid region to reset.
      */
     public static void resetDoors(int id, Cuboid regenArea) {
+        createDoorResetStep(id, regenArea).runToCompletion();
+    }
+
+    private static RegenerationStep createDoorResetStep(final int id, Cuboid regenArea) {
         if (FileManager.verbose()) {
             NovaGamesLib.plugin.getLogger().info("Resetting all doors/trapdoors/etc for ArenaBase Id: " + id);
         }
-        for (Block block : regenArea.getBlocks()) {
-            if (block == null || block.getType().equals(Material.AIR)) {
-                continue;
+        TileEntityIndex index = getTileEntityIndex(id);
+        if (index != null && index.covers(regenArea)) {
+            final Cuboid area = regenArea;
+            return new PositionStep(regenArea.getWorld(), index.getOpenablePositions()) {
+                @Override
+                protected void process(Block block) {
+                    if (area.contains(block)) {
+                        closeDoor(block);
+                    }
+                }
+
+                @Override
+                protected void onFinish() {
+                    if (FileManager.verbose()) {
+                        NovaGamesLib.plugin.getLogger().info("Successfully reset all doors/trapdoors/etc for ArenaBase Id: " + String.valueOf(id));
+                    }
+                }
+            };
+        }
+        return new CuboidStep(regenArea) {
+            @Override
+            protected void process(Block block) {
+                closeDoor(block);
             }
-            Material mat = block.getType();
-            if (isOpenable(mat)) {
 
-                BlockState state = block.getState();
-                Openable o = (Openable) state.getData();
-                o.setOpen(false);
-                state.setData((MaterialData) o);
-                state.update();
+            @Override
+            protected void onFinish() {
+                if (FileManager.verbose()) {
+                    NovaGamesLib.plugin.getLogger().info("Successfully reset all doors/trapdoors/etc for ArenaBase Id: " + String.valueOf(id));
+                }
             }
+        };
+    }
+
+    private static void closeDoor(Block block) {
+        if (block == null || block.getType().equals(Material.AIR)) {
+            return;
         }
-        if (FileManager.verbose()) {
-            NovaGamesLib.plugin.getLogger().info("Successfully reset all doors/trapdoors/etc for ArenaBase Id: " + String.valueOf(id));
+        Material mat = block.getType();
+        if (isOpenable(mat)) {
+
+            BlockState state = block.getState();
+            Openable o = (Openable) state.getData();
+            o.setOpen(false);
+            state.setData((MaterialData) o);
+            state.update();
         }
     }
 
@@ -333,18 +1016,365 @@ public class Regenerator {
      * @param regenArena The regen area of the arena.
      */
     public static void clearContainerBlocks(int id, Cuboid regenArena) {
+        createContainerClearStep(id, regenArena).runToCompletion();
+    }
+
+    private static RegenerationStep createContainerClearStep(int id, Cuboid regenArena) {
         if (FileManager.verbose()) {
             NovaGamesLib.plugin.getLogger().info("Clearing all container blocks in arena Id: " + id);
         }
-        for (Block block : regenArena.getBlocks()) {
-            if (block == null || block.getType().equals(Material.AIR)) {
-                continue;
+        TileEntityIndex index = getTileEntityIndex(id);
+        if (index != null && index.covers(regenArena)) {
+            final Cuboid area = regenArena;
+            return new PositionStep(regenArena.getWorld(), index.getContainerPositions()) {
+                @Override
+                protected void process(Block block) {
+                    if (area.contains(block)) {
+                        clearContainer(block);
+                    }
+                }
+            };
+        }
+        return new CuboidStep(regenArena) {
+            @Override
+            protected void process(Block block) {
+                clearContainer(block);
             }
-            if(block.getState() instanceof InventoryHolder){
-                InventoryHolder ih = (InventoryHolder)block.getState();
-                ih.getInventory().clear();
+        };
+    }
+
+    private static void clearContainer(Block block) {
+        if (block == null || block.getType().equals(Material.AIR)) {
+            return;
+        }
+        if(block.getState() instanceof InventoryHolder){
+            InventoryHolder ih = (InventoryHolder)block.getState();
+            ih.getInventory().clear();
+        }
+    }
+
+    /**
+     * Saves the contents of every container within the arena's regen area, so they can be refilled after the game.
+     * Only done if <code>Regeneration.Containers.Restore</code> is enabled.
+     * @param id The id of the arena.
+     */
+    public static void saveContainers(int id) {
+        if (!NovaGamesLib.plugin.getConfig().getBoolean("Regeneration.Containers.Restore", false)) {
+            containerSnapshots.remove(id);
+            return;
+        }
+        ContainerSnapshot snapshot = ContainerSnapshot.capture(ArenaDataManager.getRegenArea(id));
+        containerSnapshots.put(id, snapshot);
+        if (FileManager.verbose()) {
+            NovaGamesLib.plugin.getLogger().info("Saved " + snapshot.getContainerCount() + " containers (" + snapshot.getMemoryFootprint() + " bytes) for arena id: " + id);
+        }
+    }
+
+    /**
+     * Gets the saved contents of the containers within the arena's regen area.
+     * @param id The id of the arena.
+     * @return The saved container contents, or <code>null</code> if none have been saved.
+     */
+    public static ContainerSnapshot getContainerSnapshot(int id) {
+        return containerSnapshots.get(id);
+    }
+
+    /**
+     * Saves every item frame, painting and armor stand within the arena's regen area, so they can be put back after the game.
+     * Only done if <code>Regeneration.Decorations.Restore</code> is enabled.
+     * @param id The id of the arena.
+     */
+    public static void saveDecorations(int id) {
+        if (!NovaGamesLib.plugin.getConfig().getBoolean("Regeneration.Decorations.Restore", true)) {
+            decorationSnapshots.remove(id);
+            return;
+        }
+        DecorationSnapshot snapshot = DecorationSnapshot.capture(ArenaDataManager.getRegenArea(id));
+        decorationSnapshots.put(id, snapshot);
+        if (FileManager.verbose()) {
+            NovaGamesLib.plugin.getLogger().info("Saved " + snapshot.getDecorationCount() + " item frames, paintings and armor stands for arena id: " + id);
+        }
+    }
+
+    /**
+     * Gets the saved item frames, paintings and armor stands within the arena's regen area.
+     * @param id The id of the arena.
+     * @return The saved decorations, or <code>null</code> if none have been saved.
+     */
+    public static DecorationSnapshot getDecorationSnapshot(int id) {
+        return decorationSnapshots.get(id);
+    }
+
+    private static RegenerationStep createContainerRestoreStep(final int id, ContainerSnapshot snapshot, Cuboid regenArea) {
+        if (FileManager.verbose()) {
+            NovaGamesLib.plugin.getLogger().info("Refilling all container blocks in arena Id: " + id);
+        }
+        return new ContainerRestoreStep(snapshot, regenArea.getWorld()) {
+            @Override
+            protected void onFinish() {
+                if (FileManager.verbose()) {
+                    NovaGamesLib.plugin.getLogger().info("Refilled " + getRestoredCount() + " changed containers in arena Id: " + id);
+                }
             }
+        };
+    }
+
+    /**
+     * Indexes the positions of every door and container within the arena's regen area,
+     * so resetting doors and clearing containers does not have to visit every block.
+     * Called when the arena's data is saved and when its regen area changes.
+     * If <code>Regeneration.Async.Enabled</code> is enabled, the area is searched off the main thread.
+     * @param id The id of the arena.
+     */
+    public static void indexTileEntities(int id) {
+        indexTileEntities(id, null);
+    }
+
+    private static void indexTileEntities(int id, List<ChunkSnapshot> chunkSnapshots) {
+        Cuboid regenArea = ArenaDataManager.getRegenArea(id);
+        if (regenArea == null || regenArea.getWorld() == null) {
+            tileEntityIndexes.remove(id);
+            return;
+        }
+        tileEntityIndexes.put(id, chunkSnapshots == null ? SnapshotPipeline.index(regenArea) : SnapshotPipeline.index(regenArea, chunkSnapshots));
+        if (!isAsync()) {
+            getTileEntityIndex(id);
+        }
+    }
+
+    /**
+     * Gets the index of doors and containers within the arena's regen area.
+     * If the index is still being built off the main thread, this waits for it to finish.
+     * @param id The id of the arena.
+     * @return The index, or <code>null</code> if the arena has not been indexed.
+     */
+    public static TileEntityIndex getTileEntityIndex(int id) {
+        Future<TileEntityIndex> index = tileEntityIndexes.get(id);
+        if (index == null) {
+            return null;
+        }
+        try {
+            return index.get();
+        } catch (InterruptedException | ExecutionException e) {
+            NovaGamesLib.plugin.getLogger().warning("Failed to index doors and containers for arena id: " + id + " " + e.getMessage());
+            tileEntityIndexes.remove(id);
+            return null;
+        }
+    }
+
+    /**
+     * Records a fingerprint of every chunk section within the arena's regen area.
+     * Regenerating then skips sections that have not changed, and checks that every section matches again afterwards.
+     * Called when the arena's data is saved. The sections are hashed off the main thread.
+     * @param id The id of the arena.
+     */
+    public static void recordFingerprints(int id) {
+        recordFingerprints(id, null);
+    }
+
+    private static void recordFingerprints(int id, List<ChunkSnapshot> chunkSnapshots) {
+        Cuboid regenArea = ArenaDataManager.getRegenArea(id);
+        if (regenArea == null || regenArea.getWorld() == null) {
+            fingerprints.remove(id);
+            return;
+        }
+        fingerprints.put(id, chunkSnapshots == null ? SnapshotPipeline.fingerprint(regenArea) : SnapshotPipeline.fingerprint(regenArea, chunkSnapshots));
+    }
+
+    /**
+     * Gets the section fingerprints recorded for the arena.
+     * If they are still being recorded off the main thread, this waits for them to finish.
+     * @param id The id of the arena.
+     * @return The fingerprints, or <code>null</code> if none have been recorded.
+     */
+    public static SectionFingerprints getFingerprints(int id) {
+        Future<SectionFingerprints> pending = fingerprints.get(id);
+        if (pending == null) {
+            return null;
+        }
+        try {
+            return pending.get();
+        } catch (InterruptedException | ExecutionException e) {
+            NovaGamesLib.plugin.getLogger().warning("Failed to fingerprint the regen area for arena id: " + id + " " + e.getMessage());
+            fingerprints.remove(id);
+            return null;
+        }
+    }
+
+    private static RegenerationStep createIntegrityCheckStep(final int id, Cuboid regenArea) {
+        SectionFingerprints recorded = getFingerprints(id);
+        if (recorded == null || !recorded.isOf(regenArea)) {
+            return null;
+        }
+        return new IntegrityCheckStep(regenArea, recorded) {
+            @Override
+            protected void onFinish() {
+                List<Cuboid> failed = getFailedAreas();
+                if (failed.isEmpty()) {
+                    if (FileManager.verbose()) {
+                        NovaGamesLib.plugin.getLogger().info("All " + getCheckedSections() + " sections of arena id: " + id + " match their saved data.");
+                    }
+                    return;
+                }
+                NovaGamesLib.plugin.getLogger().warning(failed.size() + " of " + getCheckedSections()
+                        + " sections of arena id: " + id + " still differ from their saved data after regenerating.");
+                RegenerationIntegrityEvent event = new RegenerationIntegrityEvent(id, getCheckedSections(), failed);
+                Bukkit.getServer().getPluginManager().callEvent(event);
+            }
+        };
+    }
+
+    /**
+     * Gets the incremental regeneration currently running for the arena.
+     * @param id The id of the arena.
+     * @return The running regeneration job, or <code>null</code> if the arena is not regenerating incrementally.
+     */
+    public static RegenerationJob getRegenerationJob(int id) {
+        return jobs.get(id);
+    }
+
+    /**
+     * Gets the progress of the arena's incremental regeneration.
+     * Useful for showing how far along an arena with {@link ArenaStatus#REGENERATING} is.
+     * @param id The id of the arena.
+     * @return The progress from <code>0.0</code> to <code>1.0</code>, or <code>-1</code> if the arena is not regenerating incrementally.
+     */
+    public static double getRegenerationProgress(int id) {
+        RegenerationJob job = jobs.get(id);
+        return job == null ? -1 : job.getProgress();
+    }
+
+    /**
+     * Gets the journal of blocks changed in the arena since its data was saved.
+     * @param id The id of the arena.
+     * @return The change journal, or <code>null</code> if the arena is not recording changes.
+     */
+    public static ChangeJournal getChangeJournal(int id) {
+        return journals.get(id);
+    }
+
+    /**
+     * Gets the saved block snapshot of the arena.
+     * If the snapshot is still being saved off the main thread, this waits for it to finish.
+     * If the arena was saved to disk before a restart, the snapshot file is mapped again.
+     * @param id The id of the arena.
+     * @return The saved snapshot, or <code>null</code> if none has been saved.
+     */
+    public static ArenaSnapshot getSnapshot(int id) {
+        finishCapture(id);
+        ArenaSnapshot snapshot = snapshots.get(id);
+        if (snapshot == null && !NovaGamesLib.plugin.getConfig().getString("Regeneration.Save.ToMemory").equalsIgnoreCase("True")) {
+            File file = getSnapshotFile(id);
+            if (file.exists()) {
+                try {
+                    snapshot = MappedSnapshot.open(file);
+                    snapshots.put(id, snapshot);
+                } catch (IOException e) {
+                    if (FileManager.verbose()) {
+                        NovaGamesLib.plugin.getLogger().info("Failed to read regen area data from disk for arena id: " + id);
+                    }
+                }
+            }
+        }
+        return snapshot;
+    }
+
+    /**
+     * Gets the file the arena's regen area data is saved to when not saving to memory.
+     * @param id The id of the arena.
+     * @return The snapshot file of the arena.
+     */
+    public static File getSnapshotFile(int id) {
+        return new File(NovaGamesLib.plugin.getDataFolder() + "/Arenas/" + id + "/regen.snapshot");
+    }
+
+    /**
+     * Gets the approximate amount of heap memory, in bytes, used by the arena's saved block snapshot.
+     * Snapshots saved to disk only keep their section table on the heap.
+     * @param id The id of the arena.
+     * @return The memory footprint of the snapshot in bytes, or <code>0</code> if none has been saved.
+     */
+    public static long getSnapshotMemory(int id) {
+        ArenaSnapshot snapshot = snapshots.get(id);
+        return snapshot == null ? 0 : snapshot.getMemoryFootprint();
+    }
+
+    /**
+     * Gets the amount of memory outside of the heap, in bytes, used by the arena's saved block snapshot.
+     * This is the direct buffer of a snapshot kept off the heap, or the mapped file of a snapshot saved to disk.
+     * @param id The id of the arena.
+     * @return The off-heap size of the snapshot in bytes, or <code>0</code> if none has been saved.
+     */
+    public static long getSnapshotOffHeapMemory(int id) {
+        ArenaSnapshot snapshot = snapshots.get(id);
+        return snapshot == null ? 0 : snapshot.getOffHeapSize();
+    }
+
+    /**
+     * Gets the amount of memory outside of the heap, in bytes, used by the saved block snapshots of every arena.
+     * @return The total off-heap size in bytes.
+     */
+    public static long getTotalOffHeapMemory() {
+        long total = 0;
+        for (ArenaSnapshot snapshot : snapshots.values()) {
+            total += snapshot.getOffHeapSize();
         }
+        return total;
+    }
+
+    /**
+     * Releases the arena's saved block snapshot, freeing any memory it holds outside of the heap straight away.
+     * Called by {@link ArenaManager} when the arena is unloaded. A snapshot saved to disk is kept on disk and mapped again when next needed.
+     * If the arena is still regenerating the snapshot is left to that regeneration.
+     * @param id The id of the arena.
+     * @return <code>true</code> if released, else <code>false</code>.
+     */
+    public static boolean releaseSnapshot(int id) {
+        if (jobs.containsKey(id)) {
+            return false;
+        }
+        //Nothing needs a capture still in progress anymore, its workers finish on their own.
+        captures.remove(id);
+        long offHeap = getSnapshotOffHeapMemory(id);
+        discardSnapshot(id);
+        if (FileManager.verbose() && offHeap > 0) {
+            NovaGamesLib.plugin.getLogger().info("Released " + (offHeap / 1024) + " KB of off-heap regen area data for arena id: " + id);
+        }
+        return true;
+    }
+
+    private static ArenaSnapshot storeSnapshot(int id, ArenaSnapshot snapshot) {
+        if (snapshot instanceof BlockSnapshot && NovaGamesLib.plugin.getConfig().getBoolean("Regeneration.Save.OffHeap", false)) {
+            snapshot = DirectSnapshot.copyOf(snapshot);
+        }
+        snapshots.put(id, snapshot);
+        return snapshot;
+    }
+
+    private static void discardSnapshot(int id) {
+        ArenaSnapshot snapshot = snapshots.remove(id);
+        //A running regeneration may still be reading it, in which case it is freed once garbage collected.
+        if (snapshot instanceof DirectSnapshot && !jobs.containsKey(id)) {
+            ((DirectSnapshot) snapshot).close();
+        }
+    }
+
+    private static void finishCapture(int id) {
+        SnapshotCapture capture = captures.remove(id);
+        if (capture != null) {
+            try {
+                storeSnapshot(id, capture.await());
+                if (FileManager.verbose()) {
+                    NovaGamesLib.plugin.getLogger().info("Finished saving regen area data for arena id: " + id);
+                }
+            } catch (Exception e) {
+                NovaGamesLib.plugin.getLogger().warning("Failed to save regen area data for arena id: " + id + " " + e.getMessage());
+            }
+        }
+    }
+
+    private static boolean isAsync() {
+        return NovaGamesLib.plugin.getConfig().getBoolean("Regeneration.Async.Enabled", true);
     }
 
     /**
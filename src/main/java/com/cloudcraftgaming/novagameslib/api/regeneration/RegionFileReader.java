@@ -0,0 +1,169 @@
+package com.cloudcraftgaming.novagameslib.api.regeneration;
+
+import java.io.ByteArrayInputStream;
+import java.io.Closeable;
+import java.io.DataInputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.StandardOpenOption;
+import java.util.HashMap;
+import java.util.List;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.InflaterInputStream;
+
+/**
+ * Website: www.cloudcraftgaming.com
+ * For Project: NovaGamesLib-Bukkit
+ * <br> <br>
+ * Reads the blocks of chunks straight from a world's Anvil (.mca) region files, without the chunks being loaded.
+ * Every read is positional, so a single reader can be shared by several worker threads.
+ * <br> <br>
+ * The files hold whatever the server last saved. Chunks that are loaded may have changes not written yet.
+ */
+class RegionFileReader implements Closeable {
+    private static final int SECTOR = 4096;
+
+    private final File folder;
+    private final HashMap<String, FileChannel> channels = new HashMap<>();
+
+    RegionFileReader(File _folder) {
+        folder = _folder;
+    }
+
+    /**
+     * Gets the folder holding the region files of a world, which depends on the world's environment.
+     */
+    static File getRegionFolder(File worldFolder) {
+        File region = new File(worldFolder, "region");
+        if (region.isDirectory()) {
+            return region;
+        }
+        for (String dimension : new String[] {"DIM-1", "DIM1"}) {
+            File dimensionRegion = new File(worldFolder, dimension + "/region");
+            if (dimensionRegion.isDirectory()) {
+                return dimensionRegion;
+            }
+        }
+        return region;
+    }
+
+    /**
+     * Reads the blocks of a chunk.
+     * @return The encoded states of each section by section y, see {@link BlockSnapshot#encodeState(int, byte)},
+     * with <code>null</code> for sections that are empty. Returns <code>null</code> if the chunk has never been saved.
+     */
+    int[][] readChunk(int chunkX, int chunkZ) throws IOException {
+        FileChannel channel = getChannel(chunkX >> 5, chunkZ >> 5);
+        if (channel == null) {
+            return null;
+        }
+        ByteBuffer entry = ByteBuffer.allocate(4);
+        readFully(channel, entry, ((chunkX & 31) + (chunkZ & 31) * 32) * 4L);
+        int location = entry.getInt(0);
+        long offset = (location >>> 8) * (long) SECTOR;
+        if (offset == 0) {
+            return null;
+        }
+        ByteBuffer header = ByteBuffer.allocate(5);
+        readFully(channel, header, offset);
+        int length = header.getInt(0) - 1;
+        int compression = header.get(4);
+        if (length <= 0 || length > (location & 0xFF) * SECTOR) {
+            throw new IOException("Invalid length " + length + " for chunk " + chunkX + ", " + chunkZ);
+        }
+        ByteBuffer data = ByteBuffer.allocate(length);
+        readFully(channel, data, offset + 5);
+
+        InputStream raw = new ByteArrayInputStream(data.array());
+        InputStream in;
+        if (compression == 1) {
+            in = new GZIPInputStream(raw);
+        } else if (compression == 2) {
+            in = new InflaterInputStream(raw);
+        } else {
+            throw new IOException("Unknown compression " + compression + " for chunk " + chunkX + ", " + chunkZ);
+        }
+        HashMap<String, Object> root;
+        try (DataInputStream dataIn = new DataInputStream(in)) {
+            root = NBTReader.readRoot(dataIn);
+        }
+        return readSections(root);
+    }
+
+    @Override
+    public synchronized void close() {
+        for (FileChannel channel : channels.values()) {
+            if (channel != null) {
+                try {
+                    channel.close();
+                } catch (IOException ignore) {
+                    //Only read from, nothing is lost.
+                }
+            }
+        }
+        channels.clear();
+    }
+
+    //Internals
+    private static int[][] readSections(HashMap<String, Object> root) {
+        int[][] sections = new int[16][];
+        HashMap<String, Object> level = NBTReader.getCompound(root, "Level");
+        List<Object> list = level == null ? null : NBTReader.getList(level, "Sections");
+        if (list == null) {
+            return sections;
+        }
+        for (Object tag : list) {
+            if (!(tag instanceof HashMap)) {
+                continue;
+            }
+            @SuppressWarnings("unchecked")
+            HashMap<String, Object> section = (HashMap<String, Object>) tag;
+            Object y = section.get("Y");
+            byte[] blocks = NBTReader.getByteArray(section, "Blocks");
+            byte[] data = NBTReader.getByteArray(section, "Data");
+            byte[] add = NBTReader.getByteArray(section, "Add");
+            if (!(y instanceof Byte) || blocks == null || blocks.length != SnapshotSection.SIZE || data == null) {
+                continue;
+            }
+            int sectionY = (Byte) y;
+            if (sectionY < 0 || sectionY >= sections.length) {
+                continue;
+            }
+            int[] states = new int[SnapshotSection.SIZE];
+            for (int i = 0; i < states.length; i++) {
+                int typeId = blocks[i] & 0xFF;
+                if (add != null) {
+                    typeId |= nibble(add, i) << 8;
+                }
+                states[i] = BlockSnapshot.encodeState(typeId, (byte) nibble(data, i));
+            }
+            sections[sectionY] = states;
+        }
+        return sections;
+    }
+
+    private static int nibble(byte[] array, int index) {
+        return (array[index >> 1] >> ((index & 1) << 2)) & 0xF;
+    }
+
+    private synchronized FileChannel getChannel(int regionX, int regionZ) throws IOException {
+        String name = "r." + regionX + "." + regionZ + ".mca";
+        if (!channels.containsKey(name)) {
+            File file = new File(folder, name);
+            channels.put(name, file.isFile() ? FileChannel.open(file.toPath(), StandardOpenOption.READ) : null);
+        }
+        return channels.get(name);
+    }
+
+    private static void readFully(FileChannel channel, ByteBuffer buffer, long position) throws IOException {
+        while (buffer.hasRemaining()) {
+            int read = channel.read(buffer, position + buffer.position());
+            if (read < 0) {
+                throw new IOException("Unexpected end of region file");
+            }
+        }
+    }
+}
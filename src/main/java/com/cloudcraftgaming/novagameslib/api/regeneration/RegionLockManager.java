@@ -0,0 +1,99 @@
+package com.cloudcraftgaming.novagameslib.api.regeneration;
+
+import com.cloudcraftgaming.novagameslib.api.region.Cuboid;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Website: www.cloudcraftgaming.com
+ * For Project: NovaGamesLib-Bukkit
+ * <br> <br>
+ * Keeps arenas sharing a world from regenerating overlapping areas at the same time.
+ * Each arena locks its regen area while it regenerates. An arena whose area overlaps one already locked
+ * by another arena waits until that lock is released. Arenas with separate areas in the same world never wait on each other.
+ */
+@SuppressWarnings({"unused", "WeakerAccess"})
+public class RegionLockManager {
+    private static RegionLockManager instance;
+
+    private final HashMap<Integer, Cuboid> locks = new HashMap<>();
+
+    //Instance handling
+    private RegionLockManager() {} //Prevent initialization.
+
+    /**
+     * Gets the instance of the {@link RegionLockManager}
+     * @return The instance of the {@link RegionLockManager}
+     */
+    public static RegionLockManager getManager() {
+        if (instance == null) {
+            instance = new RegionLockManager();
+        }
+        return instance;
+    }
+
+    //Booleans/Checkers
+    /**
+     * Checks whether or not the arena currently holds a lock.
+     * @param id The id of the arena.
+     * @return <code>true</code> if locked, else <code>false</code>.
+     */
+    public boolean isLocked(int id) {
+        return locks.containsKey(id);
+    }
+
+    //Getters
+    /**
+     * Gets the arena holding a lock that overlaps the specified area, other than the specified arena.
+     * @param id The id of the arena asking, which is ignored.
+     * @param area The area to check.
+     * @return The id of the arena holding an overlapping lock, or <code>-1</code> if there is none.
+     */
+    public int getConflict(int id, Cuboid area) {
+        for (Map.Entry<Integer, Cuboid> lock : locks.entrySet()) {
+            if (lock.getKey() != id && overlaps(lock.getValue(), area)) {
+                return lock.getKey();
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Gets the amount of arenas currently holding a lock.
+     * @return The amount of locks held.
+     */
+    public int getLockCount() {
+        return locks.size();
+    }
+
+    //Functionals
+    /**
+     * Locks the arena's area if no other arena holds an overlapping lock.
+     * @param id The id of the arena.
+     * @param area The area to lock.
+     * @return <code>true</code> if the area is now locked by the arena, else <code>false</code>.
+     */
+    public boolean tryLock(int id, Cuboid area) {
+        if (getConflict(id, area) != -1) {
+            return false;
+        }
+        locks.put(id, area);
+        return true;
+    }
+
+    /**
+     * Releases the arena's lock, if it holds one.
+     * @param id The id of the arena.
+     */
+    public void unlock(int id) {
+        locks.remove(id);
+    }
+
+    private static boolean overlaps(Cuboid a, Cuboid b) {
+        return a.getWorldName().equals(b.getWorldName())
+                && a.getLowerX() <= b.getUpperX() && b.getLowerX() <= a.getUpperX()
+                && a.getLowerY() <= b.getUpperY() && b.getLowerY() <= a.getUpperY()
+                && a.getLowerZ() <= b.getUpperZ() && b.getLowerZ() <= a.getUpperZ();
+    }
+}
@@ -0,0 +1,137 @@
+package com.cloudcraftgaming.novagameslib.api.regeneration;
+
+import com.cloudcraftgaming.novagameslib.api.region.Cuboid;
+import org.bukkit.Bukkit;
+import org.bukkit.ChunkSnapshot;
+import org.bukkit.World;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+
+/**
+ * Website: www.cloudcraftgaming.com
+ * For Project: NovaGamesLib-Bukkit
+ * <br> <br>
+ * A fast 64 bit hash of the blocks in every chunk section of a regen area.
+ * Recorded when the arena's data is saved, and recomputed from {@link ChunkSnapshot}s after a match.
+ * Sections with the same fingerprint as before are skipped when regenerating,
+ * and sections that still differ once regenerated are reported as integrity failures.
+ * <br> <br>
+ * Section keys are packed the same way as in a {@link BlockSnapshot}, see {@link BlockSnapshot#sectionKey(int, int, int)}.
+ */
+@SuppressWarnings({"unused", "WeakerAccess", "deprecation"})
+public class SectionFingerprints {
+    private static final long OFFSET = 0xcbf29ce484222325L;
+    private static final long PRIME = 0x100000001b3L;
+
+    private final String worldName;
+    private final int minX, minY, minZ, maxX, maxY, maxZ;
+    private final HashMap<Long, Long> fingerprints = new HashMap<>();
+
+    SectionFingerprints(Cuboid area) {
+        worldName = area.getWorld().getName();
+        minX = area.getLowerX();
+        minY = area.getLowerY();
+        minZ = area.getLowerZ();
+        maxX = area.getUpperX();
+        maxY = area.getUpperY();
+        maxZ = area.getUpperZ();
+    }
+
+    //Booleans/Checkers
+    /**
+     * Checks whether or not these fingerprints were taken of exactly the specified area.
+     * Fingerprints of a different area cannot be compared, as each section's hash depends on its bounds.
+     * @param area The area to check.
+     * @return <code>true</code> if the same area, else <code>false</code>.
+     */
+    public boolean isOf(Cuboid area) {
+        return area.getWorld().getName().equals(worldName)
+                && isOf(area.getLowerX(), area.getLowerY(), area.getLowerZ(), area.getUpperX(), area.getUpperY(), area.getUpperZ());
+    }
+
+    boolean isOf(int _minX, int _minY, int _minZ, int _maxX, int _maxY, int _maxZ) {
+        return minX == _minX && minY == _minY && minZ == _minZ && maxX == _maxX && maxY == _maxY && maxZ == _maxZ;
+    }
+
+    //Getters
+    /**
+     * Gets the name of the world the fingerprints were taken in.
+     * @return The name of the world.
+     */
+    public String getWorldName() {
+        return worldName;
+    }
+
+    /**
+     * Gets the amount of sections fingerprinted.
+     * @return The amount of sections.
+     */
+    public synchronized int getSectionCount() {
+        return fingerprints.size();
+    }
+
+    /**
+     * Gets the fingerprint of a section.
+     * @param key The packed section key, see {@link BlockSnapshot#sectionKey(int, int, int)}.
+     * @return The fingerprint, or <code>null</code> if the section was not fingerprinted.
+     */
+    public synchronized Long getFingerprint(long key) {
+        return fingerprints.get(key);
+    }
+
+    //Functionals
+    /**
+     * Compares these fingerprints against fingerprints of the same area taken later.
+     * @param current The later fingerprints.
+     * @return The sections whose fingerprints differ, limited to the fingerprinted area.
+     */
+    public List<Cuboid> compare(SectionFingerprints current) {
+        List<Cuboid> differing = new ArrayList<>();
+        World world = Bukkit.getWorld(worldName);
+        synchronized (this) {
+            for (long key : fingerprints.keySet()) {
+                Long other = current.getFingerprint(key);
+                if (other == null || !other.equals(fingerprints.get(key))) {
+                    int baseX = BlockSnapshot.sectionX(key) << 4;
+                    int baseY = BlockSnapshot.sectionY(key) << 4;
+                    int baseZ = BlockSnapshot.sectionZ(key) << 4;
+                    differing.add(new Cuboid(world, Math.max(baseX, minX), Math.max(baseY, minY), Math.max(baseZ, minZ),
+                            Math.min(baseX + 15, maxX), Math.min(baseY + 15, maxY), Math.min(baseZ + 15, maxZ)));
+                }
+            }
+        }
+        return differing;
+    }
+
+    //Internals
+    synchronized void put(long key, long fingerprint) {
+        fingerprints.put(key, fingerprint);
+    }
+
+    /**
+     * Hashes the blocks of a chunk within the specified bounds, which must not extend past a single section.
+     * The blocks are visited in the same order as they are captured, y then z then x.
+     */
+    static long hash(ChunkSnapshot chunk, int x1, int y1, int z1, int x2, int y2, int z2) {
+        long hash = OFFSET;
+        if (chunk.isSectionEmpty(y1 >> 4)) {
+            //Every state is air (0), so only the multiplications remain.
+            long volume = (long) (x2 - x1 + 1) * (y2 - y1 + 1) * (z2 - z1 + 1);
+            for (long i = 0; i < volume; i++) {
+                hash *= PRIME;
+            }
+            return hash;
+        }
+        for (int y = y1; y <= y2; y++) {
+            for (int z = z1; z <= z2; z++) {
+                for (int x = x1; x <= x2; x++) {
+                    hash ^= BlockSnapshot.encodeState(chunk.getBlockTypeId(x & 15, y, z & 15), (byte) chunk.getBlockData(x & 15, y, z & 15));
+                    hash *= PRIME;
+                }
+            }
+        }
+        return hash;
+    }
+}
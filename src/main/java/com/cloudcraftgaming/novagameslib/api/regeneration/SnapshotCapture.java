@@ -0,0 +1,64 @@
+package com.cloudcraftgaming.novagameslib.api.regeneration;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+
+/**
+ * Website: www.cloudcraftgaming.com
+ * For Project: NovaGamesLib-Bukkit
+ * <br> <br>
+ * A {@link BlockSnapshot} that is still being encoded by the worker threads of the {@link SnapshotPipeline}.
+ */
+@SuppressWarnings({"unused", "WeakerAccess"})
+public class SnapshotCapture {
+    private final BlockSnapshot snapshot;
+    private final List<Future<?>> tasks;
+    private final File file;
+
+    SnapshotCapture(BlockSnapshot _snapshot, List<Future<?>> _tasks, File _file) {
+        snapshot = _snapshot;
+        tasks = _tasks;
+        file = _file;
+    }
+
+    /**
+     * Gets the file the snapshot is being written to.
+     * @return The snapshot file, or <code>null</code> if the snapshot is kept in memory.
+     */
+    public File getFile() {
+        return file;
+    }
+
+    /**
+     * Checks whether or not every chunk has been encoded (and written, when saving to a file).
+     * @return <code>true</code> if done, else <code>false</code>.
+     */
+    public boolean isDone() {
+        for (Future<?> task : tasks) {
+            if (!task.isDone()) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Waits until every chunk has been encoded (and written, when saving to a file).
+     * @return The finished snapshot, a {@link MappedSnapshot} when saving to a file.
+     * @throws ExecutionException If a chunk could not be encoded or the file could not be written.
+     * @throws InterruptedException If interrupted while waiting.
+     * @throws IOException If the written file could not be mapped.
+     */
+    public ArenaSnapshot await() throws ExecutionException, InterruptedException, IOException {
+        for (Future<?> task : tasks) {
+            task.get();
+        }
+        if (file != null) {
+            return MappedSnapshot.open(file);
+        }
+        return snapshot;
+    }
+}
@@ -0,0 +1,457 @@
+package com.cloudcraftgaming.novagameslib.api.regeneration;
+
+import com.cloudcraftgaming.novagameslib.api.region.Cuboid;
+import org.bukkit.Bukkit;
+import org.bukkit.Chunk;
+import org.bukkit.ChunkSnapshot;
+import org.bukkit.World;
+import org.bukkit.block.BlockState;
+import org.bukkit.inventory.InventoryHolder;
+
+import java.io.File;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.*;
+
+/**
+ * Website: www.cloudcraftgaming.com
+ * For Project: NovaGamesLib-Bukkit
+ * <br> <br>
+ * Moves the expensive part of capturing and restoring regen areas off the main thread.
+ * The main thread only grabs a {@link ChunkSnapshot} of each chunk, which is cheap.
+ * Encoding those into {@link SnapshotSection}s, and diffing them against a saved {@link ArenaSnapshot},
+ * is done by a pool of worker threads, one chunk per task.
+ * When an area is captured, indexed and fingerprinted together, the same chunk snapshots are shared by all three,
+ * see {@link #snapshotChunks(Cuboid)}.
+ */
+@SuppressWarnings({"unused", "WeakerAccess", "deprecation"})
+public class SnapshotPipeline {
+    private static ExecutorService executor;
+
+    private SnapshotPipeline() {} //Prevent initialization.
+
+    /**
+     * Starts capturing every block within the specified area.
+     * This must be called on the main thread, the blocks are encoded on worker threads afterwards.
+     * @param area The area to capture.
+     * @param file The file to write the finished snapshot to, or <code>null</code> to keep it in memory.
+     * @return The pending capture.
+     */
+    public static SnapshotCapture capture(Cuboid area, File file) {
+        return capture(area, snapshotChunks(area), file);
+    }
+
+    /**
+     * Takes a snapshot of every chunk within the specified area, to be shared by
+     * {@link #capture(Cuboid, List, File)}, {@link #index(Cuboid, List)} and {@link #fingerprint(Cuboid, List)}.
+     * This must be called on the main thread. Chunk snapshots are never changed, so the workers can share them freely.
+     * @param area The area to take snapshots of.
+     * @return The chunk snapshots, in the order of {@link Cuboid#getChunks()}.
+     */
+    static List<ChunkSnapshot> snapshotChunks(Cuboid area) {
+        List<ChunkSnapshot> chunkSnapshots = new ArrayList<>();
+        for (Chunk chunk : area.getChunks()) {
+            chunkSnapshots.add(chunk.getChunkSnapshot(false, false, false));
+        }
+        return chunkSnapshots;
+    }
+
+    /**
+     * Starts capturing every block within the specified area from chunk snapshots already taken.
+     * @param area The area to capture.
+     * @param chunkSnapshots The snapshots of the area's chunks, see {@link #snapshotChunks(Cuboid)}.
+     * @param file The file to write the finished snapshot to, or <code>null</code> to keep it in memory.
+     * @return The pending capture.
+     */
+    static SnapshotCapture capture(Cuboid area, List<ChunkSnapshot> chunkSnapshots, final File file) {
+        final BlockSnapshot snapshot = new BlockSnapshot(area);
+        final List<Future<?>> tasks = new ArrayList<>();
+        for (final ChunkSnapshot chunkSnapshot : chunkSnapshots) {
+            tasks.add(submit(new Callable<Void>() {
+                @Override
+                public Void call() {
+                    encodeChunk(chunkSnapshot, snapshot);
+                    return null;
+                }
+            }));
+        }
+        if (file != null) {
+            //Queued after every chunk, so the chunks are already taken by workers when this runs.
+            final List<Future<?>> chunkTasks = new ArrayList<>(tasks);
+            tasks.add(submit(new Callable<Void>() {
+                @Override
+                public Void call() throws Exception {
+                    for (Future<?> task : chunkTasks) {
+                        task.get();
+                    }
+                    MappedSnapshot.write(snapshot, file);
+                    return null;
+                }
+            }));
+        }
+        return new SnapshotCapture(snapshot, tasks, file);
+    }
+
+    /**
+     * Starts capturing every block within the specified area by reading the world's region files, without loading any chunks.
+     * Chunks that are already loaded are captured from memory instead, so changes not yet saved to disk are not missed.
+     * This must be called on the main thread if the world is loaded, the region files are read on worker threads.
+     * @param area The area to capture. Its world does not need to be loaded.
+     * @param worldFolder The folder of the area's world.
+     * @param file The file to write the finished snapshot to, or <code>null</code> to keep it in memory.
+     * @return The pending capture.
+     */
+    public static SnapshotCapture captureFromRegionFiles(Cuboid area, File worldFolder, final File file) {
+        final BlockSnapshot snapshot = new BlockSnapshot(area.getWorldName(), area.getLowerX(), area.getLowerY(), area.getLowerZ(),
+                area.getUpperX(), area.getUpperY(), area.getUpperZ());
+        final RegionFileReader reader = new RegionFileReader(RegionFileReader.getRegionFolder(worldFolder));
+        World world = Bukkit.getWorld(area.getWorldName());
+        final List<Future<?>> tasks = new ArrayList<>();
+        for (int cx = area.getLowerX() >> 4; cx <= area.getUpperX() >> 4; cx++) {
+            for (int cz = area.getLowerZ() >> 4; cz <= area.getUpperZ() >> 4; cz++) {
+                if (world != null && world.isChunkLoaded(cx, cz)) {
+                    final ChunkSnapshot chunkSnapshot = world.getChunkAt(cx, cz).getChunkSnapshot(false, false, false);
+                    tasks.add(submit(new Callable<Void>() {
+                        @Override
+                        public Void call() {
+                            encodeChunk(chunkSnapshot, snapshot);
+                            return null;
+                        }
+                    }));
+                } else {
+                    final int chunkX = cx, chunkZ = cz;
+                    tasks.add(submit(new Callable<Void>() {
+                        @Override
+                        public Void call() throws Exception {
+                            encodeSections(reader.readChunk(chunkX, chunkZ), chunkX, chunkZ, snapshot);
+                            return null;
+                        }
+                    }));
+                }
+            }
+        }
+        //Queued after every chunk, so the chunks are already taken by workers when this runs.
+        final List<Future<?>> chunkTasks = new ArrayList<>(tasks);
+        tasks.add(submit(new Callable<Void>() {
+            @Override
+            public Void call() throws Exception {
+                try {
+                    for (Future<?> task : chunkTasks) {
+                        task.get();
+                    }
+                } finally {
+                    reader.close();
+                }
+                if (file != null) {
+                    MappedSnapshot.write(snapshot, file);
+                }
+                return null;
+            }
+        }));
+        return new SnapshotCapture(snapshot, tasks, file);
+    }
+
+    /**
+     * Starts comparing the blocks within the specified area against a saved snapshot.
+     * This must be called on the main thread, the comparison is done on worker threads afterwards.
+     * @param snapshot The saved snapshot to compare against. It must not be changed until all tasks are done.
+     * @param area The area to compare.
+     * @return The pending changes needed to restore each chunk.
+     */
+    static List<Future<ChunkChanges>> diff(final ArenaSnapshot snapshot, Cuboid area) {
+        return diff(snapshot, area, null);
+    }
+
+    /**
+     * Starts comparing the blocks within the specified area against a saved snapshot.
+     * Sections whose fingerprint has not changed since the snapshot was taken are skipped without being compared.
+     * This must be called on the main thread, the comparison is done on worker threads afterwards.
+     * @param snapshot The saved snapshot to compare against. It must not be changed until all tasks are done.
+     * @param area The area to compare.
+     * @param fingerprints The fingerprints taken along with the snapshot, or <code>null</code> to compare every section.
+     * @return The pending changes needed to restore each chunk.
+     */
+    static List<Future<ChunkChanges>> diff(final ArenaSnapshot snapshot, Cuboid area, SectionFingerprints fingerprints) {
+        final int minX = Math.max(snapshot.getMinX(), area.getLowerX());
+        final int minY = Math.max(snapshot.getMinY(), area.getLowerY());
+        final int minZ = Math.max(snapshot.getMinZ(), area.getLowerZ());
+        final int maxX = Math.min(snapshot.getMaxX(), area.getUpperX());
+        final int maxY = Math.min(snapshot.getMaxY(), area.getUpperY());
+        final int maxZ = Math.min(snapshot.getMaxZ(), area.getUpperZ());
+        List<Future<ChunkChanges>> tasks = new ArrayList<>();
+        if (minX > maxX || minY > maxY || minZ > maxZ) {
+            return tasks;
+        }
+        if (fingerprints != null && (!fingerprints.getWorldName().equals(snapshot.getWorldName())
+                || !fingerprints.isOf(minX, minY, minZ, maxX, maxY, maxZ))) {
+            fingerprints = null;
+        }
+        final SectionFingerprints saved = fingerprints;
+        for (int cx = minX >> 4; cx <= maxX >> 4; cx++) {
+            for (int cz = minZ >> 4; cz <= maxZ >> 4; cz++) {
+                final ChunkSnapshot chunkSnapshot = area.getWorld().getChunkAt(cx, cz).getChunkSnapshot(false, false, false);
+                tasks.add(submit(new Callable<ChunkChanges>() {
+                    @Override
+                    public ChunkChanges call() {
+                        return diffChunk(chunkSnapshot, snapshot, saved, minX, minY, minZ, maxX, maxY, maxZ);
+                    }
+                }));
+            }
+        }
+        return tasks;
+    }
+
+    /**
+     * Starts indexing the openable and container blocks within the specified area.
+     * This must be called on the main thread. Containers are found from each chunk's tile entities right away,
+     * openable blocks are searched for on worker threads afterwards.
+     * @param area The area to index.
+     * @return The pending index.
+     */
+    static Future<TileEntityIndex> index(Cuboid area) {
+        return index(area, snapshotChunks(area));
+    }
+
+    /**
+     * Starts indexing every door and container within the specified area from chunk snapshots already taken.
+     * This must be called on the main thread, as containers are still found from each chunk's tile entities.
+     * @param area The area to index.
+     * @param chunkSnapshots The snapshots of the area's chunks, see {@link #snapshotChunks(Cuboid)}.
+     * @return The pending index.
+     */
+    static Future<TileEntityIndex> index(final Cuboid area, List<ChunkSnapshot> chunkSnapshots) {
+        final TileEntityIndex index = new TileEntityIndex(area);
+        final List<Future<?>> tasks = new ArrayList<>();
+        for (Chunk chunk : area.getChunks()) {
+            for (BlockState state : chunk.getTileEntities()) {
+                if (state instanceof InventoryHolder && area.contains(state.getX(), state.getY(), state.getZ())) {
+                    index.addContainer(state.getX(), state.getY(), state.getZ());
+                }
+            }
+        }
+        for (final ChunkSnapshot chunkSnapshot : chunkSnapshots) {
+            tasks.add(submit(new Callable<Void>() {
+                @Override
+                public Void call() {
+                    indexChunk(chunkSnapshot, area, index);
+                    return null;
+                }
+            }));
+        }
+        //Queued after every chunk, so the chunks are already taken by workers when this runs.
+        return submit(new Callable<TileEntityIndex>() {
+            @Override
+            public TileEntityIndex call() throws Exception {
+                for (Future<?> task : tasks) {
+                    task.get();
+                }
+                return index;
+            }
+        });
+    }
+
+    /**
+     * Starts fingerprinting every chunk section within the specified area.
+     * This must be called on the main thread, the sections are hashed on worker threads afterwards.
+     * @param area The area to fingerprint.
+     * @return The pending fingerprints.
+     */
+    static Future<SectionFingerprints> fingerprint(Cuboid area) {
+        return fingerprint(area, snapshotChunks(area));
+    }
+
+    /**
+     * Starts fingerprinting every chunk section within the specified area from chunk snapshots already taken.
+     * @param area The area to fingerprint.
+     * @param chunkSnapshots The snapshots of the area's chunks, see {@link #snapshotChunks(Cuboid)}.
+     * @return The pending fingerprints.
+     */
+    static Future<SectionFingerprints> fingerprint(final Cuboid area, List<ChunkSnapshot> chunkSnapshots) {
+        final SectionFingerprints fingerprints = new SectionFingerprints(area);
+        final List<Future<?>> tasks = new ArrayList<>();
+        for (final ChunkSnapshot chunkSnapshot : chunkSnapshots) {
+            tasks.add(submit(new Callable<Void>() {
+                @Override
+                public Void call() {
+                    fingerprintChunk(chunkSnapshot, area, fingerprints);
+                    return null;
+                }
+            }));
+        }
+        //Queued after every chunk, so the chunks are already taken by workers when this runs.
+        return submit(new Callable<SectionFingerprints>() {
+            @Override
+            public SectionFingerprints call() throws Exception {
+                for (Future<?> task : tasks) {
+                    task.get();
+                }
+                return fingerprints;
+            }
+        });
+    }
+
+    /**
+     * Stops the worker threads. Called by NovaGamesLib on disable.
+     */
+    public static void shutdown() {
+        if (executor != null) {
+            executor.shutdown();
+            executor = null;
+        }
+    }
+
+    //Workers
+    static <T> Future<T> submit(Callable<T> task) {
+        if (executor == null) {
+            int threads = Math.max(1, Runtime.getRuntime().availableProcessors() - 1);
+            executor = Executors.newFixedThreadPool(threads, new ThreadFactory() {
+                private int count = 0;
+
+                @Override
+                public Thread newThread(Runnable r) {
+                    Thread thread = new Thread(r, "NovaGamesLib Regeneration Worker #" + (++count));
+                    thread.setDaemon(true);
+                    return thread;
+                }
+            });
+        }
+        return executor.submit(task);
+    }
+
+    private static void encodeChunk(ChunkSnapshot chunk, BlockSnapshot snapshot) {
+        int baseX = chunk.getX() << 4;
+        int baseZ = chunk.getZ() << 4;
+        int x1 = Math.max(snapshot.getMinX(), baseX), x2 = Math.min(snapshot.getMaxX(), baseX + 15);
+        int z1 = Math.max(snapshot.getMinZ(), baseZ), z2 = Math.min(snapshot.getMaxZ(), baseZ + 15);
+        if (x1 > x2 || z1 > z2) {
+            return;
+        }
+        for (int sy = snapshot.getMinY() >> 4; sy <= snapshot.getMaxY() >> 4; sy++) {
+            int y1 = Math.max(snapshot.getMinY(), sy << 4), y2 = Math.min(snapshot.getMaxY(), (sy << 4) + 15);
+            SnapshotSection section = null;
+            for (int y = y1; y <= y2; y++) {
+                for (int z = z1; z <= z2; z++) {
+                    for (int x = x1; x <= x2; x++) {
+                        int state = BlockSnapshot.encodeState(chunk.getBlockTypeId(x & 15, y, z & 15), (byte) chunk.getBlockData(x & 15, y, z & 15));
+                        if (section == null) {
+                            section = new SnapshotSection(state);
+                        } else {
+                            section.set(SnapshotSection.index(x & 15, y & 15, z & 15), state);
+                        }
+                    }
+                }
+            }
+            if (section != null) {
+                synchronized (snapshot) {
+                    snapshot.putSection(BlockSnapshot.sectionKey(chunk.getX(), sy, chunk.getZ()), section);
+                }
+            }
+        }
+    }
+
+    /**
+     * Encodes a chunk read from a region file, see {@link RegionFileReader#readChunk(int, int)}.
+     * Chunks and sections that were never saved are captured as air.
+     */
+    private static void encodeSections(int[][] sections, int chunkX, int chunkZ, BlockSnapshot snapshot) {
+        int baseX = chunkX << 4;
+        int baseZ = chunkZ << 4;
+        int x1 = Math.max(snapshot.getMinX(), baseX), x2 = Math.min(snapshot.getMaxX(), baseX + 15);
+        int z1 = Math.max(snapshot.getMinZ(), baseZ), z2 = Math.min(snapshot.getMaxZ(), baseZ + 15);
+        if (x1 > x2 || z1 > z2) {
+            return;
+        }
+        for (int sy = snapshot.getMinY() >> 4; sy <= snapshot.getMaxY() >> 4; sy++) {
+            int[] states = sections != null && sy >= 0 && sy < sections.length ? sections[sy] : null;
+            int y1 = Math.max(snapshot.getMinY(), sy << 4), y2 = Math.min(snapshot.getMaxY(), (sy << 4) + 15);
+            SnapshotSection section = null;
+            for (int y = y1; y <= y2; y++) {
+                for (int z = z1; z <= z2; z++) {
+                    for (int x = x1; x <= x2; x++) {
+                        int state = states == null ? 0 : states[SnapshotSection.index(x & 15, y & 15, z & 15)];
+                        if (section == null) {
+                            section = new SnapshotSection(state);
+                        } else {
+                            section.set(SnapshotSection.index(x & 15, y & 15, z & 15), state);
+                        }
+                    }
+                }
+            }
+            if (section != null) {
+                synchronized (snapshot) {
+                    snapshot.putSection(BlockSnapshot.sectionKey(chunkX, sy, chunkZ), section);
+                }
+            }
+        }
+    }
+
+    private static void indexChunk(ChunkSnapshot chunk, Cuboid area, TileEntityIndex index) {
+        int baseX = chunk.getX() << 4;
+        int baseZ = chunk.getZ() << 4;
+        int x1 = Math.max(area.getLowerX(), baseX), x2 = Math.min(area.getUpperX(), baseX + 15);
+        int z1 = Math.max(area.getLowerZ(), baseZ), z2 = Math.min(area.getUpperZ(), baseZ + 15);
+        for (int y = area.getLowerY(); y <= area.getUpperY(); y++) {
+            if (chunk.isSectionEmpty(y >> 4)) {
+                y |= 15;
+                continue;
+            }
+            for (int z = z1; z <= z2; z++) {
+                for (int x = x1; x <= x2; x++) {
+                    if (TileEntityIndex.isOpenable(chunk.getBlockTypeId(x & 15, y, z & 15))) {
+                        index.addOpenable(x, y, z);
+                    }
+                }
+            }
+        }
+    }
+
+    private static void fingerprintChunk(ChunkSnapshot chunk, Cuboid area, SectionFingerprints fingerprints) {
+        int baseX = chunk.getX() << 4;
+        int baseZ = chunk.getZ() << 4;
+        int x1 = Math.max(area.getLowerX(), baseX), x2 = Math.min(area.getUpperX(), baseX + 15);
+        int z1 = Math.max(area.getLowerZ(), baseZ), z2 = Math.min(area.getUpperZ(), baseZ + 15);
+        if (x1 > x2 || z1 > z2) {
+            return;
+        }
+        for (int sy = area.getLowerY() >> 4; sy <= area.getUpperY() >> 4; sy++) {
+            int y1 = Math.max(area.getLowerY(), sy << 4), y2 = Math.min(area.getUpperY(), (sy << 4) + 15);
+            fingerprints.put(BlockSnapshot.sectionKey(chunk.getX(), sy, chunk.getZ()), SectionFingerprints.hash(chunk, x1, y1, z1, x2, y2, z2));
+        }
+    }
+
+    private static ChunkChanges diffChunk(ChunkSnapshot chunk, ArenaSnapshot snapshot, SectionFingerprints fingerprints,
+                                          int minX, int minY, int minZ, int maxX, int maxY, int maxZ) {
+        ChunkChanges changes = new ChunkChanges(chunk.getX(), chunk.getZ());
+        int baseX = chunk.getX() << 4;
+        int baseZ = chunk.getZ() << 4;
+        int x1 = Math.max(minX, baseX), x2 = Math.min(maxX, baseX + 15);
+        int z1 = Math.max(minZ, baseZ), z2 = Math.min(maxZ, baseZ + 15);
+        for (int sy = minY >> 4; sy <= maxY >> 4; sy++) {
+            long key = BlockSnapshot.sectionKey(chunk.getX(), sy, chunk.getZ());
+            int y1 = Math.max(minY, sy << 4), y2 = Math.min(maxY, (sy << 4) + 15);
+            if (fingerprints != null) {
+                Long fingerprint = fingerprints.getFingerprint(key);
+                if (fingerprint != null && fingerprint == SectionFingerprints.hash(chunk, x1, y1, z1, x2, y2, z2)) {
+                    changes.skipSection();
+                    continue;
+                }
+            }
+            SnapshotSection section = snapshot.getSection(key);
+            if (section == null) {
+                continue;
+            }
+            for (int y = y1; y <= y2; y++) {
+                for (int z = z1; z <= z2; z++) {
+                    for (int x = x1; x <= x2; x++) {
+                        int saved = section.get(SnapshotSection.index(x & 15, y & 15, z & 15));
+                        int current = BlockSnapshot.encodeState(chunk.getBlockTypeId(x & 15, y, z & 15), (byte) chunk.getBlockData(x & 15, y, z & 15));
+                        if (saved != current) {
+                            changes.add(x, y, z, saved);
+                        }
+                    }
+                }
+            }
+        }
+        return changes;
+    }
+}
@@ -0,0 +1,265 @@
+package com.cloudcraftgaming.novagameslib.api.regeneration;
+
+import java.io.DataOutput;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+
+/**
+ * Website: www.cloudcraftgaming.com
+ * For Project: NovaGamesLib-Bukkit
+ * <br> <br>
+ * A single 16x16x16 chunk section of a {@link BlockSnapshot}.
+ * Blocks are stored as indices into a small palette of block states, bit-packed into a primitive long array.
+ * A section containing only a single state (such as air) uses no index array at all.
+ */
+@SuppressWarnings({"unused", "WeakerAccess"})
+public class SnapshotSection {
+    /**
+     * The amount of blocks in a single section.
+     */
+    public static final int SIZE = 4096;
+
+    private int[] palette;
+    private int paletteSize;
+    private int bits;
+    private long[] data;
+
+    private int lastState;
+    private int lastPaletteIndex;
+
+    /**
+     * Creates a new section with every block set to the specified state.
+     * @param initialState The state every block in the section starts with.
+     */
+    public SnapshotSection(int initialState) {
+        palette = new int[4];
+        palette[0] = initialState;
+        paletteSize = 1;
+        bits = 0;
+        data = null;
+        lastState = initialState;
+        lastPaletteIndex = 0;
+    }
+
+    private SnapshotSection(int[] _palette, int _paletteSize, int _bits, long[] _data) {
+        palette = _palette;
+        paletteSize = _paletteSize;
+        bits = _bits;
+        data = _data;
+        lastState = palette[0];
+        lastPaletteIndex = 0;
+    }
+
+    /**
+     * Gets the index of the block within a section from its section relative coordinates.
+     * @param x The x coordinate (0-15).
+     * @param y The y coordinate (0-15).
+     * @param z The z coordinate (0-15).
+     * @return The index of the block within the section.
+     */
+    public static int index(int x, int y, int z) {
+        return (y << 8) | (z << 4) | x;
+    }
+
+    //Getters
+    /**
+     * Gets the state of the block at the specified index.
+     * @param index The index of the block, see {@link #index(int, int, int)}.
+     * @return The encoded state of the block, see {@link BlockSnapshot#encodeState(int, byte)}.
+     */
+    public int get(int index) {
+        if (bits == 0) {
+            return palette[0];
+        }
+        int perLong = 64 / bits;
+        long word = data[index / perLong];
+        int shift = (index % perLong) * bits;
+        return palette[(int) ((word >>> shift) & ((1L << bits) - 1))];
+    }
+
+    /**
+     * Gets the amount of distinct block states in this section.
+     * @return The size of the palette.
+     */
+    public int getPaletteSize() {
+        return paletteSize;
+    }
+
+    /**
+     * Gets the amount of bits used for each block index.
+     * @return The amount of bits per block (0 when the section only holds a single state).
+     */
+    public int getBitsPerBlock() {
+        return bits;
+    }
+
+    /**
+     * Gets the approximate amount of heap memory, in bytes, used by this section.
+     * @return The approximate memory footprint in bytes.
+     */
+    public long getMemoryFootprint() {
+        long size = 40 + 16 + (palette.length * 4L);
+        if (data != null) {
+            size += 16 + (data.length * 8L);
+        }
+        return size;
+    }
+
+    //Setters
+    /**
+     * Sets the state of the block at the specified index.
+     * @param index The index of the block, see {@link #index(int, int, int)}.
+     * @param state The encoded state of the block, see {@link BlockSnapshot#encodeState(int, byte)}.
+     */
+    public void set(int index, int state) {
+        int paletteIndex = paletteIndexOf(state);
+        if (paletteIndex < 0) {
+            paletteIndex = addToPalette(state);
+        }
+        if (bits == 0) {
+            return;
+        }
+        int perLong = 64 / bits;
+        int longIndex = index / perLong;
+        int shift = (index % perLong) * bits;
+        long mask = ((1L << bits) - 1) << shift;
+        data[longIndex] = (data[longIndex] & ~mask) | (((long) paletteIndex << shift) & mask);
+    }
+
+    //Serialization
+    /**
+     * Writes this section in its packed form.
+     * @param out The output to write to.
+     * @throws IOException If the section could not be written.
+     */
+    public void write(DataOutput out) throws IOException {
+        out.writeShort(paletteSize);
+        out.writeByte(bits);
+        for (int i = 0; i < paletteSize; i++) {
+            out.writeInt(palette[i]);
+        }
+        if (data != null) {
+            for (long word : data) {
+                out.writeLong(word);
+            }
+        }
+    }
+
+    /**
+     * Writes this section in its packed form at the buffer's current position, the same as {@link #write(DataOutput)}.
+     * @param buffer The buffer to write to, which must have {@link #getSerializedSize()} bytes remaining.
+     */
+    public void write(ByteBuffer buffer) {
+        buffer.putShort((short) paletteSize);
+        buffer.put((byte) bits);
+        for (int i = 0; i < paletteSize; i++) {
+            buffer.putInt(palette[i]);
+        }
+        if (data != null) {
+            for (long word : data) {
+                buffer.putLong(word);
+            }
+        }
+    }
+
+    /**
+     * Gets the amount of bytes this section takes up when written.
+     * @return The written size in bytes.
+     */
+    public int getSerializedSize() {
+        return 3 + (paletteSize * 4) + (data != null ? data.length * 8 : 0);
+    }
+
+    /**
+     * Reads a section written by {@link #write(DataOutput)}, starting at the buffer's current position.
+     * @param buffer The buffer to read from.
+     * @return The section that was read.
+     */
+    public static SnapshotSection read(ByteBuffer buffer) {
+        int paletteSize = buffer.getShort() & 0xFFFF;
+        int bits = buffer.get();
+        int[] palette = new int[Math.max(4, paletteSize)];
+        for (int i = 0; i < paletteSize; i++) {
+            palette[i] = buffer.getInt();
+        }
+        long[] data = null;
+        if (bits != 0) {
+            int perLong = 64 / bits;
+            data = new long[(SIZE + perLong - 1) / perLong];
+            for (int i = 0; i < data.length; i++) {
+                data[i] = buffer.getLong();
+            }
+        }
+        return new SnapshotSection(palette, paletteSize, bits, data);
+    }
+
+    /**
+     * Reads the state of a single block from a section written by {@link #write(DataOutput)}, without reading the rest of the section.
+     * @param buffer The buffer to read from. Its position is not changed.
+     * @param offset The offset of the section within the buffer.
+     * @param index The index of the block, see {@link #index(int, int, int)}.
+     * @return The encoded state of the block.
+     */
+    public static int readState(ByteBuffer buffer, int offset, int index) {
+        int paletteSize = buffer.getShort(offset) & 0xFFFF;
+        int bits = buffer.get(offset + 2);
+        int paletteOffset = offset + 3;
+        if (bits == 0) {
+            return buffer.getInt(paletteOffset);
+        }
+        int perLong = 64 / bits;
+        long word = buffer.getLong(paletteOffset + (paletteSize * 4) + ((index / perLong) * 8));
+        int shift = (index % perLong) * bits;
+        return buffer.getInt(paletteOffset + ((int) ((word >>> shift) & ((1L << bits) - 1)) * 4));
+    }
+
+    //Internals
+    private int paletteIndexOf(int state) {
+        if (state == lastState) {
+            return lastPaletteIndex;
+        }
+        for (int i = 0; i < paletteSize; i++) {
+            if (palette[i] == state) {
+                lastState = state;
+                lastPaletteIndex = i;
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    private int addToPalette(int state) {
+        if (paletteSize == palette.length) {
+            int[] grown = new int[palette.length * 2];
+            System.arraycopy(palette, 0, grown, 0, paletteSize);
+            palette = grown;
+        }
+        int paletteIndex = paletteSize;
+        palette[paletteSize++] = state;
+        if (paletteSize > (1 << bits)) {
+            resize(bitsFor(paletteSize));
+        }
+        lastState = state;
+        lastPaletteIndex = paletteIndex;
+        return paletteIndex;
+    }
+
+    private void resize(int newBits) {
+        int newPerLong = 64 / newBits;
+        long[] newData = new long[(SIZE + newPerLong - 1) / newPerLong];
+        if (bits != 0) {
+            int perLong = 64 / bits;
+            long oldMask = (1L << bits) - 1;
+            for (int i = 0; i < SIZE; i++) {
+                long paletteIndex = (data[i / perLong] >>> ((i % perLong) * bits)) & oldMask;
+                newData[i / newPerLong] |= paletteIndex << ((i % newPerLong) * newBits);
+            }
+        }
+        bits = newBits;
+        data = newData;
+    }
+
+    private static int bitsFor(int size) {
+        return Math.max(1, 32 - Integer.numberOfLeadingZeros(size - 1));
+    }
+}
@@ -0,0 +1,32 @@
+package com.cloudcraftgaming.novagameslib.api.regeneration;
+
+/**
+ * Website: www.cloudcraftgaming.com
+ * For Project: NovaGamesLib-Bukkit
+ * <br> <br>
+ * A {@link RegenerationStep} consisting of a single task that is run in one go.
+ */
+class TaskStep extends RegenerationStep {
+    private final Runnable task;
+    private boolean done = false;
+
+    TaskStep(Runnable _task) {
+        task = _task;
+    }
+
+    @Override
+    public boolean hasNext() {
+        return !done;
+    }
+
+    @Override
+    protected void process() {
+        done = true;
+        task.run();
+    }
+
+    @Override
+    public long getTotalWork() {
+        return 1;
+    }
+}
@@ -0,0 +1,137 @@
+package com.cloudcraftgaming.novagameslib.api.regeneration;
+
+import com.cloudcraftgaming.novagameslib.api.region.Cuboid;
+import org.bukkit.Material;
+
+import java.util.Arrays;
+
+/**
+ * Website: www.cloudcraftgaming.com
+ * For Project: NovaGamesLib-Bukkit
+ * <br> <br>
+ * The positions of every openable block (doors, trapdoors, fence gates) and every container within a regen area.
+ * Built once when the arena is saved, so resetting doors and clearing containers only visits these positions
+ * instead of every block in the regen area.
+ * <br> <br>
+ * Positions are packed the same way as in a {@link ChangeJournal}, see {@link ChangeJournal#position(int, int, int)}.
+ */
+@SuppressWarnings({"unused", "WeakerAccess", "deprecation"})
+public class TileEntityIndex {
+    private static boolean[] openableIds;
+
+    private final String worldName;
+    private final int minX, minY, minZ, maxX, maxY, maxZ;
+
+    private long[] openables = new long[16];
+    private int openableCount = 0;
+    private long[] containers = new long[16];
+    private int containerCount = 0;
+
+    TileEntityIndex(Cuboid area) {
+        worldName = area.getWorld().getName();
+        minX = area.getLowerX();
+        minY = area.getLowerY();
+        minZ = area.getLowerZ();
+        maxX = area.getUpperX();
+        maxY = area.getUpperY();
+        maxZ = area.getUpperZ();
+    }
+
+    //Booleans/Checkers
+    /**
+     * Checks whether or not every block of the specified area was indexed.
+     * @param area The area to check.
+     * @return <code>true</code> if the area is within the indexed area, else <code>false</code>.
+     */
+    public boolean covers(Cuboid area) {
+        return area.getWorld().getName().equals(worldName)
+                && area.getLowerX() >= minX && area.getLowerY() >= minY && area.getLowerZ() >= minZ
+                && area.getUpperX() <= maxX && area.getUpperY() <= maxY && area.getUpperZ() <= maxZ;
+    }
+
+    //Getters
+    /**
+     * Gets the name of the world the indexed blocks are in.
+     * @return The name of the world.
+     */
+    public String getWorldName() {
+        return worldName;
+    }
+
+    /**
+     * Gets the amount of openable blocks indexed.
+     * @return The amount of openable blocks.
+     */
+    public int getOpenableCount() {
+        return openableCount;
+    }
+
+    /**
+     * Gets the packed position of an openable block.
+     * @param index The index of the block, from <code>0</code> to {@link #getOpenableCount()}.
+     * @return The packed position of the block.
+     */
+    public long getOpenable(int index) {
+        return openables[index];
+    }
+
+    /**
+     * Gets the amount of container blocks indexed.
+     * @return The amount of container blocks.
+     */
+    public int getContainerCount() {
+        return containerCount;
+    }
+
+    /**
+     * Gets the packed position of a container block.
+     * @param index The index of the block, from <code>0</code> to {@link #getContainerCount()}.
+     * @return The packed position of the block.
+     */
+    public long getContainer(int index) {
+        return containers[index];
+    }
+
+    //Internals
+    synchronized long[] getOpenablePositions() {
+        return Arrays.copyOf(openables, openableCount);
+    }
+
+    synchronized long[] getContainerPositions() {
+        return Arrays.copyOf(containers, containerCount);
+    }
+
+    synchronized void addOpenable(int x, int y, int z) {
+        if (openableCount == openables.length) {
+            openables = Arrays.copyOf(openables, openableCount * 2);
+        }
+        openables[openableCount++] = ChangeJournal.position(x, y, z);
+    }
+
+    synchronized void addContainer(int x, int y, int z) {
+        if (containerCount == containers.length) {
+            containers = Arrays.copyOf(containers, containerCount * 2);
+        }
+        containers[containerCount++] = ChangeJournal.position(x, y, z);
+    }
+
+    /**
+     * Checks whether or not a block type id is openable, without looking up its {@link Material}.
+     * Safe to call from worker threads.
+     * @param typeId The block type id.
+     * @return <code>true</code> if openable, else <code>false</code>.
+     */
+    static boolean isOpenable(int typeId) {
+        boolean[] ids = openableIds;
+        if (ids == null) {
+            ids = new boolean[4096];
+            for (Material mat : Material.values()) {
+                if (mat.getId() >= 0 && mat.getId() < ids.length && Regenerator.isOpenable(mat)) {
+                    ids[mat.getId()] = true;
+                }
+            }
+            openableIds = ids;
+        }
+        return typeId >= 0 && typeId < ids.length && ids[typeId];
+    }
+}
@@ -0,0 +1,269 @@
+package com.cloudcraftgaming.novagameslib.api.regeneration;
+
+import com.cloudcraftgaming.novagameslib.api.utils.FileUtils;
+
+import java.io.*;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Website: www.cloudcraftgaming.com
+ * For Project: NovaGamesLib-Bukkit
+ * <br> <br>
+ * Backs up and restores world folders file by file, using a manifest of each file's size, modification time and SHA-1 checksum.
+ * The files themselves are kept in a {@link WorldBackupStore}, named by their checksum,
+ * so identical files are only stored once no matter how many backups contain them.
+ * Only files that actually changed are copied, so region files untouched by a game are never rewritten.
+ * <br> <br>
+ * Each manifest line is: <code>checksum size lastModified relative/path</code>
+ */
+@SuppressWarnings({"unused", "WeakerAccess", "ResultOfMethodCallIgnored"})
+public class WorldBackup {
+    private final File worldFolder;
+    private final File manifestFile;
+    private final LinkedHashMap<String, Entry> entries = new LinkedHashMap<>();
+    private final Set<String> replaced = new HashSet<>();
+
+    private int filesCopied = 0;
+    private long bytesCopied = 0;
+
+    /**
+     * Creates a new world backup.
+     * @param _worldFolder The folder of the world.
+     * @param _manifestFile The manifest file of the backup.
+     */
+    public WorldBackup(File _worldFolder, File _manifestFile) {
+        worldFolder = _worldFolder;
+        manifestFile = _manifestFile;
+    }
+
+    //Booleans/Checkers
+    /**
+     * Checks whether or not a backup with a manifest exists.
+     * @return <code>true</code> if the backup can be restored by file, else <code>false</code>.
+     */
+    public boolean exists() {
+        return manifestFile.exists();
+    }
+
+    //Getters
+    /**
+     * Gets the manifest file of the backup.
+     * @return The manifest file of the backup.
+     */
+    public File getManifestFile() {
+        return manifestFile;
+    }
+
+    /**
+     * Gets the amount of files copied by the last restore, or the amount of changed files stored by the last backup.
+     * @return The amount of files copied.
+     */
+    public int getFilesCopied() {
+        return filesCopied;
+    }
+
+    /**
+     * Gets the amount of bytes copied by the last backup or restore.
+     * @return The amount of bytes copied.
+     */
+    public long getBytesCopied() {
+        return bytesCopied;
+    }
+
+    /**
+     * Gets the checksums of stored files the last backup no longer refers to, because the files changed or were removed.
+     * Other backups may still refer to them, see {@link WorldBackupStore#collectGarbage(Set)}.
+     * @return The checksums of replaced files.
+     */
+    public Set<String> getReplacedChecksums() {
+        return replaced;
+    }
+
+    //Functionals
+    /**
+     * Updates the backup from the world folder. Only files not already in the store are copied.
+     * When this returns, every file and the manifest have been synced to disk.
+     * The world should be saved before this is called.
+     * @throws IOException If a file could not be copied or the manifest could not be written.
+     */
+    public void backup() throws IOException {
+        filesCopied = 0;
+        bytesCopied = 0;
+        replaced.clear();
+        loadManifest();
+        LinkedHashMap<String, Entry> current = new LinkedHashMap<>();
+        backupFolder(worldFolder, "", current);
+        for (Entry entry : entries.values()) {
+            replaced.add(entry.checksum);
+        }
+        entries.clear();
+        entries.putAll(current);
+        saveManifest();
+        for (Entry entry : entries.values()) {
+            replaced.remove(entry.checksum);
+        }
+    }
+
+    /**
+     * Restores the world folder from the backup. Only files that differ from the backup are copied.
+     * Region files created since the backup are deleted. The world must be unloaded.
+     * @throws IOException If a file could not be copied, or the manifest or a stored file is missing.
+     */
+    public void restore() throws IOException {
+        filesCopied = 0;
+        bytesCopied = 0;
+        loadManifest();
+        for (Map.Entry<String, Entry> e : entries.entrySet()) {
+            File live = new File(worldFolder, e.getKey());
+            Entry entry = e.getValue();
+            if (live.exists() && entry.matches(live)) {
+                continue;
+            }
+            File stored = WorldBackupStore.getObjectFile(entry.checksum);
+            if (!stored.exists()) {
+                throw new FileNotFoundException("Backup store is missing " + entry.checksum + " for " + e.getKey());
+            }
+            live.getParentFile().mkdirs();
+            FileUtils.copyFile(stored, live);
+            live.setLastModified(entry.lastModified);
+            filesCopied++;
+            bytesCopied += entry.size;
+        }
+        removeNewRegions(worldFolder, "");
+    }
+
+    /**
+     * Deletes the manifest of the backup. Stored files are left for {@link WorldBackupStore#collectGarbage()}.
+     */
+    public void delete() {
+        manifestFile.delete();
+        entries.clear();
+    }
+
+    /**
+     * Adds the checksum of every file in the backup to the specified set.
+     * @param checksums The set to add to.
+     * @throws IOException If the manifest could not be read.
+     */
+    void addChecksums(Set<String> checksums) throws IOException {
+        loadManifest();
+        for (Entry entry : entries.values()) {
+            checksums.add(entry.checksum);
+        }
+    }
+
+    //Internals
+    private void backupFolder(File folder, String prefix, Map<String, Entry> current) throws IOException {
+        String[] names = folder.list();
+        if (names == null) {
+            return;
+        }
+        for (String name : names) {
+            File file = new File(folder, name);
+            String path = prefix + name;
+            if (file.isDirectory()) {
+                backupFolder(file, path + "/", current);
+                continue;
+            }
+            if (name.equals("session.lock")) {
+                continue;
+            }
+            Entry entry = entries.get(path);
+            if (entry == null || file.length() != entry.size || file.lastModified() != entry.lastModified
+                    || !WorldBackupStore.getObjectFile(entry.checksum).exists()) {
+                long size = file.length();
+                long lastModified = file.lastModified();
+                String checksum = WorldBackupStore.store(file);
+                filesCopied++;
+                bytesCopied += size;
+                entry = new Entry(checksum, size, lastModified);
+            }
+            current.put(path, entry);
+        }
+    }
+
+    private void removeNewRegions(File folder, String prefix) {
+        String[] names = folder.list();
+        if (names == null) {
+            return;
+        }
+        for (String name : names) {
+            File file = new File(folder, name);
+            String path = prefix + name;
+            if (file.isDirectory()) {
+                removeNewRegions(file, path + "/");
+            } else if (name.endsWith(".mca") && !entries.containsKey(path)) {
+                file.delete();
+            }
+        }
+    }
+
+    private void loadManifest() throws IOException {
+        entries.clear();
+        if (!manifestFile.exists()) {
+            return;
+        }
+        BufferedReader reader = new BufferedReader(new InputStreamReader(new FileInputStream(manifestFile), "UTF-8"));
+        try {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                String[] parts = line.split(" ", 4);
+                if (parts.length == 4) {
+                    entries.put(parts[3], new Entry(parts[0], Long.parseLong(parts[1]), Long.parseLong(parts[2])));
+                }
+            }
+        } finally {
+            reader.close();
+        }
+    }
+
+    private void saveManifest() throws IOException {
+        manifestFile.getParentFile().mkdirs();
+        //Written beside the old manifest and renamed over it, so a crash never leaves half a manifest.
+        File temp = new File(manifestFile.getPath() + ".tmp");
+        FileOutputStream out = new FileOutputStream(temp);
+        try {
+            Writer writer = new BufferedWriter(new OutputStreamWriter(out, "UTF-8"));
+            for (Map.Entry<String, Entry> e : entries.entrySet()) {
+                Entry entry = e.getValue();
+                writer.write(entry.checksum + " " + entry.size + " " + entry.lastModified + " " + e.getKey() + "\n");
+            }
+            writer.flush();
+            out.getFD().sync();
+        } finally {
+            out.close();
+        }
+        WorldBackupStore.replace(temp, manifestFile);
+    }
+
+    /**
+     * The recorded state of a single file in the backup.
+     */
+    private static class Entry {
+        private final String checksum;
+        private final long size;
+        private final long lastModified;
+
+        Entry(String _checksum, long _size, long _lastModified) {
+            checksum = _checksum;
+            size = _size;
+            lastModified = _lastModified;
+        }
+
+        /**
+         * Checks whether or not a file matches this entry, comparing checksums only when the size and time do not settle it.
+         */
+        boolean matches(File file) throws IOException {
+            if (file.length() != size) {
+                return false;
+            }
+            if (file.lastModified() == lastModified) {
+                return true;
+            }
+            return FileUtils.checksum(file).equals(checksum);
+        }
+    }
+}
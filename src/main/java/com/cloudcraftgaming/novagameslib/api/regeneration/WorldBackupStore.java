@@ -0,0 +1,243 @@
+package com.cloudcraftgaming.novagameslib.api.regeneration;
+
+import com.cloudcraftgaming.novagameslib.NovaGamesLib;
+
+import java.io.*;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HashSet;
+import java.util.Set;
+import java.util.concurrent.*;
+
+/**
+ * Website: www.cloudcraftgaming.com
+ * For Project: NovaGamesLib-Bukkit
+ * <br> <br>
+ * The content-addressed store that {@link WorldBackup}s keep their files in.
+ * Every file is stored once under <code>Arenas/Worlds/objects</code>, named by its SHA-1 checksum,
+ * so region files shared by several arenas or left unchanged between games take no extra space.
+ * <br> <br>
+ * All backup and restore work runs on a single background thread, one task at a time,
+ * so manifests are never read while another task is writing them.
+ */
+@SuppressWarnings({"unused", "WeakerAccess", "ResultOfMethodCallIgnored"})
+public class WorldBackupStore {
+    private static final int COPY_ATTEMPTS = 3;
+
+    private static ExecutorService executor;
+
+    private WorldBackupStore() {} //Prevent initialization.
+
+    //Getters
+    /**
+     * Gets the folder that world backups are kept in.
+     * @return The folder that world backups are kept in.
+     */
+    public static File getFolder() {
+        return new File(NovaGamesLib.plugin.getDataFolder() + "/Arenas/Worlds");
+    }
+
+    /**
+     * Gets the manifest file for the backup of a world.
+     * @param worldName The name of the world.
+     * @return The manifest file of the world's backup.
+     */
+    public static File getManifestFile(String worldName) {
+        return new File(getFolder(), worldName + ".manifest");
+    }
+
+    /**
+     * Gets the file that content with the specified checksum is stored in.
+     * @param checksum The SHA-1 checksum of the content.
+     * @return The file the content is stored in, which may not exist.
+     */
+    public static File getObjectFile(String checksum) {
+        return new File(getFolder(), "objects" + File.separator + checksum.substring(0, 2) + File.separator + checksum);
+    }
+
+    //Functionals
+    /**
+     * Queues a task on the backup thread.
+     * @param task The task to run.
+     * @param <T> The result of the task.
+     * @return The pending result of the task.
+     */
+    public static synchronized <T> Future<T> submit(Callable<T> task) {
+        if (executor == null) {
+            executor = Executors.newSingleThreadExecutor(new ThreadFactory() {
+                @Override
+                public Thread newThread(Runnable r) {
+                    Thread thread = new Thread(r, "NovaGamesLib World Backup");
+                    thread.setDaemon(true);
+                    return thread;
+                }
+            });
+        }
+        return executor.submit(task);
+    }
+
+    /**
+     * Deletes every stored file that no manifest refers to anymore.
+     * Should only be called from the backup thread, see {@link #submit(Callable)}.
+     * @return The amount of files deleted.
+     * @throws IOException If a manifest could not be read.
+     */
+    public static int collectGarbage() throws IOException {
+        int deleted = 0;
+        Set<String> referenced = getReferencedChecksums();
+        File[] buckets = new File(getFolder(), "objects").listFiles();
+        if (buckets == null) {
+            return 0;
+        }
+        for (File bucket : buckets) {
+            File[] objects = bucket.listFiles();
+            if (objects == null) {
+                continue;
+            }
+            for (File object : objects) {
+                if (!referenced.contains(object.getName())) {
+                    object.delete();
+                    deleted++;
+                }
+            }
+        }
+        return deleted;
+    }
+
+    /**
+     * Deletes the specified stored files, unless a manifest still refers to them.
+     * Used once a backup replaces its manifest, so only the files it let go of are looked at.
+     * Should only be called from the backup thread, see {@link #submit(Callable)}.
+     * @param checksums The checksums of the files to delete, such as {@link WorldBackup#getReplacedChecksums()}.
+     * @return The amount of files deleted.
+     * @throws IOException If a manifest could not be read.
+     */
+    public static int collectGarbage(Set<String> checksums) throws IOException {
+        if (checksums.isEmpty()) {
+            return 0;
+        }
+        int deleted = 0;
+        Set<String> referenced = getReferencedChecksums();
+        for (String checksum : checksums) {
+            if (!referenced.contains(checksum) && getObjectFile(checksum).delete()) {
+                deleted++;
+            }
+        }
+        return deleted;
+    }
+
+    /**
+     * Stops the backup thread, waiting for queued backups to be written. Called by NovaGamesLib on disable.
+     */
+    public static synchronized void shutdown() {
+        if (executor != null) {
+            executor.shutdown();
+            try {
+                if (!executor.awaitTermination(60, TimeUnit.SECONDS)) {
+                    NovaGamesLib.plugin.getLogger().warning("Timed out waiting for world backups to finish!");
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            executor = null;
+        }
+    }
+
+    //Internals
+    private static Set<String> getReferencedChecksums() throws IOException {
+        File[] manifests = getFolder().listFiles(new FilenameFilter() {
+            @Override
+            public boolean accept(File dir, String name) {
+                return name.endsWith(".manifest");
+            }
+        });
+        Set<String> referenced = new HashSet<>();
+        if (manifests != null) {
+            for (File manifest : manifests) {
+                new WorldBackup(null, manifest).addChecksums(referenced);
+            }
+        }
+        return referenced;
+    }
+
+    /**
+     * Adds a file to the store, unless content with the same checksum is already stored.
+     * The file is checksummed while being copied, so it is only read once.
+     * Should the file change while being copied, the copy is retried.
+     * @param file The file to store.
+     * @return The checksum the file is stored under.
+     * @throws IOException If the file could not be copied, or was still changing after the last attempt.
+     */
+    static String store(File file) throws IOException {
+        File temp = new File(getFolder(), "objects" + File.separator + "incoming.tmp");
+        temp.getParentFile().mkdirs();
+        for (int attempt = 1; ; attempt++) {
+            long size = file.length();
+            long lastModified = file.lastModified();
+            String checksum = copyAndChecksum(file, temp);
+            if (file.length() != size || file.lastModified() != lastModified) {
+                if (attempt < COPY_ATTEMPTS) {
+                    continue;
+                }
+                //Never store a copy that may be half written, the backup fails instead.
+                temp.delete();
+                throw new IOException(file.getName() + " kept changing while being copied");
+            }
+            File object = getObjectFile(checksum);
+            if (object.exists()) {
+                temp.delete();
+            } else {
+                object.getParentFile().mkdirs();
+                replace(temp, object);
+            }
+            return checksum;
+        }
+    }
+
+    /**
+     * Moves a file over another, replacing it in one step where the file system allows.
+     * @param src The file to move.
+     * @param dest The file to replace.
+     * @throws IOException If the file could not be moved.
+     */
+    static void replace(File src, File dest) throws IOException {
+        if (!src.renameTo(dest)) {
+            //Some platforms cannot rename over an existing file.
+            dest.delete();
+            if (!src.renameTo(dest)) {
+                throw new IOException("Failed to move " + src + " to " + dest);
+            }
+        }
+    }
+
+    private static String copyAndChecksum(File src, File dest) throws IOException {
+        MessageDigest digest;
+        try {
+            digest = MessageDigest.getInstance("SHA-1");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IOException(e);
+        }
+        InputStream in = new FileInputStream(src);
+        try {
+            FileOutputStream out = new FileOutputStream(dest);
+            try {
+                byte[] buffer = new byte[65536];
+                int length;
+                while ((length = in.read(buffer)) > 0) {
+                    digest.update(buffer, 0, length);
+                    out.write(buffer, 0, length);
+                }
+                out.getFD().sync();
+            } finally {
+                out.close();
+            }
+        } finally {
+            in.close();
+        }
+        StringBuilder hex = new StringBuilder();
+        for (byte b : digest.digest()) {
+            hex.append(Character.forDigit((b >> 4) & 0xF, 16)).append(Character.forDigit(b & 0xF, 16));
+        }
+        return hex.toString();
+    }
+}
@@ -167,6 +167,15 @@ public class Cuboid implements Iterable<Block>, Cloneable, ConfigurationSerializ
         return new Location(this.getWorld(), this.getLowerX() + (x1 - this.getLowerX()) / 2.0, this.getLowerY() + (y1 - this.getLowerY()) / 2.0, this.getLowerZ() + (z1 - this.getLowerZ()) / 2.0);
     }
 
+    /**
+     * Get the name of the Cuboid's world. Unlike {@link #getWorld()}, the world does not need to be loaded.
+     *
+     * @return The name of this Cuboid's world
+     */
+    public String getWorldName() {
+        return this.worldName;
+    }
+
     /**
      * Get the Cuboid's world.
      *
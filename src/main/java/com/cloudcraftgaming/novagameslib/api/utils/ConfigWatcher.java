@@ -0,0 +1,220 @@
+package com.cloudcraftgaming.novagameslib.api.utils;
+
+import com.cloudcraftgaming.novagameslib.NovaGamesLib;
+import com.cloudcraftgaming.novagameslib.api.arena.ArenaManager;
+import com.cloudcraftgaming.novagameslib.api.data.ArenaConfig;
+import com.cloudcraftgaming.novagameslib.api.data.ArenaDataManager;
+import com.cloudcraftgaming.novagameslib.api.data.ArenaStore;
+import org.bukkit.Bukkit;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.*;
+import java.util.HashSet;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+import static java.nio.file.StandardWatchEventKinds.*;
+
+/**
+ * Website: www.cloudcraftgaming.com
+ * For Project: NovaGamesLib-Bukkit
+ * <br> <br>
+ * Watches the arena configs and the messages file for changes made by hand, so they apply without a restart.
+ * Changed files are read again on the watcher's own thread once they have stopped changing for a moment,
+ * then the new settings are swapped in all at once through {@link ArenaDataManager#reloadArenaConfig(int)}
+ * and {@link MessageManager#reloadMessages()}. Loaded arenas are updated on the main thread, see {@link ArenaManager#applyConfig(ArenaConfig)}.
+ * Arena configs the plugin saved itself are not reloaded, whether still queued or already written by the {@link PersistenceQueue},
+ * so a reload never replaces newer settings with the ones just written.
+ * <br> <br>
+ * While the {@link ArenaStore} is open, arena configs are read from the store rather than their folders,
+ * so only the messages file is watched.
+ * <br> <br>
+ * Can be turned off in the config with <code>Storage.HotReload</code>.
+ */
+@SuppressWarnings({"unused", "WeakerAccess", "ResultOfMethodCallIgnored"})
+public class ConfigWatcher {
+    private static final long SETTLE_MILLIS = 250;
+
+    private static final ConcurrentHashMap<WatchKey, Path> folders = new ConcurrentHashMap<>();
+    private static WatchService service;
+    private static Thread thread;
+    private static Path arenasFolder;
+    private static Path messagesFile;
+
+    private ConfigWatcher() {} //Prevent initialization.
+
+    //Booleans/Checkers
+    /**
+     * Checks whether or not the watcher is running.
+     * @return <code>true</code> if running, else <code>false</code>.
+     */
+    public static synchronized boolean isRunning() {
+        return service != null;
+    }
+
+    //Functionals
+    /**
+     * Starts watching the arena configs and messages file. Called by NovaGamesLib on enable.
+     */
+    public static synchronized void start() {
+        if (service != null || !NovaGamesLib.plugin.getConfig().getBoolean("Storage.HotReload", true)) {
+            return;
+        }
+        File arenas = new File(NovaGamesLib.plugin.getDataFolder(), "Arenas");
+        arenas.mkdirs();
+        arenasFolder = arenas.toPath().toAbsolutePath().normalize();
+        messagesFile = MessageManager.getMessagesFile().toPath().toAbsolutePath().normalize();
+        try {
+            service = FileSystems.getDefault().newWatchService();
+            register(messagesFile.getParent());
+            //Arena folders are only read while the arena store is not in use.
+            if (!ArenaStore.isOpen()) {
+                register(arenasFolder);
+                File[] children = arenas.listFiles();
+                if (children != null) {
+                    for (File child : children) {
+                        if (child.isDirectory() && isArenaFolder(child.getName())) {
+                            register(child.toPath().toAbsolutePath().normalize());
+                        }
+                    }
+                }
+            }
+        } catch (IOException e) {
+            NovaGamesLib.plugin.getLogger().warning("Failed to watch configs for changes: " + e.getMessage());
+            stop();
+            return;
+        }
+        final WatchService watching = service;
+        thread = new Thread(new Runnable() {
+            @Override
+            public void run() {
+                watch(watching);
+            }
+        }, "NovaGamesLib Config Watcher");
+        thread.setDaemon(true);
+        thread.start();
+        if (FileManager.verbose()) {
+            NovaGamesLib.plugin.getLogger().info("Watching " + folders.size() + " folders for config changes");
+        }
+    }
+
+    /**
+     * Stops watching for changes. Called by NovaGamesLib on disable.
+     */
+    public static synchronized void stop() {
+        if (service != null) {
+            try {
+                service.close();
+            } catch (IOException ignore) {
+                //Closing anyway.
+            }
+            service = null;
+        }
+        if (thread != null) {
+            thread.interrupt();
+            thread = null;
+        }
+        folders.clear();
+    }
+
+    //Internals
+    private static void register(Path folder) throws IOException {
+        folders.put(folder.register(service, ENTRY_CREATE, ENTRY_MODIFY), folder);
+    }
+
+    private static boolean isArenaFolder(String name) {
+        try {
+            Integer.valueOf(name);
+            return true;
+        } catch (NumberFormatException e) {
+            return false;
+        }
+    }
+
+    /**
+     * Collects changed files until nothing has changed for {@link #SETTLE_MILLIS}, so a file being saved is read once it is complete.
+     * @param watching The service to take changes from.
+     */
+    private static void watch(WatchService watching) {
+        Set<Path> changed = new HashSet<>();
+        try {
+            while (true) {
+                WatchKey key = changed.isEmpty() ? watching.take() : watching.poll(SETTLE_MILLIS, TimeUnit.MILLISECONDS);
+                if (key == null) {
+                    for (Path path : changed) {
+                        reload(path);
+                    }
+                    changed.clear();
+                    continue;
+                }
+                Path folder = folders.get(key);
+                for (WatchEvent<?> event : key.pollEvents()) {
+                    if (folder == null || event.kind() == OVERFLOW) {
+                        continue;
+                    }
+                    Path path = folder.resolve((Path) event.context());
+                    if (folder.equals(arenasFolder)) {
+                        if (event.kind() == ENTRY_CREATE && Files.isDirectory(path) && isArenaFolder(path.getFileName().toString())) {
+                            synchronized (ConfigWatcher.class) {
+                                if (service == watching) {
+                                    register(path);
+                                }
+                            }
+                        }
+                    } else {
+                        changed.add(path);
+                    }
+                }
+                if (!key.reset()) {
+                    folders.remove(key);
+                }
+            }
+        } catch (InterruptedException | ClosedWatchServiceException e) {
+            //Stopped.
+        } catch (IOException e) {
+            NovaGamesLib.plugin.getLogger().warning("Stopped watching configs for changes: " + e.getMessage());
+        }
+    }
+
+    /**
+     * Reads a changed file again and swaps in what it holds.
+     * @param path The file that changed.
+     */
+    private static void reload(Path path) {
+        if (path.equals(messagesFile)) {
+            MessageManager.reloadMessages();
+            if (FileManager.verbose()) {
+                NovaGamesLib.plugin.getLogger().info("Reloaded messages after they were changed");
+            }
+            return;
+        }
+        Path folder = path.getParent();
+        if (!path.getFileName().toString().equals("config.yml") || folder == null || !arenasFolder.equals(folder.getParent())
+                || !isArenaFolder(folder.getFileName().toString())) {
+            return;
+        }
+        int id = Integer.valueOf(folder.getFileName().toString());
+        if (ArenaStore.isOpen() || !ArenaDataManager.arenaExists(id)) {
+            return;
+        }
+        File file = path.toFile();
+        if (PersistenceQueue.isPending(file) || PersistenceQueue.isLastWrite(file)) {
+            //Our own save, the cached config is already as new or newer.
+            return;
+        }
+        final ArenaConfig config = ArenaDataManager.reloadArenaConfig(id);
+        if (FileManager.debug()) {
+            NovaGamesLib.plugin.getLogger().info("Reloaded config of arena " + id + " after it was changed");
+        }
+        if (NovaGamesLib.plugin.isEnabled()) {
+            Bukkit.getScheduler().runTask(NovaGamesLib.plugin, new Runnable() {
+                @Override
+                public void run() {
+                    ArenaManager.getManager().applyConfig(config);
+                }
+            });
+        }
+    }
+}
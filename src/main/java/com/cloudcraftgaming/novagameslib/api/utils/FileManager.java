@@ -45,8 +45,35 @@ public class FileManager {
 
             plugin.getConfig().addDefault("Regeneration.Handle", true);
             plugin.getConfig().addDefault("Regeneration.Save.ToMemory", false);
+            plugin.getConfig().addDefault("Regeneration.Save.ToDisk", false);
+            plugin.getConfig().addDefault("Regeneration.Save.OffHeap", false);
+            plugin.getConfig().addDefault("Regeneration.Save.PrepareOnStartup", false);
             plugin.getConfig().addDefault("Regeneration.Backup.World", true);
             plugin.getConfig().addDefault("Regeneration.Backup.AutoRemove", true);
+            plugin.getConfig().addDefault("Regeneration.Incremental.Enabled", false);
+            plugin.getConfig().addDefault("Regeneration.Incremental.BlocksPerTick", 5000);
+            plugin.getConfig().addDefault("Regeneration.Incremental.MillisPerTick", 10);
+            plugin.getConfig().addDefault("Regeneration.Scheduler.BlocksPerTick", 20000);
+            plugin.getConfig().addDefault("Regeneration.Scheduler.MillisPerTick", 20);
+            plugin.getConfig().addDefault("Regeneration.Journal.Enabled", false);
+            plugin.getConfig().addDefault("Regeneration.Entities.Track", false);
+            plugin.getConfig().addDefault("Regeneration.Containers.Restore", false);
+            plugin.getConfig().addDefault("Regeneration.Decorations.Restore", true);
+            plugin.getConfig().addDefault("Regeneration.Async.Enabled", true);
+            plugin.getConfig().addDefault("Regeneration.Priority.Enabled", false);
+            plugin.getConfig().addDefault("Regeneration.Priority.Radius", 8);
+            plugin.getConfig().addDefault("Regeneration.Fingerprints.Enabled", true);
+            plugin.getConfig().addDefault("Regeneration.Fingerprints.Verify", true);
+
+            plugin.getConfig().addDefault("Arenas.Pool.Default.Size", 1);
+            plugin.getConfig().addDefault("Arenas.Pool.Prepare", true);
+            plugin.getConfig().addDefault("Arenas.Grid.World", "arena_grid");
+            plugin.getConfig().addDefault("Arenas.Grid.Spacing", 512);
+            plugin.getConfig().addDefault("Arenas.Grid.Columns", 16);
+
+            plugin.getConfig().addDefault("Storage.WriteBehind", true);
+            plugin.getConfig().addDefault("Storage.HotReload", true);
+            plugin.getConfig().addDefault("Storage.ArenaStore", false);
 
             plugin.getConfig().addDefault("Stats.Track.Enabled", true);
             plugin.getConfig().addDefault("Stats.Track.Kills", true);
@@ -181,7 +208,7 @@ public class FileManager {
      * @return the plugin cache yml.
      */
     public static YamlConfiguration getPluginCacheYml() {
-        return YamlConfiguration.loadConfiguration(getPluginCacheFile());
+        return PersistenceQueue.load(getPluginCacheFile());
     }
 
     /**
@@ -197,7 +224,7 @@ public class FileManager {
      * @return the kits yml.
      */
     public static YamlConfiguration getKitsYml() {
-        return YamlConfiguration.loadConfiguration(getKitsFile());
+        return PersistenceQueue.load(getKitsFile());
     }
 
     //Savers
@@ -214,11 +241,7 @@ public class FileManager {
      * @param cache The instance of the cache to save.
      */
     public static void savePluginCache(YamlConfiguration cache) {
-        try {
-            cache.save(getPluginCacheFile());
-        } catch (IOException e) {
-            e.printStackTrace();
-        }
+        PersistenceQueue.save(cache, getPluginCacheFile());
     }
 
     /**
@@ -226,10 +249,6 @@ public class FileManager {
      * @param kitYml The instance of the kits file to save.
      */
     public static void saveKitFile(YamlConfiguration kitYml) {
-        try {
-            kitYml.save(getKitsFile());
-        } catch (IOException e) {
-            e.printStackTrace();
-        }
+        PersistenceQueue.save(kitYml, getKitsFile());
     }
 }
\ No newline at end of file
@@ -1,6 +1,9 @@
 package com.cloudcraftgaming.novagameslib.api.utils;
 
 import java.io.*;
+import java.nio.channels.FileChannel;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
 
 /**
  * Created by Nova Fox on 11/14/16.
@@ -26,20 +29,64 @@ public class FileUtils {
             }
         } else {
             //if file, then copy it
-            //Use bytes stream to support all file types
-            InputStream in = new FileInputStream(src);
-            OutputStream out = new FileOutputStream(dest);
+            copyFile(src, dest);
+        }
+    }
 
-            byte[] buffer = new byte[1024];
+    /**
+     * Copies a single file using channel transfers, letting the OS copy the data directly where it can.
+     * @param src The file to copy.
+     * @param dest The file to copy to. Any existing file is overwritten.
+     * @throws IOException If the file could not be copied.
+     */
+    public static void copyFile(File src, File dest) throws IOException {
+        FileInputStream in = new FileInputStream(src);
+        try {
+            FileOutputStream out = new FileOutputStream(dest);
+            try {
+                FileChannel inChannel = in.getChannel();
+                FileChannel outChannel = out.getChannel();
+                long size = inChannel.size();
+                long position = 0;
+                while (position < size) {
+                    position += inChannel.transferTo(position, size - position, outChannel);
+                }
+            } finally {
+                out.close();
+            }
+        } finally {
+            in.close();
+        }
+    }
 
+    /**
+     * Calculates the SHA-1 checksum of a file.
+     * @param file The file to check.
+     * @return The checksum as a lowercase hex string.
+     * @throws IOException If the file could not be read.
+     */
+    public static String checksum(File file) throws IOException {
+        MessageDigest digest;
+        try {
+            digest = MessageDigest.getInstance("SHA-1");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IOException(e);
+        }
+        InputStream in = new FileInputStream(file);
+        try {
+            byte[] buffer = new byte[65536];
             int length;
-            //copy the file content in bytes
-            while ((length = in.read(buffer)) > 0){
-                out.write(buffer, 0, length);
+            while ((length = in.read(buffer)) > 0) {
+                digest.update(buffer, 0, length);
             }
+        } finally {
             in.close();
-            out.close();
         }
+        StringBuilder hex = new StringBuilder();
+        for (byte b : digest.digest()) {
+            hex.append(Character.forDigit((b >> 4) & 0xF, 16)).append(Character.forDigit(b & 0xF, 16));
+        }
+        return hex.toString();
     }
 
     public static Boolean deleteFile(File pFile) {
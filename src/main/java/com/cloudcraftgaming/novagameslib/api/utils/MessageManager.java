@@ -15,6 +15,8 @@ import static com.cloudcraftgaming.novagameslib.NovaGamesLib.plugin;
  */
 @SuppressWarnings("WeakerAccess, unused")
 public class MessageManager {
+    private static volatile YamlConfiguration messages;
+
     /**
      * Creates the messages.yml. This should only be used by NovaGamesLib on enable.
      */
@@ -144,13 +146,37 @@ public class MessageManager {
         return YamlConfiguration.loadConfiguration(file);
     }
 
+    /**
+     * Gets the messages as last read from the messages file. Read once and then kept in memory,
+     * a new copy is swapped in whenever the file is saved or reloaded, see {@link #reloadMessages()}.
+     * <br> <br>
+     * The returned YML is shared and must not be changed, use {@link #getMessagesYml()} to edit the messages.
+     * @return The loaded messages.
+     */
+    public static YamlConfiguration getLoadedMessages() {
+        YamlConfiguration loaded = messages;
+        if (loaded == null) {
+            loaded = reloadMessages();
+        }
+        return loaded;
+    }
+
+    /**
+     * Gets the message at the specified location, with color codes untranslated.
+     * @param msgLoc The location of the message.
+     * @return The raw message, or <code>null</code> if not set.
+     */
+    public static String getRawMessage(String msgLoc) {
+        return getLoadedMessages().getString(msgLoc);
+    }
+
     /**
      * Gets the message from the messages file, with translated color codes, at the specified location.
      * @param msgLoc The location of the message.
      * @return The message with chat color codes translated.
      */
     public static String getMessage(String msgLoc) {
-        String msg = getMessagesYml().getString(msgLoc);
+        String msg = getRawMessage(msgLoc);
         return ChatColor.translateAlternateColorCodes('&', msg);
     }
 
@@ -161,11 +187,23 @@ public class MessageManager {
      * @return The message wil chat color codes translated and all %id% vars replaced.
      */
     public static String getMessage(String msgLoc, int id) {
-        String msgOr = getMessagesYml().getString(msgLoc);
+        String msgOr = getRawMessage(msgLoc);
         String msg = msgOr.replaceAll("%id%", String.valueOf(id));
         return ChatColor.translateAlternateColorCodes('&', msg);
     }
 
+    //Functionals
+    /**
+     * Reads the messages file again and swaps in the new messages.
+     * This does not touch the server, so it may be called off the main thread.
+     * @return The new messages.
+     */
+    public static YamlConfiguration reloadMessages() {
+        YamlConfiguration loaded = YamlConfiguration.loadConfiguration(getMessagesFile());
+        messages = loaded;
+        return loaded;
+    }
+
     /**
      * Saves the messages file.
      * @param msgYml The instance of the messages file to save.
@@ -173,6 +211,7 @@ public class MessageManager {
     public static void saveMessages(YamlConfiguration msgYml) {
         try {
             msgYml.save(getMessagesFile());
+            reloadMessages();
         } catch (IOException e) {
             plugin.getLogger().severe("Failed to save messages");
             e.printStackTrace();
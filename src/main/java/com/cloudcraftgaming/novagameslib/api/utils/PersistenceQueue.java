@@ -0,0 +1,283 @@
+package com.cloudcraftgaming.novagameslib.api.utils;
+
+import com.cloudcraftgaming.novagameslib.NovaGamesLib;
+import org.bukkit.configuration.InvalidConfigurationException;
+import org.bukkit.configuration.file.YamlConfiguration;
+
+import java.io.*;
+import java.nio.charset.Charset;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.util.concurrent.*;
+
+/**
+ * Website: www.cloudcraftgaming.com
+ * For Project: NovaGamesLib-Bukkit
+ * <br> <br>
+ * Writes YAML files on a single background thread so that saving never waits on the disk.
+ * A config is turned into text when it is saved, and only the newest text for each file is kept until it is written,
+ * so saving the same file several times in a row only writes it once.
+ * <br> <br>
+ * Files are written to a temporary file next to them and then renamed over the old one,
+ * so a crash never leaves a half written file behind. Until a file is written, {@link #load(File)} and
+ * {@link #exists(File)} see the saved text rather than what is on disk.
+ * <br> <br>
+ * Can be turned off in the config with <code>Storage.WriteBehind</code>, in which case every save is written straight away.
+ */
+@SuppressWarnings({"unused", "WeakerAccess", "ResultOfMethodCallIgnored"})
+public class PersistenceQueue {
+    private static final Charset UTF_8 = Charset.forName("UTF-8");
+
+    private static final ConcurrentHashMap<File, String> pending = new ConcurrentHashMap<>();
+    private static final ConcurrentHashMap<File, Integer> written = new ConcurrentHashMap<>();
+    private static final Object writeLock = new Object();
+    private static ExecutorService executor;
+
+    private PersistenceQueue() {} //Prevent initialization.
+
+    //Booleans/Checkers
+    /**
+     * Checks whether or not saves are written in the background.
+     * Saves are always written straight away while the plugin is disabled or disabling.
+     * @return <code>true</code> if written in the background, else <code>false</code>.
+     */
+    public static boolean isEnabled() {
+        return NovaGamesLib.plugin.isEnabled() && NovaGamesLib.plugin.getConfig().getBoolean("Storage.WriteBehind", true);
+    }
+
+    /**
+     * Checks whether or not a file exists, counting files that are saved but not yet written.
+     * @param file The file to check.
+     * @return <code>true</code> if it exists, else <code>false</code>.
+     */
+    public static boolean exists(File file) {
+        return pending.containsKey(file.getAbsoluteFile()) || file.exists();
+    }
+
+    /**
+     * Checks whether or not a file has been saved but not yet written.
+     * @param file The file to check.
+     * @return <code>true</code> if waiting to be written, else <code>false</code>.
+     */
+    public static boolean isPending(File file) {
+        return pending.containsKey(file.getAbsoluteFile());
+    }
+
+    /**
+     * Checks whether or not a file still holds the text this queue last wrote to it, meaning it has not been changed by hand since.
+     * Only a hash of the text is kept, so this reads the file to compare.
+     * @param file The file to check.
+     * @return <code>true</code> if unchanged since it was last written, else <code>false</code>.
+     */
+    public static boolean isLastWrite(File file) {
+        Integer hash = written.get(file.getAbsoluteFile());
+        if (hash == null) {
+            return false;
+        }
+        try {
+            return new String(Files.readAllBytes(file.toPath()), UTF_8).hashCode() == hash;
+        } catch (IOException e) {
+            return false;
+        }
+    }
+
+    //Getters
+    /**
+     * Gets the amount of files waiting to be written.
+     * @return The amount of pending files.
+     */
+    public static int getPendingCount() {
+        return pending.size();
+    }
+
+    /**
+     * Loads a YAML file, including any changes saved but not yet written.
+     * @param file The file to load.
+     * @return The loaded config, empty if the file does not exist.
+     */
+    public static YamlConfiguration load(File file) {
+        String data = pending.get(file.getAbsoluteFile());
+        if (data == null) {
+            return YamlConfiguration.loadConfiguration(file);
+        }
+        YamlConfiguration yml = new YamlConfiguration();
+        try {
+            yml.loadFromString(data);
+        } catch (InvalidConfigurationException e) {
+            e.printStackTrace();
+        }
+        return yml;
+    }
+
+    //Functionals
+    /**
+     * Saves a YAML file. The config is copied to text straight away, so it may be changed again afterwards.
+     * This must be called on the thread that owns the config, which is usually the main thread.
+     * @param yml The config to save.
+     * @param file The file to save it to.
+     */
+    public static void save(YamlConfiguration yml, File file) {
+        File target = file.getAbsoluteFile();
+        String data = yml.saveToString();
+        if (!isEnabled()) {
+            synchronized (writeLock) {
+                pending.remove(target);
+                try {
+                    write(target, data);
+                } catch (IOException e) {
+                    e.printStackTrace();
+                }
+            }
+            return;
+        }
+        if (pending.put(target, data) == null) {
+            submit(target);
+        }
+    }
+
+    /**
+     * Runs a task on the writer thread, after every file saved so far has been written.
+     * While saves are not written in the background, the task is run straight away instead.
+     * @param task The task to run.
+     */
+    public static void execute(Runnable task) {
+        if (!isEnabled()) {
+            task.run();
+            return;
+        }
+        submit(task);
+    }
+
+    /**
+     * Forgets any pending changes to a file, such as before it is deleted.
+     * @param file The file to forget.
+     */
+    public static void discard(File file) {
+        synchronized (writeLock) {
+            pending.remove(file.getAbsoluteFile());
+            written.remove(file.getAbsoluteFile());
+        }
+    }
+
+    /**
+     * Waits until every file saved so far has been written.
+     * This blocks the calling thread, so should only be used when the files must be on disk, such as before a backup.
+     */
+    public static void flush() {
+        Future<?> done;
+        synchronized (PersistenceQueue.class) {
+            if (executor == null) {
+                return;
+            }
+            done = executor.submit(new Runnable() {
+                @Override
+                public void run() {
+                    //Queued after every pending write.
+                }
+            });
+        }
+        try {
+            done.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (ExecutionException e) {
+            e.printStackTrace();
+        }
+    }
+
+    /**
+     * Writes every pending file and stops the writer thread. Called by NovaGamesLib on disable.
+     */
+    public static synchronized void shutdown() {
+        if (executor != null) {
+            executor.shutdown();
+            try {
+                if (!executor.awaitTermination(60, TimeUnit.SECONDS)) {
+                    NovaGamesLib.plugin.getLogger().warning("Timed out waiting for files to be saved!");
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            executor = null;
+        }
+        //Anything saved while shutting down is written here.
+        for (File file : pending.keySet()) {
+            writePending(file);
+        }
+        if (FileManager.verbose()) {
+            NovaGamesLib.plugin.getLogger().info("All pending files saved!");
+        }
+    }
+
+    //Internals
+    private static void submit(final File file) {
+        submit(new Runnable() {
+            @Override
+            public void run() {
+                writePending(file);
+            }
+        });
+    }
+
+    private static synchronized void submit(Runnable task) {
+        if (executor == null) {
+            executor = Executors.newSingleThreadExecutor(new ThreadFactory() {
+                @Override
+                public Thread newThread(Runnable r) {
+                    Thread thread = new Thread(r, "NovaGamesLib File Writer");
+                    thread.setDaemon(true);
+                    return thread;
+                }
+            });
+        }
+        executor.execute(task);
+    }
+
+    /**
+     * Writes the newest text for a file until no newer text has been saved in the meantime.
+     * @param file The file to write.
+     */
+    private static void writePending(File file) {
+        synchronized (writeLock) {
+            String data = pending.get(file);
+            while (data != null) {
+                try {
+                    write(file, data);
+                } catch (IOException e) {
+                    NovaGamesLib.plugin.getLogger().warning("Failed to save " + file.getPath() + ": " + e.getMessage());
+                }
+                if (pending.remove(file, data)) {
+                    return;
+                }
+                data = pending.get(file);
+            }
+        }
+    }
+
+    /**
+     * Writes text to a temporary file and renames it over the target.
+     * @param file The file to write.
+     * @param data The text to write.
+     * @throws IOException If the file could not be written.
+     */
+    private static void write(File file, String data) throws IOException {
+        File folder = file.getParentFile();
+        if (folder != null) {
+            folder.mkdirs();
+        }
+        File temp = new File(folder, file.getName() + ".tmp");
+        Writer writer = new OutputStreamWriter(new FileOutputStream(temp), UTF_8);
+        try {
+            writer.write(data);
+        } finally {
+            writer.close();
+        }
+        try {
+            Files.move(temp.toPath(), file.toPath(), StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (AtomicMoveNotSupportedException e) {
+            Files.move(temp.toPath(), file.toPath(), StandardCopyOption.REPLACE_EXISTING);
+        }
+        written.put(file, data.hashCode());
+    }
+}
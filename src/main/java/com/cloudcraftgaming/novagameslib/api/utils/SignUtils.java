@@ -1,10 +1,25 @@
 package com.cloudcraftgaming.novagameslib.api.utils;
 
 import com.cloudcraftgaming.novagameslib.NovaGamesLib;
+import com.cloudcraftgaming.novagameslib.api.arena.ArenaBase;
+import com.cloudcraftgaming.novagameslib.api.arena.ArenaManager;
+import com.cloudcraftgaming.novagameslib.api.arena.ArenaStatus;
+import com.cloudcraftgaming.novagameslib.api.data.ArenaDataManager;
+import com.cloudcraftgaming.novagameslib.api.regeneration.Regenerator;
+import org.bukkit.Bukkit;
 import org.bukkit.ChatColor;
+import org.bukkit.Location;
+import org.bukkit.World;
+import org.bukkit.block.BlockState;
 import org.bukkit.block.Sign;
 import org.bukkit.event.block.SignChangeEvent;
 
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashSet;
+import java.util.Set;
+
 /**
  * Created by Nova Fox on 11/15/16.
  * Website: www.cloudcraftgaming.com
@@ -12,6 +27,8 @@ import org.bukkit.event.block.SignChangeEvent;
  */
 @SuppressWarnings("WeakerAccess, unused")
 public class SignUtils {
+    private static final HashMap<Integer, Set<String>> joinSigns = new HashMap<>();
+
     /**
      * Creates a join sign for NovaGames.
      * @param event The SignChangeEvent to make a join sign on.
@@ -189,4 +206,96 @@ public class SignUtils {
         }
         return -1;
     }
+
+    /**
+     * Gets the status line to display on a join sign for the arena.
+     * While the arena is regenerating incrementally, this includes the regeneration progress.
+     * @param id The id of the arena.
+     * @return The status line for the arena's sign.
+     */
+    public static String getStatusLine(int id) {
+        if (!ArenaManager.getManager().arenaLoaded(id)) {
+            return ChatColor.DARK_RED + "Disabled";
+        }
+        ArenaBase arenaBase = ArenaManager.getManager().getArena(id);
+        if (arenaBase.getArenaStatus().equals(ArenaStatus.REGENERATING)) {
+            double progress = Regenerator.getRegenerationProgress(id);
+            if (progress >= 0) {
+                return ChatColor.GOLD + "Regen " + (int) (progress * 100) + "%";
+            }
+        }
+        return ChatColor.DARK_AQUA + arenaBase.getArenaStatus().name();
+    }
+
+    /**
+     * Updates the status line (the last line) of a join sign for the arena.
+     * @param sign The join sign to update.
+     * @param id The id of the arena.
+     */
+    public static void updateStatusLine(Sign sign, int id) {
+        sign.setLine(3, getStatusLine(id));
+        sign.update();
+    }
+
+    /**
+     * Remembers the location of a join sign for the arena, so its status line can be kept up to date.
+     * Locations are saved in the arena's config under <code>Signs.Join</code>.
+     * @param loc The location of the join sign.
+     * @param id The id of the arena.
+     */
+    public static void addJoinSign(Location loc, int id) {
+        if (id < 0 || loc.getWorld() == null || !ArenaDataManager.arenaExists(id)) {
+            return;
+        }
+        Set<String> signs = getJoinSigns(id);
+        if (signs.add(loc.getWorld().getName() + "," + loc.getBlockX() + "," + loc.getBlockY() + "," + loc.getBlockZ())) {
+            ArenaDataManager.edit(id).set("Signs.Join", new ArrayList<>(signs)).commit();
+        }
+    }
+
+    /**
+     * Updates the status line of every remembered join sign for the arena that is in a loaded chunk.
+     * Signs that have been broken or changed are forgotten.
+     * @param id The id of the arena.
+     */
+    public static void updateJoinSigns(int id) {
+        Set<String> signs = getJoinSigns(id);
+        boolean removed = false;
+        for (Iterator<String> it = signs.iterator(); it.hasNext();) {
+            String[] parts = it.next().split(",");
+            World world = Bukkit.getWorld(parts[0]);
+            if (world == null) {
+                continue;
+            }
+            int x = Integer.valueOf(parts[1]);
+            int y = Integer.valueOf(parts[2]);
+            int z = Integer.valueOf(parts[3]);
+            if (!world.isChunkLoaded(x >> 4, z >> 4)) {
+                continue;
+            }
+            BlockState state = world.getBlockAt(x, y, z).getState();
+            if (state instanceof Sign && isJoinSign((Sign) state) && getIdFromSign((Sign) state) == id) {
+                updateStatusLine((Sign) state, id);
+            } else {
+                it.remove();
+                removed = true;
+            }
+        }
+        if (removed && ArenaDataManager.arenaExists(id)) {
+            ArenaDataManager.edit(id).set("Signs.Join", new ArrayList<>(signs)).commit();
+        }
+    }
+
+    //Internals
+    private static Set<String> getJoinSigns(int id) {
+        Set<String> signs = joinSigns.get(id);
+        if (signs == null) {
+            signs = new LinkedHashSet<>();
+            if (ArenaDataManager.arenaExists(id)) {
+                signs.addAll(ArenaDataManager.getArenaConfigYml(id).getStringList("Signs.Join"));
+            }
+            joinSigns.put(id, signs);
+        }
+        return signs;
+    }
 }
\ No newline at end of file
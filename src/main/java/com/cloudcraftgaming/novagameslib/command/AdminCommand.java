@@ -34,7 +34,7 @@ public class AdminCommand {
                     player.sendMessage(MessageManager.getMessage("Command.Create", id));
                 } else if (type.equalsIgnoreCase("tool") || type.equalsIgnoreCase("arenaTool")) {
                     PlayerDataManager.setArenaToolEnabled(player, !PlayerDataManager.hasArenaToolEnabled(player));
-                    String msgOr = MessageManager.getMessagesYml().getString("Command.Tool");
+                    String msgOr = MessageManager.getRawMessage("Command.Tool");
                     String msg = msgOr.replaceAll("%value%", String.valueOf(PlayerDataManager.hasArenaToolEnabled(player)));
                     player.sendMessage(ChatColor.translateAlternateColorCodes('&', msg));
                 } else {
@@ -1,13 +1,18 @@
 package com.cloudcraftgaming.novagameslib.command;
 
 import com.cloudcraftgaming.novagameslib.api.data.ArenaDataManager;
+import com.cloudcraftgaming.novagameslib.api.data.ArenaEdit;
 import com.cloudcraftgaming.novagameslib.api.data.PlayerDataManager;
 import com.cloudcraftgaming.novagameslib.api.team.Team;
 import com.cloudcraftgaming.novagameslib.api.utils.MessageManager;
 import org.bukkit.ChatColor;
+import org.bukkit.GameMode;
 import org.bukkit.Location;
 import org.bukkit.entity.Player;
 
+import java.util.ArrayList;
+import java.util.List;
+
 /**
  * Created by Nova Fox on 12/24/2016.
  * Website: www.cloudcraftgaming.com
@@ -36,23 +41,23 @@ public class SetCommand {
                     Integer id = Integer.valueOf(args[1]);
                     if (ArenaDataManager.arenaExists(id)) {
                         if (type.equalsIgnoreCase("lobby") || type.equalsIgnoreCase("LobbyLocation") || type.equalsIgnoreCase("LobbyPosition")) {
-                            ArenaDataManager.setLobbyLocation(id, player.getLocation());
+                            ArenaDataManager.edit(id).setLobbyLocation(player.getLocation()).commit();
                             player.sendMessage(MessageManager.getMessage("Command.Set.Lobby", id));
                         } else if (type.equalsIgnoreCase("end") || type.equalsIgnoreCase("endLocation") || type.equalsIgnoreCase("EndPosition")) {
-                            ArenaDataManager.setEndLocation(id, player.getLocation());
+                            ArenaDataManager.edit(id).setEndLocation(player.getLocation()).commit();
                             player.sendMessage(MessageManager.getMessage("Command.Set.End", id));
                         } else if (type.equalsIgnoreCase("quit") || type.equalsIgnoreCase("QuitLocation") || type.equalsIgnoreCase("QuitPosition")) {
-                            ArenaDataManager.setQuitLocation(id, player.getLocation());
+                            ArenaDataManager.edit(id).setQuitLocation(player.getLocation()).commit();
                             player.sendMessage(MessageManager.getMessage("Command.Set.Quit", id));
                         } else if (type.equalsIgnoreCase("spectate") || type.equalsIgnoreCase("spectateLocation")
                                 || type.equalsIgnoreCase("SpectatePosition")) {
-                            ArenaDataManager.setSpectateLocation(id, player.getLocation());
+                            ArenaDataManager.edit(id).setSpectateLocation(player.getLocation()).commit();
                             player.sendMessage(MessageManager.getMessage("Command.Set.Spectate", id));
                         } else if (type.equalsIgnoreCase("Spawn") || type.equalsIgnoreCase("MainSpawn") || type.equalsIgnoreCase("SpawnOne")) {
-                            ArenaDataManager.setMainSpawn(id, player.getLocation());
+                            ArenaDataManager.edit(id).setMainSpawn(player.getLocation()).commit();
                             player.sendMessage(MessageManager.getMessage("Command.Set.Spawn.Main", id));
                         } else if (type.equals("SecondSpawn") || type.equalsIgnoreCase("SpawnTwo")) {
-                            ArenaDataManager.setSecondarySpawn(id, player.getLocation());
+                            ArenaDataManager.edit(id).setSecondarySpawn(player.getLocation()).commit();
                             player.sendMessage(MessageManager.getMessage("Command.Set.Spawn.Secondary", id));
                         } else if (type.equalsIgnoreCase("regen") || type.equalsIgnoreCase("RegenArea")) {
                             setRegen(player, id);
@@ -65,163 +70,24 @@ public class SetCommand {
                 } catch (NumberFormatException e) {
                     player.sendMessage(MessageManager.getMessage("Notifications.Int.ArenaBase"));
                 }
-            } else if (args.length == 4) {
-                //base set <id> <type> <value>
-                String type = args[2];
-                String valueString = args[3];
+            } else if (args.length % 2 == 0) {
+                //base set <id> <type> <value> [<type> <value>]...
                 try {
                     Integer id = Integer.valueOf(args[1]);
                     if (ArenaDataManager.arenaExists(id)) {
-                        if (type.equalsIgnoreCase("minPlayers")) {
-                            try {
-                                Integer value = Integer.valueOf(valueString);
-                                ArenaDataManager.setMinPlayers(id, value);
-                                String msgOr = MessageManager.getMessagesYml().getString("Command.Set.MinPlayers");
-                                String msg = msgOr.replaceAll("%id%", String.valueOf(id)).replaceAll("%count%", valueString);
-                                player.sendMessage(ChatColor.translateAlternateColorCodes('&', msg));
-                            } catch (NumberFormatException e) {
-                                player.sendMessage(MessageManager.getMessage("Notifications.Int.MinPlayers"));
-                            }
-                        } else if (type.equalsIgnoreCase("maxPlayers")) {
-                            try {
-                                Integer value = Integer.valueOf(valueString);
-                                ArenaDataManager.setMaxPlayers(id, value);
-                                String msgOr = MessageManager.getMessagesYml().getString("Command.Set.MaxPlayers");
-                                String msg = msgOr.replaceAll("%id%", String.valueOf(id)).replaceAll("%count%", valueString);
-                                player.sendMessage(ChatColor.translateAlternateColorCodes('&', msg));
-                            } catch (NumberFormatException e) {
-                                player.sendMessage(MessageManager.getMessage("Notifications.Int.MaxPlayers"));
-                            }
-                        } else if (type.equalsIgnoreCase("minTeams")) {
-                            try {
-                                Integer value = Integer.valueOf(valueString);
-                                ArenaDataManager.setMinTeamCount(id, value);
-                                String msgOr = MessageManager.getMessagesYml().getString("Command.Set.MinTeams");
-                                String msg = msgOr.replaceAll("%id%", String.valueOf(id)).replaceAll("%count%", valueString);
-                                player.sendMessage(ChatColor.translateAlternateColorCodes('&', msg));
-                            } catch (NumberFormatException e) {
-                                player.sendMessage(MessageManager.getMessage("Notifications.Int.MinTeams"));
-                            }
-                        } else if (type.equalsIgnoreCase("maxTeams")) {
-                            try {
-                                Integer value = Integer.valueOf(valueString);
-                                ArenaDataManager.setMaxTeamCount(id, value);
-                                String msgOr = MessageManager.getMessagesYml().getString("Command.Set.MaxTeams");
-                                String msg = msgOr.replaceAll("%id%", String.valueOf(id)).replaceAll("%count%", valueString);
-                                player.sendMessage(ChatColor.translateAlternateColorCodes('&', msg));
-                            } catch (NumberFormatException e) {
-                                player.sendMessage(MessageManager.getMessage("Notifications.Int.MaxTeams"));
+                        //Every setting is saved at once, and only if all of them are valid.
+                        ArenaEdit edit = ArenaDataManager.edit(id);
+                        List<String> messages = new ArrayList<>();
+                        for (int i = 2; i < args.length; i += 2) {
+                            String message = applySetting(player, edit, id, args[i], args[i + 1]);
+                            if (message == null) {
+                                return;
                             }
-                        } else if (type.equalsIgnoreCase("displayName") || type.equalsIgnoreCase("name")) {
-                            ArenaDataManager.setDisplayName(id, valueString);
-                            String msgOr = MessageManager.getMessagesYml().getString("Command.Set.DisplayName");
-                            String msg = msgOr.replaceAll("%id%", String.valueOf(id)).replaceAll("%name%", valueString);
-                            player.sendMessage(ChatColor.translateAlternateColorCodes('&', msg));
-                        } else if (type.equalsIgnoreCase("Wait") || type.equalsIgnoreCase("waitDelay")) {
-                            try {
-                                Integer value = Integer.valueOf(valueString);
-                                ArenaDataManager.setWaitDelay(id, value);
-                                String msgOr = MessageManager.getMessagesYml().getString("Command.Set.Time.Wait");
-                                String msg = msgOr.replaceAll("%id%", String.valueOf(id)).replaceAll("%time%", valueString);
-                                player.sendMessage(ChatColor.translateAlternateColorCodes('&', msg));
-                            } catch (NumberFormatException e) {
-                                player.sendMessage(MessageManager.getMessage("Notifications.Int.Time"));
-                            }
-                        } else if (type.equalsIgnoreCase("Start") || type.equalsIgnoreCase("StartDelay")) {
-                            try {
-                                Integer value = Integer.valueOf(valueString);
-                                ArenaDataManager.setStartDelay(id, value);
-                                String msgOr = MessageManager.getMessagesYml().getString("Command.Set.Time.Start");
-                                String msg = msgOr.replaceAll("%id%", String.valueOf(id)).replaceAll("%time%", valueString);
-                                player.sendMessage(ChatColor.translateAlternateColorCodes('&', msg));
-                            } catch (NumberFormatException e) {
-                                player.sendMessage(MessageManager.getMessage("Notifications.Int.Time"));
-                            }
-                        } else if (type.equalsIgnoreCase("GameTime") || type.equalsIgnoreCase("GameLength")) {
-                            try {
-                                Integer value = Integer.valueOf(valueString);
-                                ArenaDataManager.setGameLength(id, value);
-                                String msgOr = MessageManager.getMessagesYml().getString("Command.Set.Time.Game");
-                                String msg = msgOr.replaceAll("%id%", String.valueOf(id)).replaceAll("%time%", valueString);
-                                player.sendMessage(ChatColor.translateAlternateColorCodes('&', msg));
-                            } catch (NumberFormatException e) {
-                                player.sendMessage(MessageManager.getMessage("Notifications.Int.Time"));
-                            }
-                        } else if (type.equalsIgnoreCase("DayLength") || type.equalsIgnoreCase("Day") || type.equalsIgnoreCase("DayTime")) {
-                            try {
-                                Integer value = Integer.valueOf(valueString);
-                                ArenaDataManager.setDayLength(id, value);
-                                String msgOr = MessageManager.getMessagesYml().getString("Command.Set.Time.Day");
-                                String msg = msgOr.replaceAll("%id%", String.valueOf(id)).replaceAll("%time%", valueString);
-                                player.sendMessage(ChatColor.translateAlternateColorCodes('&', msg));
-                            } catch (NumberFormatException e) {
-                                player.sendMessage(MessageManager.getMessage("Notifications.Int.Time"));
-                            }
-                        } else if (type.equalsIgnoreCase("NightLength") || type.equalsIgnoreCase("Night") || type.equalsIgnoreCase("NightTime")) {
-                            try {
-                                Integer value = Integer.valueOf(valueString);
-                                ArenaDataManager.setNightLength(id, value);
-                                String msgOr = MessageManager.getMessagesYml().getString("Command.Set.Time.Night");
-                                String msg = msgOr.replaceAll("%id%", String.valueOf(id)).replaceAll("%time%", valueString);
-                                player.sendMessage(ChatColor.translateAlternateColorCodes('&', msg));
-                            } catch (NumberFormatException e) {
-                                player.sendMessage(MessageManager.getMessage("Notifications.Int.Time"));
-                            }
-                        } else if (type.equalsIgnoreCase("TeamSpawn") || type.equalsIgnoreCase("TeamSpawnLocation")) {
-                            if (Team.exists(valueString)) {
-                                ArenaDataManager.setTeamSpawn(id, player.getLocation(), valueString);
-                                String msgOr = MessageManager.getMessagesYml().getString("Command.Set.Team.Spawn");
-                                String msg = msgOr.replaceAll("%team%", valueString).replaceAll("%id%", String.valueOf(id));
-                                player.sendMessage(ChatColor.translateAlternateColorCodes('&', msg));
-                            } else {
-                                player.sendMessage(MessageManager.getMessage("Notifications.Team.Invalid"));
-                            }
-                        } else if (type.equalsIgnoreCase("useTeams")) {
-                            Boolean value = Boolean.valueOf(valueString);
-                            ArenaDataManager.setUseTeams(id, value);
-                            String msgOr = MessageManager.getMessagesYml().getString("Command.Set.UseTeams");
-                            String msg = msgOr.replace("%value%", String.valueOf(value)).replaceAll("%id%", String.valueOf(id));
-                            player.sendMessage(ChatColor.translateAlternateColorCodes('&', msg));
-                        } else if (type.equalsIgnoreCase("hideNames")) {
-                            Boolean value = Boolean.valueOf(valueString);
-                            ArenaDataManager.setHideNames(id, value);
-                            String msgOr = MessageManager.getMessagesYml().getString("Command.Set.HideNames");
-                            String msg = msgOr.replace("%value%", String.valueOf(value)).replaceAll("%id%", String.valueOf(id));
-                            player.sendMessage(ChatColor.translateAlternateColorCodes('&', msg));
-                        } else if (type.equalsIgnoreCase("friendlyFire") || type.equalsIgnoreCase("allowFriendlyFire")) {
-                            Boolean value = Boolean.valueOf(valueString);
-                            ArenaDataManager.setAllowFriendlyFire(id, value);
-                            String msgOr = MessageManager.getMessagesYml().getString("Command.Set.FriendlyFire");
-                            String msg = msgOr.replace("%value%", String.valueOf(value)).replaceAll("%id%", String.valueOf(id));
-                            player.sendMessage(ChatColor.translateAlternateColorCodes('&', msg));
-                        } else if (type.equalsIgnoreCase("blockBreak") || type.equalsIgnoreCase("allowBlockBreak")) {
-                            Boolean value = Boolean.valueOf(valueString);
-                            ArenaDataManager.setAllowBlockBreak(id, value);
-                            String msgOr = MessageManager.getMessagesYml().getString("Command.Set.Block.Break");
-                            String msg = msgOr.replace("%value%", String.valueOf(value)).replaceAll("%id%", String.valueOf(id));
-                            player.sendMessage(ChatColor.translateAlternateColorCodes('&', msg));
-                        } else if (type.equalsIgnoreCase("blockPlace") || type.equalsIgnoreCase("allowBlockPlace")) {
-                            Boolean value = Boolean.valueOf(valueString);
-                            ArenaDataManager.setAllowBlockPlace(id, value);
-                            String msgOr = MessageManager.getMessagesYml().getString("Command.Set.Block.Place");
-                            String msg = msgOr.replace("%value%", String.valueOf(value)).replaceAll("%id%", String.valueOf(id));
-                            player.sendMessage(ChatColor.translateAlternateColorCodes('&', msg));
-                        } else if (type.equalsIgnoreCase("lateJoin") || type.equalsIgnoreCase("allowLateJoin")) {
-                            Boolean value = Boolean.valueOf(valueString);
-                            ArenaDataManager.setAllowLateJoin(id, value);
-                            String msgOr = MessageManager.getMessagesYml().getString("Command.Set.LateJoin");
-                            String msg = msgOr.replace("%value%", String.valueOf(value)).replaceAll("%id%", String.valueOf(id));
-                            player.sendMessage(ChatColor.translateAlternateColorCodes('&', msg));
-                        } else if (type.equalsIgnoreCase("gameMode") || type.equalsIgnoreCase("gm")) {
-                            if (ArenaDataManager.setGameMode(id, valueString)) {
-                                String msgOr = MessageManager.getMessagesYml().getString("Command.Set.GameMode.Success");
-                                String msg = msgOr.replace("%value%", valueString.toUpperCase()).replaceAll("%id%", String.valueOf(id));
-                                player.sendMessage(ChatColor.translateAlternateColorCodes('&', msg));
-                            } else {
-                                player.sendMessage(MessageManager.getMessage("Notifications.GameMode.Invalid"));
-                            }
-                        } else {
-                            player.sendMessage(MessageManager.getMessage("Notifications.Args.Invalid"));
+                            messages.add(message);
+                        }
+                        edit.commit();
+                        for (String message : messages) {
+                            player.sendMessage(message);
                         }
                     } else {
                         player.sendMessage(MessageManager.getMessage("Notifications.ArenaDoesNotExist"));
@@ -253,19 +119,196 @@ public class SetCommand {
                     player.sendMessage(MessageManager.getMessage("Notifications.Int.ArenaBase"));
                 }
                 */
-            } else if (args.length > 5) {
-                player.sendMessage(MessageManager.getMessage("Notifications.Args.Many"));
+            } else {
+                //A type is missing its value.
+                player.sendMessage(MessageManager.getMessage("Notifications.Args.Few"));
             }
         } else {
             player.sendMessage(MessageManager.getMessage("Notifications.NoPerm"));
         }
     }
 
+    /**
+     * Applies a single setting of the set command to an edit, without saving it.
+     * @param player The player who issued the command.
+     * @param edit The edit to apply the setting to.
+     * @param id The id of the arena.
+     * @param type The setting to change.
+     * @param valueString The new value.
+     * @return The message to send once saved, or <code>null</code> if invalid, in which case the reason was already sent.
+     */
+    private static String applySetting(Player player, ArenaEdit edit, int id, String type, String valueString) {
+        if (type.equalsIgnoreCase("minPlayers")) {
+            try {
+                Integer value = Integer.valueOf(valueString);
+                edit.setMinPlayers(value);
+                String msgOr = MessageManager.getRawMessage("Command.Set.MinPlayers");
+                String msg = msgOr.replaceAll("%id%", String.valueOf(id)).replaceAll("%count%", valueString);
+                return ChatColor.translateAlternateColorCodes('&', msg);
+            } catch (NumberFormatException e) {
+                player.sendMessage(MessageManager.getMessage("Notifications.Int.MinPlayers"));
+                return null;
+            }
+        } else if (type.equalsIgnoreCase("maxPlayers")) {
+            try {
+                Integer value = Integer.valueOf(valueString);
+                edit.setMaxPlayers(value);
+                String msgOr = MessageManager.getRawMessage("Command.Set.MaxPlayers");
+                String msg = msgOr.replaceAll("%id%", String.valueOf(id)).replaceAll("%count%", valueString);
+                return ChatColor.translateAlternateColorCodes('&', msg);
+            } catch (NumberFormatException e) {
+                player.sendMessage(MessageManager.getMessage("Notifications.Int.MaxPlayers"));
+                return null;
+            }
+        } else if (type.equalsIgnoreCase("minTeams")) {
+            try {
+                Integer value = Integer.valueOf(valueString);
+                edit.setMinTeamCount(value);
+                String msgOr = MessageManager.getRawMessage("Command.Set.MinTeams");
+                String msg = msgOr.replaceAll("%id%", String.valueOf(id)).replaceAll("%count%", valueString);
+                return ChatColor.translateAlternateColorCodes('&', msg);
+            } catch (NumberFormatException e) {
+                player.sendMessage(MessageManager.getMessage("Notifications.Int.MinTeams"));
+                return null;
+            }
+        } else if (type.equalsIgnoreCase("maxTeams")) {
+            try {
+                Integer value = Integer.valueOf(valueString);
+                edit.setMaxTeamCount(value);
+                String msgOr = MessageManager.getRawMessage("Command.Set.MaxTeams");
+                String msg = msgOr.replaceAll("%id%", String.valueOf(id)).replaceAll("%count%", valueString);
+                return ChatColor.translateAlternateColorCodes('&', msg);
+            } catch (NumberFormatException e) {
+                player.sendMessage(MessageManager.getMessage("Notifications.Int.MaxTeams"));
+                return null;
+            }
+        } else if (type.equalsIgnoreCase("displayName") || type.equalsIgnoreCase("name")) {
+            edit.setDisplayName(valueString);
+            String msgOr = MessageManager.getRawMessage("Command.Set.DisplayName");
+            String msg = msgOr.replaceAll("%id%", String.valueOf(id)).replaceAll("%name%", valueString);
+            return ChatColor.translateAlternateColorCodes('&', msg);
+        } else if (type.equalsIgnoreCase("Wait") || type.equalsIgnoreCase("waitDelay")) {
+            try {
+                Integer value = Integer.valueOf(valueString);
+                edit.setWaitDelay(value);
+                String msgOr = MessageManager.getRawMessage("Command.Set.Time.Wait");
+                String msg = msgOr.replaceAll("%id%", String.valueOf(id)).replaceAll("%time%", valueString);
+                return ChatColor.translateAlternateColorCodes('&', msg);
+            } catch (NumberFormatException e) {
+                player.sendMessage(MessageManager.getMessage("Notifications.Int.Time"));
+                return null;
+            }
+        } else if (type.equalsIgnoreCase("Start") || type.equalsIgnoreCase("StartDelay")) {
+            try {
+                Integer value = Integer.valueOf(valueString);
+                edit.setStartDelay(value);
+                String msgOr = MessageManager.getRawMessage("Command.Set.Time.Start");
+                String msg = msgOr.replaceAll("%id%", String.valueOf(id)).replaceAll("%time%", valueString);
+                return ChatColor.translateAlternateColorCodes('&', msg);
+            } catch (NumberFormatException e) {
+                player.sendMessage(MessageManager.getMessage("Notifications.Int.Time"));
+                return null;
+            }
+        } else if (type.equalsIgnoreCase("GameTime") || type.equalsIgnoreCase("GameLength")) {
+            try {
+                Integer value = Integer.valueOf(valueString);
+                edit.setGameLength(value);
+                String msgOr = MessageManager.getRawMessage("Command.Set.Time.Game");
+                String msg = msgOr.replaceAll("%id%", String.valueOf(id)).replaceAll("%time%", valueString);
+                return ChatColor.translateAlternateColorCodes('&', msg);
+            } catch (NumberFormatException e) {
+                player.sendMessage(MessageManager.getMessage("Notifications.Int.Time"));
+                return null;
+            }
+        } else if (type.equalsIgnoreCase("DayLength") || type.equalsIgnoreCase("Day") || type.equalsIgnoreCase("DayTime")) {
+            try {
+                Integer value = Integer.valueOf(valueString);
+                edit.setDayLength(value);
+                String msgOr = MessageManager.getRawMessage("Command.Set.Time.Day");
+                String msg = msgOr.replaceAll("%id%", String.valueOf(id)).replaceAll("%time%", valueString);
+                return ChatColor.translateAlternateColorCodes('&', msg);
+            } catch (NumberFormatException e) {
+                player.sendMessage(MessageManager.getMessage("Notifications.Int.Time"));
+                return null;
+            }
+        } else if (type.equalsIgnoreCase("NightLength") || type.equalsIgnoreCase("Night") || type.equalsIgnoreCase("NightTime")) {
+            try {
+                Integer value = Integer.valueOf(valueString);
+                edit.setNightLength(value);
+                String msgOr = MessageManager.getRawMessage("Command.Set.Time.Night");
+                String msg = msgOr.replaceAll("%id%", String.valueOf(id)).replaceAll("%time%", valueString);
+                return ChatColor.translateAlternateColorCodes('&', msg);
+            } catch (NumberFormatException e) {
+                player.sendMessage(MessageManager.getMessage("Notifications.Int.Time"));
+                return null;
+            }
+        } else if (type.equalsIgnoreCase("TeamSpawn") || type.equalsIgnoreCase("TeamSpawnLocation")) {
+            if (Team.exists(valueString)) {
+                edit.setTeamSpawn(Team.valueOf(valueString.toUpperCase()), player.getLocation());
+                String msgOr = MessageManager.getRawMessage("Command.Set.Team.Spawn");
+                String msg = msgOr.replaceAll("%team%", valueString).replaceAll("%id%", String.valueOf(id));
+                return ChatColor.translateAlternateColorCodes('&', msg);
+            } else {
+                player.sendMessage(MessageManager.getMessage("Notifications.Team.Invalid"));
+                return null;
+            }
+        } else if (type.equalsIgnoreCase("useTeams")) {
+            Boolean value = Boolean.valueOf(valueString);
+            edit.setUseTeams(value);
+            String msgOr = MessageManager.getRawMessage("Command.Set.UseTeams");
+            String msg = msgOr.replace("%value%", String.valueOf(value)).replaceAll("%id%", String.valueOf(id));
+            return ChatColor.translateAlternateColorCodes('&', msg);
+        } else if (type.equalsIgnoreCase("hideNames")) {
+            Boolean value = Boolean.valueOf(valueString);
+            edit.setHideNames(value);
+            String msgOr = MessageManager.getRawMessage("Command.Set.HideNames");
+            String msg = msgOr.replace("%value%", String.valueOf(value)).replaceAll("%id%", String.valueOf(id));
+            return ChatColor.translateAlternateColorCodes('&', msg);
+        } else if (type.equalsIgnoreCase("friendlyFire") || type.equalsIgnoreCase("allowFriendlyFire")) {
+            Boolean value = Boolean.valueOf(valueString);
+            edit.setAllowFriendlyFire(value);
+            String msgOr = MessageManager.getRawMessage("Command.Set.FriendlyFire");
+            String msg = msgOr.replace("%value%", String.valueOf(value)).replaceAll("%id%", String.valueOf(id));
+            return ChatColor.translateAlternateColorCodes('&', msg);
+        } else if (type.equalsIgnoreCase("blockBreak") || type.equalsIgnoreCase("allowBlockBreak")) {
+            Boolean value = Boolean.valueOf(valueString);
+            edit.setAllowBlockBreak(value);
+            String msgOr = MessageManager.getRawMessage("Command.Set.Block.Break");
+            String msg = msgOr.replace("%value%", String.valueOf(value)).replaceAll("%id%", String.valueOf(id));
+            return ChatColor.translateAlternateColorCodes('&', msg);
+        } else if (type.equalsIgnoreCase("blockPlace") || type.equalsIgnoreCase("allowBlockPlace")) {
+            Boolean value = Boolean.valueOf(valueString);
+            edit.setAllowBlockPlace(value);
+            String msgOr = MessageManager.getRawMessage("Command.Set.Block.Place");
+            String msg = msgOr.replace("%value%", String.valueOf(value)).replaceAll("%id%", String.valueOf(id));
+            return ChatColor.translateAlternateColorCodes('&', msg);
+        } else if (type.equalsIgnoreCase("lateJoin") || type.equalsIgnoreCase("allowLateJoin")) {
+            Boolean value = Boolean.valueOf(valueString);
+            edit.setAllowLateJoin(value);
+            String msgOr = MessageManager.getRawMessage("Command.Set.LateJoin");
+            String msg = msgOr.replace("%value%", String.valueOf(value)).replaceAll("%id%", String.valueOf(id));
+            return ChatColor.translateAlternateColorCodes('&', msg);
+        } else if (type.equalsIgnoreCase("gameMode") || type.equalsIgnoreCase("gm")) {
+            try {
+                edit.setGameMode(GameMode.valueOf(valueString.toUpperCase()));
+            } catch (IllegalArgumentException e) {
+                player.sendMessage(MessageManager.getMessage("Notifications.GameMode.Invalid"));
+                return null;
+            }
+            String msgOr = MessageManager.getRawMessage("Command.Set.GameMode.Success");
+            String msg = msgOr.replace("%value%", valueString.toUpperCase()).replaceAll("%id%", String.valueOf(id));
+            return ChatColor.translateAlternateColorCodes('&', msg);
+        } else {
+            player.sendMessage(MessageManager.getMessage("Notifications.Args.Invalid"));
+            return null;
+        }
+    }
+
     private static void setRegen(Player player, int id) {
         if (PlayerDataManager.hasLocationOneSaved(player) && PlayerDataManager.hasLocationTwoSaved(player)) {
             Location loc1 = PlayerDataManager.getSaveLocationOne(player);
             Location loc2 = PlayerDataManager.getSaveLocationTwo(player);
-            ArenaDataManager.setRegenArea(id, loc1, loc2);
+            ArenaDataManager.edit(id).setRegenArea(loc1, loc2).commit();
             PlayerDataManager.deleteSaveLocationOne(player);
             PlayerDataManager.deleteSaveLocationTwo(player);
             player.sendMessage(MessageManager.getMessage("Command.Set.Regen", id));
@@ -0,0 +1,170 @@
+package com.cloudcraftgaming.novagameslib.internal.listener;
+
+import com.cloudcraftgaming.novagameslib.api.regeneration.Regenerator;
+import org.bukkit.Material;
+import org.bukkit.block.Block;
+import org.bukkit.block.BlockFace;
+import org.bukkit.block.BlockState;
+import org.bukkit.event.EventHandler;
+import org.bukkit.event.EventPriority;
+import org.bukkit.event.Listener;
+import org.bukkit.event.block.*;
+import org.bukkit.event.entity.EntityChangeBlockEvent;
+import org.bukkit.event.entity.EntityExplodeEvent;
+import org.bukkit.event.player.PlayerBucketEmptyEvent;
+import org.bukkit.event.player.PlayerBucketFillEvent;
+import org.bukkit.event.player.PlayerInteractEvent;
+import org.bukkit.event.world.StructureGrowEvent;
+
+import java.util.List;
+
+/**
+ * Website: www.cloudcraftgaming.com
+ * For Project: NovaGamesLib-Bukkit
+ * <br> <br>
+ * Records blocks changed within arenas to their {@link com.cloudcraftgaming.novagameslib.api.regeneration.ChangeJournal}.
+ * Removed blocks also record their neighbours, as attached blocks (torches, door halves, etc) are removed without an event.
+ * Toggled doors, trapdoors, fence gates, levers and buttons are recorded when clicked, along with the other half of a door.
+ */
+@SuppressWarnings("unused")
+public class BlockChangeListener implements Listener {
+    private static final BlockFace[] NEIGHBOURS = {BlockFace.UP, BlockFace.DOWN, BlockFace.NORTH, BlockFace.EAST, BlockFace.SOUTH, BlockFace.WEST};
+
+    @EventHandler(priority = EventPriority.MONITOR, ignoreCancelled = true)
+    public void onBlockBreak(BlockBreakEvent event) {
+        recordRemoved(event.getBlock());
+    }
+
+    @EventHandler(priority = EventPriority.MONITOR, ignoreCancelled = true)
+    public void onBlockPlace(BlockPlaceEvent event) {
+        if (event instanceof BlockMultiPlaceEvent) {
+            //Doors, beds and tall plants place more than one block.
+            for (BlockState replaced : ((BlockMultiPlaceEvent) event).getReplacedBlockStates()) {
+                Regenerator.recordBlockChange(replaced);
+            }
+        } else {
+            Regenerator.recordBlockChange(event.getBlockReplacedState());
+        }
+    }
+
+    @EventHandler(priority = EventPriority.MONITOR, ignoreCancelled = true)
+    public void onBlockBurn(BlockBurnEvent event) {
+        recordRemoved(event.getBlock());
+    }
+
+    @EventHandler(priority = EventPriority.MONITOR, ignoreCancelled = true)
+    public void onBlockIgnite(BlockIgniteEvent event) {
+        Regenerator.recordBlockChange(event.getBlock());
+    }
+
+    @EventHandler(priority = EventPriority.MONITOR, ignoreCancelled = true)
+    public void onBlockExplode(BlockExplodeEvent event) {
+        for (Block block : event.blockList()) {
+            recordRemoved(block);
+        }
+    }
+
+    @EventHandler(priority = EventPriority.MONITOR, ignoreCancelled = true)
+    public void onEntityExplode(EntityExplodeEvent event) {
+        for (Block block : event.blockList()) {
+            recordRemoved(block);
+        }
+    }
+
+    @EventHandler(priority = EventPriority.MONITOR, ignoreCancelled = true)
+    public void onEntityChangeBlock(EntityChangeBlockEvent event) {
+        Regenerator.recordBlockChange(event.getBlock());
+    }
+
+    @EventHandler(priority = EventPriority.MONITOR, ignoreCancelled = true)
+    public void onBlockFromTo(BlockFromToEvent event) {
+        Regenerator.recordBlockChange(event.getToBlock());
+    }
+
+    @EventHandler(priority = EventPriority.MONITOR, ignoreCancelled = true)
+    public void onBlockForm(BlockFormEvent event) {
+        Regenerator.recordBlockChange(event.getBlock());
+    }
+
+    @EventHandler(priority = EventPriority.MONITOR, ignoreCancelled = true)
+    public void onBlockFade(BlockFadeEvent event) {
+        Regenerator.recordBlockChange(event.getBlock());
+    }
+
+    @EventHandler(priority = EventPriority.MONITOR, ignoreCancelled = true)
+    public void onLeavesDecay(LeavesDecayEvent event) {
+        Regenerator.recordBlockChange(event.getBlock());
+    }
+
+    @EventHandler(priority = EventPriority.MONITOR, ignoreCancelled = true)
+    public void onPistonExtend(BlockPistonExtendEvent event) {
+        recordPiston(event.getBlock(), event.getDirection(), event.getBlocks());
+    }
+
+    @EventHandler(priority = EventPriority.MONITOR, ignoreCancelled = true)
+    public void onPistonRetract(BlockPistonRetractEvent event) {
+        recordPiston(event.getBlock(), event.getDirection(), event.getBlocks());
+    }
+
+    @EventHandler(priority = EventPriority.MONITOR, ignoreCancelled = true)
+    public void onBlockGrow(BlockGrowEvent event) {
+        Regenerator.recordBlockChange(event.getBlock());
+    }
+
+    @EventHandler(priority = EventPriority.MONITOR, ignoreCancelled = true)
+    public void onStructureGrow(StructureGrowEvent event) {
+        Regenerator.recordBlockChange(event.getLocation().getBlock());
+        for (BlockState state : event.getBlocks()) {
+            Regenerator.recordBlockChange(state.getBlock());
+        }
+    }
+
+    @EventHandler(priority = EventPriority.MONITOR, ignoreCancelled = true)
+    public void onBucketEmpty(PlayerBucketEmptyEvent event) {
+        Regenerator.recordBlockChange(event.getBlockClicked().getRelative(event.getBlockFace()));
+    }
+
+    @EventHandler(priority = EventPriority.MONITOR, ignoreCancelled = true)
+    public void onBucketFill(PlayerBucketFillEvent event) {
+        //The liquid is either the clicked block or the one on the clicked face, depending on what was aimed at.
+        Regenerator.recordBlockChange(event.getBlockClicked());
+        Regenerator.recordBlockChange(event.getBlockClicked().getRelative(event.getBlockFace()));
+    }
+
+    @EventHandler(priority = EventPriority.MONITOR, ignoreCancelled = true)
+    public void onPlayerInteract(PlayerInteractEvent event) {
+        if (event.getAction() != Action.RIGHT_CLICK_BLOCK) {
+            return;
+        }
+        Block block = event.getClickedBlock();
+        Material mat = block.getType();
+        if (Regenerator.isOpenable(mat)) {
+            Regenerator.recordBlockChange(block);
+            //Either half of a door may hold its open state.
+            Regenerator.recordBlockChange(block.getRelative(BlockFace.UP));
+            Regenerator.recordBlockChange(block.getRelative(BlockFace.DOWN));
+        } else if (mat == Material.LEVER || mat == Material.STONE_BUTTON || mat == Material.WOOD_BUTTON) {
+            Regenerator.recordBlockChange(block);
+        }
+    }
+
+    private void recordRemoved(Block block) {
+        Regenerator.recordBlockChange(block);
+        for (BlockFace face : NEIGHBOURS) {
+            Regenerator.recordBlockChange(block.getRelative(face));
+        }
+    }
+
+    /**
+     * Records the piston, its head and every moved block along with the blocks on either side of it (where it moves to/from).
+     */
+    private void recordPiston(Block piston, BlockFace direction, List<Block> moved) {
+        Regenerator.recordBlockChange(piston);
+        Regenerator.recordBlockChange(piston.getRelative(direction));
+        for (Block block : moved) {
+            Regenerator.recordBlockChange(block);
+            Regenerator.recordBlockChange(block.getRelative(direction));
+            Regenerator.recordBlockChange(block.getRelative(direction.getOppositeFace()));
+        }
+    }
+}
@@ -0,0 +1,71 @@
+package com.cloudcraftgaming.novagameslib.internal.listener;
+
+import com.cloudcraftgaming.novagameslib.api.regeneration.Regenerator;
+import org.bukkit.entity.ArmorStand;
+import org.bukkit.event.EventHandler;
+import org.bukkit.event.EventPriority;
+import org.bukkit.event.Listener;
+import org.bukkit.event.entity.CreatureSpawnEvent;
+import org.bukkit.event.entity.EntityDeathEvent;
+import org.bukkit.event.entity.ItemDespawnEvent;
+import org.bukkit.event.entity.ItemMergeEvent;
+import org.bukkit.event.entity.ItemSpawnEvent;
+import org.bukkit.event.hanging.HangingPlaceEvent;
+import org.bukkit.event.player.PlayerDropItemEvent;
+import org.bukkit.event.player.PlayerPickupItemEvent;
+
+/**
+ * Website: www.cloudcraftgaming.com
+ * For Project: NovaGamesLib-Bukkit
+ * <br> <br>
+ * Feeds entities spawned within arenas to their {@link com.cloudcraftgaming.novagameslib.api.regeneration.EntityTracker},
+ * and stops tracking them once they die, are picked up, despawn or merge into another item.
+ * Placed item frames, paintings and armor stands are fed to the arena's {@link com.cloudcraftgaming.novagameslib.api.regeneration.DecorationSnapshot}.
+ */
+@SuppressWarnings("unused")
+public class EntitySpawnListener implements Listener {
+    @EventHandler(priority = EventPriority.MONITOR, ignoreCancelled = true)
+    public void onItemSpawn(ItemSpawnEvent event) {
+        Regenerator.trackEntity(event.getEntity());
+    }
+
+    @EventHandler(priority = EventPriority.MONITOR, ignoreCancelled = true)
+    public void onPlayerDropItem(PlayerDropItemEvent event) {
+        Regenerator.trackEntity(event.getItemDrop());
+    }
+
+    @EventHandler(priority = EventPriority.MONITOR, ignoreCancelled = true)
+    public void onCreatureSpawn(CreatureSpawnEvent event) {
+        if (event.getEntity() instanceof ArmorStand) {
+            //Armor stands placed by players are spawned like creatures.
+            Regenerator.trackDecoration(event.getEntity());
+            return;
+        }
+        Regenerator.trackEntity(event.getEntity());
+    }
+
+    @EventHandler(priority = EventPriority.MONITOR, ignoreCancelled = true)
+    public void onHangingPlace(HangingPlaceEvent event) {
+        Regenerator.trackDecoration(event.getEntity());
+    }
+
+    @EventHandler(priority = EventPriority.MONITOR)
+    public void onEntityDeath(EntityDeathEvent event) {
+        Regenerator.untrackEntity(event.getEntity());
+    }
+
+    @EventHandler(priority = EventPriority.MONITOR, ignoreCancelled = true)
+    public void onPlayerPickupItem(PlayerPickupItemEvent event) {
+        Regenerator.untrackEntity(event.getItem());
+    }
+
+    @EventHandler(priority = EventPriority.MONITOR, ignoreCancelled = true)
+    public void onItemDespawn(ItemDespawnEvent event) {
+        Regenerator.untrackEntity(event.getEntity());
+    }
+
+    @EventHandler(priority = EventPriority.MONITOR, ignoreCancelled = true)
+    public void onItemMerge(ItemMergeEvent event) {
+        Regenerator.untrackEntity(event.getEntity());
+    }
+}
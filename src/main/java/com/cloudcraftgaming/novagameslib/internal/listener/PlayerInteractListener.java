@@ -34,6 +34,7 @@ public class PlayerInteractListener implements Listener {
                     if (SignUtils.isJoinSign(sign)) {
                         if (player.hasPermission(usePerm)) {
                             Integer arenaId = SignUtils.getIdFromSign(sign);
+                            SignUtils.addJoinSign(sign.getLocation(), arenaId);
                             MinigameEventHandler.joinMinigame(player, arenaId);
                         }
                     } else if (SignUtils.isSpectateSign(sign)) {
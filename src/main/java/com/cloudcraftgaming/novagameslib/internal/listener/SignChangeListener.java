@@ -23,6 +23,8 @@ public class SignChangeListener implements Listener {
             if (SignUtils.isJoinSign(event)) {
                 Integer id = SignUtils.getIdFromSign(event);
                 SignUtils.setJoinSign(event, id);
+                event.setLine(3, SignUtils.getStatusLine(id));
+                SignUtils.addJoinSign(event.getBlock().getLocation(), id);
             } else if (SignUtils.isQuitSign(event)) {
                 SignUtils.setQuitSign(event);
             } else if (SignUtils.isSpectateSign(event)) {